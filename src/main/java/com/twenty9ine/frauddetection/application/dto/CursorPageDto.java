@@ -0,0 +1,10 @@
+package com.twenty9ine.frauddetection.application.dto;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+    List<T> content,
+    String nextCursor,
+    Long estimatedTotalElements
+) {
+}
@@ -2,30 +2,38 @@ package com.twenty9ine.frauddetection.application.dto;
 
 import com.twenty9ine.frauddetection.domain.valueobject.Decision;
 import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.MLSkipReason;
 import com.twenty9ine.frauddetection.domain.valueobject.TransactionRiskLevel;
 import lombok.Builder;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Builder
 public record RiskAssessmentDto(
     UUID assessmentId,
     UUID transactionId,
+    String accountId,
     int riskScore,
     TransactionRiskLevel transactionRiskLevel,
     Decision decision,
-    Instant assessmentTime
+    Instant assessmentTime,
+    MLSkipReason mlSkipReason,
+    List<RuleEvaluationDto> ruleEvaluations
 ) {
 
     public static RiskAssessmentDto from(RiskAssessment assessment) {
         return RiskAssessmentDto.builder()
             .assessmentId(assessment.getAssessmentId().toUUID())
             .transactionId(assessment.getTransactionId().toUUID())
+            .accountId(assessment.getAccountId())
             .riskScore(assessment.getRiskScore().value())
             .transactionRiskLevel(assessment.getTransactionRiskLevel())
             .decision(assessment.getDecision())
             .assessmentTime(assessment.getAssessmentTime())
+            .mlSkipReason(assessment.getMlSkipReason())
+            .ruleEvaluations(assessment.getRuleEvaluations().stream().map(RuleEvaluationDto::from).toList())
             .build();
     }
 }
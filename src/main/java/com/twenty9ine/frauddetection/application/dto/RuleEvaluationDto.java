@@ -0,0 +1,25 @@
+package com.twenty9ine.frauddetection.application.dto;
+
+import com.twenty9ine.frauddetection.domain.valueobject.RuleEvaluation;
+import com.twenty9ine.frauddetection.domain.valueobject.RuleType;
+import lombok.Builder;
+
+@Builder
+public record RuleEvaluationDto(
+    String ruleId,
+    String ruleName,
+    RuleType ruleType,
+    double scoreImpact,
+    String description
+) {
+
+    public static RuleEvaluationDto from(RuleEvaluation evaluation) {
+        return RuleEvaluationDto.builder()
+            .ruleId(evaluation.ruleId())
+            .ruleName(evaluation.ruleName())
+            .ruleType(evaluation.ruleType())
+            .scoreImpact(evaluation.scoreImpact())
+            .description(evaluation.description())
+            .build();
+    }
+}
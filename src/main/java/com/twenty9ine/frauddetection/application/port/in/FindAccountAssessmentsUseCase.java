@@ -0,0 +1,24 @@
+package com.twenty9ine.frauddetection.application.port.in;
+
+import com.twenty9ine.frauddetection.application.dto.CursorPageDto;
+import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
+import com.twenty9ine.frauddetection.application.port.in.query.CursorPageRequestQuery;
+import com.twenty9ine.frauddetection.application.port.in.query.FindAccountAssessmentsQuery;
+
+/**
+ * Input port (Use Case interface) for an account's assessment history.
+ *
+ * Query use case for investigators reviewing everything assessed on one account,
+ * optionally within a time range.
+ */
+public interface FindAccountAssessmentsUseCase {
+
+    /**
+     * Pages through the account's risk assessments by cursor.
+     *
+     * @param query the account and optional time range
+     * @param pageRequest the cursor of the previous page and page size
+     * @return the page, ordered by assessment time descending, with the cursor of the next page if there is one
+     */
+    CursorPageDto<RiskAssessmentDto> findByAccount(FindAccountAssessmentsQuery query, CursorPageRequestQuery pageRequest);
+}
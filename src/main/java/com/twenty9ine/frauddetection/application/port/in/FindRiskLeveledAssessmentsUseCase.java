@@ -1,7 +1,9 @@
 package com.twenty9ine.frauddetection.application.port.in;
 
+import com.twenty9ine.frauddetection.application.dto.CursorPageDto;
 import com.twenty9ine.frauddetection.application.dto.PagedResultDto;
 import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
+import com.twenty9ine.frauddetection.application.port.in.query.CursorPageRequestQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.FindRiskLeveledAssessmentsQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.PageRequestQuery;
 
@@ -22,4 +24,13 @@ public interface FindRiskLeveledAssessmentsUseCase {
      * @return list of matching risk assessments, ordered by assessment time descending
      */
     PagedResultDto<RiskAssessmentDto> find(FindRiskLeveledAssessmentsQuery query, PageRequestQuery pageRequestQuery);
+
+    /**
+     * Pages through the matching risk assessments by cursor, which stays fast however deep the page.
+     *
+     * @param query the query containing risk level and time criteria
+     * @param pageRequest the cursor of the previous page, page size and whether to estimate the total
+     * @return the page, ordered by assessment time descending, with the cursor of the next page if there is one
+     */
+    CursorPageDto<RiskAssessmentDto> scroll(FindRiskLeveledAssessmentsQuery query, CursorPageRequestQuery pageRequest);
 }
\ No newline at end of file
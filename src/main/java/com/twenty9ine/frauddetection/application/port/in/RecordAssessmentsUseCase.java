@@ -0,0 +1,23 @@
+package com.twenty9ine.frauddetection.application.port.in;
+
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+
+import java.util.List;
+
+/**
+ * Input port (Use Case interface) for recording completed assessments in bulk.
+ *
+ * Used by write-behind persistence: assessments returned to their callers
+ * before they were saved are recorded here later, a batch at a time.
+ */
+public interface RecordAssessmentsUseCase {
+
+    /**
+     * Saves the assessments, publishes their domain events and updates the
+     * velocity, location, behavior and fraud-ring stores with their transactions.
+     * Recording an assessment again saves it again and republishes its events.
+     *
+     * @param commands the completed assessments, in the order they were assessed
+     */
+    void recordAll(List<RecordAssessmentCommand> commands);
+}
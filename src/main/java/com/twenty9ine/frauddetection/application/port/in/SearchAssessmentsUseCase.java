@@ -0,0 +1,25 @@
+package com.twenty9ine.frauddetection.application.port.in;
+
+import com.twenty9ine.frauddetection.application.dto.CursorPageDto;
+import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
+import com.twenty9ine.frauddetection.application.port.in.query.CursorPageRequestQuery;
+import com.twenty9ine.frauddetection.application.port.in.query.SearchAssessmentsQuery;
+
+/**
+ * Input port (Use Case interface) for multi-criteria assessment search.
+ *
+ * Query use case for operations and investigators narrowing assessments down
+ * by decision, score, amount, merchant category, channel and model version
+ * instead of exporting everything and filtering offline.
+ */
+public interface SearchAssessmentsUseCase {
+
+    /**
+     * Pages through the risk assessments matching every given filter by cursor.
+     *
+     * @param query the filters; omitted ones do not filter
+     * @param pageRequest the cursor of the previous page, page size and whether to estimate the total
+     * @return the page, ordered by assessment time descending, with the cursor of the next page if there is one
+     */
+    CursorPageDto<RiskAssessmentDto> search(SearchAssessmentsQuery query, CursorPageRequestQuery pageRequest);
+}
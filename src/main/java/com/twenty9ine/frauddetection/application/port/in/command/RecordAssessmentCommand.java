@@ -0,0 +1,14 @@
+package com.twenty9ine.frauddetection.application.port.in.command;
+
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+
+/**
+ * Command for recording a completed assessment whose persistence was deferred.
+ * <p>
+ * Carries the assessed transaction alongside the assessment, as the velocity,
+ * location, behavior and fraud-ring stores are updated from the transaction.
+ * The assessment has completed, so it holds its decision and domain events.
+ */
+public record RecordAssessmentCommand(Transaction transaction, RiskAssessment assessment) {
+}
@@ -0,0 +1,10 @@
+package com.twenty9ine.frauddetection.application.port.in.query;
+
+/**
+ * Keyset page request. {@code cursor} is the token returned with the previous page, or null for the first page.
+ */
+public record CursorPageRequestQuery(String cursor, int pageSize, boolean includeTotal) {
+    public static CursorPageRequestQuery first(int pageSize) {
+        return new CursorPageRequestQuery(null, pageSize, false);
+    }
+}
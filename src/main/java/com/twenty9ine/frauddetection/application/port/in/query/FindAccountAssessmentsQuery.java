@@ -0,0 +1,27 @@
+package com.twenty9ine.frauddetection.application.port.in.query;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Query object for an account's risk assessments. The time range is optional: {@code fromDate} is inclusive and
+ * {@code toDate} exclusive.
+ */
+@Builder
+public record FindAccountAssessmentsQuery(
+        @NotBlank(message = "accountId is required")
+        String accountId,
+
+        Instant fromDate,
+
+        Instant toDate
+) {
+
+    @AssertTrue(message = "fromDate must be before toDate")
+    public boolean isTimeRangeValid() {
+        return fromDate == null || toDate == null || fromDate.isBefore(toDate);
+    }
+}
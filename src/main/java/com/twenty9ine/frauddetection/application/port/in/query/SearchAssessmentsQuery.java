@@ -0,0 +1,81 @@
+package com.twenty9ine.frauddetection.application.port.in.query;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Query object for searching risk assessments by any combination of filters.
+ * Every field is optional - null or empty values will be ignored in the search.
+ * {@code fromDate} is inclusive and {@code toDate} exclusive; score and amount ranges are inclusive.
+ * An amount range needs a {@code currency}: amounts are only compared with amounts in the same currency.
+ */
+@Builder
+public record SearchAssessmentsQuery(
+        Set<String> transactionRiskLevels,
+
+        Set<String> decisions,
+
+        Instant fromDate,
+
+        Instant toDate,
+
+        @Min(value = 0, message = "minRiskScore must be between 0 and 100")
+        @Max(value = 100, message = "minRiskScore must be between 0 and 100")
+        Integer minRiskScore,
+
+        @Min(value = 0, message = "maxRiskScore must be between 0 and 100")
+        @Max(value = 100, message = "maxRiskScore must be between 0 and 100")
+        Integer maxRiskScore,
+
+        Set<String> merchantCategories,
+
+        Set<String> channels,
+
+        @PositiveOrZero(message = "minAmount cannot be negative")
+        BigDecimal minAmount,
+
+        @PositiveOrZero(message = "maxAmount cannot be negative")
+        BigDecimal maxAmount,
+
+        @Pattern(regexp = "[A-Z]{3}", message = "currency must be an ISO 4217 currency code")
+        String currency,
+
+        String modelId,
+
+        String modelVersion,
+
+        @DecimalMin(value = "0.0", message = "minFraudProbability must be between 0.0 and 1.0")
+        @DecimalMax(value = "1.0", message = "minFraudProbability must be between 0.0 and 1.0")
+        Double minFraudProbability
+) {
+
+    @AssertTrue(message = "fromDate must be before toDate")
+    public boolean isTimeRangeValid() {
+        return fromDate == null || toDate == null || fromDate.isBefore(toDate);
+    }
+
+    @AssertTrue(message = "minRiskScore cannot be greater than maxRiskScore")
+    public boolean isRiskScoreRangeValid() {
+        return minRiskScore == null || maxRiskScore == null || minRiskScore <= maxRiskScore;
+    }
+
+    @AssertTrue(message = "minAmount cannot be greater than maxAmount")
+    public boolean isAmountRangeValid() {
+        return minAmount == null || maxAmount == null || minAmount.compareTo(maxAmount) <= 0;
+    }
+
+    @AssertTrue(message = "currency is required with minAmount or maxAmount")
+    public boolean isAmountCurrencyGiven() {
+        return minAmount == null && maxAmount == null || currency != null;
+    }
+}
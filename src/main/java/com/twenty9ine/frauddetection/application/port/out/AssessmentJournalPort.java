@@ -0,0 +1,18 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+
+/**
+ * Durable local queue of completed assessments awaiting persistence. When enabled, an assessment is appended here
+ * instead of being saved, and is recorded later through the record assessments use case.
+ */
+public interface AssessmentJournalPort {
+
+    boolean isEnabled();
+
+    /**
+     * Appends the completed assessment; once this returns it survives a restart of the service.
+     */
+    void append(Transaction transaction, RiskAssessment assessment);
+}
@@ -0,0 +1,11 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.valueobject.BehavioralProfile;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+
+public interface BehavioralProfilePort {
+
+    BehavioralProfile findProfile(String accountId);
+
+    void recordTransaction(Transaction transaction);
+}
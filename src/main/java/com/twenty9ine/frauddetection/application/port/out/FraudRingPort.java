@@ -0,0 +1,12 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.valueobject.Decision;
+import com.twenty9ine.frauddetection.domain.valueobject.RingSignals;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+
+public interface FraudRingPort {
+
+    RingSignals findRing(Transaction transaction);
+
+    void recordTransaction(Transaction transaction, Decision decision);
+}
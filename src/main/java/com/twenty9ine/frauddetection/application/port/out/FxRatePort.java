@@ -0,0 +1,8 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.valueobject.FxRates;
+
+public interface FxRatePort {
+
+    FxRates fetchLatestRates();
+}
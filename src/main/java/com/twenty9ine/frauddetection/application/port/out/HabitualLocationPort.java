@@ -0,0 +1,11 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.valueobject.HabitualLocations;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+
+public interface HabitualLocationPort {
+
+    HabitualLocations findHabitualLocations(String accountId);
+
+    void recordVisit(Transaction transaction);
+}
@@ -0,0 +1,18 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.valueobject.KnownLocation;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface LocationHistoryPort {
+
+    /**
+     * The account's known location closest in time to, and no later than, {@code timestamp}. Events may arrive out
+     * of order, so this is not necessarily the most recently recorded point.
+     */
+    Optional<KnownLocation> findNearestPriorLocation(String accountId, Instant timestamp);
+
+    void recordLocation(Transaction transaction);
+}
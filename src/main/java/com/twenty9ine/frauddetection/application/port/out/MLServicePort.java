@@ -1,8 +1,8 @@
 package com.twenty9ine.frauddetection.application.port.out;
 
+import com.twenty9ine.frauddetection.domain.valueobject.AssessmentContext;
 import com.twenty9ine.frauddetection.domain.valueobject.MLPrediction;
-import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 
 public interface MLServicePort {
-    MLPrediction predict(Transaction transaction);
+    MLPrediction predict(AssessmentContext context);
 }
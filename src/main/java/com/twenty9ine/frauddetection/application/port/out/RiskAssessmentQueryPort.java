@@ -0,0 +1,40 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
+import com.twenty9ine.frauddetection.domain.valueobject.AssessmentCursor;
+import com.twenty9ine.frauddetection.domain.valueobject.AssessmentSearchCriteria;
+import com.twenty9ine.frauddetection.domain.valueobject.CursorPage;
+import com.twenty9ine.frauddetection.domain.valueobject.PageRequest;
+import com.twenty9ine.frauddetection.domain.valueobject.PagedResult;
+import com.twenty9ine.frauddetection.domain.valueobject.TransactionRiskLevel;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Output port for assessment searches. Results are read straight into DTOs, with their rule evaluations, instead of
+ * being loaded as aggregates; nothing read here is saved back.
+ */
+public interface RiskAssessmentQueryPort {
+
+    PagedResult<RiskAssessmentDto> findByRiskLevelSince(Set<TransactionRiskLevel> levels, Instant since, PageRequest pageRequest);
+
+    /**
+     * Finds up to {@code limit} assessments after the cursor, newest first, without counting the matches. A null
+     * cursor starts from the newest assessment; the total is estimated only when {@code estimateTotal} is set.
+     */
+    CursorPage<RiskAssessmentDto> scrollByRiskLevelSince(Set<TransactionRiskLevel> levels, Instant since, AssessmentCursor after,
+                                                         int limit, boolean estimateTotal);
+
+    /**
+     * Finds up to {@code limit} of the account's assessments after the cursor, newest first, assessed from {@code from}
+     * inclusive to {@code to} exclusive. Either bound may be null.
+     */
+    CursorPage<RiskAssessmentDto> scrollByAccount(String accountId, Instant from, Instant to, AssessmentCursor after, int limit);
+
+    /**
+     * Finds up to {@code limit} assessments matching every given filter after the cursor, newest first. The total is
+     * estimated only when {@code estimateTotal} is set.
+     */
+    CursorPage<RiskAssessmentDto> search(AssessmentSearchCriteria criteria, AssessmentCursor after, int limit, boolean estimateTotal);
+}
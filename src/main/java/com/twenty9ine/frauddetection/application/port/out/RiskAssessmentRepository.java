@@ -3,15 +3,34 @@ package com.twenty9ine.frauddetection.application.port.out;
 import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
 import com.twenty9ine.frauddetection.domain.valueobject.PageRequest;
 import com.twenty9ine.frauddetection.domain.valueobject.PagedResult;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 import com.twenty9ine.frauddetection.domain.valueobject.TransactionId;
 import com.twenty9ine.frauddetection.domain.valueobject.TransactionRiskLevel;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 public interface RiskAssessmentRepository {
+    /**
+     * Saves the assessment, keeping the transaction attributes assessments are searched by that are already stored.
+     */
     RiskAssessment save(RiskAssessment assessment);
+
+    /**
+     * Saves the assessment of the transaction, storing the transaction's amount, channel and merchant category for
+     * assessment searches.
+     */
+    RiskAssessment save(RiskAssessment assessment, Transaction transaction);
+
+    /**
+     * Saves the assessments with their rule evaluations in a fixed number of round trips, each with the search
+     * attributes of its transaction in {@code transactions}, by transaction id. Unlike {@link #save(RiskAssessment)},
+     * the returned assessments do not carry generated rule evaluation ids.
+     */
+    List<RiskAssessment> saveAll(List<RiskAssessment> assessments, Map<TransactionId, Transaction> transactions);
     Optional<RiskAssessment> findByTransactionId(TransactionId transactionId);
     PagedResult<RiskAssessment> findByRiskLevelSince(Set<TransactionRiskLevel> levels, Instant since, PageRequest pageRequest);
 }
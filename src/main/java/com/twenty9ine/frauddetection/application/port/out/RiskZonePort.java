@@ -0,0 +1,11 @@
+package com.twenty9ine.frauddetection.application.port.out;
+
+import com.twenty9ine.frauddetection.domain.valueobject.Location;
+import com.twenty9ine.frauddetection.domain.valueobject.RiskZone;
+
+import java.util.Optional;
+
+public interface RiskZonePort {
+
+    Optional<RiskZone> findZoneContaining(Location location);
+}
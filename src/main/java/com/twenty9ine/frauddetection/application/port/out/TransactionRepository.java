@@ -1,5 +1,7 @@
 package com.twenty9ine.frauddetection.application.port.out;
 
+import com.twenty9ine.frauddetection.domain.valueobject.HistoricalTransaction;
+import com.twenty9ine.frauddetection.domain.valueobject.Location;
 import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 import com.twenty9ine.frauddetection.domain.valueobject.TransactionId;
 
@@ -11,12 +13,30 @@ public interface TransactionRepository {
 
     Transaction save(Transaction transaction);
 
+    /**
+     * Saves the transactions with their merchant and location in a fixed number of round trips, for batched consumption
+     * and backfills. Each is inserted or replaced as {@link #save(Transaction)} would.
+     */
+    List<Transaction> saveAll(List<Transaction> transactions);
+
     Optional<Transaction> findById(TransactionId transactionId);
 
     List<Transaction> findByAccountId(String accountId);
 
     List<Transaction> findByAccountIdAndTimestampBetween(String accountId, Instant start, Instant end);
 
+    /**
+     * Loads up to {@code limit} of the account's transactions from {@code since} up to and including {@code until},
+     * newest first, in a single query.
+     */
+    List<HistoricalTransaction> findHistoryByAccountId(String accountId, Instant since, Instant until, int limit);
+
+    /**
+     * Loads up to {@code limit} transactions, across all accounts, made within {@code radiusKm} of {@code centre} at or
+     * after {@code since}, newest first.
+     */
+    List<HistoricalTransaction> findNearby(Location centre, double radiusKm, Instant since, int limit);
+
     Optional<Transaction> findEarliestByAccountId(String accountId);
 
     Optional<Transaction> findLatestByAccountId(String accountId);
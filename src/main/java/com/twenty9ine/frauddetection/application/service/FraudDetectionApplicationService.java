@@ -1,14 +1,25 @@
 package com.twenty9ine.frauddetection.application.service;
 
+import com.twenty9ine.frauddetection.application.dto.CursorPageDto;
 import com.twenty9ine.frauddetection.application.dto.LocationDto;
 import com.twenty9ine.frauddetection.application.dto.PagedResultDto;
 import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
 import com.twenty9ine.frauddetection.application.port.in.*;
 import com.twenty9ine.frauddetection.application.port.in.command.AssessTransactionRiskCommand;
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+import com.twenty9ine.frauddetection.application.port.in.query.CursorPageRequestQuery;
+import com.twenty9ine.frauddetection.application.port.in.query.FindAccountAssessmentsQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.FindRiskLeveledAssessmentsQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.GetRiskAssessmentQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.PageRequestQuery;
+import com.twenty9ine.frauddetection.application.port.in.query.SearchAssessmentsQuery;
+import com.twenty9ine.frauddetection.application.port.out.AssessmentJournalPort;
+import com.twenty9ine.frauddetection.application.port.out.BehavioralProfilePort;
 import com.twenty9ine.frauddetection.application.port.out.EventPublisherPort;
+import com.twenty9ine.frauddetection.application.port.out.FraudRingPort;
+import com.twenty9ine.frauddetection.application.port.out.HabitualLocationPort;
+import com.twenty9ine.frauddetection.application.port.out.LocationHistoryPort;
+import com.twenty9ine.frauddetection.application.port.out.RiskAssessmentQueryPort;
 import com.twenty9ine.frauddetection.application.port.out.RiskAssessmentRepository;
 import com.twenty9ine.frauddetection.application.port.out.VelocityServicePort;
 import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
@@ -19,10 +30,14 @@ import com.twenty9ine.frauddetection.domain.valueobject.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Application service that orchestrates fraud detection use cases.
@@ -38,15 +53,26 @@ import java.util.Set;
 @Transactional
 @Slf4j
 public class FraudDetectionApplicationService implements AssessTransactionRiskUseCase, GetRiskAssessmentUseCase,
-        FindRiskLeveledAssessmentsUseCase {
+        FindRiskLeveledAssessmentsUseCase, FindAccountAssessmentsUseCase, SearchAssessmentsUseCase, RecordAssessmentsUseCase {
 
     private final RiskScoringService riskScoringService;
     private final DecisionService decisionService;
     private final RiskAssessmentRepository repository;
+    private final RiskAssessmentQueryPort assessmentQueries;
     private final EventPublisherPort eventPublisher;
     private final VelocityServicePort velocityService;
+    private final LocationHistoryPort locationHistory;
+    private final HabitualLocationPort habitualLocations;
+    private final BehavioralProfilePort behavioralProfiles;
+    private final FraudRingPort fraudRings;
+    private final AssessmentJournalPort assessmentJournal;
 
+    /**
+     * Runs without a transaction of its own: with write-behind on, the decision is returned without a database write
+     * or commit, and otherwise the repository saves the assessment in its own transaction.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public RiskAssessmentDto assess(AssessTransactionRiskCommand command) {
         Transaction transaction = toDomain(command);
 
@@ -56,17 +82,46 @@ public class FraudDetectionApplicationService implements AssessTransactionRiskUs
         Decision decision = decisionService.makeDecision(assessment);
         assessment.completeAssessment(decision);
 
-        repository.save(assessment);
-        eventPublisher.publishAll(assessment.getDomainEvents());
-        assessment.clearDomainEvents();
-
-        velocityService.incrementCounters(transaction);
+        if (assessmentJournal.isEnabled()) {
+            assessmentJournal.append(transaction, assessment);
+        } else {
+            repository.save(assessment, transaction);
+            recordOutcome(transaction, assessment);
+        }
 
         log.info("Completed risk assessment for transaction: {} with decision: {}", transaction.id(), decision);
 
         return RiskAssessmentDto.from(assessment);
     }
 
+    @Override
+    public void recordAll(List<RecordAssessmentCommand> commands) {
+        log.debug("Recording {} journaled risk assessments", commands.size());
+
+        Map<TransactionId, Transaction> transactions = commands.stream()
+                .map(RecordAssessmentCommand::transaction)
+                .collect(Collectors.toMap(Transaction::id, Function.identity(), (first, last) -> last));
+
+        repository.saveAll(commands.stream()
+                .map(RecordAssessmentCommand::assessment)
+                .toList(), transactions);
+
+        for (RecordAssessmentCommand command : commands) {
+            recordOutcome(command.transaction(), command.assessment());
+        }
+    }
+
+    private void recordOutcome(Transaction transaction, RiskAssessment assessment) {
+        eventPublisher.publishAll(assessment.getDomainEvents());
+        assessment.clearDomainEvents();
+
+        velocityService.incrementCounters(transaction);
+        locationHistory.recordLocation(transaction);
+        habitualLocations.recordVisit(transaction);
+        behavioralProfiles.recordTransaction(transaction);
+        fraudRings.recordTransaction(transaction, assessment.getDecision());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public RiskAssessmentDto get(GetRiskAssessmentQuery query) {
@@ -84,8 +139,79 @@ public class FraudDetectionApplicationService implements AssessTransactionRiskUs
         return getRiskAssessmentDtoPagedResultDto(findAssessmentsByRiskLevelsAndFromDate(query, pageRequestQuery));
     }
 
-    private PagedResult<RiskAssessment> findAssessmentsByRiskLevelsAndFromDate(FindRiskLeveledAssessmentsQuery query, PageRequestQuery pageRequestQuery) {
-        return repository.findByRiskLevelSince(toTransactionRiskLevels(query.transactionRiskLevels()), query.fromDate(), toPageRequest(pageRequestQuery));
+    private PagedResult<RiskAssessmentDto> findAssessmentsByRiskLevelsAndFromDate(FindRiskLeveledAssessmentsQuery query, PageRequestQuery pageRequestQuery) {
+        return assessmentQueries.findByRiskLevelSince(toTransactionRiskLevels(query.transactionRiskLevels()), query.fromDate(), toPageRequest(pageRequestQuery));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<RiskAssessmentDto> scroll(FindRiskLeveledAssessmentsQuery query, CursorPageRequestQuery pageRequest) {
+        log.debug("Scrolling {} risk assessments fromDate {}", query.transactionRiskLevels(), query.fromDate());
+        CursorPage<RiskAssessmentDto> page = assessmentQueries.scrollByRiskLevelSince(toTransactionRiskLevels(query.transactionRiskLevels()),
+                query.fromDate(), toAssessmentCursor(pageRequest.cursor()), pageRequest.pageSize(), pageRequest.includeTotal());
+
+        return toCursorPageDto(page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<RiskAssessmentDto> findByAccount(FindAccountAssessmentsQuery query, CursorPageRequestQuery pageRequest) {
+        log.debug("Finding risk assessments of account {} from {} to {}", query.accountId(), query.fromDate(), query.toDate());
+        CursorPage<RiskAssessmentDto> page = assessmentQueries.scrollByAccount(query.accountId(), query.fromDate(),
+                query.toDate(), toAssessmentCursor(pageRequest.cursor()), pageRequest.pageSize());
+
+        return toCursorPageDto(page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<RiskAssessmentDto> search(SearchAssessmentsQuery query, CursorPageRequestQuery pageRequest) {
+        log.debug("Searching risk assessments matching {}", query);
+        CursorPage<RiskAssessmentDto> page = assessmentQueries.search(toSearchCriteria(query),
+                toAssessmentCursor(pageRequest.cursor()), pageRequest.pageSize(), pageRequest.includeTotal());
+
+        return toCursorPageDto(page);
+    }
+
+    private static AssessmentSearchCriteria toSearchCriteria(SearchAssessmentsQuery query) {
+        return AssessmentSearchCriteria.builder()
+                .riskLevels(toTransactionRiskLevels(query.transactionRiskLevels()))
+                .decisions(toEnums(query.decisions(), Decision::fromString))
+                .from(query.fromDate())
+                .to(query.toDate())
+                .minRiskScore(query.minRiskScore())
+                .maxRiskScore(query.maxRiskScore())
+                .merchantCategories(toEnums(query.merchantCategories(), MerchantCategory::fromString))
+                .channels(toEnums(query.channels(), Channel::fromString))
+                .minAmount(query.minAmount())
+                .maxAmount(query.maxAmount())
+                .amountCurrency(query.currency())
+                .modelId(blankToNull(query.modelId()))
+                .modelVersion(blankToNull(query.modelVersion()))
+                .minFraudProbability(query.minFraudProbability())
+                .build();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static <E extends Enum<E>> Set<E> toEnums(Set<String> values, Function<String, E> parser) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+
+        return values.stream()
+                .map(parser)
+                .collect(Collectors.toSet());
+    }
+
+    private static CursorPageDto<RiskAssessmentDto> toCursorPageDto(CursorPage<RiskAssessmentDto> page) {
+        return new CursorPageDto<>(page.content(), page.hasNext() ? page.next().encode() : null, page.estimatedTotalElements());
+    }
+
+    private static AssessmentCursor toAssessmentCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : AssessmentCursor.decode(cursor);
     }
 
     private static Set<TransactionRiskLevel> toTransactionRiskLevels(Set<String> riskLevelStrings) {
@@ -98,18 +224,11 @@ public class FraudDetectionApplicationService implements AssessTransactionRiskUs
                 .collect(java.util.stream.Collectors.toSet());
     }
 
-    private static PagedResultDto<RiskAssessmentDto> getRiskAssessmentDtoPagedResultDto(PagedResult<RiskAssessment> pagedResult) {
-        return new PagedResultDto<>(toRiskAssessmentDtos(pagedResult.content()), pagedResult.pageNumber(), pagedResult.pageSize(),
+    private static PagedResultDto<RiskAssessmentDto> getRiskAssessmentDtoPagedResultDto(PagedResult<RiskAssessmentDto> pagedResult) {
+        return new PagedResultDto<>(pagedResult.content(), pagedResult.pageNumber(), pagedResult.pageSize(),
                 pagedResult.totalElements(), pagedResult.totalPages());
     }
 
-    private static List<RiskAssessmentDto> toRiskAssessmentDtos(List<RiskAssessment> riskAssessments) {
-        return riskAssessments
-                .stream()
-                .map(RiskAssessmentDto::from)
-                .toList();
-    }
-
     private static PageRequest toPageRequest(PageRequestQuery pageRequestQuery) {
         return new PageRequest(
                 pageRequestQuery.pageNumber(),
@@ -18,11 +18,13 @@ import java.util.List;
 public class RiskAssessment {
     private final AssessmentId assessmentId;
     private final TransactionId transactionId;  //TODO: consider making this a reference to Transaction aggregate
+    private final String accountId;
     private final RiskScore riskScore;
     private final TransactionRiskLevel transactionRiskLevel;
     private Decision decision;
     private final List<RuleEvaluation> ruleEvaluations;
     private final MLPrediction mlPrediction;
+    private final MLSkipReason mlSkipReason;
     private final Instant assessmentTime;
     private final List<DomainEvent<TransactionId>> domainEvents;
 
@@ -63,11 +65,29 @@ public class RiskAssessment {
     }
 
     public RiskAssessment(AssessmentId assessmentId, TransactionId transactionId, RiskScore riskScore, List<RuleEvaluation> evaluations, MLPrediction mlPrediction, Instant assessmentTime, Decision decision) {
+        this(assessmentId, transactionId, riskScore, evaluations, mlPrediction, null, assessmentTime, decision);
+    }
+
+    public RiskAssessment(AssessmentId assessmentId, TransactionId transactionId, RiskScore riskScore, List<RuleEvaluation> evaluations, MLPrediction mlPrediction, MLSkipReason mlSkipReason, Instant assessmentTime, Decision decision) {
+        this(assessmentId, transactionId, null, riskScore, evaluations, mlPrediction, mlSkipReason, assessmentTime, decision);
+    }
+
+    /**
+     * A new assessment of the transaction.
+     */
+    public RiskAssessment(Transaction transaction, RiskScore riskScore, List<RuleEvaluation> evaluations, MLPrediction mlPrediction, MLSkipReason mlSkipReason) {
+        this(AssessmentId.generate(), transaction.id(), transaction.accountId(), riskScore, evaluations, mlPrediction,
+                mlSkipReason, Instant.now(), null);
+    }
+
+    public RiskAssessment(AssessmentId assessmentId, TransactionId transactionId, String accountId, RiskScore riskScore, List<RuleEvaluation> evaluations, MLPrediction mlPrediction, MLSkipReason mlSkipReason, Instant assessmentTime, Decision decision) {
         this.assessmentId = assessmentId;
         this.transactionId = transactionId;
+        this.accountId = accountId;
         this.riskScore = riskScore;
         this.transactionRiskLevel = determineRiskLevel(riskScore);
         this.mlPrediction = mlPrediction;
+        this.mlSkipReason = mlSkipReason;
         this.ruleEvaluations = new ArrayList<>(evaluations);
         this.domainEvents = new ArrayList<>();
         this.assessmentTime = assessmentTime;
@@ -75,13 +95,20 @@ public class RiskAssessment {
     }
 
     public void completeAssessment(Decision decision) {
+        completeAssessment(decision, Instant.now());
+    }
+
+    /**
+     * Completes the assessment with a decision made at {@code decidedAt}, when the domain events it raises occurred.
+     */
+    public void completeAssessment(Decision decision, Instant decidedAt) {
         this.decision = decision;
         validateDecisionAlignment();
 
-        publishEvent(RiskAssessmentCompleted.of(this.transactionId, this.assessmentId, this.riskScore, this.transactionRiskLevel, decision));
+        publishEvent(new RiskAssessmentCompleted(this.transactionId, this.assessmentId, this.riskScore, this.transactionRiskLevel, decision, decidedAt));
 
         if (hasHighRisk()) {
-            publishEvent(HighRiskDetected.of(this.transactionId, this.assessmentId, this.transactionRiskLevel));
+            publishEvent(new HighRiskDetected(this.transactionId, this.assessmentId, this.transactionRiskLevel, decidedAt));
         }
     }
 
@@ -127,16 +154,6 @@ public class RiskAssessment {
             return TransactionRiskLevel.LOW;
         }
 
-        int score = riskScore.value();
-
-        if (score <= 40) {
-            return TransactionRiskLevel.LOW;
-        } else if (score <= 70) {
-            return TransactionRiskLevel.MEDIUM;
-        } else if (score <= 90) {
-            return TransactionRiskLevel.HIGH;
-        } else {
-            return TransactionRiskLevel.CRITICAL;
-        }
+        return TransactionRiskLevel.fromScore(riskScore.value());
     }
 }
@@ -0,0 +1,105 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import com.twenty9ine.frauddetection.application.port.out.BehavioralProfilePort;
+import com.twenty9ine.frauddetection.application.port.out.FraudRingPort;
+import com.twenty9ine.frauddetection.application.port.out.HabitualLocationPort;
+import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
+import com.twenty9ine.frauddetection.domain.valueobject.AssessmentContext;
+import com.twenty9ine.frauddetection.domain.valueobject.BehavioralProfile;
+import com.twenty9ine.frauddetection.domain.valueobject.HabitualLocations;
+import com.twenty9ine.frauddetection.domain.valueobject.HistoricalTransaction;
+import com.twenty9ine.frauddetection.domain.valueobject.RingSignals;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Loads the account history for an assessment with one indexed range query. The lookback has to cover the widest
+ * window any consumer reads (30 days for the ML new-merchant feature); the row limit bounds very busy accounts.
+ * The window ends at the transaction's own time, not at the time it is assessed, so a transaction that arrives late
+ * or is replayed sees the history it was made with. The account's habitual locations, behavioral profile and
+ * fraud-ring component come from their own compact stores rather than from the transaction tables.
+ */
+@Slf4j
+public final class AssessmentContextLoader {
+
+    public static final Duration DEFAULT_LOOKBACK = Duration.ofDays(30);
+    public static final int DEFAULT_MAX_TRANSACTIONS = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final HabitualLocationPort habitualLocationPort;
+    private final BehavioralProfilePort behavioralProfilePort;
+    private final FraudRingPort fraudRingPort;
+    private final Duration lookback;
+    private final int maxTransactions;
+
+    public AssessmentContextLoader(TransactionRepository transactionRepository, HabitualLocationPort habitualLocationPort,
+                                   BehavioralProfilePort behavioralProfilePort, FraudRingPort fraudRingPort) {
+        this(transactionRepository, habitualLocationPort, behavioralProfilePort, fraudRingPort, DEFAULT_LOOKBACK,
+                DEFAULT_MAX_TRANSACTIONS);
+    }
+
+    public AssessmentContextLoader(TransactionRepository transactionRepository, HabitualLocationPort habitualLocationPort,
+                                   BehavioralProfilePort behavioralProfilePort, FraudRingPort fraudRingPort,
+                                   Duration lookback, int maxTransactions) {
+        if (lookback.isNegative() || lookback.isZero()) {
+            throw new IllegalArgumentException("History lookback must be positive");
+        }
+
+        if (maxTransactions < 1) {
+            throw new IllegalArgumentException("Max history transactions must be at least 1");
+        }
+
+        this.transactionRepository = transactionRepository;
+        this.habitualLocationPort = habitualLocationPort;
+        this.behavioralProfilePort = behavioralProfilePort;
+        this.fraudRingPort = fraudRingPort;
+        this.lookback = lookback;
+        this.maxTransactions = maxTransactions;
+    }
+
+    public AssessmentContext load(Transaction transaction) {
+        Instant asOf = transaction.timestamp() != null ? transaction.timestamp() : Instant.now();
+        List<HistoricalTransaction> history = transactionRepository.findHistoryByAccountId(transaction.accountId(),
+                asOf.minus(lookback), asOf, maxTransactions);
+
+        if (history.size() == maxTransactions) {
+            log.debug("History for account {} truncated at {} transactions", transaction.accountId(), maxTransactions);
+        }
+
+        return AssessmentContext.of(transaction, history, findHabitualLocations(transaction),
+                findBehavioralProfile(transaction), findRing(transaction), asOf);
+    }
+
+    // Habitual locations only sharpen geographic signals, so an unavailable index must not cost the whole history
+    private HabitualLocations findHabitualLocations(Transaction transaction) {
+        try {
+            return habitualLocationPort.findHabitualLocations(transaction.accountId());
+        } catch (RuntimeException e) {
+            log.warn("Habitual locations unavailable for account {}: {}", transaction.accountId(), e.getMessage());
+            return HabitualLocations.none();
+        }
+    }
+
+    // Like habitual locations, the profile only sharpens signals; without it the assessment proceeds as for a new account
+    private BehavioralProfile findBehavioralProfile(Transaction transaction) {
+        try {
+            return behavioralProfilePort.findProfile(transaction.accountId());
+        } catch (RuntimeException e) {
+            log.warn("Behavioral profile unavailable for account {}: {}", transaction.accountId(), e.getMessage());
+            return BehavioralProfile.empty();
+        }
+    }
+
+    private RingSignals findRing(Transaction transaction) {
+        try {
+            return fraudRingPort.findRing(transaction);
+        } catch (RuntimeException e) {
+            log.warn("Fraud-ring lookup unavailable for account {}: {}", transaction.accountId(), e.getMessage());
+            return RingSignals.none();
+        }
+    }
+}
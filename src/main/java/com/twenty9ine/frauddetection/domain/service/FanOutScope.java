@@ -0,0 +1,92 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Minimal structured fork/join over an injected executor: every task forked in the scope is cancelled
+ * (with interruption) when the scope closes, so a failing branch or an aborted caller never leaves
+ * siblings running in the background.
+ */
+@Slf4j
+final class FanOutScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final List<Future<?>> forks = new ArrayList<>(4);
+
+    FanOutScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    <T> Branch<T> fork(String name, Callable<T> task, Duration timeout) {
+        Future<T> future = executor.submit(task);
+        forks.add(future);
+
+        return new Branch<>(name, future, System.nanoTime() + timeout.toNanos());
+    }
+
+    @Override
+    public void close() {
+        for (Future<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+
+    record Branch<T>(String name, Future<T> future, long deadlineNanos) {
+
+        /**
+         * Waits for the branch, substituting {@code onTimeout} if it overruns; failures propagate to the caller.
+         */
+        T join(Supplier<T> onTimeout) {
+            return await(onTimeout, null);
+        }
+
+        /**
+         * Waits for the branch, substituting {@code fallback} if it overruns or fails.
+         */
+        T joinOrElse(Supplier<T> fallback) {
+            return await(fallback, fallback);
+        }
+
+        void cancel() {
+            future.cancel(true);
+        }
+
+        private T await(Supplier<T> onTimeout, Supplier<T> onFailure) {
+            try {
+                return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Scoring branch {} timed out, using fallback", name);
+                return onTimeout.get();
+            } catch (ExecutionException e) {
+                if (onFailure == null) {
+                    throw propagate(e.getCause());
+                }
+
+                log.warn("Scoring branch {} failed, using fallback: {}", name, e.getCause().getMessage());
+                return onFailure.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for scoring branch " + name);
+            }
+        }
+
+        private static RuntimeException propagate(Throwable cause) {
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+
+            if (cause instanceof Error error) {
+                throw error;
+            }
+
+            return new CompletionException(cause);
+        }
+    }
+}
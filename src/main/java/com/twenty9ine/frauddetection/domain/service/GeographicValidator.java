@@ -1,47 +1,77 @@
 package com.twenty9ine.frauddetection.domain.service;
 
-import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
+import com.twenty9ine.frauddetection.application.port.out.LocationHistoryPort;
+import com.twenty9ine.frauddetection.application.port.out.RiskZonePort;
+import com.twenty9ine.frauddetection.domain.valueobject.AssessmentContext;
 import com.twenty9ine.frauddetection.domain.valueobject.GeographicContext;
+import com.twenty9ine.frauddetection.domain.valueobject.KnownLocation;
 import com.twenty9ine.frauddetection.domain.valueobject.Location;
+import com.twenty9ine.frauddetection.domain.valueobject.RiskZone;
 import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalDouble;
 
 @Slf4j
 public final class GeographicValidator {
 
     private static final double IMPOSSIBLE_TRAVEL_THRESHOLD_KMH = 965.0; //average cruising speed for a commercial jet
+    // Displacement GPS and IP geolocation report between fixes of the same place; never impossible travel
+    private static final double LOCATION_JITTER_KM = 25.0;
+    // Shorter gaps are measured as this long, so back-to-back transactions give a finite speed
+    private static final Duration MIN_TRAVEL_TIME = Duration.ofMinutes(1);
+    public static final double DEFAULT_UNFAMILIAR_DISTANCE_KM = 250.0;
+
+    private final LocationHistoryPort locationHistory;
+    private final RiskZonePort riskZones;
+    private final double unfamiliarDistanceKm;
+
+    public GeographicValidator(LocationHistoryPort locationHistory, RiskZonePort riskZones) {
+        this(locationHistory, riskZones, DEFAULT_UNFAMILIAR_DISTANCE_KM);
+    }
 
-    private final TransactionRepository transactionRepository;
+    public GeographicValidator(LocationHistoryPort locationHistory, RiskZonePort riskZones, double unfamiliarDistanceKm) {
+        if (unfamiliarDistanceKm <= 0.0) {
+            throw new IllegalArgumentException("Unfamiliar location distance must be positive");
+        }
 
-    public GeographicValidator(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+        this.locationHistory = locationHistory;
+        this.riskZones = riskZones;
+        this.unfamiliarDistanceKm = unfamiliarDistanceKm;
     }
 
     public GeographicContext validate(Transaction transaction) {
+        if (transaction.location() == null) {
+            return GeographicContext.normal();
+        }
+
+        return checkRiskZones(checkTravel(transaction), transaction.location());
+    }
+
+    private GeographicContext checkTravel(Transaction transaction) {
         Location currentLocation = transaction.location();
         String accountId = transaction.accountId();
 
-        Optional<Transaction> optionalPreviousTransaction = findPreviousLocationByAccountId(accountId);
+        Optional<KnownLocation> optionalPreviousLocation = findPreviousLocation(transaction);
 
-        if (optionalPreviousTransaction.isEmpty()) {
+        if (optionalPreviousLocation.isEmpty()) {
             return GeographicContext.normal();
         }
 
-        Transaction previousTransaction = optionalPreviousTransaction.get();
-        Location previousLocation = previousTransaction.location();
+        KnownLocation knownLocation = optionalPreviousLocation.get();
+        Location previousLocation = knownLocation.toLocation();
 
         double displacementKm = calculateDisplacement(currentLocation, previousLocation);
-        Duration durationBetween = calculateBetweenDuration(transaction, previousTransaction);
+        Duration durationBetween = calculateBetweenDuration(transaction, knownLocation);
 
         double requiredSpeedKmh = calculateRequiredSpeed(displacementKm, durationBetween);
-        boolean impossibleTravel = isImpossibleTravel(requiredSpeedKmh);
+        boolean impossibleTravel = displacementKm > LOCATION_JITTER_KM && isImpossibleTravel(requiredSpeedKmh);
 
         if (impossibleTravel) {
-            log.warn("Impossible travel detected for account {}: {}km in {} minutes ({}km/h)",
-                    accountId, displacementKm, durationBetween.toMinutes(), requiredSpeedKmh);
+            log.warn("Impossible travel detected for account {}: {}km in {} seconds ({}km/h)",
+                    accountId, displacementKm, durationBetween.toSeconds(), requiredSpeedKmh);
         }
 
         return GeographicContext.builder()
@@ -53,12 +83,48 @@ public final class GeographicValidator {
                 .build();
     }
 
+    private GeographicContext checkRiskZones(GeographicContext geographic, Location location) {
+        Optional<RiskZone> zone = riskZones.findZoneContaining(location);
+
+        if (zone.isEmpty()) {
+            return geographic;
+        }
+
+        log.debug("Transaction location {} falls inside high-risk zone {}", location, zone.get());
+
+        return geographic.toBuilder()
+                .isHighRiskZone(true)
+                .highRiskZoneId(zone.get().id())
+                .build();
+    }
+
+    /**
+     * Adds the distance to the account's nearest habitual location to {@code geographic}. A transaction further than
+     * the configured distance from every habitual location is unfamiliar; accounts without habitual locations yet
+     * are never flagged.
+     */
+    public GeographicContext checkFamiliarity(GeographicContext geographic, AssessmentContext context) {
+        OptionalDouble habitualDistanceKm = context.habitualDistanceKm();
+
+        if (habitualDistanceKm.isEmpty()) {
+            return geographic;
+        }
+
+        double distanceKm = habitualDistanceKm.getAsDouble();
+
+        return geographic.toBuilder()
+                .isUnfamiliarLocation(distanceKm > unfamiliarDistanceKm)
+                .habitualDistanceKm(distanceKm)
+                .build();
+    }
+
     private static boolean isImpossibleTravel(double requiredSpeedKmh) {
         return requiredSpeedKmh > IMPOSSIBLE_TRAVEL_THRESHOLD_KMH;
     }
 
     private static double calculateRequiredSpeed(double displacementKm, Duration durationBetween) {
-        double hours = durationBetween.toMinutes() / 60.0;
+        Duration travelTime = durationBetween.compareTo(MIN_TRAVEL_TIME) < 0 ? MIN_TRAVEL_TIME : durationBetween;
+        double hours = travelTime.toMillis() / 3_600_000.0;
         return displacementKm / hours;
     }
 
@@ -66,11 +132,11 @@ public final class GeographicValidator {
         return currentLocation.distanceFrom(previousLocation);
     }
 
-    private static Duration calculateBetweenDuration(Transaction transaction1, Transaction transaction2) {
-        return Duration.between(transaction2.timestamp(), transaction1.timestamp());
+    private static Duration calculateBetweenDuration(Transaction transaction, KnownLocation previousLocation) {
+        return Duration.between(previousLocation.timestamp(), transaction.timestamp());
     }
 
-    private Optional<Transaction> findPreviousLocationByAccountId(String accountId) {
-        return transactionRepository.findEarliestByAccountId(accountId);
+    private Optional<KnownLocation> findPreviousLocation(Transaction transaction) {
+        return locationHistory.findNearestPriorLocation(transaction.accountId(), transaction.timestamp());
     }
 }
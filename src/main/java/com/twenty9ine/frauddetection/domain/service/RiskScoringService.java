@@ -6,10 +6,11 @@ import com.twenty9ine.frauddetection.application.port.out.VelocityServicePort;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 public final class RiskScoringService {
@@ -17,15 +18,32 @@ public final class RiskScoringService {
     private final RuleEngineService ruleEngine;
     private final MLServicePort mlService;
     private final VelocityServicePort velocityService;
+    private final AssessmentContextLoader contextLoader;
     private final GeographicValidator geographicValidator;
     private final double mlWeight;
     private final double ruleWeight;
+    private final ScoringCascade cascade;
+    private final ExecutorService executor;
+    private final ScoringTimeouts timeouts;
 
     public RiskScoringService(RuleEngineService ruleEngine, MLServicePort mlService, VelocityServicePort velocityService,
-                              GeographicValidator geographicValidator, double mlWeight, double ruleWeight) {
+                              AssessmentContextLoader contextLoader, GeographicValidator geographicValidator,
+                              double mlWeight, double ruleWeight) {
+        this(ruleEngine, mlService, velocityService, contextLoader, geographicValidator, mlWeight, ruleWeight,
+                ScoringCascade.disabled(), DefaultExecutorHolder.INSTANCE, ScoringTimeouts.defaults());
+    }
+
+    public RiskScoringService(RuleEngineService ruleEngine, MLServicePort mlService, VelocityServicePort velocityService,
+                              AssessmentContextLoader contextLoader, GeographicValidator geographicValidator,
+                              double mlWeight, double ruleWeight, ScoringCascade cascade,
+                              ExecutorService executor, ScoringTimeouts timeouts) {
         this.ruleEngine = ruleEngine;
+        this.cascade = cascade;
+        this.executor = executor;
+        this.timeouts = timeouts;
         this.mlService = mlService;
         this.velocityService = velocityService;
+        this.contextLoader = contextLoader;
         this.geographicValidator = geographicValidator;
 
         if(mlWeight + ruleWeight != 1.0) {
@@ -44,84 +62,86 @@ public final class RiskScoringService {
     }
 
     public RiskAssessment assessRisk(Transaction transaction) {
-        CompletableFuture<MLPrediction> mlFuture = predict(transaction);
-        CompletableFuture<VelocityMetrics> velocityFuture = findVelocityMetricsByTransaction(transaction);
-        CompletableFuture<GeographicContext> geographicFuture = validateGeographical(transaction);
+        try (FanOutScope scope = new FanOutScope(executor)) {
+            FanOutScope.Branch<AssessmentContext> historyBranch = scope.fork("history",
+                    () -> contextLoader.load(transaction), timeouts.history());
+            FanOutScope.Branch<VelocityMetrics> velocityBranch = scope.fork("velocity",
+                    () -> findVelocityMetrics(transaction), timeouts.velocity());
+            FanOutScope.Branch<GeographicContext> geographicBranch = scope.fork("geographic",
+                    () -> geographicValidator.validate(transaction), timeouts.geographic());
 
-        CompletableFuture.allOf(mlFuture, velocityFuture, geographicFuture).join();
+            AssessmentContext context = historyBranch.join(() -> AssessmentContext.withoutHistory(transaction));
+            FanOutScope.Branch<MLPrediction> mlBranch = cascade.startsMlEagerly() ? forkPrediction(scope, context) : null;
 
-        MLPrediction mlPrediction = mlFuture.join();
-        VelocityMetrics velocity = velocityFuture.join();
-        GeographicContext geographic = geographicFuture.join();
+            VelocityMetrics velocity = velocityBranch.join(VelocityMetrics::empty);
+            GeographicContext geographic = geographicValidator.checkFamiliarity(
+                    geographicBranch.join(GeographicContext::normal), context);
 
-        RuleEvaluationResult ruleResults = ruleEngine.evaluateRules(transaction, velocity, geographic);
-
-        return new RiskAssessment(transaction.id(), calculateCompositeScore(mlPrediction, ruleResults),
-                toRuleEvaluations(ruleResults), mlPrediction);
-    }
+            RuleEvaluationResult ruleResults = ruleEngine.evaluateRules(transaction, velocity, geographic,
+                    context.behavioralSignals(), context.ring());
+            double ruleScore = ruleResults.aggregateScore();
 
-    private static List<RuleEvaluation> toRuleEvaluations(RuleEvaluationResult ruleResults) {
-        return ruleResults.getTriggers()
-                .stream()
-                .map(RiskScoringService::buildRuleEvaluation)
-                .toList();
-    }
+            Optional<MLSkipReason> skipReason = findMlSkipReason(transaction, ruleResults, ruleScore);
 
-    private static RuleEvaluation buildRuleEvaluation(RuleTrigger ruleTrigger) {
-        return new RuleEvaluation(ruleTrigger.ruleId(), ruleTrigger.ruleName(), determineRuleType(ruleTrigger),
-                            true, ruleTrigger.triggeredValue(), ruleTrigger.description());
-    }
+            if (skipReason.isPresent()) {
+                if (mlBranch != null) {
+                    mlBranch.cancel();
+                }
 
-    private static RuleType determineRuleType(RuleTrigger ruleTrigger) {
-        return switch (ruleTrigger.ruleId()) {
-            case "VELOCITY_5MIN", "VELOCITY_1HOUR", "VELOCITY_24HOURS" -> RuleType.VELOCITY;
-            case "IMPOSSIBLE_TRAVEL" -> RuleType.GEOGRAPHIC;
-            case "LARGE_AMOUNT", "VERY_LARGE_AMOUNT", "EXCESSIVELY_LARGE_AMOUNT" -> RuleType.AMOUNT;
-            default -> throw new IllegalStateException("Unexpected value: " + ruleTrigger.ruleId());
-        };
-    }
+                log.debug("Skipping ML prediction for transaction {}: {}", transaction.id(), skipReason.get());
 
-    private CompletableFuture<MLPrediction> predict(Transaction transaction) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (mlService == null) {
-                return MLPrediction.unavailable();
+                return new RiskAssessment(transaction, calculateCompositeScore(0.0, ruleScore),
+                        toRuleEvaluations(ruleResults), MLPrediction.skipped(), skipReason.get());
             }
-            return mlService.predict(transaction);
-        });
+
+            MLPrediction mlPrediction = (mlBranch != null ? mlBranch : forkPrediction(scope, context))
+                    .joinOrElse(MLPrediction::unavailable);
+
+            return new RiskAssessment(transaction, calculateCompositeScore(mlPrediction.fraudProbability(), ruleScore),
+                    toRuleEvaluations(ruleResults), mlPrediction, null);
+        }
     }
 
-    private CompletableFuture<GeographicContext> validateGeographical(Transaction transaction) {
-        return CompletableFuture.supplyAsync(() ->
-                geographicValidator.validate(transaction));
+    // Account velocity is cached per account; the merchant and device dimensions are shared, so they are read fresh
+    private VelocityMetrics findVelocityMetrics(Transaction transaction) {
+        return velocityService.findVelocityMetricsByTransaction(transaction)
+                .withCrossAccount(velocityService.findCrossAccountVelocity(transaction));
     }
 
-    private CompletableFuture<VelocityMetrics> findVelocityMetricsByTransaction(Transaction transaction) {
-        return CompletableFuture.supplyAsync(() ->
-                velocityService.findVelocityMetricsByTransaction(transaction));
+    private FanOutScope.Branch<MLPrediction> forkPrediction(FanOutScope scope, AssessmentContext context) {
+        return scope.fork("ml", () -> mlService != null ? mlService.predict(context) : MLPrediction.unavailable(), timeouts.ml());
     }
 
-    private RiskScore calculateCompositeScore(MLPrediction ml, RuleEvaluationResult rules) {
-        BigDecimal mlScore = percentage(ml.fraudProbability());
-        BigDecimal ruleScore = findAggregateScore(rules);
-        BigDecimal finalScore = calculateFinalScore(mlScore, ruleScore);
+    private Optional<MLSkipReason> findMlSkipReason(Transaction transaction, RuleEvaluationResult ruleResults, double ruleScore) {
+        if (mlService == null) {
+            return Optional.empty();
+        }
 
-        return new RiskScore(Math.clamp(roundUpScore(finalScore), 0, 100));
+        return cascade.skipReason(transaction, ruleResults, ruleScore, mlWeight, ruleWeight);
     }
 
-    private static int roundUpScore(BigDecimal finalScore) {
-        return finalScore.setScale(0, RoundingMode.HALF_UP).intValue();
+    private static List<RuleEvaluation> toRuleEvaluations(RuleEvaluationResult ruleResults) {
+        List<RuleTrigger> triggers = ruleResults.getTriggers();
+        List<RuleEvaluation> evaluations = new ArrayList<>(triggers.size());
+
+        for (int i = 0; i < triggers.size(); i++) {
+            evaluations.add(buildRuleEvaluation(triggers.get(i), ruleResults.definitionAt(i)));
+        }
+
+        return evaluations;
     }
 
-    private BigDecimal calculateFinalScore(BigDecimal mlScore, BigDecimal ruleScore) {
-        return mlScore.multiply(BigDecimal.valueOf(mlWeight))
-                .add(ruleScore.multiply(BigDecimal.valueOf(ruleWeight)));
+    private static RuleEvaluation buildRuleEvaluation(RuleTrigger ruleTrigger, RuleDefinition ruleDefinition) {
+        return new RuleEvaluation(ruleTrigger.ruleId(), ruleTrigger.ruleName(), ruleDefinition.ruleType(),
+                            true, ruleTrigger.triggeredValue(), ruleTrigger.description());
     }
 
-    private static BigDecimal findAggregateScore(RuleEvaluationResult rules) {
-        return BigDecimal.valueOf(rules.aggregateScore());
+    private RiskScore calculateCompositeScore(double mlProbability, double ruleScore) {
+        return new RiskScore(ScoringKernel.compositeScore(mlProbability, ruleScore, mlWeight, ruleWeight));
     }
 
-    private static BigDecimal percentage(double val) {
-        return BigDecimal.valueOf(val).multiply(BigDecimal.valueOf(100));
+    // Fallback for callers that do not inject an executor; virtual threads keep blocking I/O off carrier pools
+    private static final class DefaultExecutorHolder {
+        private static final ExecutorService INSTANCE = Executors.newVirtualThreadPerTaskExecutor();
     }
 }
@@ -1,36 +1,88 @@
 package com.twenty9ine.frauddetection.domain.service;
 
+import com.twenty9ine.frauddetection.domain.valueobject.BehavioralSignals;
 import com.twenty9ine.frauddetection.domain.valueobject.GeographicContext;
+import com.twenty9ine.frauddetection.domain.valueobject.RingSignals;
+import com.twenty9ine.frauddetection.domain.valueobject.RuleCatalogue;
 import com.twenty9ine.frauddetection.domain.valueobject.RuleEvaluationResult;
+import com.twenty9ine.frauddetection.domain.valueobject.RuleFacts;
 import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 import com.twenty9ine.frauddetection.domain.valueobject.VelocityMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 
+import java.util.List;
+
 @Slf4j
 public final class RuleEngineService {
 
     private final KieContainer kieContainer;
+    private final RuleCatalogue ruleCatalogue;
+    private final TemporalRuleEngineService temporalRuleEngine;
 
     public RuleEngineService(KieContainer kieContainer) {
+        this(kieContainer, RuleCatalogue.defaults(), null);
+    }
+
+    public RuleEngineService(KieContainer kieContainer, RuleCatalogue ruleCatalogue, TemporalRuleEngineService temporalRuleEngine) {
         this.kieContainer = kieContainer;
+        this.ruleCatalogue = ruleCatalogue;
+        this.temporalRuleEngine = temporalRuleEngine;
     }
 
     public RuleEvaluationResult evaluateRules(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic) {
-        try (KieSession kieSession = kieContainer.newKieSession()) {
+        return evaluateRules(transaction, velocity, geographic, BehavioralSignals.none());
+    }
 
-            kieSession.insert(transaction);
-            kieSession.insert(velocity);
-            kieSession.insert(geographic);
+    public RuleEvaluationResult evaluateRules(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                                              BehavioralSignals behavior) {
+        return evaluateRules(transaction, velocity, geographic, behavior, RingSignals.none());
+    }
+
+    public RuleEvaluationResult evaluateRules(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                                              BehavioralSignals behavior, RingSignals ring) {
+        return evaluateRules(List.of(facts(transaction, velocity, geographic, behavior, ring))).getFirst();
+    }
 
-            RuleEvaluationResult ruleEvaluationResult = new RuleEvaluationResult();
-            kieSession.setGlobal("ruleEvaluationResult", ruleEvaluationResult);
+    /**
+     * Builds the facts for one transaction, bound to this engine's rule catalogue.
+     */
+    public RuleFacts facts(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic) {
+        return facts(transaction, velocity, geographic, BehavioralSignals.none());
+    }
+
+    public RuleFacts facts(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                           BehavioralSignals behavior) {
+        return facts(transaction, velocity, geographic, behavior, RingSignals.none());
+    }
+
+    public RuleFacts facts(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                           BehavioralSignals behavior, RingSignals ring) {
+        return RuleFacts.of(transaction, velocity, geographic, behavior, ring, ruleCatalogue);
+    }
+
+    /**
+     * Evaluates many transactions in a single session. Rules match on {@link RuleFacts}, so every trigger
+     * lands in the result of the transaction it was raised for and each result is identical to what a
+     * single-transaction evaluation would produce.
+     *
+     * @return one result per entry of {@code batch}, in the same order
+     */
+    public List<RuleEvaluationResult> evaluateRules(List<RuleFacts> batch) {
+        try (KieSession kieSession = kieContainer.newKieSession()) {
+            batch.forEach(kieSession::insert);
 
             int rulesFired = kieSession.fireAllRules();
-            log.debug("Fired {} rules for transaction {}", rulesFired, transaction.id());
+            log.debug("Fired {} rules for {} transaction(s)", rulesFired, batch.size());
+        }
 
-            return ruleEvaluationResult;
+        if (temporalRuleEngine != null) {
+            batch.forEach(facts -> temporalRuleEngine.evaluate(facts.transaction(), facts.result()));
         }
+
+        return batch.stream()
+                .map(RuleFacts::result)
+                .toList();
     }
 }
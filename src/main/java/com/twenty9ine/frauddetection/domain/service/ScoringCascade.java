@@ -0,0 +1,58 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import com.twenty9ine.frauddetection.domain.valueobject.MLSkipReason;
+import com.twenty9ine.frauddetection.domain.valueobject.RuleEvaluationResult;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import com.twenty9ine.frauddetection.domain.valueobject.TransactionRiskLevel;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Policy for the tiered scoring cascade: velocity, geography and rules run first, and the ML stage is
+ * skipped when its result can no longer move the assessment into another risk band.
+ *
+ * @param enabled          whether the cascade is applied at all; when disabled every stage always runs
+ * @param speculativeMl    start the ML call alongside the cheap stages and cancel it when skipped, trading
+ *                         some ML spend for latency on transactions that do need the model
+ * @param lowValueAmount   transactions at or below this base-currency amount, with no rule triggers, count as trusted low value
+ * @param trustedMlCeiling highest fraud probability considered plausible for a trusted low-value transaction
+ */
+public record ScoringCascade(boolean enabled, boolean speculativeMl, BigDecimal lowValueAmount, double trustedMlCeiling) {
+
+    public static ScoringCascade disabled() {
+        return new ScoringCascade(false, false, BigDecimal.ZERO, 0.0);
+    }
+
+    public boolean startsMlEagerly() {
+        return !enabled || speculativeMl;
+    }
+
+    public Optional<MLSkipReason> skipReason(Transaction transaction, RuleEvaluationResult ruleResults, double ruleScore,
+                                             double mlWeight, double ruleWeight) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        TransactionRiskLevel lowerBound = band(0.0, ruleScore, mlWeight, ruleWeight);
+
+        if (lowerBound == band(1.0, ruleScore, mlWeight, ruleWeight)) {
+            return Optional.of(MLSkipReason.OUTCOME_DECIDED_BY_RULES);
+        }
+
+        if (ruleResults.getTriggers().isEmpty() && isLowValue(transaction)
+                && band(trustedMlCeiling, ruleScore, mlWeight, ruleWeight) == TransactionRiskLevel.LOW) {
+            return Optional.of(MLSkipReason.TRUSTED_LOW_VALUE);
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isLowValue(Transaction transaction) {
+        return transaction.amount().toBase().value().compareTo(lowValueAmount) <= 0;
+    }
+
+    private static TransactionRiskLevel band(double mlProbability, double ruleScore, double mlWeight, double ruleWeight) {
+        return TransactionRiskLevel.fromScore(ScoringKernel.compositeScore(mlProbability, ruleScore, mlWeight, ruleWeight));
+    }
+}
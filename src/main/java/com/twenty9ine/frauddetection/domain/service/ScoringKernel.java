@@ -0,0 +1,66 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Primitive arithmetic for combining the ML probability and the rule score into a composite risk score.
+ * <p>
+ * <b>Rounding contract.</b> The composite score is
+ * {@code round(mlProbability * 100 * mlWeight + ruleScore * ruleWeight)}, evaluated over the
+ * shortest decimal representation of each input (as {@link BigDecimal#valueOf(double)} reads it),
+ * rounded {@link RoundingMode#HALF_UP} to an integer and clamped to {@code [0, 100]}.
+ * <p>
+ * The fast path evaluates the expression in {@code double}. Its error is many orders of magnitude
+ * below {@link #TIE_TOLERANCE}, so rounding can only differ from the exact decimal result when the
+ * value lies within that tolerance of a {@code .5} boundary; those (rare) inputs, and non-finite or
+ * out-of-range ones, are delegated to {@link #exactCompositeScore}. Everything else allocates nothing.
+ */
+public final class ScoringKernel {
+
+    /** Relative distance from a .5 boundary below which the exact decimal path decides the rounding. */
+    static final double TIE_TOLERANCE = 1.0e-9;
+
+    private static final double MAX_FAST_PATH_MAGNITUDE = 1.0e9;
+
+    private ScoringKernel() {
+    }
+
+    public static int compositeScore(double mlProbability, double ruleScore, double mlWeight, double ruleWeight) {
+        double mlTerm = mlProbability * 100.0 * mlWeight;
+        double ruleTerm = ruleScore * ruleWeight;
+        double score = mlTerm + ruleTerm;
+
+        double magnitude = Math.abs(mlTerm) + Math.abs(ruleTerm);
+
+        if (!(magnitude < MAX_FAST_PATH_MAGNITUDE) || isNearTie(score, TIE_TOLERANCE * Math.max(1.0, magnitude))) {
+            return exactCompositeScore(mlProbability, ruleScore, mlWeight, ruleWeight);
+        }
+
+        return Math.clamp(roundHalfUp(score), 0, 100);
+    }
+
+    /**
+     * Reference implementation of the rounding contract in decimal arithmetic.
+     */
+    static int exactCompositeScore(double mlProbability, double ruleScore, double mlWeight, double ruleWeight) {
+        BigDecimal mlScore = BigDecimal.valueOf(mlProbability).multiply(BigDecimal.valueOf(100));
+        BigDecimal finalScore = mlScore.multiply(BigDecimal.valueOf(mlWeight))
+                .add(BigDecimal.valueOf(ruleScore).multiply(BigDecimal.valueOf(ruleWeight)));
+
+        return Math.clamp(finalScore.setScale(0, RoundingMode.HALF_UP).intValue(), 0, 100);
+    }
+
+    private static boolean isNearTie(double score, double tolerance) {
+        double absolute = Math.abs(score);
+        double fraction = absolute - Math.floor(absolute);
+
+        return Math.abs(fraction - 0.5) < tolerance;
+    }
+
+    // HALF_UP rounds ties away from zero; callers guarantee the value is not within tolerance of a tie
+    private static long roundHalfUp(double score) {
+        long rounded = (long) Math.floor(Math.abs(score) + 0.5);
+        return score < 0 ? -rounded : rounded;
+    }
+}
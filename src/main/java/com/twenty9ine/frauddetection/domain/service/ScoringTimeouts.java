@@ -0,0 +1,15 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import java.time.Duration;
+
+/**
+ * Per-branch time budgets for the {@link RiskScoringService} fan-out. A branch that overruns its budget is
+ * cancelled and replaced by its neutral fallback (unavailable ML prediction, empty velocity, no account history,
+ * normal geography).
+ */
+public record ScoringTimeouts(Duration ml, Duration velocity, Duration history, Duration geographic) {
+
+    public static ScoringTimeouts defaults() {
+        return new ScoringTimeouts(Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,226 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import com.twenty9ine.frauddetection.domain.valueobject.RuleEvaluationResult;
+import com.twenty9ine.frauddetection.domain.valueobject.TemporalRuleTrigger;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import com.twenty9ine.frauddetection.domain.valueobject.TransactionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.kie.api.runtime.ClassObjectFilter;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.time.SessionPseudoClock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates the stream-mode (Drools Fusion) rules against long-lived sessions keyed by account,
+ * or by account shard when {@code shards > 0}.
+ * <p>
+ * Each session keeps the recent {@link TransactionEvent}s of its accounts, so sequence and sliding
+ * window rules see history without querying the database. Session clocks are pseudo clocks driven
+ * by the event timestamps; events expire through the DRL {@code @expires} declaration. Sessions that
+ * have been idle longer than {@code idleTimeout}, or the least recently used ones once
+ * {@code maxSessions} is exceeded, are disposed and rebuilt from scratch on the next event.
+ * <p>
+ * An event more than {@code allowedLateness} behind the latest event of its own account is not
+ * inserted, since the windows it belongs to have already been evaluated; it is counted in
+ * {@link #lateEvents()}. Lateness is judged per account because a shard's clock is driven by all of
+ * its accounts, and one account's newer event must not make another's on-time event late. Rules
+ * insert a {@link TemporalRuleTrigger} naming the transaction of the event they matched, and only
+ * the triggers of the transaction being evaluated are added to its result, so a sequence completed
+ * by a late event is not credited to it.
+ */
+@Slf4j
+public final class TemporalRuleEngineService implements AutoCloseable {
+
+    private static final ClassObjectFilter TRIGGERS = new ClassObjectFilter(TemporalRuleTrigger.class);
+
+    private final KieContainer kieContainer;
+    private final String sessionName;
+    private final long idleTimeoutNanos;
+    private final long allowedLatenessMillis;
+    private final int maxSessions;
+    private final int shards;
+    private final Map<String, TemporalSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong lateEvents = new AtomicLong();
+
+    public TemporalRuleEngineService(KieContainer kieContainer, String sessionName, Duration idleTimeout,
+                                     Duration allowedLateness, int maxSessions, int shards) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("Maximum temporal sessions must be positive");
+        }
+        if (allowedLateness.isNegative()) {
+            throw new IllegalArgumentException("Allowed lateness of temporal events must not be negative");
+        }
+
+        this.kieContainer = kieContainer;
+        this.sessionName = sessionName;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.allowedLatenessMillis = allowedLateness.toMillis();
+        this.maxSessions = maxSessions;
+        this.shards = shards;
+    }
+
+    public void evaluate(Transaction transaction, RuleEvaluationResult result) {
+        TransactionEvent event = TransactionEvent.from(transaction);
+        String sessionKey = sessionKey(event.accountId());
+
+        boolean evaluated;
+        do {
+            TemporalSession session = sessions.computeIfAbsent(sessionKey, this::openSession);
+            evaluated = session.evaluate(event, result);
+        } while (!evaluated);
+
+        evictIdleSessions();
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Events rejected for arriving more than the allowed lateness behind their session's clock.
+     */
+    public long lateEvents() {
+        return lateEvents.get();
+    }
+
+    @Override
+    public void close() {
+        sessions.forEach(this::evict);
+    }
+
+    private String sessionKey(String accountId) {
+        return shards > 0 ? "shard-" + Math.floorMod(accountId.hashCode(), shards) : accountId;
+    }
+
+    private TemporalSession openSession(String sessionKey) {
+        log.debug("Opening temporal rule session {}", sessionKey);
+        return new TemporalSession(kieContainer.newKieSession(sessionName));
+    }
+
+    private void evictIdleSessions() {
+        long now = System.nanoTime();
+        long lastSweep = lastSweepNanos.get();
+        boolean sweepDue = now - lastSweep >= idleTimeoutNanos / 2;
+
+        if ((!sweepDue && sessions.size() <= maxSessions) || !lastSweepNanos.compareAndSet(lastSweep, now)) {
+            return;
+        }
+
+        sessions.forEach((key, session) -> {
+            if (now - session.lastAccessNanos > idleTimeoutNanos) {
+                evict(key, session);
+            } else {
+                session.forgetQuietAccounts();
+            }
+        });
+
+        int overflow = sessions.size() - maxSessions;
+        if (overflow > 0) {
+            sessions.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos))
+                    .limit(overflow)
+                    .toList()
+                    .forEach(entry -> evict(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private void evict(String sessionKey, TemporalSession session) {
+        if (sessions.remove(sessionKey, session)) {
+            log.debug("Evicting temporal rule session {}", sessionKey);
+            session.dispose();
+        }
+    }
+
+    private final class TemporalSession {
+
+        private final KieSession kieSession;
+        private final SessionPseudoClock clock;
+        // Latest event timestamp per account, the mark that account's late events are judged against
+        private final Map<String, Long> accountWatermarks = new HashMap<>();
+        private volatile long lastAccessNanos = System.nanoTime();
+        private boolean disposed;
+
+        private TemporalSession(KieSession kieSession) {
+            this.kieSession = kieSession;
+            this.clock = kieSession.getSessionClock();
+        }
+
+        /**
+         * @return {@code false} when the session was evicted concurrently and the caller must open a new one
+         */
+        private synchronized boolean evaluate(TransactionEvent event, RuleEvaluationResult result) {
+            if (disposed) {
+                return false;
+            }
+
+            lastAccessNanos = System.nanoTime();
+
+            long watermark = accountWatermarks.getOrDefault(event.accountId(), Long.MIN_VALUE);
+
+            if (event.timestamp() < watermark - allowedLatenessMillis) {
+                lateEvents.incrementAndGet();
+                log.debug("Rejecting transaction {} that is {} ms behind the latest event of account {}",
+                        event.transactionId(), watermark - event.timestamp(), event.accountId());
+                return true;
+            }
+
+            accountWatermarks.put(event.accountId(), Math.max(watermark, event.timestamp()));
+            advanceClockTo(event.timestamp());
+            kieSession.insert(event);
+
+            int rulesFired = kieSession.fireAllRules();
+            log.debug("Fired {} temporal rules for transaction {}", rulesFired, event.transactionId());
+
+            collectTriggers(event, result);
+            return true;
+        }
+
+        // Trigger facts are not events and would never expire, so every one is removed once collected
+        private void collectTriggers(TransactionEvent event, RuleEvaluationResult result) {
+            for (FactHandle handle : new ArrayList<>(kieSession.getFactHandles(TRIGGERS))) {
+                TemporalRuleTrigger fired = (TemporalRuleTrigger) kieSession.getObject(handle);
+                kieSession.delete(handle);
+
+                if (event.transactionId().equals(fired.transactionId())) {
+                    result.addTrigger(fired.trigger());
+                } else {
+                    log.debug("Dropping {} completed by transaction {} on already evaluated transaction {}",
+                            fired.trigger().ruleId(), event.transactionId(), fired.transactionId());
+                }
+            }
+        }
+
+        // Pseudo clocks only move forward; events within the allowed lateness keep their own timestamp but do not rewind the session
+        private void advanceClockTo(long timestamp) {
+            long delta = timestamp - clock.getCurrentTime();
+
+            if (delta > 0) {
+                clock.advanceTime(delta, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // An account quiet for the idle timeout has no events left to be late against
+        private synchronized void forgetQuietAccounts() {
+            long horizon = clock.getCurrentTime() - TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos);
+            accountWatermarks.values().removeIf(watermark -> watermark < horizon);
+        }
+
+        private synchronized void dispose() {
+            if (!disposed) {
+                disposed = true;
+                kieSession.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Everything the scoring pipeline knows about an account at the moment a transaction is assessed. The account's
+ * recent history is loaded once per assessment and shared by every consumer (such as the ML feature extractor),
+ * instead of each of them querying the transaction store on its own. The account's habitual locations travel
+ * with it so rules and ML features measure "distance from where this account usually is" the same way, as does its
+ * behavioral profile for "how this account usually transacts" and the fraud-ring component it belongs to.
+ * <p>
+ * The history never contains the transaction under assessment and is ordered newest first.
+ */
+public record AssessmentContext(Transaction transaction, List<HistoricalTransaction> history,
+                                HabitualLocations habitualLocations, BehavioralProfile behavioralProfile, RingSignals ring,
+                                Instant asOf) {
+
+    private static final Comparator<HistoricalTransaction> NEWEST_FIRST =
+            Comparator.comparing(HistoricalTransaction::timestamp).reversed();
+
+    public AssessmentContext {
+        history = List.copyOf(history);
+        habitualLocations = habitualLocations != null ? habitualLocations : HabitualLocations.none();
+        behavioralProfile = behavioralProfile != null ? behavioralProfile : BehavioralProfile.empty();
+        ring = ring != null ? ring : RingSignals.none();
+    }
+
+    public static AssessmentContext of(Transaction transaction, List<HistoricalTransaction> history, Instant asOf) {
+        return of(transaction, history, HabitualLocations.none(), asOf);
+    }
+
+    public static AssessmentContext of(Transaction transaction, List<HistoricalTransaction> history,
+                                       HabitualLocations habitualLocations, Instant asOf) {
+        return of(transaction, history, habitualLocations, BehavioralProfile.empty(), asOf);
+    }
+
+    public static AssessmentContext of(Transaction transaction, List<HistoricalTransaction> history,
+                                       HabitualLocations habitualLocations, BehavioralProfile behavioralProfile,
+                                       Instant asOf) {
+        return of(transaction, history, habitualLocations, behavioralProfile, RingSignals.none(), asOf);
+    }
+
+    public static AssessmentContext of(Transaction transaction, List<HistoricalTransaction> history,
+                                       HabitualLocations habitualLocations, BehavioralProfile behavioralProfile,
+                                       RingSignals ring, Instant asOf) {
+        List<HistoricalTransaction> previous = new ArrayList<>(history.size());
+
+        for (HistoricalTransaction entry : history) {
+            if (!entry.id().equals(transaction.id())) {
+                previous.add(entry);
+            }
+        }
+
+        previous.sort(NEWEST_FIRST);
+
+        return new AssessmentContext(transaction, previous, habitualLocations, behavioralProfile, ring, asOf);
+    }
+
+    public static AssessmentContext withoutHistory(Transaction transaction) {
+        return new AssessmentContext(transaction, List.of(), HabitualLocations.none(), BehavioralProfile.empty(),
+                RingSignals.none(), transaction.timestamp() != null ? transaction.timestamp() : Instant.now());
+    }
+
+    public int transactionCountWithin(Duration window) {
+        Instant since = asOf.minus(window);
+        int count = 0;
+
+        for (HistoricalTransaction entry : history) {
+            if (entry.timestamp().isBefore(since)) {
+                break;
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    public double totalAmountWithin(Duration window) {
+        Instant since = asOf.minus(window);
+        double total = 0.0;
+
+        for (HistoricalTransaction entry : history) {
+            if (entry.timestamp().isBefore(since)) {
+                break;
+            }
+            total += entry.amount().baseValue();
+        }
+
+        return total;
+    }
+
+    /**
+     * Distance in kilometres from the transaction to the nearest habitual location, or empty when the transaction
+     * has no location or the account has no habitual locations yet.
+     */
+    public OptionalDouble habitualDistanceKm() {
+        return habitualLocations.nearestDistanceKm(transaction.location());
+    }
+
+    /**
+     * How the transaction compares with the account's behavioral profile; neutral when the account has no profile.
+     */
+    public BehavioralSignals behavioralSignals() {
+        return behavioralProfile.signalsFor(transaction);
+    }
+
+    public boolean hasTransactedWith(MerchantId merchantId) {
+        for (HistoricalTransaction entry : history) {
+            if (merchantId.equals(entry.merchantId())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of an assessment in the newest-first order of assessment time, ties broken by descending id. The next
+ * page holds the assessments strictly after the cursor in that order, so it is found by an index range scan whatever
+ * the depth, and rows stored while a client pages are neither skipped nor repeated.
+ * <p>
+ * Clients see the cursor as an opaque URL-safe token; its layout is not part of the API.
+ */
+public record AssessmentCursor(Instant assessmentTime, AssessmentId assessmentId) {
+
+    private static final char SEPARATOR = '|';
+
+    public AssessmentCursor {
+        if (assessmentTime == null || assessmentId == null) {
+            throw new IllegalArgumentException("Assessment cursor needs an assessment time and id");
+        }
+    }
+
+    public String encode() {
+        String position = assessmentTime.toString() + SEPARATOR + assessmentId;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AssessmentCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+
+            return new AssessmentCursor(Instant.parse(position.substring(0, separator)),
+                    AssessmentId.of(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Unknown cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Filters of an assessment search. Every filter is optional and those given are combined with AND: a null or empty
+ * set, or a null bound, does not filter. {@code from} and the range minimums are inclusive, {@code to} is exclusive and
+ * the range maximums are inclusive. An amount bound needs {@code amountCurrency}, as amounts are compared as stored, in
+ * the transaction's own currency, and only match in that currency; assessments without an ML prediction do not match a
+ * model or probability filter.
+ */
+@Builder
+public record AssessmentSearchCriteria(
+    Set<TransactionRiskLevel> riskLevels,
+    Set<Decision> decisions,
+    Instant from,
+    Instant to,
+    Integer minRiskScore,
+    Integer maxRiskScore,
+    Set<MerchantCategory> merchantCategories,
+    Set<Channel> channels,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    String amountCurrency,
+    String modelId,
+    String modelVersion,
+    Double minFraudProbability
+) {
+
+    public AssessmentSearchCriteria {
+        if ((minAmount != null || maxAmount != null) && amountCurrency == null) {
+            throw new IllegalArgumentException("An amount bound needs the currency the amounts are compared in");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Constant-size summary of how an account normally transacts: running mean and variance of the base-currency amount
+ * (Welford's accumulators), an exponentially weighted transaction rate, an hour-of-day histogram and channel and
+ * merchant-category counts. The profile store folds each transaction in as it is recorded, so comparing a
+ * transaction against "normal" for the account is arithmetic on this snapshot rather than a scan of its history.
+ */
+public final class BehavioralProfile {
+
+    public static final int HOURS = 24;
+
+    private static final BehavioralProfile EMPTY = new BehavioralProfile(0, 0.0, 0.0, 0.0, new long[HOURS],
+            new long[Channel.values().length], new long[MerchantCategory.values().length]);
+
+    private final long count;
+    private final double amountMean;
+    private final double amountM2;
+    private final double dailyRate;
+    private final long[] hourCounts;
+    private final long[] channelCounts;
+    private final long[] categoryCounts;
+
+    private BehavioralProfile(long count, double amountMean, double amountM2, double dailyRate,
+                              long[] hourCounts, long[] channelCounts, long[] categoryCounts) {
+        this.count = count;
+        this.amountMean = amountMean;
+        this.amountM2 = amountM2;
+        this.dailyRate = dailyRate;
+        this.hourCounts = hourCounts;
+        this.channelCounts = channelCounts;
+        this.categoryCounts = categoryCounts;
+    }
+
+    public static BehavioralProfile empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param amountM2       Welford's sum of squared deviations from the running mean
+     * @param dailyRate      exponentially weighted transactions per day, as of the time the profile was read
+     * @param hourCounts     transactions per UTC hour of day, {@value #HOURS} entries
+     * @param channelCounts  transactions per {@link Channel}, indexed by ordinal
+     * @param categoryCounts transactions per {@link MerchantCategory}, indexed by ordinal
+     */
+    public static BehavioralProfile of(long count, double amountMean, double amountM2, double dailyRate,
+                                       long[] hourCounts, long[] channelCounts, long[] categoryCounts) {
+        if (count < 0 || amountM2 < 0.0 || dailyRate < 0.0) {
+            throw new IllegalArgumentException("Behavioral profile counts, variance and rate cannot be negative");
+        }
+
+        if (hourCounts.length != HOURS || channelCounts.length != Channel.values().length
+                || categoryCounts.length != MerchantCategory.values().length) {
+            throw new IllegalArgumentException("Behavioral profile histograms do not match the hour, channel and category ranges");
+        }
+
+        return count == 0 ? EMPTY : new BehavioralProfile(count, amountMean, amountM2, dailyRate,
+                hourCounts.clone(), channelCounts.clone(), categoryCounts.clone());
+    }
+
+    public static int hourOf(Instant timestamp) {
+        return timestamp.atZone(ZoneOffset.UTC).getHour();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double amountMean() {
+        return amountMean;
+    }
+
+    /**
+     * Sample variance of the base-currency amount; zero until there are two observations.
+     */
+    public double amountVariance() {
+        return count > 1 ? amountM2 / (count - 1) : 0.0;
+    }
+
+    public double dailyRate() {
+        return dailyRate;
+    }
+
+    /**
+     * How many standard deviations {@code amount} lies from the account's mean; zero while the spread is unknown.
+     */
+    public double amountZScore(double amount) {
+        double standardDeviation = Math.sqrt(amountVariance());
+        return standardDeviation > 0.0 ? (amount - amountMean) / standardDeviation : 0.0;
+    }
+
+    public double hourShare(int hour) {
+        return share(hourCounts[hour]);
+    }
+
+    public double channelShare(Channel channel) {
+        return channel != null ? share(channelCounts[channel.ordinal()]) : 0.0;
+    }
+
+    public double categoryShare(MerchantCategory category) {
+        return category != null ? share(categoryCounts[category.ordinal()]) : 0.0;
+    }
+
+    public BehavioralSignals signalsFor(Transaction transaction) {
+        if (count == 0) {
+            return BehavioralSignals.none();
+        }
+
+        return new BehavioralSignals(
+                count,
+                amountZScore(transaction.amount().baseValue()),
+                hourShare(hourOf(transaction.timestamp())),
+                channelShare(transaction.channel()),
+                categoryShare(transaction.merchant() != null ? transaction.merchant().category() : null),
+                dailyRate
+        );
+    }
+
+    private double share(long observations) {
+        return count > 0 ? (double) observations / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "BehavioralProfile[count=%d, amountMean=%.2f, dailyRate=%.2f]".formatted(count, amountMean, dailyRate);
+    }
+}
@@ -0,0 +1,42 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * How one transaction compares with its account's {@link BehavioralProfile}, as rule facts and ML features. Shares
+ * are the fraction of the account's previous transactions with the same hour, channel or merchant category.
+ *
+ * @param sampleCount   transactions the profile was built from
+ * @param amountZScore  standard deviations between this amount and the account's mean, both in the base currency
+ * @param dailyRate     the account's exponentially weighted transactions per day
+ */
+public record BehavioralSignals(
+        long sampleCount,
+        double amountZScore,
+        double hourShare,
+        double channelShare,
+        double categoryShare,
+        double dailyRate
+) {
+    /**
+     * Below this many transactions the profile says too little about the account to flag deviations from it.
+     */
+    public static final long ESTABLISHED_SAMPLES = 10;
+
+    /**
+     * An hour the account has used for fewer than this share of its transactions counts as off-hours for it.
+     */
+    public static final double OFF_HOURS_SHARE = 0.02;
+
+    private static final BehavioralSignals NONE = new BehavioralSignals(0, 0.0, 0.0, 0.0, 0.0, 0.0);
+
+    public static BehavioralSignals none() {
+        return NONE;
+    }
+
+    public boolean isEstablished() {
+        return sampleCount >= ESTABLISHED_SAMPLES;
+    }
+
+    public boolean isOffHours() {
+        return isEstablished() && hourShare < OFF_HOURS_SHARE;
+    }
+}
@@ -0,0 +1,46 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * Velocity of the transaction's merchant and device across all accounts: how many transactions each has seen and
+ * how many distinct accounts used it. Many accounts at one merchant is the shape of card testing; one device
+ * touching many accounts is the shape of account takeover. Counts are estimates from shared sketches.
+ */
+@Builder
+public record CrossAccountVelocity(Map<TimeWindow, Long> merchantTransactions,
+                                   Map<TimeWindow, Long> merchantAccounts,
+                                   Map<TimeWindow, Long> deviceTransactions,
+                                   Map<TimeWindow, Long> deviceAccounts) {
+
+    private static final CrossAccountVelocity EMPTY = new CrossAccountVelocity(Map.of(), Map.of(), Map.of(), Map.of());
+
+    public CrossAccountVelocity {
+        merchantTransactions = merchantTransactions != null ? Map.copyOf(merchantTransactions) : Map.of();
+        merchantAccounts = merchantAccounts != null ? Map.copyOf(merchantAccounts) : Map.of();
+        deviceTransactions = deviceTransactions != null ? Map.copyOf(deviceTransactions) : Map.of();
+        deviceAccounts = deviceAccounts != null ? Map.copyOf(deviceAccounts) : Map.of();
+    }
+
+    public static CrossAccountVelocity empty() {
+        return EMPTY;
+    }
+
+    public long getMerchantTransactionCount(TimeWindow timeWindow) {
+        return merchantTransactions.getOrDefault(timeWindow, 0L);
+    }
+
+    public long getMerchantAccountCount(TimeWindow timeWindow) {
+        return merchantAccounts.getOrDefault(timeWindow, 0L);
+    }
+
+    public long getDeviceTransactionCount(TimeWindow timeWindow) {
+        return deviceTransactions.getOrDefault(timeWindow, 0L);
+    }
+
+    public long getDeviceAccountCount(TimeWindow timeWindow) {
+        return deviceAccounts.getOrDefault(timeWindow, 0L);
+    }
+}
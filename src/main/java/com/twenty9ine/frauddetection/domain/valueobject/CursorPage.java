@@ -0,0 +1,17 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paged query. {@code next} is absent on the last page. The total is the planner's estimate of
+ * the matching rows, not an exact count, and is only present when it was asked for.
+ */
+public record CursorPage<T>(
+    List<T> content,
+    AssessmentCursor next,
+    Long estimatedTotalElements
+) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of exchange rates into a single base currency, indexed by ISO 4217 numeric code so a lookup is
+ * one array read. The process-wide snapshot is replaced whole by {@link #install(FxRates)}; readers take the current
+ * reference once and never observe a partially refreshed table.
+ * <p>
+ * Until a snapshot is installed (and for currencies the snapshot has no rate for) amounts convert at face value, which
+ * is the pre-conversion behaviour rather than a guess at a rate.
+ */
+public final class FxRates {
+
+    private static final int NUMERIC_CODES = 1000;
+    private static final Currency DEFAULT_BASE = Currency.getInstance("USD");
+
+    private static volatile FxRates current = identity(DEFAULT_BASE);
+
+    private final Currency base;
+    private final double[] ratesToBase;
+    private final Instant asOf;
+
+    private FxRates(Currency base, double[] ratesToBase, Instant asOf) {
+        this.base = base;
+        this.ratesToBase = ratesToBase;
+        this.asOf = asOf;
+    }
+
+    public static FxRates identity(Currency base) {
+        return of(base, Map.of(), Instant.EPOCH);
+    }
+
+    /**
+     * @param ratesToBase units of {@code base} per one unit of each currency; the base itself is always 1
+     */
+    public static FxRates of(Currency base, Map<Currency, Double> ratesToBase, Instant asOf) {
+        Objects.requireNonNull(base, "Base currency is required");
+        Objects.requireNonNull(asOf, "Rate timestamp is required");
+
+        double[] rates = new double[NUMERIC_CODES];
+        Arrays.fill(rates, Double.NaN);
+
+        ratesToBase.forEach((currency, rate) -> {
+            if (rate == null || !(rate > 0.0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("Rate for %s must be a positive number, was %s".formatted(currency, rate));
+            }
+            if (indexOf(currency) >= 0) {
+                rates[indexOf(currency)] = rate;
+            }
+        });
+
+        if (indexOf(base) >= 0) {
+            rates[indexOf(base)] = 1.0;
+        }
+
+        return new FxRates(base, rates, asOf);
+    }
+
+    public static FxRates current() {
+        return current;
+    }
+
+    public static void install(FxRates rates) {
+        current = Objects.requireNonNull(rates, "FX rates snapshot is required");
+    }
+
+    public Currency base() {
+        return base;
+    }
+
+    public Instant asOf() {
+        return asOf;
+    }
+
+    public boolean hasRate(Currency currency) {
+        return currency.equals(base) || (indexOf(currency) >= 0 && !Double.isNaN(ratesToBase[indexOf(currency)]));
+    }
+
+    public double rateToBase(Currency currency) {
+        if (currency.equals(base)) {
+            return 1.0;
+        }
+
+        int index = indexOf(currency);
+        double rate = index >= 0 ? ratesToBase[index] : Double.NaN;
+
+        return Double.isNaN(rate) ? 1.0 : rate;
+    }
+
+    public double toBaseValue(Money money) {
+        return money.value().doubleValue() * rateToBase(money.currency());
+    }
+
+    public Money toBase(Money money) {
+        if (money.currency().equals(base)) {
+            return money;
+        }
+
+        BigDecimal converted = money.value()
+                .multiply(BigDecimal.valueOf(rateToBase(money.currency())))
+                .setScale(Math.max(base.getDefaultFractionDigits(), 0), RoundingMode.HALF_EVEN);
+
+        return new Money(converted, base);
+    }
+
+    private static int indexOf(Currency currency) {
+        int code = currency.getNumericCode();
+        return code > 0 && code < NUMERIC_CODES ? code : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "FxRates[base=%s, asOf=%s]".formatted(base.getCurrencyCode(), asOf);
+    }
+}
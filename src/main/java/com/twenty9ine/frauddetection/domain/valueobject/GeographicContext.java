@@ -2,13 +2,17 @@ package com.twenty9ine.frauddetection.domain.valueobject;
 
 import lombok.Builder;
 
-@Builder
+@Builder(toBuilder = true)
 public record GeographicContext(
         boolean isImpossibleTravel,
         double distanceKm,
         double travelSpeed,
         Location previousLocation,
-        Location currentLocation
+        Location currentLocation,
+        boolean isUnfamiliarLocation,
+        double habitualDistanceKm,
+        boolean isHighRiskZone,
+        String highRiskZoneId
 ) {
     public static GeographicContext normal() {
         return GeographicContext.builder()
@@ -0,0 +1,225 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A geohash cell: {@code 5 * precision} interleaved longitude/latitude bits (longitude first), kept as a long
+ * rather than a base-32 string. Precision 6 is roughly a 1.2 km x 0.6 km cell, precision 7 roughly 150 m.
+ * <p>
+ * The storage key is the cell left-aligned to {@link #MAX_PRECISION}, so every cell is one contiguous key range
+ * ({@link #lowerBound()} inclusive to {@link #upperBound()} exclusive) and a B-tree on the key answers proximity
+ * lookups as a handful of range scans over a cell and its neighbours.
+ */
+public record Geohash(long bits, int precision) {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double KM_PER_DEGREE = 111.32;
+
+    public Geohash {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+
+        if (bits < 0 || bits >>> (5 * precision) != 0) {
+            throw new IllegalArgumentException("Geohash bits exceed precision " + precision);
+        }
+    }
+
+    public static Geohash encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+
+        double minLatitude = -90.0, maxLatitude = 90.0;
+        double minLongitude = -180.0, maxLongitude = 180.0;
+        long bits = 0L;
+
+        for (int i = 0; i < 5 * precision; i++) {
+            bits <<= 1;
+
+            if ((i & 1) == 0) {
+                double mid = (minLongitude + maxLongitude) / 2;
+                if (longitude >= mid) {
+                    bits |= 1;
+                    minLongitude = mid;
+                } else {
+                    maxLongitude = mid;
+                }
+            } else {
+                double mid = (minLatitude + maxLatitude) / 2;
+                if (latitude >= mid) {
+                    bits |= 1;
+                    minLatitude = mid;
+                } else {
+                    maxLatitude = mid;
+                }
+            }
+        }
+
+        return new Geohash(bits, precision);
+    }
+
+    public static Geohash encode(Location location, int precision) {
+        return encode(location.latitude(), location.longitude(), precision);
+    }
+
+    public static Geohash fromStorageKey(long storageKey) {
+        return new Geohash(storageKey, MAX_PRECISION);
+    }
+
+    /**
+     * Finest precision whose cells are at least {@code radiusKm} tall and wide at {@code latitude}, so a point's cell
+     * plus its eight {@link #neighbourhood() neighbours} cover every point within {@code radiusKm} of it.
+     */
+    public static int precisionFor(double radiusKm, double latitude) {
+        double cosLatitude = Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(latitude), 89.0))), 0.01);
+
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            int latitudeBits = 5 * precision / 2;
+            int longitudeBits = 5 * precision - latitudeBits;
+            double heightKm = 180.0 / (1L << latitudeBits) * KM_PER_DEGREE;
+            double widthKm = 360.0 / (1L << longitudeBits) * KM_PER_DEGREE * cosLatitude;
+
+            if (Math.min(heightKm, widthKm) >= radiusKm) {
+                return precision;
+            }
+        }
+
+        return 1;
+    }
+
+    public long toStorageKey() {
+        return lowerBound();
+    }
+
+    public long lowerBound() {
+        return bits << (5 * (MAX_PRECISION - precision));
+    }
+
+    public long upperBound() {
+        return (bits + 1) << (5 * (MAX_PRECISION - precision));
+    }
+
+    public Geohash truncate(int precision) {
+        if (precision > this.precision) {
+            throw new IllegalArgumentException("Cannot refine geohash " + this + " to precision " + precision);
+        }
+
+        return new Geohash(bits >>> (5 * (this.precision - precision)), precision);
+    }
+
+    /**
+     * This cell and its (up to) eight neighbours at the same precision. Longitude wraps at the antimeridian; rows
+     * beyond the poles do not exist, so cells on the first or last row have fewer neighbours.
+     */
+    public Set<Geohash> neighbourhood() {
+        int bitCount = 5 * precision;
+        int longitudeBits = (bitCount + 1) / 2;
+        int latitudeBits = bitCount / 2;
+        long longitudeIndex = 0L;
+        long latitudeIndex = 0L;
+
+        for (int i = 0; i < bitCount; i++) {
+            long bit = (bits >>> (bitCount - 1 - i)) & 1L;
+
+            if ((i & 1) == 0) {
+                longitudeIndex = (longitudeIndex << 1) | bit;
+            } else {
+                latitudeIndex = (latitudeIndex << 1) | bit;
+            }
+        }
+
+        Set<Geohash> cells = new LinkedHashSet<>(9);
+
+        for (int latitudeStep = -1; latitudeStep <= 1; latitudeStep++) {
+            long row = latitudeIndex + latitudeStep;
+
+            if (row < 0 || row >= 1L << latitudeBits) {
+                continue;
+            }
+
+            for (int longitudeStep = -1; longitudeStep <= 1; longitudeStep++) {
+                long column = Math.floorMod(longitudeIndex + longitudeStep, 1L << longitudeBits);
+                cells.add(new Geohash(interleave(column, row, bitCount), precision));
+            }
+        }
+
+        return cells;
+    }
+
+    public static Geohash fromString(String geohash) {
+        long bits = 0L;
+
+        for (char c : geohash.toCharArray()) {
+            int value = indexOf(Character.toLowerCase(c));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash character '" + c + "' in " + geohash);
+            }
+            bits = (bits << 5) | value;
+        }
+
+        return new Geohash(bits, geohash.length());
+    }
+
+    /**
+     * Centre of the cell as {@code {latitude, longitude}}.
+     */
+    public double[] centre() {
+        double minLatitude = -90.0, maxLatitude = 90.0;
+        double minLongitude = -180.0, maxLongitude = 180.0;
+        int bitCount = 5 * precision;
+
+        for (int i = 0; i < bitCount; i++) {
+            boolean set = ((bits >>> (bitCount - 1 - i)) & 1) == 1;
+
+            if ((i & 1) == 0) {
+                double mid = (minLongitude + maxLongitude) / 2;
+                if (set) minLongitude = mid; else maxLongitude = mid;
+            } else {
+                double mid = (minLatitude + maxLatitude) / 2;
+                if (set) minLatitude = mid; else maxLatitude = mid;
+            }
+        }
+
+        return new double[]{(minLatitude + maxLatitude) / 2, (minLongitude + maxLongitude) / 2};
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[precision];
+
+        for (int i = 0; i < precision; i++) {
+            chars[i] = BASE32[(int) ((bits >>> (5 * (precision - 1 - i))) & 0x1F)];
+        }
+
+        return new String(chars);
+    }
+
+    private static long interleave(long longitudeIndex, long latitudeIndex, int bitCount) {
+        int longitudeShift = (bitCount + 1) / 2;
+        int latitudeShift = bitCount / 2;
+        long bits = 0L;
+
+        for (int i = 0; i < bitCount; i++) {
+            long bit = (i & 1) == 0
+                    ? (longitudeIndex >>> --longitudeShift) & 1L
+                    : (latitudeIndex >>> --latitudeShift) & 1L;
+            bits = (bits << 1) | bit;
+        }
+
+        return bits;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE32.length; i++) {
+            if (BASE32[i] == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
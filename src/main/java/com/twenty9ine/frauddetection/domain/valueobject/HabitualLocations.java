@@ -0,0 +1,94 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.util.OptionalDouble;
+
+/**
+ * An account's habitual locations: the centres of the geohash cells it transacts from regularly, laid out as
+ * structure-of-arrays unit vectors so the nearest-cell search is a tight dot-product loop over primitive arrays.
+ * <p>
+ * On the unit sphere the great-circle distance is monotonic in the dot product, so the nearest cell is the one
+ * with the largest dot product with the query point; only that winner needs a (haversine) distance evaluation.
+ */
+public final class HabitualLocations {
+
+    private static final HabitualLocations NONE = new HabitualLocations(new double[0], new double[0]);
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    private HabitualLocations(double[] latitudes, double[] longitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.xs = new double[latitudes.length];
+        this.ys = new double[latitudes.length];
+        this.zs = new double[latitudes.length];
+
+        for (int i = 0; i < latitudes.length; i++) {
+            double latitude = Math.toRadians(latitudes[i]);
+            double longitude = Math.toRadians(longitudes[i]);
+            double cosLatitude = Math.cos(latitude);
+
+            xs[i] = cosLatitude * Math.cos(longitude);
+            ys[i] = cosLatitude * Math.sin(longitude);
+            zs[i] = Math.sin(latitude);
+        }
+    }
+
+    public static HabitualLocations none() {
+        return NONE;
+    }
+
+    public static HabitualLocations of(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude arrays must have the same length");
+        }
+
+        return latitudes.length == 0 ? NONE : new HabitualLocations(latitudes.clone(), longitudes.clone());
+    }
+
+    public boolean isEmpty() {
+        return latitudes.length == 0;
+    }
+
+    public int size() {
+        return latitudes.length;
+    }
+
+    /**
+     * Distance in kilometres from {@code location} to the nearest habitual cell centre, or empty when the account
+     * has no habitual locations yet.
+     */
+    public OptionalDouble nearestDistanceKm(Location location) {
+        if (isEmpty() || location == null) {
+            return OptionalDouble.empty();
+        }
+
+        double latitude = Math.toRadians(location.latitude());
+        double longitude = Math.toRadians(location.longitude());
+        double cosLatitude = Math.cos(latitude);
+
+        int nearest = nearestIndex(cosLatitude * Math.cos(longitude), cosLatitude * Math.sin(longitude), Math.sin(latitude));
+
+        return OptionalDouble.of(location.distanceFrom(Location.of(latitudes[nearest], longitudes[nearest])));
+    }
+
+    // No trigonometry per cell: three multiply-adds and a compare, which the JIT unrolls
+    private int nearestIndex(double x, double y, double z) {
+        int nearest = 0;
+        double best = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < xs.length; i++) {
+            double dot = x * xs[i] + y * ys[i] + z * zs[i];
+
+            if (dot > best) {
+                best = dot;
+                nearest = i;
+            }
+        }
+
+        return nearest;
+    }
+}
@@ -0,0 +1,16 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.time.Instant;
+
+/**
+ * Compact projection of a past transaction, carrying only the columns the scoring pipeline reads.
+ */
+public record HistoricalTransaction(TransactionId id, Money amount, MerchantId merchantId, Location location, Instant timestamp) {
+
+    public static HistoricalTransaction from(Transaction transaction) {
+        MerchantId merchantId = transaction.merchant() != null ? transaction.merchant().id() : null;
+
+        return new HistoricalTransaction(transaction.id(), transaction.amount(), merchantId, transaction.location(),
+                transaction.timestamp());
+    }
+}
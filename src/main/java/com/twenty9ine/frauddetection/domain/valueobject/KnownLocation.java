@@ -0,0 +1,17 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.time.Instant;
+
+/**
+ * A point where an account was seen transacting, as kept by the last-known-location store.
+ */
+public record KnownLocation(Instant timestamp, double latitude, double longitude) {
+
+    public static KnownLocation of(Transaction transaction) {
+        return new KnownLocation(transaction.timestamp(), transaction.location().latitude(), transaction.location().longitude());
+    }
+
+    public Location toLocation() {
+        return Location.of(latitude, longitude);
+    }
+}
@@ -25,7 +25,7 @@ public record Location(
     }
 
     public boolean isDomestic() {
-        return Locale.getDefault().getCountry().equalsIgnoreCase(this.country);
+        return DefaultCountry.current().equalsIgnoreCase(this.country);
     }
 
     public double distanceFrom(Location other) {
@@ -75,4 +75,25 @@ public record Location(
     public String toString() {
         return "Location[latitude=" + latitude + ", longitude=" + longitude + "]";
     }
+
+    /**
+     * The default locale's country, resolved once per default {@link Locale} instead of on every transaction. The
+     * cache is keyed on the locale instance, so {@link Locale#setDefault} still takes effect.
+     */
+    private record DefaultCountry(Locale locale, String country) {
+
+        private static volatile DefaultCountry cached = new DefaultCountry(Locale.getDefault(), Locale.getDefault().getCountry());
+
+        static String current() {
+            Locale locale = Locale.getDefault();
+            DefaultCountry snapshot = cached;
+
+            if (snapshot.locale != locale) {
+                snapshot = new DefaultCountry(locale, locale.getCountry());
+                cached = snapshot;
+            }
+
+            return snapshot.country;
+        }
+    }
 }
\ No newline at end of file
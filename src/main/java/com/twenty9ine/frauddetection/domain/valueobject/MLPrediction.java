@@ -19,6 +19,16 @@ public record MLPrediction(
 
     Map<String, Double> featureImportance
 ) {
+    public static MLPrediction skipped() {
+        return new MLPrediction(
+            "skipped",
+            "0.0.0",
+            0.0,
+            0.0,
+            Map.of()
+        );
+    }
+
     public static MLPrediction unavailable() {
         return new MLPrediction(
             "unavailable",
@@ -0,0 +1,20 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * Why an assessment was scored without calling the ML model.
+ */
+public enum MLSkipReason {
+    /** The rule score alone fixes the risk level whatever probability the model would return. */
+    OUTCOME_DECIDED_BY_RULES,
+    /** Low-value transaction with no rule triggers that cannot plausibly leave the LOW band. */
+    TRUSTED_LOW_VALUE;
+
+    public static MLSkipReason fromString(String reason) {
+        for (MLSkipReason skipReason : MLSkipReason.values()) {
+            if (skipReason.name().equalsIgnoreCase(reason)) {
+                return skipReason;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ML skip reason: " + reason);
+    }
+}
@@ -5,7 +5,6 @@ import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.util.Currency;
 
-//TODO: Add currency conversion methods
 public record Money(
         @NotNull(message = "Value of Money cannot be null")
         BigDecimal value,
@@ -17,6 +16,21 @@ public record Money(
         return new Money(value, currency);
     }
 
+    /**
+     * This amount in the base currency of the current {@link FxRates} snapshot. Rules, velocity sums and ML features
+     * compare converted amounts so thresholds mean the same thing whatever currency the transaction was made in.
+     */
+    public Money toBase() {
+        return FxRates.current().toBase(this);
+    }
+
+    /**
+     * {@link #toBase()} as a {@code double}, without the {@link BigDecimal} round trip, for hot comparisons and sums.
+     */
+    public double baseValue() {
+        return FxRates.current().toBaseValue(this);
+    }
+
     @Override
     public String toString() {
         return String.format("%s %s", value, currency.getCurrencyCode());
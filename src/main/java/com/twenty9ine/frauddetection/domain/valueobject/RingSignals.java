@@ -0,0 +1,37 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * The connected component of the account–device–merchant graph that a transaction joins, as rule facts. Accounts are
+ * connected when they share a device or a merchant, directly or through other accounts; risky accounts are those
+ * with a recent {@link Decision#REVIEW} or {@link Decision#BLOCK}. Both counts include the transaction's own account.
+ *
+ * @param componentSize  accounts, devices and merchants in the component
+ * @param linkedAccounts accounts in the component
+ * @param riskyAccounts  accounts in the component with a recent risky decision
+ */
+public record RingSignals(int componentSize, int linkedAccounts, int riskyAccounts) {
+
+    /**
+     * Fewer linked accounts than this is a household or a shared device, not a ring.
+     */
+    public static final int MIN_RING_ACCOUNTS = 3;
+
+    /**
+     * A component where at least this share of accounts was recently flagged is treated as a fraud ring.
+     */
+    public static final double RING_RISK_DENSITY = 0.5;
+
+    private static final RingSignals NONE = new RingSignals(0, 0, 0);
+
+    public static RingSignals none() {
+        return NONE;
+    }
+
+    public double riskDensity() {
+        return linkedAccounts == 0 ? 0.0 : (double) riskyAccounts / linkedAccounts;
+    }
+
+    public boolean isRing() {
+        return linkedAccounts >= MIN_RING_ACCOUNTS && riskDensity() >= RING_RISK_DENSITY;
+    }
+}
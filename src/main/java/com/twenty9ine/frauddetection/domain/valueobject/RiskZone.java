@@ -0,0 +1,132 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * A high-risk geographic zone (a sanctioned region, a known fraud hotspot) described by one or more polygon rings.
+ * Containment uses the even-odd rule across every ring, so holes and multi-part zones need no special casing. Ring
+ * vertices are flattened into primitive arrays and guarded by a bounding box, keeping a miss to four comparisons.
+ */
+public final class RiskZone {
+
+    private final String id;
+    private final String name;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] ringEnds;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    private RiskZone(String id, String name, double[] latitudes, double[] longitudes, int[] ringEnds) {
+        this.id = id;
+        this.name = name;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.ringEnds = ringEnds;
+
+        double minLat = Double.POSITIVE_INFINITY, maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY, maxLon = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < latitudes.length; i++) {
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+    }
+
+    /**
+     * @param rings polygon rings as {@code {longitude, latitude}} vertex pairs (GeoJSON order); a closing vertex equal
+     *              to the first is optional
+     */
+    public static RiskZone of(String id, String name, List<double[][]> rings) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Risk zone id is required");
+        }
+
+        int vertexCount = 0;
+        for (double[][] ring : rings) {
+            if (ring.length < 3) {
+                throw new IllegalArgumentException("Risk zone %s has a ring with fewer than 3 vertices".formatted(id));
+            }
+            vertexCount += ring.length;
+        }
+
+        if (vertexCount == 0) {
+            throw new IllegalArgumentException("Risk zone %s has no rings".formatted(id));
+        }
+
+        double[] latitudes = new double[vertexCount];
+        double[] longitudes = new double[vertexCount];
+        int[] ringEnds = new int[rings.size()];
+        int vertex = 0;
+
+        for (int r = 0; r < rings.size(); r++) {
+            for (double[] point : rings.get(r)) {
+                longitudes[vertex] = point[0];
+                latitudes[vertex] = point[1];
+                vertex++;
+            }
+            ringEnds[r] = vertex;
+        }
+
+        return new RiskZone(id, name != null ? name : id, latitudes, longitudes, ringEnds);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public double minLatitude() {
+        return minLatitude;
+    }
+
+    public double maxLatitude() {
+        return maxLatitude;
+    }
+
+    public double minLongitude() {
+        return minLongitude;
+    }
+
+    public double maxLongitude() {
+        return maxLongitude;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude || longitude < minLongitude || longitude > maxLongitude) {
+            return false;
+        }
+
+        boolean inside = false;
+        int ringStart = 0;
+
+        for (int ringEnd : ringEnds) {
+            for (int i = ringStart, j = ringEnd - 1; i < ringEnd; j = i++) {
+                if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                        && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i]) / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                    inside = !inside;
+                }
+            }
+            ringStart = ringEnd;
+        }
+
+        return inside;
+    }
+
+    @Override
+    public String toString() {
+        return "RiskZone[id=%s, name=%s]".formatted(id, name);
+    }
+}
@@ -0,0 +1,97 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable uniform-grid index over {@link RiskZone}s. Each one-degree cell lists the zones whose bounding box
+ * overlaps it, so a lookup is one array access plus a point-in-polygon test for the few candidate zones. A new index
+ * is built and swapped in whole on reload; readers never see a half-built one.
+ */
+public final class RiskZoneIndex {
+
+    private static final int ROWS = 180;
+    private static final int COLUMNS = 360;
+    private static final int[] NO_ZONES = new int[0];
+
+    private static final RiskZoneIndex EMPTY = new RiskZoneIndex(List.of());
+
+    private final RiskZone[] zones;
+    private final int[][] cells;
+
+    private RiskZoneIndex(List<RiskZone> zones) {
+        this.zones = zones.toArray(RiskZone[]::new);
+        this.cells = new int[ROWS * COLUMNS][];
+
+        int[] counts = new int[ROWS * COLUMNS];
+        forEachCell((zone, cell) -> counts[cell]++);
+
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = counts[cell] == 0 ? NO_ZONES : new int[counts[cell]];
+            counts[cell] = 0;
+        }
+
+        forEachCell((zone, cell) -> cells[cell][counts[cell]++] = zone);
+    }
+
+    // Visits every (zone, cell) pair where the zone's bounding box overlaps the cell
+    private void forEachCell(CellVisitor visitor) {
+        for (int zone = 0; zone < zones.length; zone++) {
+            for (int row = row(zones[zone].minLatitude()); row <= row(zones[zone].maxLatitude()); row++) {
+                for (int column = column(zones[zone].minLongitude()); column <= column(zones[zone].maxLongitude()); column++) {
+                    visitor.visit(zone, row * COLUMNS + column);
+                }
+            }
+        }
+    }
+
+    public static RiskZoneIndex empty() {
+        return EMPTY;
+    }
+
+    public static RiskZoneIndex of(List<RiskZone> zones) {
+        return zones.isEmpty() ? EMPTY : new RiskZoneIndex(zones);
+    }
+
+    public int size() {
+        return zones.length;
+    }
+
+    public List<RiskZone> zones() {
+        return Arrays.asList(zones.clone());
+    }
+
+    /**
+     * The first zone containing {@code location}, in load order, or empty when it lies outside every zone.
+     */
+    public Optional<RiskZone> findContaining(Location location) {
+        if (location == null || zones.length == 0) {
+            return Optional.empty();
+        }
+
+        double latitude = location.latitude();
+        double longitude = location.longitude();
+
+        for (int zone : cells[row(latitude) * COLUMNS + column(longitude)]) {
+            if (zones[zone].contains(latitude, longitude)) {
+                return Optional.of(zones[zone]);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @FunctionalInterface
+    private interface CellVisitor {
+        void visit(int zone, int cell);
+    }
+
+    private static int row(double latitude) {
+        return Math.clamp((long) Math.floor(latitude + 90.0), 0, ROWS - 1);
+    }
+
+    private static int column(double longitude) {
+        return Math.clamp((long) Math.floor(longitude + 180.0), 0, COLUMNS - 1);
+    }
+}
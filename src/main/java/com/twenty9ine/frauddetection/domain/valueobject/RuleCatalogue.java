@@ -0,0 +1,151 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable registry of every rule the engine can raise, indexed by ordinal.
+ * <p>
+ * Rule ids are resolved to an ordinal once, when a trigger is recorded; scoring and rule typing
+ * then read the {@link RuleDefinition} straight out of the ordinal array. Every DRL rule names the
+ * id it raises in its {@code @ruleId} metadata, which is checked against the catalogue when the
+ * rule containers are built.
+ * <p>
+ * The catalogue is described by a CSV document with the header
+ * {@code rule_id,rule_name,rule_type,severity,weight,score_cap}; blank lines and lines starting
+ * with {@code #} are ignored and an empty {@code score_cap} means uncapped.
+ */
+public final class RuleCatalogue {
+
+    public static final String DEFAULT_LOCATION = "rules/rule-catalogue.csv";
+
+    private static final String HEADER = "rule_id,rule_name,rule_type,severity,weight,score_cap";
+
+    private final RuleDefinition[] definitions;
+    private final Map<String, Integer> ordinals;
+
+    private RuleCatalogue(RuleDefinition[] definitions, Map<String, Integer> ordinals) {
+        this.definitions = definitions;
+        this.ordinals = ordinals;
+    }
+
+    public static RuleCatalogue defaults() {
+        return DefaultCatalogueHolder.INSTANCE;
+    }
+
+    public static RuleCatalogue parse(List<String> lines) {
+        List<RuleDefinition> definitions = new ArrayList<>();
+        boolean headerSeen = false;
+
+        for (String rawLine : lines) {
+            String line = rawLine.strip();
+
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            if (!headerSeen) {
+                if (!HEADER.equals(line)) {
+                    throw new IllegalArgumentException("Rule catalogue must start with header: " + HEADER);
+                }
+                headerSeen = true;
+                continue;
+            }
+
+            definitions.add(parseDefinition(definitions.size(), line));
+        }
+
+        return of(definitions);
+    }
+
+    public static RuleCatalogue of(List<RuleDefinition> definitions) {
+        RuleDefinition[] indexed = new RuleDefinition[definitions.size()];
+        Map<String, Integer> ordinals = HashMap.newHashMap(definitions.size());
+
+        for (int ordinal = 0; ordinal < indexed.length; ordinal++) {
+            RuleDefinition definition = definitions.get(ordinal);
+
+            if (ordinals.putIfAbsent(definition.ruleId(), ordinal) != null) {
+                throw new IllegalArgumentException("Duplicate rule id in catalogue: " + definition.ruleId());
+            }
+
+            indexed[ordinal] = definition.ordinal() == ordinal ? definition
+                    : new RuleDefinition(ordinal, definition.ruleId(), definition.ruleName(), definition.ruleType(),
+                                         definition.severity(), definition.weight(), definition.scoreCap());
+        }
+
+        return new RuleCatalogue(indexed, Map.copyOf(ordinals));
+    }
+
+    public int ordinalOf(String ruleId) {
+        Integer ordinal = ordinals.get(ruleId);
+
+        if (ordinal == null) {
+            throw new IllegalArgumentException("Unknown rule: " + ruleId);
+        }
+
+        return ordinal;
+    }
+
+    public RuleDefinition get(int ordinal) {
+        return definitions[ordinal];
+    }
+
+    public RuleDefinition get(String ruleId) {
+        return definitions[ordinalOf(ruleId)];
+    }
+
+    public boolean contains(String ruleId) {
+        return ordinals.containsKey(ruleId);
+    }
+
+    public int size() {
+        return definitions.length;
+    }
+
+    public List<RuleDefinition> definitions() {
+        return List.of(definitions);
+    }
+
+    private static RuleDefinition parseDefinition(int ordinal, String line) {
+        String[] columns = line.split(",", -1);
+
+        if (columns.length != 6) {
+            throw new IllegalArgumentException("Malformed rule catalogue entry: " + line);
+        }
+
+        String scoreCap = columns[5].strip();
+
+        return new RuleDefinition(
+                ordinal,
+                columns[0].strip(),
+                columns[1].strip(),
+                RuleType.valueOf(columns[2].strip()),
+                RuleViolationSeverity.valueOf(columns[3].strip()),
+                Double.parseDouble(columns[4].strip()),
+                scoreCap.isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(scoreCap)
+        );
+    }
+
+    private static final class DefaultCatalogueHolder {
+        private static final RuleCatalogue INSTANCE = load();
+
+        private static RuleCatalogue load() {
+            try (InputStream inputStream = RuleCatalogue.class.getClassLoader().getResourceAsStream(DEFAULT_LOCATION)) {
+                if (inputStream == null) {
+                    throw new IllegalStateException("Rule catalogue not found on classpath: " + DEFAULT_LOCATION);
+                }
+
+                return parse(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read rule catalogue " + DEFAULT_LOCATION, e);
+            }
+        }
+    }
+}
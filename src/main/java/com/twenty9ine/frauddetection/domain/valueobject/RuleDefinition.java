@@ -0,0 +1,29 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * Catalogue metadata for a single rule.
+ *
+ * @param ordinal   position in the {@link RuleCatalogue}, stable for the lifetime of the catalogue
+ * @param weight    points contributed to the rule score each time the rule triggers
+ * @param scoreCap  upper bound on the rule's total contribution to one evaluation,
+ *                  {@link Double#POSITIVE_INFINITY} when uncapped
+ */
+public record RuleDefinition(
+        int ordinal,
+        String ruleId,
+        String ruleName,
+        RuleType ruleType,
+        RuleViolationSeverity severity,
+        double weight,
+        double scoreCap
+) {
+    public RuleDefinition {
+        if (ruleId == null || ruleId.isBlank()) {
+            throw new IllegalArgumentException("Rule id cannot be blank");
+        }
+
+        if (weight < 0 || scoreCap < 0) {
+            throw new IllegalArgumentException("Rule %s weight and score cap cannot be negative".formatted(ruleId));
+        }
+    }
+}
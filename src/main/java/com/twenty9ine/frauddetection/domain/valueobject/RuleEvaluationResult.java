@@ -3,28 +3,80 @@ package com.twenty9ine.frauddetection.domain.valueobject;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-@Getter
 public class RuleEvaluationResult {
+
+    @Getter
     private final List<RuleTrigger> triggers = new ArrayList<>();
 
+    private final RuleCatalogue catalogue;
+    private int[] ordinals = new int[4];
+
+    public RuleEvaluationResult() {
+        this(RuleCatalogue.defaults());
+    }
+
+    public RuleEvaluationResult(RuleCatalogue catalogue) {
+        this.catalogue = catalogue;
+    }
+
     public void addTrigger(RuleTrigger trigger) {
+        int ordinal = catalogue.ordinalOf(trigger.ruleId());
+
+        if (triggers.size() == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, ordinals.length * 2);
+        }
+
+        ordinals[triggers.size()] = ordinal;
         this.triggers.add(trigger);
     }
 
+    /**
+     * @return catalogue metadata of the trigger at {@code index} in {@link #getTriggers()}
+     */
+    public RuleDefinition definitionAt(int index) {
+        return catalogue.get(ordinals[index]);
+    }
+
+    /**
+     * Sums each triggered rule's weight times its trigger count, bounded by the rule's score cap. A rule is counted at
+     * its first trigger by scanning the ordinals of the later ones, so aggregation allocates nothing; a result holds a
+     * handful of triggers.
+     */
     public double aggregateScore() {
-        return triggers.stream()
-                       .mapToDouble(RuleEvaluationResult::toScore)
-                       .sum();
+        int count = triggers.size();
+        double score = 0.0;
+
+        for (int i = 0; i < count; i++) {
+            int ordinal = ordinals[i];
+
+            if (triggeredBefore(ordinal, i)) {
+                continue;
+            }
+
+            int occurrences = 1;
+            for (int j = i + 1; j < count; j++) {
+                if (ordinals[j] == ordinal) {
+                    occurrences++;
+                }
+            }
+
+            RuleDefinition definition = catalogue.get(ordinal);
+            score += Math.min(definition.weight() * occurrences, definition.scoreCap());
+        }
+
+        return score;
     }
 
-    private static double toScore(RuleTrigger t) {
-        return switch (t.ruleViolationSeverity()) {
-            case LOW -> 10.0;
-            case MEDIUM -> 25.0;
-            case HIGH -> 40.0;
-            case CRITICAL -> 60.0;
-        };
+    private boolean triggeredBefore(int ordinal, int index) {
+        for (int i = 0; i < index; i++) {
+            if (ordinals[i] == ordinal) {
+                return true;
+            }
+        }
+
+        return false;
     }
 }
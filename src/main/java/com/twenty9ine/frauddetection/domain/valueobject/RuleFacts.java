@@ -0,0 +1,34 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * Facts for a single transaction as inserted into a rule session, together with the result its
+ * triggers are collected into. Rules match on this wrapper so that many transactions can share one
+ * session without velocity or geographic facts being joined to the wrong transaction.
+ */
+public record RuleFacts(
+        Transaction transaction,
+        VelocityMetrics velocity,
+        GeographicContext geographic,
+        BehavioralSignals behavior,
+        RingSignals ring,
+        RuleEvaluationResult result
+) {
+    public static RuleFacts of(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic) {
+        return of(transaction, velocity, geographic, RuleCatalogue.defaults());
+    }
+
+    public static RuleFacts of(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                               RuleCatalogue catalogue) {
+        return of(transaction, velocity, geographic, BehavioralSignals.none(), catalogue);
+    }
+
+    public static RuleFacts of(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                               BehavioralSignals behavior, RuleCatalogue catalogue) {
+        return of(transaction, velocity, geographic, behavior, RingSignals.none(), catalogue);
+    }
+
+    public static RuleFacts of(Transaction transaction, VelocityMetrics velocity, GeographicContext geographic,
+                               BehavioralSignals behavior, RingSignals ring, RuleCatalogue catalogue) {
+        return new RuleFacts(transaction, velocity, geographic, behavior, ring, new RuleEvaluationResult(catalogue));
+    }
+}
@@ -5,5 +5,7 @@ public enum RuleType {
     GEOGRAPHIC,
     AMOUNT,
     MERCHANT,
-    DEVICE
+    DEVICE,
+    BEHAVIORAL,
+    NETWORK
 }
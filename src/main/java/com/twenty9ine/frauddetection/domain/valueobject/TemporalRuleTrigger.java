@@ -0,0 +1,12 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * Trigger a stream-mode (CEP) rule inserts into its session, naming the transaction of the event the rule matched.
+ * <p>
+ * A sequence can complete on an event other than the one just inserted, for example when a late event fills a window
+ * that ends on an earlier transaction; the trigger then belongs to that transaction and not to the one being assessed.
+ */
+public record TemporalRuleTrigger(
+        String transactionId,
+        RuleTrigger trigger
+) {}
@@ -0,0 +1,28 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+/**
+ * Timestamped view of a transaction inserted into the stream-mode (CEP) rule sessions.
+ * <p>
+ * Kept flat and primitive so that events retained inside long-lived sessions stay small;
+ * {@code timestamp} is epoch milliseconds and drives the session's pseudo clock, and {@code amount} is in the FX base
+ * currency (see {@link Money#toBase()}).
+ */
+public record TransactionEvent(
+        String transactionId,
+        String accountId,
+        double amount,
+        String merchantId,
+        String deviceId,
+        long timestamp
+) {
+    public static TransactionEvent from(Transaction transaction) {
+        return new TransactionEvent(
+                transaction.id().toString(),
+                transaction.accountId(),
+                transaction.amount().baseValue(),
+                transaction.merchant() != null && transaction.merchant().id() != null ? transaction.merchant().id().toString() : null,
+                transaction.deviceId(),
+                transaction.timestamp().toEpochMilli()
+        );
+    }
+}
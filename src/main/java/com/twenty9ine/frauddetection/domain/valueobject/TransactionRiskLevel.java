@@ -19,6 +19,18 @@ public enum TransactionRiskLevel {
     HIGH,
     CRITICAL;
 
+    public static TransactionRiskLevel fromScore(int score) {
+        if (score <= 40) {
+            return LOW;
+        } else if (score <= 70) {
+            return MEDIUM;
+        } else if (score <= 90) {
+            return HIGH;
+        } else {
+            return CRITICAL;
+        }
+    }
+
     public static TransactionRiskLevel fromString(String riskLevelString) {
         for (TransactionRiskLevel transactionRiskLevel : TransactionRiskLevel.values()) {
             if (transactionRiskLevel.name().equalsIgnoreCase(riskLevelString)) {
@@ -11,7 +11,12 @@ import static com.twenty9ine.frauddetection.domain.valueobject.TimeWindow.*;
 public record VelocityMetrics(Map<TimeWindow, Long> transactionCounts,
                               Map<TimeWindow, BigDecimal> totalAmounts,
                               Map<TimeWindow, Long> uniqueMerchants,
-                              Map<TimeWindow, Long> uniqueLocations) {
+                              Map<TimeWindow, Long> uniqueLocations,
+                              CrossAccountVelocity crossAccount) {
+
+    public VelocityMetrics {
+        crossAccount = crossAccount != null ? crossAccount : CrossAccountVelocity.empty();
+    }
 
     public long getTransactionCount(TimeWindow timeWindow) {
         return transactionCounts.getOrDefault(timeWindow, 0L);
@@ -29,6 +34,10 @@ public record VelocityMetrics(Map<TimeWindow, Long> transactionCounts,
         return uniqueLocations.getOrDefault(timeWindow, 0L);
     }
 
+    public VelocityMetrics withCrossAccount(CrossAccountVelocity crossAccount) {
+        return new VelocityMetrics(transactionCounts, totalAmounts, uniqueMerchants, uniqueLocations, crossAccount);
+    }
+
     public static VelocityMetrics empty() {
         return VelocityMetrics.builder()
                 .transactionCounts(Map.of(
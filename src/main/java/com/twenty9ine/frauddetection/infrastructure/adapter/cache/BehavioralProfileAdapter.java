@@ -0,0 +1,128 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import com.twenty9ine.frauddetection.application.port.out.BehavioralProfilePort;
+import com.twenty9ine.frauddetection.domain.valueobject.BehavioralProfile;
+import com.twenty9ine.frauddetection.domain.valueobject.Channel;
+import com.twenty9ine.frauddetection.domain.valueobject.MerchantCategory;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-account {@link BehavioralProfile} kept in a Redis hash. Each recorded transaction is folded in server side by a
+ * Lua script (Welford update of the amount accumulators, decayed transaction count, histogram increments), so the
+ * update is atomic per account and needs no client read, which keeps it safe inside the Redis transaction that wraps
+ * an assessment. The decayed count is converted to a daily rate when the profile is read.
+ */
+@Component
+@Slf4j
+public class BehavioralProfileAdapter implements BehavioralProfilePort {
+
+    private static final String PROFILE_KEY = "profile:behavior";
+    private static final RedisScript<Long> UPDATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/update-behavioral-profile.lua"), Long.class);
+
+    private static final String HOUR_FIELD = "hour:";
+    private static final String CHANNEL_FIELD = "channel:";
+    private static final String CATEGORY_FIELD = "category:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration rateTimeConstant;
+    private final Duration retention;
+
+    public BehavioralProfileAdapter(
+            RedisTemplate<String, Object> redisTemplate,
+            @Value("${fraud-detection.behavior.rate-time-constant:7d}") Duration rateTimeConstant,
+            @Value("${fraud-detection.behavior.retention:180d}") Duration retention) {
+        if (rateTimeConstant.isNegative() || rateTimeConstant.isZero()) {
+            throw new IllegalArgumentException("Behavioral profile rate time constant must be positive");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.rateTimeConstant = rateTimeConstant;
+        this.retention = retention;
+    }
+
+    @Override
+    public BehavioralProfile findProfile(String accountId) {
+        Map<String, Object> fields = redisTemplate.<String, Object>opsForHash().entries(buildKey(accountId));
+
+        if (fields.isEmpty()) {
+            return BehavioralProfile.empty();
+        }
+
+        long[] hourCounts = new long[BehavioralProfile.HOURS];
+        long[] channelCounts = new long[Channel.values().length];
+        long[] categoryCounts = new long[MerchantCategory.values().length];
+
+        for (int hour = 0; hour < hourCounts.length; hour++) {
+            hourCounts[hour] = (long) toDouble(fields.get(HOUR_FIELD + hour));
+        }
+        for (Channel channel : Channel.values()) {
+            channelCounts[channel.ordinal()] = (long) toDouble(fields.get(CHANNEL_FIELD + channel.name()));
+        }
+        for (MerchantCategory category : MerchantCategory.values()) {
+            categoryCounts[category.ordinal()] = (long) toDouble(fields.get(CATEGORY_FIELD + category.name()));
+        }
+
+        return BehavioralProfile.of((long) toDouble(fields.get("n")), toDouble(fields.get("mean")),
+                Math.max(toDouble(fields.get("m2")), 0.0), dailyRate(fields, Instant.now()),
+                hourCounts, channelCounts, categoryCounts);
+    }
+
+    @Override
+    public void recordTransaction(Transaction transaction) {
+        MerchantCategory category = transaction.merchant() != null ? transaction.merchant().category() : null;
+
+        redisTemplate.execute(UPDATE_SCRIPT, RedisSerializer.string(), new GenericToStringSerializer<>(Long.class),
+                List.of(buildKey(transaction.accountId())),
+                Double.toString(transaction.amount().baseValue()),
+                Long.toString(transaction.timestamp().toEpochMilli()),
+                Long.toString(rateTimeConstant.toMillis()),
+                Long.toString(retention.toMillis()),
+                HOUR_FIELD + BehavioralProfile.hourOf(transaction.timestamp()),
+                CHANNEL_FIELD + transaction.channel().name(),
+                category != null ? CATEGORY_FIELD + category.name() : "");
+    }
+
+    // Decayed count as of now over the time constant, i.e. the steady-state transactions per day it implies
+    private double dailyRate(Map<String, Object> fields, Instant now) {
+        double decayedCount = toDouble(fields.get("rate"));
+        long elapsedMillis = Math.max(now.toEpochMilli() - (long) toDouble(fields.get("last")), 0L);
+        double constantDays = (double) rateTimeConstant.toMillis() / Duration.ofDays(1).toMillis();
+
+        return decayedCount * Math.exp(-(double) elapsedMillis / rateTimeConstant.toMillis()) / constantDays;
+    }
+
+    private static double toDouble(Object value) {
+        if (value == null) {
+            return 0.0;
+        }
+
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed behavioral profile value: {}", value);
+            return 0.0;
+        }
+    }
+
+    private static String buildKey(String accountId) {
+        return String.format("%s:%s", PROFILE_KEY, accountId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of a count-min sketch of {@code depth} rows by {@code width} counters, flattened row-major so the counters
+ * can live in one Redis string addressed with {@code BITFIELD}. Each item maps to one counter per row through double
+ * hashing of a 64-bit hash; its count is estimated as the minimum of those counters, which never undercounts and
+ * overcounts by at most {@code e / width} of the sketch total with probability {@code 1 - e^-depth}.
+ */
+final class CountMinSketch {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int width;
+    private final int depth;
+
+    CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Count-min sketch width and depth must be at least 1");
+        }
+
+        this.width = width;
+        this.depth = depth;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the flattened counter index of {@code item} in each row, one per row
+     */
+    int[] counters(String item) {
+        long hash = mix(fnv1a(item));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int[] counters = new int[depth];
+
+        for (int row = 0; row < depth; row++) {
+            counters[row] = row * width + Math.floorMod(h1 + row * h2, width);
+        }
+
+        return counters;
+    }
+
+    static long estimate(long[] counts) {
+        long estimate = Long.MAX_VALUE;
+
+        for (long count : counts) {
+            estimate = Math.min(estimate, count);
+        }
+
+        return counts.length == 0 ? 0L : estimate;
+    }
+
+    private static long fnv1a(String item) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    // MurmurHash3 finaliser, so both halves of the hash are well mixed
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
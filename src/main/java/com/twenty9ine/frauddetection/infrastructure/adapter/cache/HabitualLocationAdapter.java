@@ -0,0 +1,167 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import com.twenty9ine.frauddetection.application.port.out.HabitualLocationPort;
+import com.twenty9ine.frauddetection.domain.valueobject.Geohash;
+import com.twenty9ine.frauddetection.domain.valueobject.HabitualLocations;
+import com.twenty9ine.frauddetection.domain.valueobject.Location;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-account index of habitual geohash cells, kept in a Redis hash of {@code cell -> visit weight}.
+ * <p>
+ * Weights decay exponentially with {@code half-life} using forward decay: a visit at time {@code t} adds
+ * {@code 2^((t - EPOCH) / halfLife)} with a single {@code HINCRBYFLOAT}, and readers scale the stored sum back by
+ * {@code 2^((now - EPOCH) / halfLife)}. Recording a visit therefore never needs a read, so it is safe inside the
+ * Redis transaction that wraps an assessment. Cells whose decayed weight reaches {@code min-weight} are habitual;
+ * pruning down to {@code max-cells} happens on the read path.
+ */
+@Component
+@Slf4j
+public class HabitualLocationAdapter implements HabitualLocationPort {
+
+    private static final String HABITUAL_KEY = "location:habitual";
+    // Forward-decay landmark; with a 30d half-life the stored sums stay well inside double range for decades
+    private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    // Cells below this decayed weight are indistinguishable from a single visit long ago
+    private static final double NEGLIGIBLE_WEIGHT = 0.05;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final int precision;
+    private final Duration halfLife;
+    private final double minWeight;
+    private final int maxCells;
+
+    public HabitualLocationAdapter(
+            RedisTemplate<String, Object> redisTemplate,
+            @Value("${fraud-detection.geographic.habitual.precision:6}") int precision,
+            @Value("${fraud-detection.geographic.habitual.half-life:30d}") Duration halfLife,
+            @Value("${fraud-detection.geographic.habitual.min-weight:3.0}") double minWeight,
+            @Value("${fraud-detection.geographic.habitual.max-cells:32}") int maxCells) {
+        if (precision < 1 || precision > Geohash.MAX_PRECISION) {
+            throw new IllegalArgumentException("Habitual location precision must be between 1 and " + Geohash.MAX_PRECISION);
+        }
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Habitual location half-life must be positive");
+        }
+        if (maxCells < 1) {
+            throw new IllegalArgumentException("Habitual location max-cells must be positive");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.precision = precision;
+        this.halfLife = halfLife;
+        this.minWeight = minWeight;
+        this.maxCells = maxCells;
+    }
+
+    @Override
+    public HabitualLocations findHabitualLocations(String accountId) {
+        String key = buildKey(accountId);
+        Map<String, Object> cells = hashOperations().entries(key);
+
+        if (cells.isEmpty()) {
+            return HabitualLocations.none();
+        }
+
+        double scale = decayScale(Instant.now());
+        List<Map.Entry<String, Double>> weighted = new ArrayList<>(cells.size());
+
+        for (Map.Entry<String, Object> cell : cells.entrySet()) {
+            weighted.add(Map.entry(cell.getKey(), toDouble(cell.getValue()) * scale));
+        }
+
+        prune(key, weighted);
+
+        double[] latitudes = new double[weighted.size()];
+        double[] longitudes = new double[weighted.size()];
+        int count = 0;
+
+        for (Map.Entry<String, Double> cell : weighted) {
+            if (cell.getValue() >= minWeight) {
+                double[] centre = Geohash.fromString(cell.getKey()).centre();
+                latitudes[count] = centre[0];
+                longitudes[count] = centre[1];
+                count++;
+            }
+        }
+
+        return HabitualLocations.of(Arrays.copyOf(latitudes, count), Arrays.copyOf(longitudes, count));
+    }
+
+    @Override
+    public void recordVisit(Transaction transaction) {
+        Location location = transaction.location();
+
+        if (location == null) {
+            return;
+        }
+
+        String key = buildKey(transaction.accountId());
+        String cell = Geohash.encode(location, precision).toString();
+
+        hashOperations().increment(key, cell, 1.0 / decayScale(transaction.timestamp()));
+        redisTemplate.expire(key, halfLife.multipliedBy(8));
+    }
+
+    /**
+     * Drops negligible cells and, beyond {@code max-cells}, the lowest-weighted ones. {@code weighted} is left holding
+     * only the surviving cells.
+     */
+    private void prune(String key, List<Map.Entry<String, Double>> weighted) {
+        weighted.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+
+        int keep = 0;
+        while (keep < weighted.size() && keep < maxCells && weighted.get(keep).getValue() >= NEGLIGIBLE_WEIGHT) {
+            keep++;
+        }
+
+        if (keep == weighted.size()) {
+            return;
+        }
+
+        Object[] stale = weighted.subList(keep, weighted.size()).stream().map(Map.Entry::getKey).toArray();
+        hashOperations().delete(key, stale);
+        weighted.subList(keep, weighted.size()).clear();
+
+        log.debug("Pruned {} habitual location cells for key {}", stale.length, key);
+    }
+
+    // Multiplier that converts a stored forward-decayed sum into a weight as of the given instant
+    private double decayScale(Instant asOf) {
+        return Math.pow(0.5, (double) Duration.between(EPOCH, asOf).toMillis() / halfLife.toMillis());
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed habitual location weight: {}", value);
+            return 0.0;
+        }
+    }
+
+    private HashOperations<String, String, Object> hashOperations() {
+        return redisTemplate.opsForHash();
+    }
+
+    private static String buildKey(String accountId) {
+        return String.format("%s:%s", HABITUAL_KEY, accountId);
+    }
+}
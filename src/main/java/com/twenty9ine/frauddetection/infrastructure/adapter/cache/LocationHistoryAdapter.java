@@ -0,0 +1,93 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import com.twenty9ine.frauddetection.application.port.out.LocationHistoryPort;
+import com.twenty9ine.frauddetection.domain.valueobject.KnownLocation;
+import com.twenty9ine.frauddetection.domain.valueobject.Location;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Last-known-location store. Each account's recent points live in a Redis sorted set scored by epoch millis and
+ * trimmed to the configured capacity, so every instance and restart sees the same history. A lookup asks Redis for the
+ * single latest point at or before the transaction time.
+ */
+@Component
+@Slf4j
+public class LocationHistoryAdapter implements LocationHistoryPort {
+
+    private static final String LOCATIONS_KEY = "location:history";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final int capacity;
+    private final Duration retention;
+
+    public LocationHistoryAdapter(
+            RedisTemplate<String, Object> redisTemplate,
+            @Value("${fraud-detection.geographic.location-history.capacity:16}") int capacity,
+            @Value("${fraud-detection.geographic.location-history.retention:30d}") Duration retention) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Location history capacity must be at least 1");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.capacity = capacity;
+        this.retention = retention;
+    }
+
+    @Override
+    public Optional<KnownLocation> findNearestPriorLocation(String accountId, Instant timestamp) {
+        Set<Object> points = redisTemplate.opsForZSet()
+                .reverseRangeByScore(buildKey(accountId), Double.NEGATIVE_INFINITY, timestamp.toEpochMilli(), 0, 1);
+
+        if (points == null || points.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return toKnownLocation(points.iterator().next());
+    }
+
+    @Override
+    public void recordLocation(Transaction transaction) {
+        Location location = transaction.location();
+
+        if (location == null) {
+            return;
+        }
+
+        String key = buildKey(transaction.accountId());
+        long epochMillis = transaction.timestamp().toEpochMilli();
+
+        redisTemplate.opsForZSet().add(key, toMember(epochMillis, location.latitude(), location.longitude()), epochMillis);
+        redisTemplate.opsForZSet().removeRange(key, 0, -(capacity + 1L));
+        redisTemplate.expire(key, retention);
+    }
+
+    private static Optional<KnownLocation> toKnownLocation(Object member) {
+        String[] parts = String.valueOf(member).split(":");
+
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed location history entry: {}", member);
+            return Optional.empty();
+        }
+
+        return Optional.of(new KnownLocation(Instant.ofEpochMilli(Long.parseLong(parts[0])),
+                Double.parseDouble(parts[1]), Double.parseDouble(parts[2])));
+    }
+
+    // The timestamp makes members unique, so repeat visits to the same place are kept as separate points
+    private static String toMember(long epochMillis, double latitude, double longitude) {
+        return epochMillis + ":" + latitude + ":" + longitude;
+    }
+
+    private static String buildKey(String accountId) {
+        return String.format("%s:%s", LOCATIONS_KEY, accountId);
+    }
+}
@@ -1,22 +1,41 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
 
 import com.twenty9ine.frauddetection.application.port.out.VelocityServicePort;
+import com.twenty9ine.frauddetection.domain.valueobject.CrossAccountVelocity;
+import com.twenty9ine.frauddetection.domain.valueobject.Geohash;
 import com.twenty9ine.frauddetection.domain.valueobject.TimeWindow;
 import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 import com.twenty9ine.frauddetection.domain.valueobject.VelocityMetrics;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldIncrBy.Overflow;
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldType;
+import org.springframework.data.redis.connection.BitFieldSubCommands.Offset;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.twenty9ine.frauddetection.domain.valueobject.TimeWindow.*;
 
-@RequiredArgsConstructor
+/**
+ * Redis-backed velocity counters. Per-account counts, amounts and distinct merchants/locations use one key per
+ * account and window. The cross-account dimensions (transactions and distinct accounts per merchant and per device)
+ * would need a key per merchant or device, so transaction counts go into one fixed-size count-min sketch per window
+ * bucket, shared by every merchant (or device), and distinct accounts into small per-key HyperLogLogs. Memory is
+ * bounded by the sketch size and the HyperLogLogs' 12 KB ceiling however many merchants and devices are active.
+ * <p>
+ * Cross-account windows are tumbling buckets: transaction counts weight the previous bucket by how much of it still
+ * overlaps the sliding window, and distinct accounts are the union of the current and previous bucket.
+ */
 @Component
 @Slf4j
 public class VelocityCounterAdapter implements VelocityServicePort {
@@ -25,8 +44,40 @@ public class VelocityCounterAdapter implements VelocityServicePort {
     private static final String MERCHANTS_KEY = "velocity:merchants";
     private static final String TRANSACTION_COUNTER_KEY = "velocity:transaction:counter";
     private static final String LOCATIONS_KEY = "velocity:locations";
+    private static final String MERCHANT_TRANSACTIONS_SKETCH = "velocity:sketch:merchant";
+    private static final String DEVICE_TRANSACTIONS_SKETCH = "velocity:sketch:device";
+    private static final String MERCHANT_ACCOUNTS_KEY = "velocity:merchant:accounts";
+    private static final String DEVICE_ACCOUNTS_KEY = "velocity:device:accounts";
+
+    private static final BitFieldType SKETCH_COUNTER = BitFieldType.unsigned(32);
+
+    // Precision 7 cells are roughly 150 m across, coarse enough that GPS jitter is not a new location
+    public static final int DEFAULT_LOCATION_PRECISION = 7;
+    // 4 rows of 16384 32-bit counters: 256 KB per sketch, overcounting by at most ~0.02% of the bucket's traffic
+    public static final int DEFAULT_SKETCH_WIDTH = 16384;
+    public static final int DEFAULT_SKETCH_DEPTH = 4;
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final int locationPrecision;
+    private final CountMinSketch sketch;
+
+    public VelocityCounterAdapter(RedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, DEFAULT_LOCATION_PRECISION, DEFAULT_SKETCH_WIDTH, DEFAULT_SKETCH_DEPTH);
+    }
+
+    @Autowired
+    public VelocityCounterAdapter(RedisTemplate<String, Object> redisTemplate,
+                                  @Value("${fraud-detection.velocity.location-precision:7}") int locationPrecision,
+                                  @Value("${fraud-detection.velocity.sketch.width:16384}") int sketchWidth,
+                                  @Value("${fraud-detection.velocity.sketch.depth:4}") int sketchDepth) {
+        if (locationPrecision < 1 || locationPrecision > Geohash.MAX_PRECISION) {
+            throw new IllegalArgumentException("Velocity location precision must be between 1 and " + Geohash.MAX_PRECISION);
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.locationPrecision = locationPrecision;
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+    }
 
     @Override
     @Cacheable(value = "velocityMetrics", key = "#transaction.accountId()")
@@ -39,6 +90,36 @@ public class VelocityCounterAdapter implements VelocityServicePort {
                 .build();
     }
 
+    @Override
+    public CrossAccountVelocity findCrossAccountVelocity(Transaction transaction) {
+        String merchantId = merchantIdOf(transaction);
+        String deviceId = transaction.deviceId();
+        Instant timestamp = transaction.timestamp();
+
+        Map<TimeWindow, Long> merchantTransactions = new EnumMap<>(TimeWindow.class);
+        Map<TimeWindow, Long> merchantAccounts = new EnumMap<>(TimeWindow.class);
+        Map<TimeWindow, Long> deviceTransactions = new EnumMap<>(TimeWindow.class);
+        Map<TimeWindow, Long> deviceAccounts = new EnumMap<>(TimeWindow.class);
+
+        for (TimeWindow window : TimeWindow.values()) {
+            if (merchantId != null) {
+                merchantTransactions.put(window, estimateSketchCount(MERCHANT_TRANSACTIONS_SKETCH, merchantId, window, timestamp));
+                merchantAccounts.put(window, countDistinctAccounts(MERCHANT_ACCOUNTS_KEY, merchantId, window, timestamp));
+            }
+            if (deviceId != null) {
+                deviceTransactions.put(window, estimateSketchCount(DEVICE_TRANSACTIONS_SKETCH, deviceId, window, timestamp));
+                deviceAccounts.put(window, countDistinctAccounts(DEVICE_ACCOUNTS_KEY, deviceId, window, timestamp));
+            }
+        }
+
+        return CrossAccountVelocity.builder()
+                .merchantTransactions(merchantTransactions)
+                .merchantAccounts(merchantAccounts)
+                .deviceTransactions(deviceTransactions)
+                .deviceAccounts(deviceAccounts)
+                .build();
+    }
+
     @Override
     @CacheEvict(value = "velocityMetrics", key = "#transaction.accountId()")
     public void incrementCounters(Transaction transaction) {
@@ -46,6 +127,7 @@ public class VelocityCounterAdapter implements VelocityServicePort {
         incrementTotalAmounts(transaction);
         incrementMerchantCounters(transaction);
         incrementLocationCounters(transaction);
+        incrementCrossAccountCounters(transaction);
     }
 
     private String buildKey(String prefix, TimeWindow window, String accountId) {
@@ -109,7 +191,7 @@ public class VelocityCounterAdapter implements VelocityServicePort {
 
     private void incrementAmount(Transaction transaction, TimeWindow window) {
         String key = buildKey(TOTAL_AMOUNT_KEY, window, transaction.accountId());
-        double amount = transaction.amount().value().doubleValue();
+        double amount = transaction.amount().baseValue();
 
         redisTemplate.opsForValue().increment(key, amount);
         redisTemplate.expire(key, window.getDuration());
@@ -138,7 +220,11 @@ public class VelocityCounterAdapter implements VelocityServicePort {
     }
 
     private void incrementLocationCounters(Transaction transaction) {
-        String location = transaction.location().toString();
+        if (transaction.location() == null) {
+            return;
+        }
+
+        String location = Geohash.encode(transaction.location(), locationPrecision).toString();
 
         addToHyperLogLog(transaction, FIVE_MINUTES, LOCATIONS_KEY, location);
         addToHyperLogLog(transaction, ONE_HOUR, LOCATIONS_KEY, location);
@@ -156,4 +242,94 @@ public class VelocityCounterAdapter implements VelocityServicePort {
         redisTemplate.opsForHyperLogLog().add(key, value);
         redisTemplate.expire(key, window.getDuration());
     }
-}
\ No newline at end of file
+
+    private void incrementCrossAccountCounters(Transaction transaction) {
+        String merchantId = merchantIdOf(transaction);
+        String deviceId = transaction.deviceId();
+
+        for (TimeWindow window : TimeWindow.values()) {
+            if (merchantId != null) {
+                incrementSketch(MERCHANT_TRANSACTIONS_SKETCH, merchantId, window, transaction.timestamp());
+                addDistinctAccount(MERCHANT_ACCOUNTS_KEY, merchantId, window, transaction);
+            }
+            if (deviceId != null) {
+                incrementSketch(DEVICE_TRANSACTIONS_SKETCH, deviceId, window, transaction.timestamp());
+                addDistinctAccount(DEVICE_ACCOUNTS_KEY, deviceId, window, transaction);
+            }
+        }
+    }
+
+    private long estimateSketchCount(String prefix, String item, TimeWindow window, Instant timestamp) {
+        long bucket = bucketOf(window, timestamp);
+        long current = readSketch(sketchKey(prefix, window, bucket), item);
+        long previous = readSketch(sketchKey(prefix, window, bucket - 1), item);
+
+        return current + Math.round(previous * (1.0 - elapsedFraction(window, timestamp)));
+    }
+
+    private long readSketch(String key, String item) {
+        BitFieldSubCommands commands = BitFieldSubCommands.create();
+
+        for (int counter : sketch.counters(item)) {
+            commands = commands.get(SKETCH_COUNTER).valueAt(Offset.offset(counter).multipliedByTypeLength());
+        }
+
+        List<Long> counts = redisTemplate.opsForValue().bitField(key, commands);
+
+        if (counts == null || counts.size() != sketch.depth()) {
+            return 0L;
+        }
+
+        return CountMinSketch.estimate(counts.stream().mapToLong(count -> count != null ? count : 0L).toArray());
+    }
+
+    private void incrementSketch(String prefix, String item, TimeWindow window, Instant timestamp) {
+        String key = sketchKey(prefix, window, bucketOf(window, timestamp));
+        BitFieldSubCommands commands = BitFieldSubCommands.create();
+
+        for (int counter : sketch.counters(item)) {
+            commands = commands.incr(SKETCH_COUNTER).valueAt(Offset.offset(counter).multipliedByTypeLength())
+                    .overflow(Overflow.SAT).by(1);
+        }
+
+        redisTemplate.opsForValue().bitField(key, commands);
+        redisTemplate.expire(key, window.getDuration().multipliedBy(2));
+    }
+
+    private long countDistinctAccounts(String prefix, String item, TimeWindow window, Instant timestamp) {
+        long bucket = bucketOf(window, timestamp);
+
+        Long count = redisTemplate.opsForHyperLogLog().size(
+                distinctKey(prefix, window, bucket, item), distinctKey(prefix, window, bucket - 1, item));
+        return count != null ? count : 0L;
+    }
+
+    private void addDistinctAccount(String prefix, String item, TimeWindow window, Transaction transaction) {
+        String key = distinctKey(prefix, window, bucketOf(window, transaction.timestamp()), item);
+
+        redisTemplate.opsForHyperLogLog().add(key, transaction.accountId());
+        redisTemplate.expire(key, window.getDuration().multipliedBy(2));
+    }
+
+    private static long bucketOf(TimeWindow window, Instant timestamp) {
+        return Math.floorDiv(timestamp.toEpochMilli(), window.getDuration().toMillis());
+    }
+
+    private static double elapsedFraction(TimeWindow window, Instant timestamp) {
+        long windowMillis = window.getDuration().toMillis();
+        return (double) Math.floorMod(timestamp.toEpochMilli(), windowMillis) / windowMillis;
+    }
+
+    private static String sketchKey(String prefix, TimeWindow window, long bucket) {
+        return String.format("%s:%s:%d", prefix, window.getLabel(), bucket);
+    }
+
+    private static String distinctKey(String prefix, TimeWindow window, long bucket, String item) {
+        return String.format("%s:%s:%d:%s", prefix, window.getLabel(), bucket, item);
+    }
+
+    private static String merchantIdOf(Transaction transaction) {
+        return transaction.merchant() != null && transaction.merchant().id() != null
+                ? transaction.merchant().id().merchantId() : null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.fx;
+
+import com.twenty9ine.frauddetection.application.port.out.FxRatePort;
+import com.twenty9ine.frauddetection.domain.valueobject.FxRates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rates taken from configuration as {@code CODE:rate} pairs (units of the base currency per unit of {@code CODE}),
+ * e.g. {@code EUR:1.08,GBP:1.27}. Stands in for a market-data feed and pins rates in tests; an empty list converts
+ * every amount at face value.
+ */
+@Component
+public class ConfiguredFxRateAdapter implements FxRatePort {
+
+    private final FxRates rates;
+
+    public ConfiguredFxRateAdapter(@Value("${fraud-detection.fx.base-currency:USD}") String baseCurrency,
+                                   @Value("${fraud-detection.fx.rates:}") String rates) {
+        this.rates = FxRates.of(Currency.getInstance(baseCurrency), parse(rates), Instant.now());
+    }
+
+    @Override
+    public FxRates fetchLatestRates() {
+        return rates;
+    }
+
+    static Map<Currency, Double> parse(String rates) {
+        Map<Currency, Double> parsed = new LinkedHashMap<>();
+
+        if (rates == null || rates.isBlank()) {
+            return parsed;
+        }
+
+        for (String pair : rates.split(",")) {
+            String[] parts = pair.split(":");
+
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("FX rate '%s' must be of the form CODE:rate".formatted(pair.strip()));
+            }
+
+            parsed.put(Currency.getInstance(parts[0].strip()), Double.parseDouble(parts[1].strip()));
+        }
+
+        return parsed;
+    }
+}
@@ -0,0 +1,36 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.fx;
+
+import com.twenty9ine.frauddetection.application.port.out.FxRatePort;
+import com.twenty9ine.frauddetection.domain.valueobject.FxRates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs the rate source's snapshot at startup and on a fixed delay thereafter. A failed refresh is logged and the
+ * previous snapshot stays in service, so conversions never stall on the rate source.
+ */
+@Component
+@Slf4j
+public class FxRateRefresher {
+
+    private final FxRatePort fxRatePort;
+
+    public FxRateRefresher(FxRatePort fxRatePort) {
+        this.fxRatePort = fxRatePort;
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${fraud-detection.fx.refresh-interval:15m}",
+               initialDelayString = "${fraud-detection.fx.refresh-interval:15m}")
+    public void refresh() {
+        try {
+            FxRates rates = fxRatePort.fetchLatestRates();
+            FxRates.install(rates);
+
+            log.debug("Installed FX rates snapshot {}", rates);
+        } catch (RuntimeException e) {
+            log.error("Keeping FX rates snapshot {}; refresh failed: {}", FxRates.current(), e.getMessage());
+        }
+    }
+}
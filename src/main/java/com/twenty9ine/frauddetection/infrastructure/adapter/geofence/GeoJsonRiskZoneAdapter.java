@@ -0,0 +1,140 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.geofence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twenty9ine.frauddetection.application.port.out.RiskZonePort;
+import com.twenty9ine.frauddetection.domain.valueobject.Location;
+import com.twenty9ine.frauddetection.domain.valueobject.RiskZone;
+import com.twenty9ine.frauddetection.domain.valueobject.RiskZoneIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * High-risk zones loaded from a GeoJSON {@code FeatureCollection} of {@code Polygon} / {@code MultiPolygon} features
+ * (feature {@code id} or {@code properties.id}, plus an optional {@code properties.name}).
+ * <p>
+ * The file is polled for changes and, when modified, parsed into a fresh {@link RiskZoneIndex} that replaces the
+ * current one atomically. A file that fails to parse on reload is logged and the previous index stays in service.
+ */
+@Component
+@Slf4j
+public class GeoJsonRiskZoneAdapter implements RiskZonePort {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Resource location;
+    private volatile RiskZoneIndex index;
+    private volatile long lastModified;
+
+    public GeoJsonRiskZoneAdapter(
+            @Value("${fraud-detection.geographic.risk-zones.location:classpath:geo/high-risk-zones.geojson}") Resource location) {
+        this.location = location;
+        this.lastModified = lastModified(location);
+        this.index = load(location);
+
+        log.info("Loaded {} high-risk zones from {}", index.size(), location);
+    }
+
+    @Override
+    public Optional<RiskZone> findZoneContaining(Location location) {
+        return index.findContaining(location);
+    }
+
+    @Scheduled(fixedDelayString = "${fraud-detection.geographic.risk-zones.reload-interval:60s}",
+               initialDelayString = "${fraud-detection.geographic.risk-zones.reload-interval:60s}")
+    public void reloadIfModified() {
+        long modified = lastModified(location);
+
+        if (modified == lastModified) {
+            return;
+        }
+
+        try {
+            RiskZoneIndex reloaded = load(location);
+            index = reloaded;
+            lastModified = modified;
+
+            log.info("Reloaded {} high-risk zones from {}", reloaded.size(), location);
+        } catch (RuntimeException e) {
+            log.error("Keeping previous high-risk zones; reload from {} failed: {}", location, e.getMessage());
+        }
+    }
+
+    RiskZoneIndex currentIndex() {
+        return index;
+    }
+
+    private static RiskZoneIndex load(Resource location) {
+        if (!location.exists()) {
+            log.warn("High-risk zone file {} not found; geo-fencing is disabled until it appears", location);
+            return RiskZoneIndex.empty();
+        }
+
+        try (InputStream inputStream = location.getInputStream()) {
+            return RiskZoneIndex.of(parse(OBJECT_MAPPER.readTree(inputStream)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read high-risk zones from %s: %s".formatted(location, e.getMessage()), e);
+        }
+    }
+
+    static List<RiskZone> parse(JsonNode featureCollection) {
+        if (!"FeatureCollection".equals(featureCollection.path("type").asText())) {
+            throw new IllegalArgumentException("High-risk zones must be a GeoJSON FeatureCollection");
+        }
+
+        List<RiskZone> zones = new ArrayList<>();
+
+        for (JsonNode feature : featureCollection.path("features")) {
+            JsonNode geometry = feature.path("geometry");
+            String id = feature.hasNonNull("id") ? feature.get("id").asText() : feature.path("properties").path("id").asText(null);
+            String name = feature.path("properties").path("name").asText(null);
+
+            switch (geometry.path("type").asText()) {
+                case "Polygon" -> zones.add(RiskZone.of(id, name, toRings(geometry.path("coordinates"))));
+                case "MultiPolygon" -> {
+                    List<double[][]> rings = new ArrayList<>();
+                    for (JsonNode polygon : geometry.path("coordinates")) {
+                        rings.addAll(toRings(polygon));
+                    }
+                    zones.add(RiskZone.of(id, name, rings));
+                }
+                default -> log.warn("Skipping high-risk zone {} with unsupported geometry {}", id, geometry.path("type").asText());
+            }
+        }
+
+        return zones;
+    }
+
+    private static List<double[][]> toRings(JsonNode polygon) {
+        List<double[][]> rings = new ArrayList<>(polygon.size());
+
+        for (JsonNode ring : polygon) {
+            double[][] points = new double[ring.size()][];
+
+            for (int i = 0; i < ring.size(); i++) {
+                points[i] = new double[]{ring.get(i).get(0).asDouble(), ring.get(i).get(1).asDouble()};
+            }
+
+            rings.add(points);
+        }
+
+        return rings;
+    }
+
+    private static long lastModified(Resource location) {
+        try {
+            return location.exists() ? location.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.graph;
+
+import com.twenty9ine.frauddetection.application.port.out.FraudRingPort;
+import com.twenty9ine.frauddetection.domain.valueobject.Decision;
+import com.twenty9ine.frauddetection.domain.valueobject.RingSignals;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Fraud-ring lookups over an in-memory {@link TransactionGraph} of every transaction this instance has processed.
+ * Accounts with a {@link Decision#REVIEW} or {@link Decision#BLOCK} count as risky. The graph is local to the
+ * instance and starts empty, so it sees rings forming in the traffic it handles rather than the full history; the
+ * scheduled compaction prunes edges and flags that have decayed below the prune weight.
+ */
+@Component
+@Slf4j
+public class InMemoryFraudRingAdapter implements FraudRingPort {
+
+    private final boolean enabled;
+    private final TransactionGraph graph;
+
+    public InMemoryFraudRingAdapter(
+            @Value("${fraud-detection.fraud-ring.enabled:true}") boolean enabled,
+            @Value("${fraud-detection.fraud-ring.time-constant:7d}") Duration timeConstant,
+            @Value("${fraud-detection.fraud-ring.prune-weight:0.05}") double pruneWeight,
+            @Value("${fraud-detection.fraud-ring.max-degree:500}") int maxDegree) {
+        this.enabled = enabled;
+        this.graph = new TransactionGraph(timeConstant.toMillis(), pruneWeight, maxDegree);
+    }
+
+    @Override
+    public RingSignals findRing(Transaction transaction) {
+        if (!enabled) {
+            return RingSignals.none();
+        }
+
+        return graph.find(transaction.accountId(), transaction.deviceId(), merchantIdOf(transaction));
+    }
+
+    @Override
+    public void recordTransaction(Transaction transaction, Decision decision) {
+        if (!enabled) {
+            return;
+        }
+
+        graph.record(transaction.accountId(), transaction.deviceId(), merchantIdOf(transaction),
+                decision == Decision.REVIEW || decision == Decision.BLOCK, transaction.timestamp().toEpochMilli());
+    }
+
+    @Scheduled(fixedDelayString = "${fraud-detection.fraud-ring.compaction-interval:10m}",
+               initialDelayString = "${fraud-detection.fraud-ring.compaction-interval:10m}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+
+        int pruned = graph.compact(Instant.now().toEpochMilli());
+
+        log.debug("Compacted transaction graph: pruned {} edges, {} nodes and {} edges remain",
+                pruned, graph.nodeCount(), graph.edgeCount());
+    }
+
+    private static String merchantIdOf(Transaction transaction) {
+        return transaction.merchant() != null && transaction.merchant().id() != null
+                ? transaction.merchant().id().merchantId() : null;
+    }
+}
@@ -0,0 +1,320 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.graph;
+
+import com.twenty9ine.frauddetection.domain.valueobject.RingSignals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental union-find over account, device and merchant nodes. Every transaction adds an account–device and an
+ * account–merchant edge; components are merged by size with path halving, so recording and looking up a component
+ * are both amortised O(α(n)). Component size, account count and risky-account count are kept on the root.
+ * <p>
+ * Union-find cannot split a component, so edges decay instead: each edge carries a weight that gains 1 per
+ * observation and decays with the time constant, and {@link #compact(long)} rebuilds the structure from the edges
+ * (and risky flags) whose weight is still above the prune threshold. Nodes that already have {@code maxDegree}
+ * edges take no new ones; a popular merchant would otherwise join every account into one component.
+ * <p>
+ * All access is serialised on the instance; compaction holds the lock for one pass over the surviving edges.
+ */
+final class TransactionGraph {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final double timeConstantMillis;
+    private final double pruneWeight;
+    private final int maxDegree;
+
+    private Map<String, Integer> nodes = new HashMap<>();
+    private Map<Long, Edge> edges = new HashMap<>();
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private int[] degree = new int[INITIAL_CAPACITY];
+    private long[] riskyAt = new long[INITIAL_CAPACITY];
+    // Per-root component totals
+    private int[] size = new int[INITIAL_CAPACITY];
+    private int[] accounts = new int[INITIAL_CAPACITY];
+    private int[] risky = new int[INITIAL_CAPACITY];
+    private int count;
+
+    TransactionGraph(long timeConstantMillis, double pruneWeight, int maxDegree) {
+        if (timeConstantMillis <= 0) {
+            throw new IllegalArgumentException("Transaction graph time constant must be positive");
+        }
+
+        if (pruneWeight <= 0.0 || pruneWeight >= 1.0) {
+            throw new IllegalArgumentException("Transaction graph prune weight must be between 0 and 1");
+        }
+
+        if (maxDegree < 1) {
+            throw new IllegalArgumentException("Transaction graph max degree must be at least 1");
+        }
+
+        this.timeConstantMillis = timeConstantMillis;
+        this.pruneWeight = pruneWeight;
+        this.maxDegree = maxDegree;
+    }
+
+    synchronized void record(String accountId, String deviceId, String merchantId, boolean flagged, long at) {
+        int account = nodeOf(accountKey(accountId), true);
+
+        if (deviceId != null) {
+            link(account, nodeOf(deviceKey(deviceId), false), 1.0, at);
+        }
+        if (merchantId != null) {
+            link(account, nodeOf(merchantKey(merchantId), false), 1.0, at);
+        }
+        if (flagged) {
+            flag(account, at);
+        }
+    }
+
+    /**
+     * The component the transaction would join: the union of the components of its account, device and merchant,
+     * counting the account even when it has not been seen before. Hub devices and merchants are left out, as they
+     * would be when the transaction is recorded.
+     */
+    synchronized RingSignals find(String accountId, String deviceId, String merchantId) {
+        int[] roots = new int[3];
+        int distinct = 0;
+        int componentSize = 0;
+        int linkedAccounts = 0;
+        int riskyAccounts = 0;
+
+        Integer account = nodes.get(accountKey(accountId));
+        if (account == null) {
+            componentSize++;
+            linkedAccounts++;
+        } else {
+            roots[distinct++] = find(account);
+        }
+
+        for (String key : new String[]{deviceId != null ? deviceKey(deviceId) : null,
+                merchantId != null ? merchantKey(merchantId) : null}) {
+            Integer node = key != null ? nodes.get(key) : null;
+
+            if (node == null || (degree[node] >= maxDegree && !hasEdge(account, node))) {
+                continue;
+            }
+
+            int root = find(node);
+            if (!contains(roots, distinct, root)) {
+                roots[distinct++] = root;
+            }
+        }
+
+        for (int i = 0; i < distinct; i++) {
+            componentSize += size[roots[i]];
+            linkedAccounts += accounts[roots[i]];
+            riskyAccounts += risky[roots[i]];
+        }
+
+        return new RingSignals(componentSize, linkedAccounts, riskyAccounts);
+    }
+
+    /**
+     * Rebuilds the graph from the edges and risky flags whose decayed weight at {@code now} is at least the prune
+     * weight. Nodes left without an edge or a flag are dropped.
+     *
+     * @return the number of edges pruned
+     */
+    synchronized int compact(long now) {
+        String[] keptKeys = Arrays.copyOf(keys, count);
+        List<long[]> keptEdges = new ArrayList<>();
+        List<Edge> keptWeights = new ArrayList<>();
+        Map<String, Long> keptFlags = new HashMap<>();
+
+        for (Map.Entry<Long, Edge> entry : edges.entrySet()) {
+            Edge edge = entry.getValue();
+
+            if (decay(edge.weight, now - edge.seenAt) >= pruneWeight) {
+                keptEdges.add(new long[]{entry.getKey() >>> 32, entry.getKey() & 0xffffffffL});
+                keptWeights.add(edge);
+            }
+        }
+        for (int node = 0; node < count; node++) {
+            if (riskyAt[node] != 0 && decay(1.0, now - riskyAt[node]) >= pruneWeight) {
+                keptFlags.put(keys[node], riskyAt[node]);
+            }
+        }
+
+        int pruned = edges.size() - keptEdges.size();
+        reset();
+
+        for (int i = 0; i < keptEdges.size(); i++) {
+            String a = keptKeys[(int) keptEdges.get(i)[0]];
+            String b = keptKeys[(int) keptEdges.get(i)[1]];
+            Edge edge = keptWeights.get(i);
+
+            link(nodeOf(a, isAccount(a)), nodeOf(b, isAccount(b)), edge.weight, edge.seenAt);
+        }
+        for (Map.Entry<String, Long> flag : keptFlags.entrySet()) {
+            flag(nodeOf(flag.getKey(), true), flag.getValue());
+        }
+
+        return pruned;
+    }
+
+    synchronized int nodeCount() {
+        return count;
+    }
+
+    synchronized int edgeCount() {
+        return edges.size();
+    }
+
+    private void link(int a, int b, double weight, long at) {
+        long key = edgeKey(a, b);
+        Edge edge = edges.get(key);
+
+        if (edge != null) {
+            edge.weight = decay(edge.weight, at - edge.seenAt) + weight;
+            edge.seenAt = Math.max(edge.seenAt, at);
+            return;
+        }
+
+        if (degree[a] >= maxDegree || degree[b] >= maxDegree) {
+            return;
+        }
+
+        edges.put(key, new Edge(weight, at));
+        degree[a]++;
+        degree[b]++;
+        union(a, b);
+    }
+
+    private void flag(int account, long at) {
+        if (riskyAt[account] == 0) {
+            risky[find(account)]++;
+        }
+
+        riskyAt[account] = Math.max(riskyAt[account], at);
+    }
+
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+
+        return node;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+
+        if (rootA == rootB) {
+            return;
+        }
+
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        accounts[rootA] += accounts[rootB];
+        risky[rootA] += risky[rootB];
+    }
+
+    private int nodeOf(String key, boolean account) {
+        Integer existing = nodes.get(key);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        ensureCapacity(count + 1);
+
+        int node = count++;
+        keys[node] = key;
+        parent[node] = node;
+        size[node] = 1;
+        accounts[node] = account ? 1 : 0;
+        nodes.put(key, node);
+
+        return node;
+    }
+
+    private boolean hasEdge(Integer account, int node) {
+        return account != null && edges.containsKey(edgeKey(account, node));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, keys.length * 2);
+        keys = Arrays.copyOf(keys, grown);
+        parent = Arrays.copyOf(parent, grown);
+        degree = Arrays.copyOf(degree, grown);
+        riskyAt = Arrays.copyOf(riskyAt, grown);
+        size = Arrays.copyOf(size, grown);
+        accounts = Arrays.copyOf(accounts, grown);
+        risky = Arrays.copyOf(risky, grown);
+    }
+
+    private void reset() {
+        nodes = new HashMap<>();
+        edges = new HashMap<>();
+        keys = new String[INITIAL_CAPACITY];
+        parent = new int[INITIAL_CAPACITY];
+        degree = new int[INITIAL_CAPACITY];
+        riskyAt = new long[INITIAL_CAPACITY];
+        size = new int[INITIAL_CAPACITY];
+        accounts = new int[INITIAL_CAPACITY];
+        risky = new int[INITIAL_CAPACITY];
+        count = 0;
+    }
+
+    private double decay(double weight, long elapsedMillis) {
+        return weight * Math.exp(-Math.max(elapsedMillis, 0L) / timeConstantMillis);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static long edgeKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    private static boolean isAccount(String key) {
+        return key.startsWith("a:");
+    }
+
+    private static String accountKey(String accountId) {
+        return "a:" + accountId;
+    }
+
+    private static String deviceKey(String deviceId) {
+        return "d:" + deviceId;
+    }
+
+    private static String merchantKey(String merchantId) {
+        return "m:" + merchantId;
+    }
+
+    private static final class Edge {
+        private double weight;
+        private long seenAt;
+
+        private Edge(double weight, long seenAt) {
+            this.weight = weight;
+            this.seenAt = seenAt;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.exception.BoundaryMapperException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary form of a journaled assessment: a format version, the transaction, then the assessment's own state. The
+ * assessment's transaction attributes are the transaction's, as {@link RiskAssessment#RiskAssessment(Transaction,
+ * RiskScore, List, MLPrediction, MLSkipReason)} sets them. Domain events are not stored, only the time the decision
+ * was made; decoding completes the assessment with its decision at that time again, which raises the same events as
+ * they were raised when it was assessed. Version 1 entries, written without it, use the assessment time.
+ */
+final class AssessmentJournalCodec {
+
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_DECISION_TIME = 1;
+
+    private AssessmentJournalCodec() {
+    }
+
+    static byte[] encode(Transaction transaction, RiskAssessment assessment) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeTransaction(out, transaction);
+            writeAssessment(out, assessment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    static RecordAssessmentCommand decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION && version != VERSION_WITHOUT_DECISION_TIME) {
+                throw new BoundaryMapperException("Unsupported journal entry version: " + version);
+            }
+
+            Transaction transaction = readTransaction(in);
+            return new RecordAssessmentCommand(transaction, readAssessment(in, transaction, version));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BoundaryMapperException("Malformed journal entry of " + encoded.length + " bytes", e);
+        }
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction transaction) throws IOException {
+        writeUuid(out, transaction.id().toUUID());
+        writeString(out, transaction.accountId());
+        writeString(out, transaction.amount() != null ? transaction.amount().value().toString() : null);
+        writeString(out, transaction.amount() != null ? transaction.amount().currency().getCurrencyCode() : null);
+        writeEnum(out, transaction.type());
+        writeEnum(out, transaction.channel());
+
+        Merchant merchant = transaction.merchant();
+        out.writeBoolean(merchant != null);
+        if (merchant != null) {
+            writeString(out, merchant.id() != null ? merchant.id().merchantId() : null);
+            writeString(out, merchant.name());
+            writeEnum(out, merchant.category());
+        }
+
+        Location location = transaction.location();
+        out.writeBoolean(location != null);
+        if (location != null) {
+            out.writeDouble(location.latitude());
+            out.writeDouble(location.longitude());
+            writeString(out, location.country());
+            writeString(out, location.city());
+        }
+
+        writeString(out, transaction.deviceId());
+        writeInstant(out, transaction.timestamp());
+    }
+
+    private static Transaction readTransaction(DataInputStream in) throws IOException {
+        Transaction.TransactionBuilder transaction = Transaction.builder()
+                .id(TransactionId.of(readUuid(in)))
+                .accountId(readString(in));
+
+        String amount = readString(in);
+        String currency = readString(in);
+        if (amount != null) {
+            transaction.amount(new Money(new BigDecimal(amount), Currency.getInstance(currency)));
+        }
+
+        transaction.type(readEnum(in, TransactionType.class))
+                .channel(readEnum(in, Channel.class));
+
+        if (in.readBoolean()) {
+            String merchantId = readString(in);
+            transaction.merchant(new Merchant(merchantId != null ? MerchantId.of(merchantId) : null, readString(in),
+                    readEnum(in, MerchantCategory.class)));
+        }
+
+        if (in.readBoolean()) {
+            transaction.location(Location.of(in.readDouble(), in.readDouble(), readString(in), readString(in)));
+        }
+
+        return transaction.deviceId(readString(in))
+                .timestamp(readInstant(in))
+                .build();
+    }
+
+    private static void writeAssessment(DataOutputStream out, RiskAssessment assessment) throws IOException {
+        writeUuid(out, assessment.getAssessmentId().toUUID());
+        out.writeBoolean(assessment.getRiskScore() != null);
+        if (assessment.getRiskScore() != null) {
+            out.writeInt(assessment.getRiskScore().value());
+        }
+
+        out.writeInt(assessment.getRuleEvaluations().size());
+        for (RuleEvaluation evaluation : assessment.getRuleEvaluations()) {
+            writeString(out, evaluation.ruleId());
+            writeString(out, evaluation.ruleName());
+            writeEnum(out, evaluation.ruleType());
+            out.writeBoolean(evaluation.triggered());
+            out.writeDouble(evaluation.scoreImpact());
+            writeString(out, evaluation.description());
+        }
+
+        MLPrediction prediction = assessment.getMlPrediction();
+        out.writeBoolean(prediction != null);
+        if (prediction != null) {
+            writeString(out, prediction.modelId());
+            writeString(out, prediction.modelVersion());
+            out.writeDouble(prediction.fraudProbability());
+            out.writeDouble(prediction.confidence());
+            writeFeatureImportance(out, prediction.featureImportance());
+        }
+
+        writeEnum(out, assessment.getMlSkipReason());
+        writeInstant(out, assessment.getAssessmentTime());
+        writeEnum(out, assessment.getDecision());
+        writeInstant(out, decidedAt(assessment));
+    }
+
+    // The decision's events carry the time it was made, unless they were already published
+    private static Instant decidedAt(RiskAssessment assessment) {
+        return assessment.getDomainEvents().isEmpty()
+                ? assessment.getAssessmentTime()
+                : assessment.getDomainEvents().getFirst().getOccurredAt();
+    }
+
+    private static RiskAssessment readAssessment(DataInputStream in, Transaction transaction, int version) throws IOException {
+        AssessmentId assessmentId = AssessmentId.of(readUuid(in));
+        RiskScore riskScore = in.readBoolean() ? RiskScore.of(in.readInt()) : null;
+
+        int ruleCount = in.readInt();
+        List<RuleEvaluation> evaluations = new ArrayList<>(Math.min(ruleCount, 64));
+        for (int i = 0; i < ruleCount; i++) {
+            evaluations.add(new RuleEvaluation(readString(in), readString(in), readEnum(in, RuleType.class),
+                    in.readBoolean(), in.readDouble(), readString(in)));
+        }
+
+        MLPrediction prediction = in.readBoolean()
+                ? new MLPrediction(readString(in), readString(in), in.readDouble(), in.readDouble(), readFeatureImportance(in))
+                : null;
+        MLSkipReason skipReason = readEnum(in, MLSkipReason.class);
+        Instant assessmentTime = readInstant(in);
+        Decision decision = readEnum(in, Decision.class);
+        Instant decidedAt = version == VERSION_WITHOUT_DECISION_TIME ? assessmentTime : readInstant(in);
+
+        RiskAssessment assessment = new RiskAssessment(assessmentId, transaction.id(), transaction.accountId(), riskScore,
+                evaluations, prediction, skipReason, assessmentTime, null);
+        assessment.completeAssessment(decision, decidedAt);
+
+        return assessment;
+    }
+
+    private static void writeFeatureImportance(DataOutputStream out, Map<String, Double> featureImportance) throws IOException {
+        out.writeInt(featureImportance != null ? featureImportance.size() : -1);
+        if (featureImportance != null) {
+            for (Map.Entry<String, Double> feature : featureImportance.entrySet()) {
+                out.writeUTF(feature.getKey());
+                out.writeDouble(feature.getValue() != null ? feature.getValue() : Double.NaN);
+            }
+        }
+    }
+
+    private static Map<String, Double> readFeatureImportance(DataInputStream in) throws IOException {
+        int features = in.readInt();
+        if (features < 0) {
+            return null;
+        }
+
+        Map<String, Double> featureImportance = HashMap.newHashMap(features);
+        for (int i = 0; i < features; i++) {
+            featureImportance.put(in.readUTF(), in.readDouble());
+        }
+
+        return featureImportance;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value != null ? value.name() : null);
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import com.twenty9ine.frauddetection.application.port.in.RecordAssessmentsUseCase;
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records journaled assessments in batches of up to the batch size, on a fixed delay and once more when the service
+ * stops. A batch is consumed only after it was recorded, so a failed batch is retried on the next run and a batch
+ * recorded just before a crash is recorded again after the restart: assessments are saved at least once, and an
+ * assessment recorded twice counts twice towards its account's velocity.
+ * <p>
+ * A batch that failed the maximum number of times in a row is recorded one assessment at a time. An assessment that
+ * still fails, other than because a resource is unavailable, is moved to the dead-letter log, so one bad assessment
+ * cannot hold back the journal. The backlog, its lag and the dead-letter count are published as gauges.
+ */
+@Component
+@Slf4j
+public class AssessmentJournalDrainer {
+
+    private final MappedAssessmentJournalAdapter journal;
+    private final RecordAssessmentsUseCase recordAssessments;
+    private final int batchSize;
+    private final int maxBatchRetries;
+    private final Clock clock;
+
+    private int failedAttempts;
+    private volatile Instant oldestPending;
+
+    @Autowired
+    public AssessmentJournalDrainer(MappedAssessmentJournalAdapter journal, RecordAssessmentsUseCase recordAssessments,
+                                    ObjectProvider<MeterRegistry> meterRegistry,
+                                    @Value("${fraud-detection.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${fraud-detection.write-behind.max-batch-retries:3}") int maxBatchRetries) {
+        this(journal, recordAssessments, batchSize, maxBatchRetries, Clock.systemUTC());
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    AssessmentJournalDrainer(MappedAssessmentJournalAdapter journal, RecordAssessmentsUseCase recordAssessments,
+                             int batchSize, int maxBatchRetries, Clock clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Write-behind batch size must be positive");
+        }
+        if (maxBatchRetries <= 0) {
+            throw new IllegalArgumentException("Write-behind batch retries must be positive");
+        }
+
+        this.journal = journal;
+        this.recordAssessments = recordAssessments;
+        this.batchSize = batchSize;
+        this.maxBatchRetries = maxBatchRetries;
+        this.clock = clock;
+    }
+
+    private void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("assessment.journal.backlog", journal, MappedAssessmentJournalAdapter::pending)
+                .description("Journaled assessments not yet recorded")
+                .register(meterRegistry);
+        Gauge.builder("assessment.journal.lag", this, drainer -> drainer.lag().toMillis() / 1000.0)
+                .description("Age of the oldest journaled assessment not yet recorded")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("assessment.journal.dead.letters", journal, MappedAssessmentJournalAdapter::deadLettered)
+                .description("Journaled assessments moved to the dead-letter log")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${fraud-detection.write-behind.drain-interval:50ms}")
+    public void drain() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+
+        try {
+            int recorded = drainAll();
+            if (recorded > 0) {
+                log.debug("Recorded {} journaled assessments", recorded);
+            }
+        } catch (RuntimeException e) {
+            log.error("Recording journaled assessments failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        drain();
+    }
+
+    /**
+     * Age of the oldest assessment read from the journal but not yet recorded, zero when the journal is drained.
+     */
+    Duration lag() {
+        Instant oldest = oldestPending;
+        return oldest != null ? Duration.between(oldest, clock.instant()) : Duration.ZERO;
+    }
+
+    /**
+     * Records batches until the journal is empty and returns how many assessments were recorded.
+     */
+    synchronized int drainAll() {
+        int recorded = 0;
+        MappedAssessmentJournalAdapter.Batch batch;
+
+        do {
+            batch = journal.read(batchSize);
+            oldestPending = batch.commands().isEmpty() ? null : batch.commands().getFirst().assessment().getAssessmentTime();
+
+            if (!batch.commands().isEmpty()) {
+                recorded += record(batch.commands());
+            }
+
+            journal.commit(batch);
+        } while (batch.entries() == batchSize);
+
+        oldestPending = null;
+        return recorded;
+    }
+
+    private int record(List<RecordAssessmentCommand> commands) {
+        try {
+            recordAssessments.recordAll(commands);
+            failedAttempts = 0;
+            return commands.size();
+        } catch (RuntimeException e) {
+            if (++failedAttempts < maxBatchRetries) {
+                throw e;
+            }
+
+            log.warn("Recording a batch of {} journaled assessments failed {} times, recording them one at a time: {}",
+                    commands.size(), failedAttempts, e.getMessage());
+        }
+
+        int recorded = recordEach(commands);
+        failedAttempts = 0;
+        return recorded;
+    }
+
+    // An unavailable resource fails every assessment alike, so it ends the run and the batch is retried whole
+    private int recordEach(List<RecordAssessmentCommand> commands) {
+        int recorded = 0;
+
+        for (RecordAssessmentCommand command : commands) {
+            try {
+                recordAssessments.recordAll(List.of(command));
+                recorded++;
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    throw e;
+                }
+
+                log.error("Dead-lettering journaled assessment of transaction {} that could not be recorded: {}",
+                        command.transaction().id(), e.getMessage());
+                journal.deadLetter(command);
+            }
+        }
+
+        return recorded;
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+import com.twenty9ine.frauddetection.application.port.out.AssessmentJournalPort;
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import com.twenty9ine.frauddetection.infrastructure.exception.BoundaryMapperException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind journal of completed assessments in a {@link MappedLog} on local disk. Appending costs an encode and a
+ * memory copy, so callers get their decision without waiting on the database; {@link AssessmentJournalDrainer}
+ * records the journaled assessments in batches. Entries not yet recorded when the service stops are recovered from
+ * the directory when it starts again, so it must outlive the instance, as a persistent volume does.
+ * <p>
+ * Entries that can never be recorded are moved to a dead-letter log in the {@code dead-letter} subdirectory, where they
+ * are kept for inspection and replay instead of holding back the entries after them.
+ */
+@Component
+@Slf4j
+public class MappedAssessmentJournalAdapter implements AssessmentJournalPort {
+
+    record Batch(List<RecordAssessmentCommand> commands, List<byte[]> undecodable, int entries, MappedLog.Position end) {
+    }
+
+    static final String DEAD_LETTER_DIRECTORY = "dead-letter";
+
+    private final MappedLog journal;
+    private final MappedLog deadLetters;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    @Autowired
+    public MappedAssessmentJournalAdapter(@Value("${fraud-detection.write-behind.enabled:false}") boolean enabled,
+                                          @Value("${fraud-detection.write-behind.directory:data/assessment-journal}") String directory,
+                                          @Value("${fraud-detection.write-behind.segment-size:64MB}") DataSize segmentSize,
+                                          @Value("${fraud-detection.write-behind.force-on-append:false}") boolean forceOnAppend) {
+        this(enabled ? new MappedLog(Path.of(directory), Math.toIntExact(segmentSize.toBytes()), forceOnAppend) : null,
+                enabled ? new MappedLog(Path.of(directory, DEAD_LETTER_DIRECTORY), Math.toIntExact(segmentSize.toBytes()), forceOnAppend) : null);
+    }
+
+    MappedAssessmentJournalAdapter(MappedLog journal, MappedLog deadLetters) {
+        this.journal = journal;
+        this.deadLetters = deadLetters;
+
+        if (journal != null && journal.recovered() > 0) {
+            log.info("Recovered {} journaled assessments awaiting persistence", journal.recovered());
+            pending.set(journal.recovered());
+        }
+        if (deadLetters != null && deadLetters.recovered() > 0) {
+            log.warn("The write-behind dead-letter log holds {} assessments that could not be recorded", deadLetters.recovered());
+            deadLettered.set(deadLetters.recovered());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    @Override
+    public void append(Transaction transaction, RiskAssessment assessment) {
+        if (journal == null) {
+            throw new IllegalStateException("Write-behind persistence is disabled");
+        }
+
+        journal.append(AssessmentJournalCodec.encode(transaction, assessment));
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Reads the next journaled assessments without consuming them. An entry that cannot be decoded never will be, so
+     * it is dead-lettered when the batch is committed rather than holding back the entries after it.
+     */
+    Batch read(int maxEntries) {
+        MappedLog.Batch entries = journal.read(maxEntries);
+        List<RecordAssessmentCommand> commands = new ArrayList<>(entries.entries().size());
+        List<byte[]> undecodable = new ArrayList<>();
+
+        for (byte[] entry : entries.entries()) {
+            try {
+                commands.add(AssessmentJournalCodec.decode(entry));
+            } catch (BoundaryMapperException e) {
+                log.error("Journaled assessment cannot be decoded and will be dead-lettered: {}", e.getMessage());
+                undecodable.add(entry);
+            }
+        }
+
+        return new Batch(commands, undecodable, entries.entries().size(), entries.end());
+    }
+
+    void commit(Batch batch) {
+        batch.undecodable().forEach(this::deadLetter);
+        journal.commit(batch.end());
+        pending.addAndGet(-batch.entries());
+    }
+
+    /**
+     * Keeps an assessment that could not be recorded in the dead-letter log, so the journal can be committed past it.
+     */
+    void deadLetter(RecordAssessmentCommand command) {
+        deadLetter(AssessmentJournalCodec.encode(command.transaction(), command.assessment()));
+    }
+
+    private void deadLetter(byte[] entry) {
+        deadLetters.append(entry);
+        deadLettered.incrementAndGet();
+    }
+
+    /**
+     * Number of journaled assessments not yet recorded, counting a read batch until it is committed.
+     */
+    long pending() {
+        return pending.get();
+    }
+
+    /**
+     * Number of assessments in the dead-letter log.
+     */
+    long deadLettered() {
+        return deadLettered.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (journal != null) {
+            journal.close();
+            deadLetters.close();
+        }
+    }
+}
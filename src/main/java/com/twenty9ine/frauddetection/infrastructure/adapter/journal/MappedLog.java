@@ -0,0 +1,333 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque entries in memory-mapped segment files, consumed in order from a checkpoint. An entry is
+ * in the page cache once {@link #append} returns, so it survives the process crashing; forcing each append also makes
+ * it survive the machine crashing, at the cost of a write to disk per entry.
+ * <p>
+ * A segment holds entries back to back, each a 4-byte payload length, the payload's CRC32C and the payload. Segments
+ * are created at full size and so read as zeros past the last entry: a zero length marks the end of the log, and
+ * {@code -1} a segment closed early because the next entry did not fit. The checkpoint file holds the position up to
+ * which entries have been consumed and is replaced atomically; segments wholly before it are deleted.
+ * <p>
+ * Opening the log recovers it: entries are validated from the checkpoint onwards and the log ends at the first
+ * missing, torn or corrupt one, whose bytes are cleared so later appends start on a clean segment tail.
+ */
+@Slf4j
+final class MappedLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int END_OF_SEGMENT = -1;
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String CHECKPOINT = "checkpoint";
+
+    record Position(long segment, int offset) {
+    }
+
+    record Batch(List<byte[]> entries, Position end) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final NavigableMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final int recovered;
+
+    private Position committed;
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private int writeOffset;
+
+    MappedLog(Path directory, int segmentSize, boolean forceOnAppend) {
+        if (segmentSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Journal segment size must exceed " + HEADER_BYTES + " bytes");
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+
+        try {
+            Files.createDirectories(directory);
+            this.recovered = recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Number of unconsumed entries found when the log was opened.
+     */
+    int recovered() {
+        return recovered;
+    }
+
+    synchronized void append(byte[] payload) {
+        if (payload.length == 0 || HEADER_BYTES + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Journal entry of " + payload.length + " bytes does not fit a segment of " + segmentSize);
+        }
+
+        if (writeBuffer.capacity() - writeOffset < HEADER_BYTES + payload.length) {
+            roll();
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        // The length goes in last: until it is written the entry reads as the end of the log
+        writeBuffer.put(writeOffset + HEADER_BYTES, payload);
+        writeBuffer.putInt(writeOffset + Integer.BYTES, (int) crc.getValue());
+        writeBuffer.putInt(writeOffset, payload.length);
+
+        if (forceOnAppend) {
+            writeBuffer.force(writeOffset, HEADER_BYTES + payload.length);
+        }
+
+        writeOffset += HEADER_BYTES + payload.length;
+    }
+
+    /**
+     * Reads up to {@code maxEntries} entries from the checkpoint without consuming them.
+     */
+    synchronized Batch read(int maxEntries) {
+        List<byte[]> entries = new ArrayList<>(Math.min(maxEntries, 1024));
+        Position position = committed;
+
+        while (entries.size() < maxEntries) {
+            MappedByteBuffer buffer = segments.get(position.segment());
+            int length = lengthAt(buffer, position.offset());
+
+            if (length == END_OF_SEGMENT) {
+                Long next = segments.higherKey(position.segment());
+                if (next == null) {
+                    break;
+                }
+
+                position = new Position(next, 0);
+            } else if (length == 0) {
+                break;
+            } else {
+                byte[] payload = new byte[length];
+                buffer.get(position.offset() + HEADER_BYTES, payload);
+                entries.add(payload);
+                position = new Position(position.segment(), position.offset() + HEADER_BYTES + length);
+            }
+        }
+
+        return new Batch(entries, position);
+    }
+
+    /**
+     * Consumes the entries before {@code position}: they are not read again, here or after a restart.
+     */
+    void commit(Position position) {
+        synchronized (this) {
+            if (position.equals(committed)) {
+                return;
+            }
+        }
+
+        // Only the consumer commits, so the checkpoint can be written without holding up appends
+        writeCheckpoint(position);
+        List<Long> consumed;
+
+        synchronized (this) {
+            committed = position;
+
+            NavigableMap<Long, MappedByteBuffer> before = segments.headMap(position.segment(), false);
+            consumed = new ArrayList<>(before.keySet());
+            before.clear();
+        }
+
+        for (long segment : consumed) {
+            try {
+                Files.deleteIfExists(segmentPath(segment));
+            } catch (IOException e) {
+                log.warn("Could not delete consumed journal segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        writeBuffer.force();
+    }
+
+    private int recover() throws IOException {
+        Position checkpoint = readCheckpoint();
+
+        for (long segment : listSegments()) {
+            if (checkpoint != null && segment < checkpoint.segment()) {
+                Files.delete(segmentPath(segment));
+            } else {
+                segments.put(segment, map(segment, Math.toIntExact(Files.size(segmentPath(segment)))));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            long first = checkpoint != null ? checkpoint.segment() : 0;
+            segments.put(first, map(first, segmentSize));
+        }
+
+        committed = checkpoint != null && segments.containsKey(checkpoint.segment())
+                ? checkpoint
+                : new Position(segments.firstKey(), 0);
+
+        int entries = 0;
+        Position position = committed;
+        int length;
+
+        while (true) {
+            MappedByteBuffer buffer = segments.get(position.segment());
+            length = lengthAt(buffer, position.offset());
+
+            if (length == END_OF_SEGMENT) {
+                long next = position.segment() + 1;
+                if (!segments.containsKey(next)) {
+                    segments.put(next, map(next, segmentSize));
+                }
+
+                position = new Position(next, 0);
+            } else if (isValid(buffer, position.offset(), length)) {
+                entries++;
+                position = new Position(position.segment(), position.offset() + HEADER_BYTES + length);
+            } else {
+                break;
+            }
+        }
+
+        truncate(position, length != 0);
+
+        writeSegment = position.segment();
+        writeBuffer = segments.get(writeSegment);
+        writeOffset = position.offset();
+
+        return entries;
+    }
+
+    // Appends fill a segment in order, so the bytes after a clean end are zeros; after a corrupt entry they are cleared
+    private void truncate(Position end, boolean corrupt) throws IOException {
+        if (corrupt) {
+            log.warn("Truncating journal at a corrupt entry in segment {} at offset {}", end.segment(), end.offset());
+
+            MappedByteBuffer buffer = segments.get(end.segment());
+            byte[] zeros = new byte[8192];
+
+            for (int offset = end.offset(); offset < buffer.capacity(); offset += zeros.length) {
+                buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+            }
+        }
+
+        NavigableMap<Long, MappedByteBuffer> after = segments.tailMap(end.segment(), false);
+        if (!after.isEmpty()) {
+            log.warn("Discarding journal segments {} after the end of the log in segment {}", after.keySet(), end.segment());
+
+            for (long segment : after.keySet()) {
+                Files.delete(segmentPath(segment));
+            }
+            after.clear();
+        }
+    }
+
+    private void roll() {
+        if (writeBuffer.capacity() - writeOffset >= Integer.BYTES) {
+            writeBuffer.putInt(writeOffset, END_OF_SEGMENT);
+        }
+
+        writeBuffer.force();
+
+        try {
+            writeSegment++;
+            writeBuffer = map(writeSegment, segmentSize);
+            writeOffset = 0;
+            segments.put(writeSegment, writeBuffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + writeSegment, e);
+        }
+    }
+
+    // An entry's length, or END_OF_SEGMENT where no further entry fits the segment
+    private static int lengthAt(ByteBuffer buffer, int offset) {
+        if (buffer.capacity() - offset < HEADER_BYTES) {
+            return END_OF_SEGMENT;
+        }
+
+        return buffer.getInt(offset);
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int offset, int length) {
+        if (length <= 0 || length > buffer.capacity() - offset - HEADER_BYTES) {
+            return false;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER_BYTES, length));
+
+        return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES);
+    }
+
+    private MappedByteBuffer map(long segment, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve("%020d%s".formatted(segment, SEGMENT_SUFFIX));
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        if (!Files.exists(checkpoint) || Files.size(checkpoint) != Long.BYTES + Integer.BYTES) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    private void writeCheckpoint(Position position) {
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                .putLong(position.segment())
+                .putInt(position.offset())
+                .array();
+
+        try {
+            Files.write(temporary, bytes);
+            Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write journal checkpoint", e);
+        }
+    }
+}
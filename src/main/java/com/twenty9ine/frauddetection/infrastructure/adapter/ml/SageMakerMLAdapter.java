@@ -2,7 +2,6 @@ package com.twenty9ine.frauddetection.infrastructure.adapter.ml;
 
 import com.twenty9ine.frauddetection.application.port.out.AccountServicePort;
 import com.twenty9ine.frauddetection.application.port.out.MLServicePort;
-import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
 import com.twenty9ine.frauddetection.domain.exception.MachineLearningException;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
@@ -18,21 +17,22 @@ import software.amazon.awssdk.services.sagemakerruntime.model.InvokeEndpointRequ
 import software.amazon.awssdk.services.sagemakerruntime.model.InvokeEndpointResponse;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
 
 @Component
 @Slf4j
 public class SageMakerMLAdapter implements MLServicePort {
 
+    private static final Duration RECENT_ACTIVITY_WINDOW = Duration.ofHours(24);
+
     private final SageMakerRuntimeClient sageMakerClient;
     private final CircuitBreaker circuitBreaker;
     private final JsonMapper jsonMapper;
     private final AccountServicePort accountService;
-    private final TransactionRepository transactionRepository;
     private final String endpointName;
     private final String modelVersion;
     private final boolean localMode;
@@ -41,27 +41,27 @@ public class SageMakerMLAdapter implements MLServicePort {
 
     private final double minRawProbability;
     private final double maxRawProbability;
-
-    private List<Transaction> last24HoursTransactions;
+    private final boolean behavioralFeatures;
+    private final boolean habitualDistanceFeature;
 
     public SageMakerMLAdapter(
             SageMakerRuntimeClient sageMakerClient,
             CircuitBreakerRegistry circuitBreakerRegistry,
             JsonMapper jsonMapper,
             AccountServicePort accountService,
-            TransactionRepository transactionRepository,
             @Value("${aws.sagemaker.endpoint-name}") String endpointName,
             @Value("${aws.sagemaker.model-version:1.0.0}") String modelVersion,
             @Value("${aws.sagemaker.local-mode:true}") boolean localMode,
             @Value("${aws.sagemaker.endpoint-url:http://localhost:8080/invocations}") String localEndpointUrl,
             @Value("${aws.sagemaker.scaling.min-raw-probability:0.000001}") double minRawProbability,
-            @Value("${aws.sagemaker.scaling.max-raw-probability:0.1}") double maxRawProbability) {
+            @Value("${aws.sagemaker.scaling.max-raw-probability:0.1}") double maxRawProbability,
+            @Value("${aws.sagemaker.behavioral-features:false}") boolean behavioralFeatures,
+            @Value("${aws.sagemaker.habitual-distance-feature:false}") boolean habitualDistanceFeature) {
 
         this.sageMakerClient = sageMakerClient;
         this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("sagemakerML");
         this.jsonMapper = jsonMapper;
         this.accountService = accountService;
-        this.transactionRepository = transactionRepository;
         this.endpointName = endpointName;
         this.modelVersion = modelVersion;
         this.localMode = localMode;
@@ -69,6 +69,8 @@ public class SageMakerMLAdapter implements MLServicePort {
 
         this.minRawProbability = minRawProbability;
         this.maxRawProbability = maxRawProbability;
+        this.behavioralFeatures = behavioralFeatures;
+        this.habitualDistanceFeature = habitualDistanceFeature;
 
         // Initialize RestClient for local mode
         this.restClient = RestClient.builder()
@@ -84,16 +86,16 @@ public class SageMakerMLAdapter implements MLServicePort {
     }
 
     @Override
-    @Cacheable(value = "mlPredictions", key = "#transaction.id().toString()", unless = "#result.fraudProbability() > 0.7")
-    public MLPrediction predict(Transaction transaction) {
-        this.last24HoursTransactions = findLast24HoursTransactionsByAccountId(transaction.accountId());
+    @Cacheable(value = "mlPredictions", key = "#context.transaction().id().toString()", unless = "#result.fraudProbability() > 0.7")
+    public MLPrediction predict(AssessmentContext context) {
+        Transaction transaction = context.transaction();
 
         try {
             return circuitBreaker.executeSupplier(() -> {
                 log.debug("Invoking SageMaker endpoint: {} for transaction: {}", endpointName, transaction.id());
 
                 AccountProfile accountProfile = findAccountProfileByAccountId(transaction.accountId());
-                Map<String, Object> features = extractFeatures(transaction, accountProfile);
+                Map<String, Object> features = extractFeatures(context, accountProfile);
 
                 String responseBody;
                 if (localMode) {
@@ -152,10 +154,11 @@ public class SageMakerMLAdapter implements MLServicePort {
         return accountService.findAccountProfile(accountId);
     }
 
-    private Map<String, Object> extractFeatures(Transaction transaction, AccountProfile accountProfile) {
+    private Map<String, Object> extractFeatures(AssessmentContext context, AccountProfile accountProfile) {
+        Transaction transaction = context.transaction();
         Map<String, Object> features = new HashMap<>();
 
-        features.put("amount", transaction.amount().value().doubleValue());
+        features.put("amount", transaction.amount().baseValue());
         features.put("transaction_type", transaction.type().ordinal());
         features.put("channel", transaction.channel().ordinal());
         features.put("merchant_category", transaction.merchant().category().ordinal());
@@ -165,43 +168,51 @@ public class SageMakerMLAdapter implements MLServicePort {
         features.put("is_weekend", isWeekend(transaction.timestamp()) ? 1 : 0);
         features.put("has_device", hasDevice(transaction) ? 1 : 0);
         features.put("distance_from_home", calculateDistanceFromHome(accountProfile, transaction));
-        features.put("transactions_last_24h", last24HoursTransactions.size() + 1);
-        features.put("amount_last_24h", sumTotalAmount(transaction.amount()));
-        features.put("new_merchant", isNewMerchant(findLast30DaysMerchantsByAccountId(transaction.accountId()), transaction.merchant()) ? 1 : 0);
+        features.put("transactions_last_24h", context.transactionCountWithin(RECENT_ACTIVITY_WINDOW) + 1);
+        features.put("amount_last_24h", sumTotalAmount(context));
+        features.put("new_merchant", isNewMerchant(context) ? 1 : 0);
+
+        if (behavioralFeatures) {
+            putBehavioralFeatures(features, context.behavioralSignals());
+        }
+
+        if (habitualDistanceFeature) {
+            putHabitualDistanceFeature(features, accountProfile, context);
+        }
 
         log.debug("Extracted features for transaction {}: {}", transaction.id(), features);
 
         return features;
     }
 
-    private boolean isNewMerchant(List<Merchant> previousMerchants, Merchant merchant) {
-        return !previousMerchants.contains(merchant);
-    }
-
-    private List<Merchant> findLast30DaysMerchantsByAccountId(String accountId) {
-        return findLast30DaysTransactionsByAccountId(accountId).stream()
-                .map(Transaction::merchant)
-                .distinct()
-                .toList();
+    // Only sent to models trained with them; a model that was not would reject the unknown columns
+    private static void putBehavioralFeatures(Map<String, Object> features, BehavioralSignals signals) {
+        features.put("amount_zscore", signals.amountZScore());
+        features.put("off_hours", signals.isOffHours() ? 1 : 0);
+        features.put("hour_share", signals.hourShare());
+        features.put("channel_share", signals.channelShare());
+        features.put("category_share", signals.categoryShare());
+        features.put("daily_rate", signals.dailyRate());
+        features.put("profile_samples", signals.sampleCount());
     }
 
-    private double sumTotalAmount(Money amount) {
-        return getLast24HoursTransactionSumAmount() + amount.value().doubleValue();
-    }
+    // Distance to the nearest of the home and habitual locations; only sent to models trained with it, like the
+    // behavioral features. Accounts without habitual locations yet fall back to the home distance.
+    private static void putHabitualDistanceFeature(Map<String, Object> features, AccountProfile accountProfile,
+                                                   AssessmentContext context) {
+        double homeDistanceKm = calculateDistanceFromHome(accountProfile, context.transaction());
+        OptionalDouble habitualDistanceKm = context.habitualDistanceKm();
 
-    private double getLast24HoursTransactionSumAmount() {
-        return last24HoursTransactions.stream()
-                .mapToDouble(transaction -> transaction.amount().value().doubleValue())
-                .sum();
+        features.put("habitual_distance",
+                habitualDistanceKm.isPresent() ? Math.min(homeDistanceKm, habitualDistanceKm.getAsDouble()) : homeDistanceKm);
     }
 
-    private List<Transaction> findLast24HoursTransactionsByAccountId(String accountId) {
-        return transactionRepository.findByAccountIdAndTimestampBetween(accountId, Instant.now().minus(24, ChronoUnit.HOURS), Instant.now());
+    private static boolean isNewMerchant(AssessmentContext context) {
+        return !context.hasTransactedWith(context.transaction().merchant().id());
     }
 
-    private List<Transaction> findLast30DaysTransactionsByAccountId(String accountId) {
-        return transactionRepository.findByAccountIdAndTimestampBetween(accountId, Instant.now().minus(30, ChronoUnit.DAYS),
-                Instant.now());
+    private static double sumTotalAmount(AssessmentContext context) {
+        return context.totalAmountWithin(RECENT_ACTIVITY_WINDOW) + context.transaction().amount().baseValue();
     }
 
     private static double calculateDistanceFromHome(AccountProfile accountProfile, Transaction transaction) {
@@ -0,0 +1,109 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the monthly partitions of the transaction and assessment tables ahead of the clock and drops the ones past
+ * retention, using the partition functions installed by the V6 and V13 migrations. Dropping a partition removes a month
+ * of rows without deleting them one by one, so retention leaves nothing behind to vacuum. Each table is maintained on
+ * its own; a failure is logged and retried on the next run.
+ * <p>
+ * Every month within retention is (re)created, which moves rows that reached the default partition for lack of one back
+ * into their month. What the default partition still holds afterwards, rows beyond the months ahead, is logged as an
+ * error and published as the {@code partitions.default.rows} gauge per table.
+ */
+@Component
+@Slf4j
+public class PartitionMaintenance {
+
+    static final List<String> PARTITIONED_TABLES = List.of("transaction", "risk_assessments", "rule_evaluations");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Map<String, AtomicLong> defaultPartitionRows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PartitionMaintenance(JdbcTemplate jdbcTemplate, ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${fraud-detection.partitioning.enabled:true}") boolean enabled,
+                                @Value("${fraud-detection.partitioning.months-ahead:3}") int monthsAhead,
+                                @Value("${fraud-detection.partitioning.retention-months:13}") int retentionMonths) {
+        this(jdbcTemplate, Clock.systemUTC(), enabled, monthsAhead, retentionMonths);
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    PartitionMaintenance(JdbcTemplate jdbcTemplate, Clock clock, boolean enabled, int monthsAhead, int retentionMonths) {
+        if (monthsAhead < 0 || retentionMonths < 0) {
+            throw new IllegalArgumentException("Partition months ahead and retention months must not be negative");
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+
+        PARTITIONED_TABLES.forEach(table -> defaultPartitionRows.put(table, new AtomicLong()));
+    }
+
+    private void bindTo(MeterRegistry meterRegistry) {
+        defaultPartitionRows.forEach((table, rows) -> Gauge.builder("partitions.default.rows", rows, AtomicLong::get)
+                .description("Rows in the default partition, outside every monthly partition")
+                .tag("table", table)
+                .register(meterRegistry));
+    }
+
+    @Scheduled(fixedDelayString = "${fraud-detection.partitioning.maintenance-interval:6h}",
+               initialDelayString = "${fraud-detection.partitioning.initial-delay:1m}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate currentMonth = LocalDate.now(clock).withDayOfMonth(1);
+        LocalDate firstMonth = currentMonth.minusMonths(retentionMonths);
+
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                Integer created = jdbcTemplate.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                        table, firstMonth, retentionMonths + monthsAhead + 1);
+                Integer dropped = retentionMonths > 0
+                        ? jdbcTemplate.queryForObject("SELECT drop_monthly_partitions_before(?, ?)", Integer.class,
+                                table, firstMonth)
+                        : Integer.valueOf(0);
+                Long stranded = jdbcTemplate.queryForObject("SELECT default_partition_rows(?)", Long.class, table);
+
+                defaultPartitionRows.get(table).set(stranded);
+                if (stranded > 0) {
+                    log.error("The default partition of {} holds {} rows outside its monthly partitions", table, stranded);
+                }
+
+                log.debug("Maintained partitions of {}: {} created, {} dropped", table, created, dropped);
+            } catch (DataAccessException e) {
+                log.error("Partition maintenance of {} failed: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    long defaultPartitionRows(String table) {
+        return defaultPartitionRows.get(table).get();
+    }
+}
@@ -0,0 +1,102 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PGobject;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Bulk loads rows with {@code COPY ... FROM STDIN} in CSV format, streaming one row at a time. COPY cannot upsert, so
+ * callers copy into a session-scoped staging table and merge it into the real tables with one statement.
+ * <p>
+ * A null is written as an unquoted empty field and every string is quoted, so an empty string survives the round trip.
+ * Binary values are written in bytea hex format, which needs no quoting.
+ */
+final class PostgresCopy {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final String STAGE_SQL = "CREATE TEMP TABLE IF NOT EXISTS %s (%s) ON COMMIT DELETE ROWS";
+
+    private PostgresCopy() {
+    }
+
+    /**
+     * Creates the staging table on first use in the session and empties it. Its rows are discarded on commit, so the
+     * caller must be inside a transaction; a table still holding rows from an earlier call in the same transaction is
+     * truncated.
+     */
+    static void stage(Connection connection, String table, String columnDefinitions) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(STAGE_SQL.formatted(table, columnDefinitions));
+            statement.execute("TRUNCATE " + table);
+        }
+    }
+
+    static long copy(Connection connection, String table, List<String> columns, List<Object[]> rows) throws SQLException {
+        String sql = "COPY %s (%s) FROM STDIN WITH (FORMAT csv)".formatted(table, String.join(", ", columns));
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+
+        try {
+            StringBuilder line = new StringBuilder(256);
+
+            for (Object[] row : rows) {
+                line.setLength(0);
+                byte[] bytes = appendRow(line, row).toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    static StringBuilder appendRow(StringBuilder line, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendValue(line, values[i]);
+        }
+
+        return line.append('\n');
+    }
+
+    private static void appendValue(StringBuilder line, Object value) {
+        switch (value) {
+            case null -> {
+            }
+            case BigDecimal decimal -> line.append(decimal.toPlainString());
+            case Number number -> line.append(number);
+            case byte[] bytes -> line.append("\\x").append(HEX.formatHex(bytes));
+            case PGobject object when object.getValue() == null -> {
+            }
+            case PGobject object -> appendQuoted(line, object.getValue());
+            default -> appendQuoted(line, value.toString());
+        }
+    }
+
+    private static void appendQuoted(StringBuilder line, String value) {
+        line.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+
+        line.append('"');
+    }
+}
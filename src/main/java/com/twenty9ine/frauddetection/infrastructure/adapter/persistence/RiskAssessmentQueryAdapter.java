@@ -0,0 +1,348 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
+
+import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
+import com.twenty9ine.frauddetection.application.dto.RuleEvaluationDto;
+import com.twenty9ine.frauddetection.application.port.out.RiskAssessmentQueryPort;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads assessment search results straight into DTOs. A page costs two queries whatever its size: one for the
+ * assessments and one for all of their rule evaluations, where loading the aggregates would query the rule
+ * evaluations once per assessment and rebuild each assessment's domain events only to discard them.
+ */
+@Component
+@RequiredArgsConstructor
+public class RiskAssessmentQueryAdapter implements RiskAssessmentQueryPort {
+
+    private static final String ASSESSMENT_COLUMNS =
+            "id, transaction_id, account_id, risk_score_value, risk_level, decision, ml_skip_reason, assessment_time";
+
+    // The window count returns the exact total with the page, so offset paging needs no separate COUNT(*) unless
+    // the page is past the last match
+    private static final String FIND_SQL = """
+            SELECT %s, count(*) OVER () AS total_elements
+            FROM risk_assessments
+            WHERE %%s
+            ORDER BY %%s
+            %%s""".formatted(ASSESSMENT_COLUMNS);
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM risk_assessments WHERE %s";
+
+    // Keyset paging: the page after a cursor is a range scan of the (assessment_time, id) index, however deep. The
+    // plain bound on assessment_time repeats the row comparison so the planner can prune newer partitions. One extra
+    // row is fetched to tell whether there is a next page.
+    private static final String SCROLL_SQL = """
+            SELECT %s
+            FROM risk_assessments
+            WHERE %%s
+            ORDER BY assessment_time DESC, id DESC
+            LIMIT :limit""".formatted(ASSESSMENT_COLUMNS);
+
+    private static final String AFTER_CURSOR_CONDITION =
+            "assessment_time <= :afterTime AND (assessment_time, id) < (:afterTime, :afterId)";
+
+    // The planner's row estimate for the filters replaces an exact COUNT(*), which would read every matching row
+    private static final String ESTIMATE_SQL = "EXPLAIN (FORMAT JSON) SELECT 1 FROM risk_assessments WHERE %s";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    // Rule evaluations share their assessment's partition key, so bounding it by the page's time range prunes the
+    // partitions the page does not cover
+    private static final String FIND_RULES_SQL = """
+            SELECT id, assessment_id, rule_id, rule_name, rule_type, score_impact, description
+            FROM rule_evaluations
+            WHERE assessment_id = ANY (CAST(:assessmentIds AS UUID[]))
+              AND assessment_time BETWEEN :earliest AND :latest
+            ORDER BY id""";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "assessmentTime", "assessment_time",
+            "riskScore", "risk_score_value",
+            "riskScoreValue", "risk_score_value");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public PagedResult<RiskAssessmentDto> findByRiskLevelSince(Set<TransactionRiskLevel> levels, Instant since, PageRequest pageRequest) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String where = where(filters(levels, since, parameters));
+        long[] totalElements = {0L};
+
+        List<AssessmentRow> rows = jdbcTemplate.query(FIND_SQL.formatted(where, orderBy(pageRequest), limit(pageRequest, parameters)),
+                parameters, (resultSet, rowNumber) -> {
+                    totalElements[0] = resultSet.getLong("total_elements");
+                    return toAssessmentRow(resultSet);
+                });
+
+        if (rows.isEmpty() && pageRequest != null && pageRequest.pageNumber() > 0) {
+            totalElements[0] = Objects.requireNonNullElse(
+                    jdbcTemplate.queryForObject(COUNT_SQL.formatted(where), parameters, Long.class), 0L);
+        }
+
+        List<RiskAssessmentDto> content = withRuleEvaluations(rows);
+
+        return pageRequest != null
+                ? PagedResult.of(content, pageRequest.pageNumber(), pageRequest.pageSize(), totalElements[0])
+                : new PagedResult<>(content, 0, content.size(), totalElements[0], 1);
+    }
+
+    @Override
+    public CursorPage<RiskAssessmentDto> scrollByRiskLevelSince(Set<TransactionRiskLevel> levels, Instant since, AssessmentCursor after,
+                                                                int limit, boolean estimateTotal) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        List<String> filters = filters(levels, since, parameters);
+        Long estimatedTotal = estimateTotal ? estimateRows(filters, parameters) : null;
+
+        return scroll(filters, parameters, after, limit, estimatedTotal);
+    }
+
+    @Override
+    public CursorPage<RiskAssessmentDto> scrollByAccount(String accountId, Instant from, Instant to, AssessmentCursor after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource("accountId", accountId);
+        List<String> filters = new ArrayList<>(List.of("account_id = :accountId"));
+
+        if (from != null) {
+            filters.add("assessment_time >= :from");
+            parameters.addValue("from", Timestamp.from(from));
+        }
+
+        if (to != null) {
+            filters.add("assessment_time < :to");
+            parameters.addValue("to", Timestamp.from(to));
+        }
+
+        return scroll(filters, parameters, after, limit, null);
+    }
+
+    @Override
+    public CursorPage<RiskAssessmentDto> search(AssessmentSearchCriteria criteria, AssessmentCursor after, int limit,
+                                                boolean estimateTotal) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        List<String> filters = filters(criteria, parameters);
+        Long estimatedTotal = estimateTotal ? estimateRows(filters, parameters) : null;
+
+        return scroll(filters, parameters, after, limit, estimatedTotal);
+    }
+
+    // The plan of a search's first page, for checking that each filter is served by an index
+    List<String> explainSearch(AssessmentSearchCriteria criteria, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit + 1);
+        String sql = "EXPLAIN " + SCROLL_SQL.formatted(where(filters(criteria, parameters)));
+
+        return jdbcTemplate.queryForList(sql, parameters, String.class);
+    }
+
+    private CursorPage<RiskAssessmentDto> scroll(List<String> filters, MapSqlParameterSource parameters, AssessmentCursor after,
+                                                 int limit, Long estimatedTotal) {
+        List<String> conditions = new ArrayList<>(filters);
+        if (after != null) {
+            conditions.add(AFTER_CURSOR_CONDITION);
+            parameters.addValue("afterTime", Timestamp.from(after.assessmentTime()))
+                      .addValue("afterId", after.assessmentId().toUUID());
+        }
+        parameters.addValue("limit", limit + 1);
+
+        List<AssessmentRow> rows = jdbcTemplate.query(SCROLL_SQL.formatted(where(conditions)), parameters,
+                (resultSet, rowNumber) -> toAssessmentRow(resultSet));
+
+        List<AssessmentRow> page = rows.subList(0, Math.min(limit, rows.size()));
+        AssessmentCursor next = rows.size() > limit ? page.getLast().cursor() : null;
+
+        return new CursorPage<>(withRuleEvaluations(page), next, estimatedTotal);
+    }
+
+    private static List<String> filters(Set<TransactionRiskLevel> levels, Instant since, MapSqlParameterSource parameters) {
+        List<String> filters = new ArrayList<>();
+
+        if (levels != null && !levels.isEmpty()) {
+            filters.add("risk_level IN (:riskLevels)");
+            parameters.addValue("riskLevels", levels.stream().map(TransactionRiskLevel::name).toList());
+        }
+
+        if (since != null) {
+            filters.add("assessment_time >= :since");
+            parameters.addValue("since", Timestamp.from(since));
+        }
+
+        return filters;
+    }
+
+    // Each filter is a column of risk_assessments with an index of its own, see the V10, V11 and V15 migrations. The
+    // amount bounds always come with the currency, which leads the amount index.
+    private static List<String> filters(AssessmentSearchCriteria criteria, MapSqlParameterSource parameters) {
+        List<String> filters = filters(criteria.riskLevels(), criteria.from(), parameters);
+
+        addIn(filters, parameters, "decision", "decisions", criteria.decisions());
+        addIn(filters, parameters, "channel", "channels", criteria.channels());
+        addIn(filters, parameters, "merchant_category", "merchantCategories", criteria.merchantCategories());
+        addBound(filters, parameters, "assessment_time <", "to", criteria.to() != null ? Timestamp.from(criteria.to()) : null);
+        addBound(filters, parameters, "risk_score_value >=", "minRiskScore", criteria.minRiskScore());
+        addBound(filters, parameters, "risk_score_value <=", "maxRiskScore", criteria.maxRiskScore());
+        addBound(filters, parameters, "amount_currency =", "amountCurrency", criteria.amountCurrency());
+        addBound(filters, parameters, "amount_value >=", "minAmount", criteria.minAmount());
+        addBound(filters, parameters, "amount_value <=", "maxAmount", criteria.maxAmount());
+        addBound(filters, parameters, "ml_model_id =", "modelId", criteria.modelId());
+        addBound(filters, parameters, "ml_model_version =", "modelVersion", criteria.modelVersion());
+        addBound(filters, parameters, "ml_fraud_probability >=", "minFraudProbability", criteria.minFraudProbability());
+
+        return filters;
+    }
+
+    private static void addIn(List<String> filters, MapSqlParameterSource parameters, String column, String parameter,
+                              Set<? extends Enum<?>> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.add("%s IN (:%s)".formatted(column, parameter));
+            parameters.addValue(parameter, values.stream().map(Enum::name).toList());
+        }
+    }
+
+    private static void addBound(List<String> filters, MapSqlParameterSource parameters, String comparison, String parameter,
+                                 Object value) {
+        if (value != null) {
+            filters.add("%s :%s".formatted(comparison, parameter));
+            parameters.addValue(parameter, value);
+        }
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "true" : String.join(" AND ", conditions);
+    }
+
+    // id breaks ties so that consecutive offset pages neither repeat nor skip rows
+    private static String orderBy(PageRequest pageRequest) {
+        if (pageRequest == null) {
+            return "assessment_time DESC, id DESC";
+        }
+
+        String column = SORT_COLUMNS.get(pageRequest.sortBy());
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown sort property: " + pageRequest.sortBy());
+        }
+
+        String direction = pageRequest.sortDirection() == SortDirection.ASC ? "ASC" : "DESC";
+        return "%1$s %2$s, id %2$s".formatted(column, direction);
+    }
+
+    private static String limit(PageRequest pageRequest, MapSqlParameterSource parameters) {
+        if (pageRequest == null) {
+            return "";
+        }
+
+        parameters.addValue("limit", pageRequest.pageSize())
+                  .addValue("offset", (long) pageRequest.pageNumber() * pageRequest.pageSize());
+        return "LIMIT :limit OFFSET :offset";
+    }
+
+    private Long estimateRows(List<String> filters, MapSqlParameterSource parameters) {
+        String plan = jdbcTemplate.queryForObject(ESTIMATE_SQL.formatted(where(filters)), parameters, String.class);
+        Matcher planRows = PLAN_ROWS.matcher(plan != null ? plan : "");
+
+        return planRows.find() ? Long.parseLong(planRows.group(1)) : null;
+    }
+
+    private List<RiskAssessmentDto> withRuleEvaluations(List<AssessmentRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, List<RuleEvaluationDto>> ruleEvaluations = findRuleEvaluations(rows);
+
+        return rows.stream()
+                .map(row -> row.toDto(ruleEvaluations.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    private Map<UUID, List<RuleEvaluationDto>> findRuleEvaluations(List<AssessmentRow> rows) {
+        Instant earliest = rows.getFirst().assessmentTime();
+        Instant latest = earliest;
+
+        for (AssessmentRow row : rows) {
+            earliest = row.assessmentTime().isBefore(earliest) ? row.assessmentTime() : earliest;
+            latest = row.assessmentTime().isAfter(latest) ? row.assessmentTime() : latest;
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("assessmentIds", rows.stream().map(row -> row.id().toString()).toArray(String[]::new))
+                .addValue("earliest", Timestamp.from(earliest))
+                .addValue("latest", Timestamp.from(latest));
+
+        Map<UUID, List<RuleEvaluationDto>> ruleEvaluations = new HashMap<>();
+        jdbcTemplate.query(FIND_RULES_SQL, parameters, resultSet -> {
+            ruleEvaluations.computeIfAbsent(resultSet.getObject("assessment_id", UUID.class), id -> new ArrayList<>())
+                           .add(toRuleEvaluationDto(resultSet));
+        });
+
+        return ruleEvaluations;
+    }
+
+    private static AssessmentRow toAssessmentRow(ResultSet resultSet) throws SQLException {
+        String decision = resultSet.getString("decision");
+        String mlSkipReason = resultSet.getString("ml_skip_reason");
+
+        return new AssessmentRow(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getObject("transaction_id", UUID.class),
+                resultSet.getString("account_id"),
+                resultSet.getInt("risk_score_value"),
+                TransactionRiskLevel.valueOf(resultSet.getString("risk_level")),
+                decision != null ? Decision.valueOf(decision) : null,
+                mlSkipReason != null ? MLSkipReason.fromString(mlSkipReason) : null,
+                resultSet.getTimestamp("assessment_time").toInstant());
+    }
+
+    private static RuleEvaluationDto toRuleEvaluationDto(ResultSet resultSet) throws SQLException {
+        return RuleEvaluationDto.builder()
+                .ruleId(resultSet.getString("rule_id"))
+                .ruleName(resultSet.getString("rule_name"))
+                .ruleType(RuleType.valueOf(resultSet.getString("rule_type")))
+                .scoreImpact(resultSet.getInt("score_impact"))
+                .description(resultSet.getString("description"))
+                .build();
+    }
+
+    private record AssessmentRow(UUID id, UUID transactionId, String accountId, int riskScore, TransactionRiskLevel riskLevel,
+                                 Decision decision, MLSkipReason mlSkipReason, Instant assessmentTime) {
+
+        AssessmentCursor cursor() {
+            return new AssessmentCursor(assessmentTime, AssessmentId.of(id));
+        }
+
+        RiskAssessmentDto toDto(List<RuleEvaluationDto> ruleEvaluations) {
+            return RiskAssessmentDto.builder()
+                    .assessmentId(id)
+                    .transactionId(transactionId)
+                    .accountId(accountId)
+                    .riskScore(riskScore)
+                    .transactionRiskLevel(riskLevel)
+                    .decision(decision)
+                    .assessmentTime(assessmentTime)
+                    .mlSkipReason(mlSkipReason)
+                    .ruleEvaluations(ruleEvaluations)
+                    .build();
+        }
+    }
+}
@@ -4,49 +4,418 @@ import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
 import com.twenty9ine.frauddetection.application.port.out.RiskAssessmentRepository;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.RiskAssessmentEntity;
+import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.RuleEvaluationEntity;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper.RiskAssessmentMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class RiskAssessmentRepositoryAdapter implements RiskAssessmentRepository {
 
+    // assessment_time is the partition key and part of the primary key, so there is no unique constraint on id alone
+    // for ON CONFLICT. An existing assessment is updated by id, which moves it to another partition if its
+    // assessment_time changed, and a new one is inserted. The update keeps transaction_id, the transaction attributes
+    // (filling them in if they were never stored) and created_at and bumps revision, as a versioned save would.
+    private static final String UPDATE_ASSESSMENT_SQL = """
+            UPDATE risk_assessments
+            SET account_id            = COALESCE(account_id, :accountId),
+                amount_value          = COALESCE(amount_value, :amountValue),
+                amount_currency       = COALESCE(amount_currency, :amountCurrency),
+                channel               = COALESCE(channel, :channel),
+                merchant_category     = COALESCE(merchant_category, :merchantCategory),
+                risk_score_value      = :riskScoreValue,
+                risk_level            = :riskLevel,
+                decision              = :decision,
+                ml_model_id           = :mlModelId,
+                ml_model_version      = :mlModelVersion,
+                ml_fraud_probability  = :mlFraudProbability,
+                ml_confidence         = :mlConfidence,
+                ml_feature_importance = :mlFeatureImportance,
+                ml_skip_reason        = :mlSkipReason,
+                assessment_time       = :assessmentTime,
+                updated_at            = :now,
+                revision              = revision + 1
+            WHERE id = :id""";
+
+    private static final String INSERT_ASSESSMENT_SQL = """
+            INSERT INTO risk_assessments (id, transaction_id, account_id, amount_value, amount_currency, channel,
+                                          merchant_category, risk_score_value, risk_level, decision, ml_model_id,
+                                          ml_model_version, ml_fraud_probability, ml_confidence, ml_feature_importance,
+                                          ml_skip_reason, assessment_time, created_at, updated_at, revision)
+            SELECT :id, :transactionId, :accountId, :amountValue, :amountCurrency, :channel,
+                   :merchantCategory, :riskScoreValue, :riskLevel, :decision, :mlModelId,
+                   :mlModelVersion, :mlFraudProbability, :mlConfidence, :mlFeatureImportance,
+                   :mlSkipReason, :assessmentTime, :now, :now, 1
+            WHERE NOT EXISTS (SELECT 1 FROM updated)""";
+
+    private static final String UPSERT_ASSESSMENT_SQL = """
+            WITH updated AS (
+                %s
+                RETURNING id
+            )
+            %s""".formatted(UPDATE_ASSESSMENT_SQL, INSERT_ASSESSMENT_SQL);
+
+    // A single save writes the assessment row and its rule evaluations in one statement. Rule evaluations are replaced,
+    // as Spring Data JDBC's delete-and-reinsert did; the delete cannot see the rows inserted alongside it.
+    private static final String UPSERT_SQL = """
+            WITH updated AS (
+                %s
+                RETURNING id, transaction_id, account_id, amount_value, amount_currency, channel, merchant_category,
+                          assessment_time, created_at, updated_at, revision
+            ), inserted AS (
+                %s
+                RETURNING id, transaction_id, account_id, amount_value, amount_currency, channel, merchant_category,
+                          assessment_time, created_at, updated_at, revision
+            ), assessment AS (
+                SELECT * FROM updated
+                UNION ALL
+                SELECT * FROM inserted
+            ), removed_rules AS (
+                DELETE FROM rule_evaluations WHERE assessment_id = :id
+            ), saved_rules AS (
+                %%s
+            )
+            SELECT a.transaction_id, a.account_id, a.amount_value, a.amount_currency, a.channel, a.merchant_category,
+                   a.created_at, a.updated_at, a.revision,
+                   r.id AS rule_evaluation_id, r.rule_id, r.rule_name, r.rule_type, r.score_impact, r.description
+            FROM assessment a
+            LEFT JOIN saved_rules r ON true
+            """.formatted(UPDATE_ASSESSMENT_SQL, INSERT_ASSESSMENT_SQL);
+
+    private static final String INSERT_RULES_SQL = """
+            INSERT INTO rule_evaluations (assessment_id, assessment_time, rule_id, rule_name, rule_type, score_impact,
+                                          description)
+                SELECT a.id, a.assessment_time, r.rule_id, r.rule_name, r.rule_type, r.score_impact, r.description
+                FROM assessment a
+                CROSS JOIN (VALUES %s) AS r (rule_id, rule_name, rule_type, score_impact, description)
+                RETURNING id, rule_id, rule_name, rule_type, score_impact, description""";
+
+    private static final String NO_RULES_SQL = """
+            SELECT NULL::BIGINT AS id, NULL::VARCHAR AS rule_id, NULL::VARCHAR AS rule_name, NULL::VARCHAR AS rule_type,
+                       NULL::INTEGER AS score_impact, NULL::TEXT AS description
+                WHERE false""";
+
+    private static final String REMOVE_RULES_SQL = "DELETE FROM rule_evaluations WHERE assessment_id = :id";
+
+    private static final String INSERT_RULE_SQL = """
+            INSERT INTO rule_evaluations (assessment_id, assessment_time, rule_id, rule_name, rule_type, score_impact,
+                                          description)
+            VALUES (:assessmentId, :assessmentTime, :ruleId, :ruleName, :ruleType, :scoreImpact, :description)""";
+
+    // Saves of one transaction's assessment are serialized on the advisory lock V12 guards inserts with. It is taken
+    // in a statement of its own, before the upsert, so that the upsert's snapshot sees what a concurrent save committed
+    // and updates that row instead of inserting a second one. Keys are locked in order, so batches cannot deadlock.
+    private static final String LOCK_TRANSACTIONS_SQL = """
+            SELECT count(pg_advisory_xact_lock(lock_key))
+            FROM (SELECT DISTINCT assessment_lock_key(transaction_id) AS lock_key
+                  FROM unnest(CAST(ARRAY[:transactionIds] AS UUID[])) AS transaction_id
+                  ORDER BY lock_key) AS lock_keys""";
+
+    private static final String LOCK_STAGED_TRANSACTIONS_SQL = """
+            SELECT count(pg_advisory_xact_lock(lock_key))
+            FROM (SELECT DISTINCT assessment_lock_key(transaction_id) AS lock_key
+                  FROM risk_assessment_stage
+                  ORDER BY lock_key) AS lock_keys""";
+
+    // Large batches are copied into two staging tables and merged by one statement
+    private static final String ASSESSMENT_STAGING_TABLE = "risk_assessment_stage";
+
+    private static final String ASSESSMENT_STAGING_COLUMN_DEFINITIONS = """
+            id UUID, transaction_id UUID, account_id VARCHAR(255), amount_value DECIMAL(19, 4), amount_currency VARCHAR(3),
+            channel VARCHAR(50), merchant_category VARCHAR(100), risk_score_value INTEGER, risk_level VARCHAR(20),
+            decision VARCHAR(20), ml_model_id VARCHAR(100), ml_model_version VARCHAR(100),
+            ml_fraud_probability DOUBLE PRECISION, ml_confidence DOUBLE PRECISION, ml_feature_importance BYTEA,
+            ml_skip_reason VARCHAR(40), assessment_time TIMESTAMP WITH TIME ZONE""";
+
+    private static final List<String> ASSESSMENT_STAGING_COLUMNS = List.of("id", "transaction_id", "account_id",
+            "amount_value", "amount_currency", "channel", "merchant_category", "risk_score_value", "risk_level",
+            "decision", "ml_model_id", "ml_model_version", "ml_fraud_probability", "ml_confidence",
+            "ml_feature_importance", "ml_skip_reason", "assessment_time");
+
+    private static final String RULE_STAGING_TABLE = "rule_evaluation_stage";
+
+    private static final String RULE_STAGING_COLUMN_DEFINITIONS = """
+            assessment_id UUID, rule_id VARCHAR(100), rule_name VARCHAR(100), rule_type VARCHAR(20), score_impact INTEGER,
+            description TEXT""";
+
+    private static final List<String> RULE_STAGING_COLUMNS = List.of("assessment_id", "rule_id", "rule_name",
+            "rule_type", "score_impact", "description");
+
+    private static final String MERGE_STAGED_SQL = """
+            WITH updated AS (
+                UPDATE risk_assessments a
+                SET account_id            = COALESCE(a.account_id, s.account_id),
+                    amount_value          = COALESCE(a.amount_value, s.amount_value),
+                    amount_currency       = COALESCE(a.amount_currency, s.amount_currency),
+                    channel               = COALESCE(a.channel, s.channel),
+                    merchant_category     = COALESCE(a.merchant_category, s.merchant_category),
+                    risk_score_value      = s.risk_score_value,
+                    risk_level            = s.risk_level,
+                    decision              = s.decision,
+                    ml_model_id           = s.ml_model_id,
+                    ml_model_version      = s.ml_model_version,
+                    ml_fraud_probability  = s.ml_fraud_probability,
+                    ml_confidence         = s.ml_confidence,
+                    ml_feature_importance = s.ml_feature_importance,
+                    ml_skip_reason        = s.ml_skip_reason,
+                    assessment_time       = s.assessment_time,
+                    updated_at            = :now,
+                    revision              = a.revision + 1
+                FROM risk_assessment_stage s
+                WHERE a.id = s.id
+                RETURNING a.id
+            ), inserted AS (
+                INSERT INTO risk_assessments (id, transaction_id, account_id, amount_value, amount_currency, channel,
+                                              merchant_category, risk_score_value, risk_level, decision,
+                                              ml_model_id, ml_model_version, ml_fraud_probability, ml_confidence,
+                                              ml_feature_importance, ml_skip_reason, assessment_time,
+                                              created_at, updated_at, revision)
+                SELECT id, transaction_id, account_id, amount_value, amount_currency, channel,
+                       merchant_category, risk_score_value, risk_level, decision,
+                       ml_model_id, ml_model_version, ml_fraud_probability, ml_confidence,
+                       ml_feature_importance, ml_skip_reason, assessment_time,
+                       :now, :now, 1
+                FROM risk_assessment_stage
+                WHERE id NOT IN (SELECT id FROM updated)
+            ), removed_rules AS (
+                DELETE FROM rule_evaluations r USING risk_assessment_stage s WHERE r.assessment_id = s.id
+            )
+            INSERT INTO rule_evaluations (assessment_id, assessment_time, rule_id, rule_name, rule_type, score_impact,
+                                          description)
+            SELECT r.assessment_id, s.assessment_time, r.rule_id, r.rule_name, r.rule_type, r.score_impact, r.description
+            FROM rule_evaluation_stage r
+            JOIN risk_assessment_stage s ON s.id = r.assessment_id
+            """;
+
     private final RiskAssessmentJdbcRepository jdbcRepository;
     private final RiskAssessmentMapper mapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int copyThreshold;
 
-    public RiskAssessmentRepositoryAdapter(RiskAssessmentJdbcRepository jdbcRepository, RiskAssessmentMapper mapper) {
+    public RiskAssessmentRepositoryAdapter(RiskAssessmentJdbcRepository jdbcRepository, RiskAssessmentMapper mapper,
+                                           NamedParameterJdbcTemplate jdbcTemplate,
+                                           @Value("${fraud-detection.persistence.copy-threshold:1000}") int copyThreshold) {
         this.jdbcRepository = jdbcRepository;
         this.mapper = mapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyThreshold = copyThreshold;
     }
 
     @Override
+    @Transactional
     public RiskAssessment save(RiskAssessment assessment) {
-        RiskAssessmentEntity newRiskAssessment = mapper.toEntity(assessment);
-
-        return jdbcRepository.findById(newRiskAssessment.getId())
-                             .map(existingRiskAssessment -> mapper.toDomain(jdbcRepository.save(synchronise(existingRiskAssessment, newRiskAssessment))))
-                            .orElseGet(() -> mapper.toDomain(jdbcRepository.save(newRiskAssessment)));
-    }
-
-    private static RiskAssessmentEntity synchronise(RiskAssessmentEntity existingRiskAssessment, RiskAssessmentEntity newRiskAssessment) {
-        return RiskAssessmentEntity.builder().id(existingRiskAssessment.getId())
-                .transactionId(existingRiskAssessment.getTransactionId())
-                .riskScoreValue(newRiskAssessment.getRiskScoreValue())
-                .riskLevel(newRiskAssessment.getRiskLevel())
-                .decision(newRiskAssessment.getDecision())
-                .mlPredictionJson(newRiskAssessment.getMlPredictionJson())
-                .assessmentTime(newRiskAssessment.getAssessmentTime())
-                .createdAt(existingRiskAssessment.getCreatedAt())
-                .updatedAt(existingRiskAssessment.getUpdatedAt())
-                .revision(existingRiskAssessment.getRevision())
-                .ruleEvaluations(newRiskAssessment.getRuleEvaluations())
-                .build();
+        return save(assessment, null);
+    }
+
+    @Override
+    @Transactional
+    public RiskAssessment save(RiskAssessment assessment, Transaction transaction) {
+        RiskAssessmentEntity entity = mapper.toEntity(assessment, transaction);
+        lockTransactions(List.of(entity));
+        MapSqlParameterSource parameters = parameters(entity, Instant.now());
+
+        String sql = UPSERT_SQL.formatted(ruleEvaluationsStatement(entity.getRuleEvaluations(), parameters));
+        ResultSetExtractor<RiskAssessmentEntity> savedEntity = resultSet -> toSavedEntity(entity, resultSet);
+
+        return mapper.toDomain(jdbcTemplate.query(sql, parameters, savedEntity));
+    }
+
+    /**
+     * Batches below the copy threshold are sent as three JDBC batches, of which the driver rewrites the rule
+     * evaluation inserts into multi-row statements when {@code reWriteBatchedInserts} is on; larger ones go through
+     * COPY. An assessment listed twice is saved once, as its last entry.
+     */
+    @Override
+    @Transactional
+    public List<RiskAssessment> saveAll(List<RiskAssessment> assessments, Map<TransactionId, Transaction> transactions) {
+        List<RiskAssessmentEntity> entities = assessments.stream()
+                .map(assessment -> mapper.toEntity(assessment, transactions.get(assessment.getTransactionId())))
+                .collect(Collectors.toMap(RiskAssessmentEntity::getId, Function.identity(), (first, last) -> last, LinkedHashMap::new))
+                .values().stream()
+                .toList();
+
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        if (entities.size() >= copyThreshold) {
+            copyAll(entities);
+        } else {
+            batchAll(entities);
+        }
+
+        return entities.stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    private void batchAll(List<RiskAssessmentEntity> entities) {
+        Instant now = Instant.now();
+        List<SqlParameterSource> assessmentRows = new ArrayList<>(entities.size());
+        List<SqlParameterSource> ruleRows = new ArrayList<>();
+
+        for (RiskAssessmentEntity entity : entities) {
+            assessmentRows.add(parameters(entity, now));
+
+            for (RuleEvaluationEntity ruleEvaluation : ruleEvaluations(entity)) {
+                ruleRows.add(new MapSqlParameterSource()
+                        .addValue("assessmentId", entity.getId())
+                        .addValue("assessmentTime", Timestamp.from(entity.getAssessmentTime()))
+                        .addValue("ruleId", ruleEvaluation.getRuleId(), Types.VARCHAR)
+                        .addValue("ruleName", ruleEvaluation.getRuleName())
+                        .addValue("ruleType", ruleEvaluation.getRuleType())
+                        .addValue("scoreImpact", ruleEvaluation.getScoreImpact())
+                        .addValue("description", ruleEvaluation.getDescription(), Types.VARCHAR));
+            }
+        }
+
+        lockTransactions(entities);
+
+        SqlParameterSource[] assessmentBatch = assessmentRows.toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_ASSESSMENT_SQL, assessmentBatch);
+        jdbcTemplate.batchUpdate(REMOVE_RULES_SQL, assessmentBatch);
+
+        if (!ruleRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_RULE_SQL, ruleRows.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private void copyAll(List<RiskAssessmentEntity> entities) {
+        List<Object[]> assessmentRows = new ArrayList<>(entities.size());
+        List<Object[]> ruleRows = new ArrayList<>();
+
+        for (RiskAssessmentEntity entity : entities) {
+            assessmentRows.add(new Object[]{
+                    entity.getId(), entity.getTransactionId(), entity.getAccountId(), entity.getAmountValue(),
+                    entity.getAmountCurrency(), entity.getChannel(), entity.getMerchantCategory(),
+                    entity.getRiskScoreValue(), entity.getRiskLevel(), entity.getDecision(), entity.getMlModelId(),
+                    entity.getMlModelVersion(), entity.getMlFraudProbability(), entity.getMlConfidence(),
+                    entity.getMlFeatureImportance(), entity.getMlSkipReason(), entity.getAssessmentTime()
+            });
+
+            for (RuleEvaluationEntity ruleEvaluation : ruleEvaluations(entity)) {
+                ruleRows.add(new Object[]{
+                        entity.getId(), ruleEvaluation.getRuleId(), ruleEvaluation.getRuleName(),
+                        ruleEvaluation.getRuleType(), ruleEvaluation.getScoreImpact(), ruleEvaluation.getDescription()
+                });
+            }
+        }
+
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            PostgresCopy.stage(connection, ASSESSMENT_STAGING_TABLE, ASSESSMENT_STAGING_COLUMN_DEFINITIONS);
+            PostgresCopy.stage(connection, RULE_STAGING_TABLE, RULE_STAGING_COLUMN_DEFINITIONS);
+            return PostgresCopy.copy(connection, ASSESSMENT_STAGING_TABLE, ASSESSMENT_STAGING_COLUMNS, assessmentRows)
+                    + PostgresCopy.copy(connection, RULE_STAGING_TABLE, RULE_STAGING_COLUMNS, ruleRows);
+        });
+        jdbcTemplate.getJdbcTemplate().queryForObject(LOCK_STAGED_TRANSACTIONS_SQL, Long.class);
+        jdbcTemplate.update(MERGE_STAGED_SQL, new MapSqlParameterSource("now", Timestamp.from(Instant.now())));
+    }
+
+    private void lockTransactions(List<RiskAssessmentEntity> entities) {
+        List<UUID> transactionIds = entities.stream()
+                .map(RiskAssessmentEntity::getTransactionId)
+                .toList();
+
+        jdbcTemplate.queryForObject(LOCK_TRANSACTIONS_SQL, new MapSqlParameterSource("transactionIds", transactionIds), Long.class);
+    }
+
+    private static MapSqlParameterSource parameters(RiskAssessmentEntity entity, Instant now) {
+        return new MapSqlParameterSource()
+                .addValue("id", entity.getId())
+                .addValue("transactionId", entity.getTransactionId())
+                .addValue("accountId", entity.getAccountId(), Types.VARCHAR)
+                .addValue("amountValue", entity.getAmountValue(), Types.DECIMAL)
+                .addValue("amountCurrency", entity.getAmountCurrency(), Types.VARCHAR)
+                .addValue("channel", entity.getChannel(), Types.VARCHAR)
+                .addValue("merchantCategory", entity.getMerchantCategory(), Types.VARCHAR)
+                .addValue("riskScoreValue", entity.getRiskScoreValue())
+                .addValue("riskLevel", entity.getRiskLevel())
+                .addValue("decision", entity.getDecision())
+                .addValue("mlModelId", entity.getMlModelId(), Types.VARCHAR)
+                .addValue("mlModelVersion", entity.getMlModelVersion(), Types.VARCHAR)
+                .addValue("mlFraudProbability", entity.getMlFraudProbability(), Types.DOUBLE)
+                .addValue("mlConfidence", entity.getMlConfidence(), Types.DOUBLE)
+                .addValue("mlFeatureImportance", entity.getMlFeatureImportance(), Types.BINARY)
+                .addValue("mlSkipReason", entity.getMlSkipReason(), Types.VARCHAR)
+                .addValue("assessmentTime", Timestamp.from(entity.getAssessmentTime()))
+                .addValue("now", Timestamp.from(now));
+    }
+
+    private static Set<RuleEvaluationEntity> ruleEvaluations(RiskAssessmentEntity entity) {
+        return entity.getRuleEvaluations() != null ? entity.getRuleEvaluations() : Set.of();
+    }
+
+    // Each rule evaluation becomes one VALUES row with indexed parameters
+    private static String ruleEvaluationsStatement(Set<RuleEvaluationEntity> ruleEvaluations, MapSqlParameterSource parameters) {
+        if (ruleEvaluations == null || ruleEvaluations.isEmpty()) {
+            return NO_RULES_SQL;
+        }
+
+        StringJoiner rows = new StringJoiner(", ");
+        int row = 0;
+
+        for (RuleEvaluationEntity ruleEvaluation : ruleEvaluations) {
+            rows.add("(CAST(:ruleId%1$d AS VARCHAR), :ruleName%1$d, :ruleType%1$d, :scoreImpact%1$d, CAST(:description%1$d AS TEXT))"
+                    .formatted(row));
+            parameters.addValue("ruleId" + row, ruleEvaluation.getRuleId())
+                    .addValue("ruleName" + row, ruleEvaluation.getRuleName())
+                    .addValue("ruleType" + row, ruleEvaluation.getRuleType())
+                    .addValue("scoreImpact" + row, ruleEvaluation.getScoreImpact())
+                    .addValue("description" + row, ruleEvaluation.getDescription());
+            row++;
+        }
+
+        return INSERT_RULES_SQL.formatted(rows);
+    }
+
+    // The saved entity carries the stored audit columns, revision and generated rule evaluation ids
+    private static RiskAssessmentEntity toSavedEntity(RiskAssessmentEntity entity, ResultSet resultSet) throws SQLException {
+        Set<RuleEvaluationEntity> ruleEvaluations = new HashSet<>();
+
+        while (resultSet.next()) {
+            entity.setTransactionId(resultSet.getObject("transaction_id", UUID.class));
+            entity.setAccountId(resultSet.getString("account_id"));
+            entity.setAmountValue(resultSet.getBigDecimal("amount_value"));
+            entity.setAmountCurrency(resultSet.getString("amount_currency"));
+            entity.setChannel(resultSet.getString("channel"));
+            entity.setMerchantCategory(resultSet.getString("merchant_category"));
+            entity.setCreatedAt(resultSet.getTimestamp("created_at").toInstant());
+            entity.setUpdatedAt(resultSet.getTimestamp("updated_at").toInstant());
+            entity.setRevision(resultSet.getInt("revision"));
+
+            long ruleEvaluationId = resultSet.getLong("rule_evaluation_id");
+            if (!resultSet.wasNull()) {
+                RuleEvaluationEntity ruleEvaluation = new RuleEvaluationEntity();
+                ruleEvaluation.setId(ruleEvaluationId);
+                ruleEvaluation.setRuleId(resultSet.getString("rule_id"));
+                ruleEvaluation.setRuleName(resultSet.getString("rule_name"));
+                ruleEvaluation.setRuleType(resultSet.getString("rule_type"));
+                ruleEvaluation.setScoreImpact(resultSet.getInt("score_impact"));
+                ruleEvaluation.setDescription(resultSet.getString("description"));
+                ruleEvaluations.add(ruleEvaluation);
+            }
+        }
+
+        entity.setRuleEvaluations(ruleEvaluations);
+        return entity;
     }
 
     @Override
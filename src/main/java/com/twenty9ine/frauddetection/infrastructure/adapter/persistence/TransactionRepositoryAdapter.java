@@ -2,47 +2,277 @@ package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
 
 import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.LocationEntity;
+import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.MerchantEntity;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.TransactionEntity;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper.TransactionMapper;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Component
 public class TransactionRepositoryAdapter implements TransactionRepository {
 
+    // Served by idx_transaction_account_id_timestamp; merchant and location are columns of the transaction row
+    private static final String FIND_HISTORY_SQL = """
+            SELECT id, amount_value, amount_currency, timestamp, merchant_id, latitude, longitude, country, city
+            FROM transaction
+            WHERE account_id = :accountId
+              AND timestamp >= :since
+              AND timestamp <= :until
+            ORDER BY timestamp DESC
+            LIMIT :limit
+            """;
+
+    // Geohash cell ranges are appended as an OR of index range scans on idx_transaction_geohash; the haversine
+    // predicate then trims the 3x3 cell neighbourhood down to the circle
+    private static final String FIND_NEARBY_SQL = """
+            SELECT id, amount_value, amount_currency, timestamp, merchant_id, latitude, longitude, country, city
+            FROM transaction
+            WHERE timestamp >= :since
+              AND 2 * 6371.0 * asin(sqrt(power(sin(radians(latitude - :latitude) / 2), 2)
+                  + cos(radians(:latitude)) * cos(radians(latitude)) * power(sin(radians(longitude - :longitude) / 2), 2))) <= :radiusKm
+              AND (%s)
+            ORDER BY timestamp DESC
+            LIMIT :limit
+            """;
+
+    // An update keeps created_at and bumps revision, as a versioned Spring Data JDBC save would. The timestamp is the
+    // partition key and part of the primary key, so only a save under the same timestamp conflicts here; the
+    // one_row_per_transaction trigger (V16) replaces a row stored under another timestamp the same way. The row source
+    // is either a VALUES list or a SELECT from the staging table.
+    private static final String UPSERT_TRANSACTION_SQL = """
+            INSERT INTO transaction (id, account_id, amount_value, amount_currency, type, channel, device_id, timestamp,
+                                     merchant_id, merchant_name, merchant_category,
+                                     latitude, longitude, geohash, country, city,
+                                     created_at, updated_at, revision)
+            %s
+            ON CONFLICT (id, timestamp) DO UPDATE SET account_id        = EXCLUDED.account_id,
+                                                      amount_value      = EXCLUDED.amount_value,
+                                                      amount_currency   = EXCLUDED.amount_currency,
+                                                      type              = EXCLUDED.type,
+                                                      channel           = EXCLUDED.channel,
+                                                      device_id         = EXCLUDED.device_id,
+                                                      merchant_id       = EXCLUDED.merchant_id,
+                                                      merchant_name     = EXCLUDED.merchant_name,
+                                                      merchant_category = EXCLUDED.merchant_category,
+                                                      latitude          = EXCLUDED.latitude,
+                                                      longitude         = EXCLUDED.longitude,
+                                                      geohash           = EXCLUDED.geohash,
+                                                      country           = EXCLUDED.country,
+                                                      city              = EXCLUDED.city,
+                                                      updated_at        = EXCLUDED.updated_at,
+                                                      revision          = transaction.revision + 1
+            """;
+
+    private static final String TRANSACTION_VALUES = """
+            VALUES (:id, :accountId, :amountValue, :amountCurrency, :type, :channel, :deviceId, :timestamp,
+                    :merchantId, :merchantName, :merchantCategory,
+                    :latitude, :longitude, :geohash, :country, :city,
+                    :now, :now, 1)""";
+
+    // The merchant dimension holds each merchant once. An unchanged merchant is not rewritten, so in the steady state
+    // a save writes only the transaction row.
+    private static final String UPSERT_MERCHANT_SQL = """
+            INSERT INTO merchant (id, name, category, first_seen_at, updated_at)
+            %s
+            ON CONFLICT (id) DO UPDATE SET name       = EXCLUDED.name,
+                                           category   = EXCLUDED.category,
+                                           updated_at = EXCLUDED.updated_at
+            WHERE (merchant.name, merchant.category) IS DISTINCT FROM (EXCLUDED.name, EXCLUDED.category)""";
+
+    private static final String MERCHANT_VALUES = "VALUES (:merchantId, :merchantName, :merchantCategory, :now, :now)";
+
+    private static final String SAVE_SQL = UPSERT_TRANSACTION_SQL.formatted(TRANSACTION_VALUES);
+
+    private static final String SAVE_WITH_MERCHANT_SQL = "WITH seen_merchant AS (%s)\n%s"
+            .formatted(UPSERT_MERCHANT_SQL.formatted(MERCHANT_VALUES), SAVE_SQL);
+
+    // Large batches are copied into a staging table shaped like the transaction row, then merged into the transaction
+    // table and the merchant dimension by one statement
+    private static final String STAGING_TABLE = "transaction_stage";
+
+    private static final String STAGING_COLUMN_DEFINITIONS = """
+            id UUID, account_id VARCHAR(255), amount_value DECIMAL(19, 4), amount_currency VARCHAR(3), type VARCHAR(50),
+            channel VARCHAR(50), device_id VARCHAR(255), timestamp TIMESTAMP, merchant_id VARCHAR(255),
+            merchant_name VARCHAR(255), merchant_category VARCHAR(100), latitude DOUBLE PRECISION,
+            longitude DOUBLE PRECISION, geohash BIGINT, country VARCHAR(100), city VARCHAR(100)""";
+
+    private static final List<String> STAGING_COLUMNS = List.of("id", "account_id", "amount_value", "amount_currency",
+            "type", "channel", "device_id", "timestamp", "merchant_id", "merchant_name", "merchant_category",
+            "latitude", "longitude", "geohash", "country", "city");
+
+    // A merchant appearing more than once in the batch is taken from its latest transaction
+    private static final String MERGE_STAGED_SQL = "WITH seen_merchant AS (%s)\n%s".formatted(
+            UPSERT_MERCHANT_SQL.formatted("""
+                    SELECT DISTINCT ON (merchant_id) merchant_id, merchant_name, merchant_category, :now, :now
+                    FROM transaction_stage
+                    WHERE merchant_id IS NOT NULL
+                    ORDER BY merchant_id, timestamp DESC"""),
+            UPSERT_TRANSACTION_SQL.formatted("""
+                    SELECT id, account_id, amount_value, amount_currency, type, channel, device_id, timestamp,
+                           merchant_id, merchant_name, merchant_category, latitude, longitude, geohash, country, city,
+                           :now, :now, 1
+                    FROM transaction_stage"""));
+
+    private static final RowMapper<HistoricalTransaction> HISTORY_ROW_MAPPER = TransactionRepositoryAdapter::toHistoricalTransaction;
+
     private final TransactionJdbcRepository jdbcRepository;
     private final TransactionMapper mapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int copyThreshold;
+
+    public TransactionRepositoryAdapter(TransactionJdbcRepository jdbcRepository, TransactionMapper mapper,
+                                        NamedParameterJdbcTemplate jdbcTemplate,
+                                        @Value("${fraud-detection.persistence.copy-threshold:1000}") int copyThreshold) {
+        this.jdbcRepository = jdbcRepository;
+        this.mapper = mapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyThreshold = copyThreshold;
+    }
 
     @Override
     public Transaction save(Transaction transaction) {
-        TransactionEntity newTransaction = mapper.toEntity(transaction);
-
-        return jdbcRepository.findById(newTransaction.id())
-                .map(existingTransaction -> mapper.toDomain(jdbcRepository.save(synchronise(existingTransaction, newTransaction))))
-                .orElseGet(() -> mapper.toDomain(jdbcRepository.save(newTransaction)));
-    }
-
-    private static TransactionEntity synchronise(TransactionEntity existingTransaction, TransactionEntity newTransaction) {
-        return TransactionEntity.builder()
-                .id(existingTransaction.id())
-                .accountId(newTransaction.accountId())
-                .amountValue(newTransaction.amountValue())
-                .amountCurrency(newTransaction.amountCurrency())
-                .type(newTransaction.type())
-                .channel(newTransaction.channel())
-                .merchant(newTransaction.merchant())
-                .deviceId(newTransaction.deviceId())
-                .location(newTransaction.location())
-                .timestamp(newTransaction.timestamp())
-                .createdAt(existingTransaction.createdAt())
-                .updatedAt(existingTransaction.updatedAt())
-                .revision(existingTransaction.revision())
-                .build();
+        TransactionEntity entity = mapper.toEntity(transaction);
+
+        jdbcTemplate.update(entity.merchant() != null ? SAVE_WITH_MERCHANT_SQL : SAVE_SQL, parameters(entity, Instant.now()));
+
+        return mapper.toDomain(entity);
+    }
+
+    /**
+     * Batches below the copy threshold are sent as one JDBC batch for the transactions and one for their merchants,
+     * which the driver rewrites into multi-row inserts when {@code reWriteBatchedInserts} is on; larger ones go through
+     * COPY. Either way the round trips do not grow with the number of transactions. A transaction listed twice is saved
+     * once, as its last entry.
+     */
+    @Override
+    @Transactional
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        List<TransactionEntity> entities = transactions.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.toMap(TransactionEntity::id, Function.identity(), (first, last) -> last, LinkedHashMap::new))
+                .values().stream()
+                .toList();
+
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        if (entities.size() >= copyThreshold) {
+            copyAll(entities);
+        } else {
+            batchAll(entities);
+        }
+
+        return entities.stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    // A multi-row upsert may not touch the same merchant twice, so each merchant is sent once, from its latest
+    // transaction in the batch
+    private void batchAll(List<TransactionEntity> entities) {
+        Instant now = Instant.now();
+        List<SqlParameterSource> transactionRows = new ArrayList<>(entities.size());
+        Map<String, TransactionEntity> latestByMerchant = new HashMap<>();
+
+        for (TransactionEntity entity : entities) {
+            transactionRows.add(parameters(entity, now));
+
+            if (entity.merchant() != null) {
+                latestByMerchant.merge(entity.merchant().id(), entity,
+                        (current, candidate) -> candidate.timestamp().isBefore(current.timestamp()) ? current : candidate);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(SAVE_SQL, transactionRows.toArray(SqlParameterSource[]::new));
+
+        if (!latestByMerchant.isEmpty()) {
+            SqlParameterSource[] merchantRows = latestByMerchant.values().stream()
+                    .map(entity -> parameters(entity, now))
+                    .toArray(SqlParameterSource[]::new);
+            jdbcTemplate.batchUpdate(UPSERT_MERCHANT_SQL.formatted(MERCHANT_VALUES), merchantRows);
+        }
+    }
+
+    private void copyAll(List<TransactionEntity> entities) {
+        List<Object[]> rows = entities.stream()
+                .map(TransactionRepositoryAdapter::toStagingRow)
+                .toList();
+
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            PostgresCopy.stage(connection, STAGING_TABLE, STAGING_COLUMN_DEFINITIONS);
+            return PostgresCopy.copy(connection, STAGING_TABLE, STAGING_COLUMNS, rows);
+        });
+        jdbcTemplate.update(MERGE_STAGED_SQL, new MapSqlParameterSource("now", Timestamp.from(Instant.now())));
+    }
+
+    private static MapSqlParameterSource parameters(TransactionEntity entity, Instant now) {
+        MerchantEntity merchant = entity.merchant();
+        LocationEntity location = entity.location();
+
+        return new MapSqlParameterSource()
+                .addValue("id", entity.id())
+                .addValue("accountId", entity.accountId())
+                .addValue("amountValue", entity.amountValue())
+                .addValue("amountCurrency", entity.amountCurrency())
+                .addValue("type", entity.type())
+                .addValue("channel", entity.channel())
+                .addValue("deviceId", entity.deviceId(), Types.VARCHAR)
+                .addValue("timestamp", Timestamp.from(entity.timestamp()))
+                .addValue("now", Timestamp.from(now))
+                .addValue("merchantId", merchant != null ? merchant.id() : null, Types.VARCHAR)
+                .addValue("merchantName", merchant != null ? merchant.name() : null, Types.VARCHAR)
+                .addValue("merchantCategory", merchant != null ? merchant.category() : null, Types.VARCHAR)
+                .addValue("latitude", location != null ? location.latitude() : null, Types.DOUBLE)
+                .addValue("longitude", location != null ? location.longitude() : null, Types.DOUBLE)
+                .addValue("geohash", location != null ? location.geohash() : null, Types.BIGINT)
+                .addValue("country", location != null ? location.country() : null, Types.VARCHAR)
+                .addValue("city", location != null ? location.city() : null, Types.VARCHAR);
+    }
+
+    // transaction.timestamp has no time zone; like Timestamp.from above, the staged value is the JVM's local time
+    private static Object[] toStagingRow(TransactionEntity entity) {
+        MerchantEntity merchant = entity.merchant();
+        LocationEntity location = entity.location();
+
+        return new Object[]{
+                entity.id(), entity.accountId(), entity.amountValue(), entity.amountCurrency(), entity.type(),
+                entity.channel(), entity.deviceId(), LocalDateTime.ofInstant(entity.timestamp(), ZoneId.systemDefault()),
+                merchant != null ? merchant.id() : null,
+                merchant != null ? merchant.name() : null,
+                merchant != null ? merchant.category() : null,
+                location != null ? location.latitude() : null,
+                location != null ? location.longitude() : null,
+                location != null ? location.geohash() : null,
+                location != null ? location.country() : null,
+                location != null ? location.city() : null
+        };
     }
 
     @Override
@@ -65,6 +295,62 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
                 .toList();
     }
 
+    @Override
+    public List<HistoricalTransaction> findHistoryByAccountId(String accountId, Instant since, Instant until, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("since", Timestamp.from(since))
+                .addValue("until", Timestamp.from(until))
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(FIND_HISTORY_SQL, parameters, HISTORY_ROW_MAPPER);
+    }
+
+    @Override
+    public List<HistoricalTransaction> findNearby(Location centre, double radiusKm, Instant since, int limit) {
+        int precision = Geohash.precisionFor(radiusKm, centre.latitude());
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("latitude", centre.latitude())
+                .addValue("longitude", centre.longitude())
+                .addValue("radiusKm", radiusKm)
+                .addValue("since", Timestamp.from(since))
+                .addValue("limit", limit);
+
+        StringJoiner cellRanges = new StringJoiner(" OR ");
+        int cell = 0;
+
+        for (Geohash geohash : Geohash.encode(centre, precision).neighbourhood()) {
+            cellRanges.add("(geohash >= :lower%1$d AND geohash < :upper%1$d)".formatted(cell));
+            parameters.addValue("lower" + cell, geohash.lowerBound())
+                    .addValue("upper" + cell, geohash.upperBound());
+            cell++;
+        }
+
+        return jdbcTemplate.query(FIND_NEARBY_SQL.formatted(cellRanges), parameters, HISTORY_ROW_MAPPER);
+    }
+
+    private static HistoricalTransaction toHistoricalTransaction(ResultSet resultSet, int rowNumber) throws SQLException {
+        String merchantId = resultSet.getString("merchant_id");
+        Money amount = new Money(resultSet.getBigDecimal("amount_value"), Currency.getInstance(resultSet.getString("amount_currency")));
+
+        return new HistoricalTransaction(
+                TransactionId.of(resultSet.getObject("id", UUID.class)),
+                amount,
+                merchantId != null ? MerchantId.of(merchantId) : null,
+                toLocation(resultSet),
+                resultSet.getTimestamp("timestamp").toInstant());
+    }
+
+    private static Location toLocation(ResultSet resultSet) throws SQLException {
+        double latitude = resultSet.getDouble("latitude");
+
+        if (resultSet.wasNull()) {
+            return null;
+        }
+
+        return new Location(latitude, resultSet.getDouble("longitude"), resultSet.getString("country"), resultSet.getString("city"));
+    }
+
     @Override
     public Optional<Transaction> findEarliestByAccountId(String accountId) {
         return jdbcRepository.findFirstByAccountIdOrderByTimestampAsc(accountId)
@@ -1,9 +1,10 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity;
 
 import lombok.Builder;
-import org.springframework.data.relational.core.mapping.Table;
 
+/**
+ * The location as recorded on the transaction row.
+ */
 @Builder
-@Table("location")
-public record LocationEntity(double latitude, double longitude, String country, String city) {
+public record LocationEntity(double latitude, double longitude, long geohash, String country, String city) {
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity;
 
-import org.springframework.data.relational.core.mapping.Table;
-
-@Table("merchant")
+/**
+ * The merchant as recorded on the transaction row, in the {@code merchant_*} columns.
+ */
 public record MerchantEntity(String id, String name, String category) {
 }
\ No newline at end of file
@@ -10,13 +10,12 @@ import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.MappedCollection;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
-import org.postgresql.util.PGobject;
-
 @Builder
 @Data
 @Table("risk_assessments")
@@ -25,10 +24,20 @@ public class RiskAssessmentEntity {
     @Id
     private UUID id;
     private UUID transactionId;
+    private String accountId;
+    private BigDecimal amountValue;
+    private String amountCurrency;
+    private String channel;
+    private String merchantCategory;
     private int riskScoreValue;
     private String riskLevel;
     private String decision;
-    private PGobject mlPredictionJson;
+    private String mlModelId;
+    private String mlModelVersion;
+    private Double mlFraudProbability;
+    private Double mlConfidence;
+    private byte[] mlFeatureImportance;
+    private String mlSkipReason;
     private Instant assessmentTime;
 
     @NotNull
@@ -10,6 +10,7 @@ public class RuleEvaluationEntity {
 
     @Id
     private Long id;
+    private String ruleId;
     private String ruleName;
     private String ruleType;
     private int scoreImpact;
@@ -6,7 +6,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.annotation.Version;
-import org.springframework.data.relational.core.mapping.MappedCollection;
+import org.springframework.data.relational.core.mapping.Embedded;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.math.BigDecimal;
@@ -23,11 +23,11 @@ public record TransactionEntity(@Id
                                 String type,
                                 String channel,
 
-                                @MappedCollection(idColumn = "transaction_id")
+                                @Embedded.Nullable(prefix = "merchant_")
                                 MerchantEntity merchant,
                                 String deviceId,
 
-                                @MappedCollection(idColumn = "transaction_id")
+                                @Embedded.Nullable
                                 LocationEntity location,
                                 Instant timestamp,
 
@@ -0,0 +1,82 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper;
+
+import com.twenty9ine.frauddetection.infrastructure.exception.BoundaryMapperException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Packs an ML prediction's feature importance into the {@code ml_feature_importance} bytea column: a big-endian
+ * {@code short} feature count, then per feature a {@code short} byte length, the UTF-8 name and the importance as an
+ * IEEE 754 {@code double}. It is the layout the V11 migration builds with {@code int2send} and {@code float8send}, and
+ * is read and written without a JSON parser.
+ */
+final class FeatureImportanceCodec {
+
+    private FeatureImportanceCodec() {
+    }
+
+    static byte[] encode(Map<String, Double> featureImportance) {
+        if (featureImportance == null) {
+            return null;
+        }
+
+        if (featureImportance.size() > Short.MAX_VALUE) {
+            throw new BoundaryMapperException("Too many features to store: " + featureImportance.size());
+        }
+
+        byte[][] names = new byte[featureImportance.size()][];
+        double[] importances = new double[featureImportance.size()];
+        int size = Short.BYTES;
+        int feature = 0;
+
+        for (Map.Entry<String, Double> entry : featureImportance.entrySet()) {
+            names[feature] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            importances[feature] = entry.getValue() != null ? entry.getValue() : Double.NaN;
+
+            if (names[feature].length > Short.MAX_VALUE) {
+                throw new BoundaryMapperException("Feature name too long to store: " + entry.getKey());
+            }
+
+            size += Short.BYTES + names[feature].length + Double.BYTES;
+            feature++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).putShort((short) names.length);
+        for (int i = 0; i < names.length; i++) {
+            buffer.putShort((short) names[i].length).put(names[i]).putDouble(importances[i]);
+        }
+
+        return buffer.array();
+    }
+
+    static Map<String, Double> decode(byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            int features = buffer.getShort();
+
+            if (features < 0) {
+                throw new BoundaryMapperException("Malformed feature importance with a feature count of " + features);
+            }
+
+            Map<String, Double> featureImportance = HashMap.newHashMap(features);
+
+            for (int i = 0; i < features; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                featureImportance.put(new String(name, StandardCharsets.UTF_8), buffer.getDouble());
+            }
+
+            return featureImportance;
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new BoundaryMapperException("Malformed feature importance of " + encoded.length + " bytes", e);
+        }
+    }
+}
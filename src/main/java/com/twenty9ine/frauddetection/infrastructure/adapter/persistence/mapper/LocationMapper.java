@@ -1,12 +1,15 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper;
 
+import com.twenty9ine.frauddetection.domain.valueobject.Geohash;
 import com.twenty9ine.frauddetection.domain.valueobject.Location;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.LocationEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = Geohash.class)
 public interface LocationMapper {
 
+    @Mapping(target = "geohash", expression = "java(Geohash.encode(location, Geohash.MAX_PRECISION).toStorageKey())")
     LocationEntity toEntity(Location location);
 
     Location toDomain(LocationEntity entity);
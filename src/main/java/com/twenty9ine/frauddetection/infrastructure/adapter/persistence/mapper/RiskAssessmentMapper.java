@@ -1,23 +1,18 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.RiskAssessmentEntity;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.RuleEvaluationEntity;
-import com.twenty9ine.frauddetection.infrastructure.exception.BoundaryMapperException;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
-import org.postgresql.util.PGobject;
 
-import java.sql.SQLException;
+import java.util.Currency;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Mapper(componentModel = "spring", uses = RuleEvaluationMapper.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
@@ -28,33 +23,56 @@ public interface RiskAssessmentMapper {
     @Mapping(target = "riskScoreValue", source = "riskScore.value")
     @Mapping(target = "riskLevel", source = "transactionRiskLevel", qualifiedByName = "riskLevelToString")
     @Mapping(target = "decision", source = "decision", qualifiedByName = "decisionToString")
-    @Mapping(target = "mlPredictionJson", source = "mlPrediction", qualifiedByName = "mlPredictionToJson")
+    @Mapping(target = "amountValue", ignore = true)
+    @Mapping(target = "amountCurrency", ignore = true)
+    @Mapping(target = "channel", ignore = true)
+    @Mapping(target = "merchantCategory", ignore = true)
+    @Mapping(target = "mlModelId", source = "mlPrediction.modelId")
+    @Mapping(target = "mlModelVersion", source = "mlPrediction.modelVersion")
+    @Mapping(target = "mlFraudProbability", source = "mlPrediction.fraudProbability")
+    @Mapping(target = "mlConfidence", source = "mlPrediction.confidence")
+    @Mapping(target = "mlFeatureImportance", source = "mlPrediction.featureImportance", qualifiedByName = "encodeFeatureImportance")
     @Mapping(target = "ruleEvaluations", source = "ruleEvaluations", qualifiedByName = "mapToEntitySet")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "revision", ignore = true)
     RiskAssessmentEntity toEntity(RiskAssessment domain);
 
+    // The transaction attributes assessments are searched by are copied from the transaction; without it they stay
+    // null, which a save does not overwrite stored values with
+    default RiskAssessmentEntity toEntity(RiskAssessment domain, Transaction transaction) {
+        RiskAssessmentEntity entity = toEntity(domain);
+        if (entity == null || transaction == null) {
+            return entity;
+        }
+
+        if (transaction.amount() != null) {
+            entity.setAmountValue(transaction.amount().value());
+            entity.setAmountCurrency(currencyToString(transaction.amount().currency()));
+        }
+        entity.setChannel(transaction.channel() != null ? transaction.channel().name() : null);
+        entity.setMerchantCategory(transaction.merchant() != null && transaction.merchant().category() != null
+                ? transaction.merchant().category().name()
+                : null);
+
+        return entity;
+    }
+
+    // Rehydrates the stored decision directly, so loading an assessment raises no domain events
     default RiskAssessment toDomain(RiskAssessmentEntity entity) {
         if (entity == null) return null;
 
-        RiskAssessment assessment = new RiskAssessment(
+        return new RiskAssessment(
                 AssessmentId.of(entity.getId()),
                 TransactionId.of(entity.getTransactionId()),
+                entity.getAccountId(),
                 new RiskScore(entity.getRiskScoreValue()),
                 toRuleEvaluations(entity),
-                jsonToMlPrediction(entity.getMlPredictionJson()),
-                entity.getAssessmentTime()  // Add this parameter
+                toMlPrediction(entity),
+                entity.getMlSkipReason() != null ? MLSkipReason.fromString(entity.getMlSkipReason()) : null,
+                entity.getAssessmentTime(),
+                entity.getDecision() != null ? Decision.valueOf(entity.getDecision()) : null
         );
-
-        if (entity.getRiskScoreValue() != 0 && entity.getDecision() != null) {
-            assessment.completeAssessment(
-                    Decision.valueOf(entity.getDecision())
-            );
-        }
-
-        assessment.clearDomainEvents();
-        return assessment;
     }
 
     private static List<RuleEvaluation> toRuleEvaluations(RiskAssessmentEntity entity) {
@@ -65,7 +83,7 @@ public interface RiskAssessmentMapper {
 
     private static RuleEvaluation buildRuleEvaluation(RuleEvaluationEntity ruleEntity) {
         return RuleEvaluation.builder()
-                .ruleId(getRuleId(ruleEntity.getId()))
+                .ruleId(ruleEntity.getRuleId())
                 .ruleName(ruleEntity.getRuleName())
                 .ruleType(RuleType.valueOf(ruleEntity.getRuleType()))
                 .triggered(true)
@@ -74,10 +92,6 @@ public interface RiskAssessmentMapper {
                 .build();
     }
 
-    private static String getRuleId(Long id) {
-        return id != null ? id.toString() : null;
-    }
-
     @Named("riskLevelToString")
     default String riskLevelToString(TransactionRiskLevel level) {
         return level != null ? level.name() : null;
@@ -88,6 +102,11 @@ public interface RiskAssessmentMapper {
         return decision != null ? decision.name() : null;
     }
 
+    @Named("currencyToString")
+    default String currencyToString(Currency currency) {
+        return currency != null ? currency.getCurrencyCode() : null;
+    }
+
     @Named("transactionIdToUuid")
     default UUID transactionIdToUuid(TransactionId transactionId) {
         return transactionId != null ? transactionId.toUUID() : null;
@@ -98,53 +117,23 @@ public interface RiskAssessmentMapper {
         return assessmentId != null ? assessmentId.toUUID() : null;
     }
 
-    @Named("jsonToMlPrediction")
-    default MLPrediction jsonToMlPrediction(PGobject json) {
-        if (json == null || json.getValue() == null) {
+    // An assessment without a prediction stores no model id
+    private static MLPrediction toMlPrediction(RiskAssessmentEntity entity) {
+        if (entity.getMlModelId() == null) {
             return null;
         }
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode node = objectMapper.readTree(json.getValue());
-
-            return new MLPrediction(
-                    node.get("modelId").asText(),
-                    node.get("modelVersion").asText(),
-                    node.get("fraudProbability").asDouble(),
-                    node.get("confidence").asDouble(),
-                    objectMapper.convertValue(
-                            node.get("featureImportance"),
-                            new TypeReference<Map<String, Double>>() {
-                            }
-                    )
-            );
-        } catch (JsonProcessingException e) {
-            throw new BoundaryMapperException("Failed to deserialize MLPrediction", e);
-        }
+
+        return new MLPrediction(
+                entity.getMlModelId(),
+                entity.getMlModelVersion(),
+                Objects.requireNonNullElse(entity.getMlFraudProbability(), 0.0),
+                Objects.requireNonNullElse(entity.getMlConfidence(), 0.0),
+                FeatureImportanceCodec.decode(entity.getMlFeatureImportance())
+        );
     }
 
-    @Named("mlPredictionToJson")
-    default PGobject mlPredictionToJson(MLPrediction prediction) {
-        if (prediction == null) {
-            return null;
-        }
-        try {
-            PGobject pgObject = new PGobject();
-            pgObject.setType("jsonb");
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            Map<String, Object> json = Map.of(
-                    "modelId", prediction.modelId(),
-                    "modelVersion", prediction.modelVersion(),
-                    "fraudProbability", prediction.fraudProbability(),
-                    "confidence", prediction.confidence(),
-                    "featureImportance", prediction.featureImportance()
-            );
-
-            pgObject.setValue(objectMapper.writeValueAsString(json));
-            return pgObject;
-        } catch (SQLException | JsonProcessingException e) {
-            throw new BoundaryMapperException("Failed to serialize MLPrediction", e);
-        }
+    @Named("encodeFeatureImportance")
+    default byte[] encodeFeatureImportance(Map<String, Double> featureImportance) {
+        return FeatureImportanceCodec.encode(featureImportance);
     }
 }
\ No newline at end of file
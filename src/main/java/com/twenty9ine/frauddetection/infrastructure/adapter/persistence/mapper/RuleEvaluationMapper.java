@@ -19,7 +19,6 @@ public interface RuleEvaluationMapper {
     @Mapping(target = "ruleType", source = "ruleType", qualifiedByName = "ruleTypeToString")
     RuleEvaluationEntity toEntity(RuleEvaluation evaluation);
 
-    @Mapping(target = "ruleId", source = "id")
     @Mapping(target = "ruleType", source = "ruleType", qualifiedByName = "stringToRuleType")
     @Mapping(target = "triggered", constant = "true")
     RuleEvaluation toDomain(RuleEvaluationEntity entity);
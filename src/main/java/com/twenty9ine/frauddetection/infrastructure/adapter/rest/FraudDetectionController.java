@@ -1,12 +1,16 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.rest;
 
+import com.twenty9ine.frauddetection.application.dto.CursorPageDto;
 import com.twenty9ine.frauddetection.application.dto.PagedResultDto;
 import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
 import com.twenty9ine.frauddetection.application.port.in.*;
 import com.twenty9ine.frauddetection.application.port.in.command.AssessTransactionRiskCommand;
+import com.twenty9ine.frauddetection.application.port.in.query.CursorPageRequestQuery;
+import com.twenty9ine.frauddetection.application.port.in.query.FindAccountAssessmentsQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.FindRiskLeveledAssessmentsQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.GetRiskAssessmentQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.PageRequestQuery;
+import com.twenty9ine.frauddetection.application.port.in.query.SearchAssessmentsQuery;
 import com.twenty9ine.frauddetection.infrastructure.adapter.rest.dto.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +18,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
@@ -45,6 +51,8 @@ public class FraudDetectionController {
     private final AssessTransactionRiskUseCase assessTransactionRiskUseCase;
     private final GetRiskAssessmentUseCase getRiskAssessmentUseCase;
     private final FindRiskLeveledAssessmentsUseCase findRiskLeveledAssessmentsUseCase;
+    private final FindAccountAssessmentsUseCase findAccountAssessmentsUseCase;
+    private final SearchAssessmentsUseCase searchAssessmentsUseCase;
 
     @PostMapping("/assessments")
     @Operation(summary = "Analyze transaction for fraud", description = "Performs real-time fraud analysis on a transaction")
@@ -90,6 +98,92 @@ public class FraudDetectionController {
         return toPage(pageable, findAssessmentsByQuery(query, pageable));
     }
 
+    /**
+     * Page through risk assessments by cursor. Unlike the offset search, a page costs the same however deep it is and
+     * the total is not counted: it is estimated from planner statistics when {@code includeTotal} is set.
+     *
+     * @param query        Search criteria containing optional risk levels and from date
+     * @param cursor       The {@code nextCursor} of the previous page; omitted for the first page
+     * @param size         Page size
+     * @param includeTotal Whether to estimate the number of matching assessments
+     * @return Page of matching risk assessments ordered by assessment time (newest first)
+     */
+    @GetMapping("/assessments/scroll")
+    @Operation(summary = "Page through risk assessments by cursor", description = "Find risk assessments filtered by risk levels " +
+                    "and/or assessment timestamp, newest first. Pass the returned nextCursor to get the next page; it is " +
+                    "absent on the last page.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved risk assessments")
+    @ApiResponse(responseCode = "400", description = "Invalid query parameters or cursor",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Authentication required",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    public CursorPageDto<RiskAssessmentDto> scrollAssessmentsByRiskLevelAndFromDate(@ModelAttribute
+                                                                                   @Valid
+                                                                                   FindRiskLeveledAssessmentsQuery query,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "50")
+                                                                                   @Min(1) @Max(500) int size,
+                                                                                   @RequestParam(defaultValue = "false")
+                                                                                   boolean includeTotal) {
+        return findRiskLeveledAssessmentsUseCase.scroll(query, new CursorPageRequestQuery(cursor, size, includeTotal));
+    }
+
+    /**
+     * Search risk assessments by any combination of risk level, decision, time range, score range, merchant category,
+     * channel, amount range, ML model and minimum fraud probability, paged by cursor.
+     *
+     * @param query        Search filters; omitted ones do not filter
+     * @param cursor       The {@code nextCursor} of the previous page; omitted for the first page
+     * @param size         Page size
+     * @param includeTotal Whether to estimate the number of matching assessments
+     * @return Page of matching risk assessments ordered by assessment time (newest first)
+     */
+    @GetMapping("/assessments/search")
+    @Operation(summary = "Search risk assessments by multiple criteria", description = "Find risk assessments matching every " +
+                    "given filter, newest first. Multi-valued filters match any of their values. Pass the returned " +
+                    "nextCursor to get the next page; it is absent on the last page.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved risk assessments")
+    @ApiResponse(responseCode = "400", description = "Invalid query parameters or cursor",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Authentication required",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    public CursorPageDto<RiskAssessmentDto> searchAssessments(@ModelAttribute
+                                                              @Valid
+                                                              SearchAssessmentsQuery query,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50")
+                                                              @Min(1) @Max(500) int size,
+                                                              @RequestParam(defaultValue = "false")
+                                                              boolean includeTotal) {
+        return searchAssessmentsUseCase.search(query, new CursorPageRequestQuery(cursor, size, includeTotal));
+    }
+
+    /**
+     * Page through one account's risk assessments by cursor, optionally within a time range.
+     *
+     * @param query  The account, taken from the path, and optional fromDate (inclusive) and toDate (exclusive)
+     * @param cursor The {@code nextCursor} of the previous page; omitted for the first page
+     * @param size   Page size
+     * @return Page of the account's risk assessments ordered by assessment time (newest first)
+     */
+    @GetMapping("/accounts/{accountId}/assessments")
+    @Operation(summary = "Get an account's risk assessments", description = "Find the risk assessments of one account, " +
+                    "optionally between fromDate (inclusive) and toDate (exclusive), newest first. Pass the returned " +
+                    "nextCursor to get the next page; it is absent on the last page.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved risk assessments")
+    @ApiResponse(responseCode = "400", description = "Invalid query parameters or cursor",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Authentication required",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    public CursorPageDto<RiskAssessmentDto> findAccountAssessments(@ModelAttribute
+                                                                   @Valid
+                                                                   FindAccountAssessmentsQuery query,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50")
+                                                                   @Min(1) @Max(500) int size) {
+        return findAccountAssessmentsUseCase.findByAccount(query, new CursorPageRequestQuery(cursor, size, false));
+    }
+
     private PagedResultDto<RiskAssessmentDto> findAssessmentsByQuery(FindRiskLeveledAssessmentsQuery query, Pageable pageable) {
         return findRiskLeveledAssessmentsUseCase.find(query, buildPageRequestQuery(pageable));
     }
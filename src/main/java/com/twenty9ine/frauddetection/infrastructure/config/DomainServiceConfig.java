@@ -1,16 +1,28 @@
 package com.twenty9ine.frauddetection.infrastructure.config;
 
+import com.twenty9ine.frauddetection.application.port.out.BehavioralProfilePort;
+import com.twenty9ine.frauddetection.application.port.out.FraudRingPort;
+import com.twenty9ine.frauddetection.application.port.out.HabitualLocationPort;
+import com.twenty9ine.frauddetection.application.port.out.LocationHistoryPort;
 import com.twenty9ine.frauddetection.application.port.out.MLServicePort;
+import com.twenty9ine.frauddetection.application.port.out.RiskZonePort;
 import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
 import com.twenty9ine.frauddetection.application.port.out.VelocityServicePort;
 import com.twenty9ine.frauddetection.domain.service.*;
+import com.twenty9ine.frauddetection.domain.valueobject.RuleCatalogue;
 import org.kie.api.runtime.KieContainer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class DomainServiceConfig {
@@ -21,20 +33,107 @@ public class DomainServiceConfig {
     @Value("${fraud-detection.scoring.rule-weight:0.4}")
     private double ruleWeight;
 
+    @Value("${fraud-detection.scoring.cascade.enabled:false}")
+    private boolean cascadeEnabled;
+
+    @Value("${fraud-detection.scoring.cascade.speculative-ml:false}")
+    private boolean cascadeSpeculativeMl;
+
+    @Value("${fraud-detection.scoring.cascade.low-value-amount:50}")
+    private BigDecimal cascadeLowValueAmount;
+
+    @Value("${fraud-detection.scoring.cascade.trusted-ml-ceiling:0.6}")
+    private double cascadeTrustedMlCeiling;
+
+    @Value("${fraud-detection.scoring.timeouts.ml:5s}")
+    private Duration mlTimeout;
+
+    @Value("${fraud-detection.scoring.timeouts.velocity:2s}")
+    private Duration velocityTimeout;
+
+    @Value("${fraud-detection.scoring.timeouts.history:2s}")
+    private Duration historyTimeout;
+
+    @Value("${fraud-detection.scoring.timeouts.geographic:1s}")
+    private Duration geographicTimeout;
+
+    @Value("${fraud-detection.scoring.history.lookback:30d}")
+    private Duration historyLookback;
+
+    @Value("${fraud-detection.scoring.history.max-transactions:1000}")
+    private int historyMaxTransactions;
+
+    @Value("${fraud-detection.geographic.habitual.unfamiliar-distance-km:250}")
+    private double unfamiliarDistanceKm;
+
+    @Value("${fraud-detection.scoring.executor.platform-threads:64}")
+    private int scoringPlatformThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${fraud-detection.rules.temporal.idle-timeout:30m}")
+    private Duration temporalIdleTimeout;
+
+    @Value("${fraud-detection.rules.temporal.allowed-lateness:5s}")
+    private Duration temporalAllowedLateness;
+
+    @Value("${fraud-detection.rules.temporal.max-sessions:10000}")
+    private int temporalMaxSessions;
+
+    @Value("${fraud-detection.rules.temporal.shards:0}")
+    private int temporalShards;
+
     @Bean
-    public RuleEngineService ruleEngineService(KieContainer kieContainer) {
-        return new RuleEngineService(kieContainer);
+    public RuleEngineService ruleEngineService(KieContainer kieContainer, RuleCatalogue ruleCatalogue,
+                                               Optional<TemporalRuleEngineService> temporalRuleEngine) {
+        return new RuleEngineService(kieContainer, ruleCatalogue, temporalRuleEngine.orElse(null));
     }
 
     @Bean
-    public GeographicValidator geographicValidator(TransactionRepository transactionRepository) {
-        return new GeographicValidator(transactionRepository);
+    @ConditionalOnProperty(name = "fraud-detection.rules.temporal.enabled", havingValue = "true")
+    public TemporalRuleEngineService temporalRuleEngineService(@Qualifier("temporalKieContainer") KieContainer temporalKieContainer) {
+        return new TemporalRuleEngineService(temporalKieContainer, DroolsInfrastructureConfig.TEMPORAL_KIE_SESSION,
+                temporalIdleTimeout, temporalAllowedLateness, temporalMaxSessions, temporalShards);
+    }
+
+    @Bean
+    public AssessmentContextLoader assessmentContextLoader(TransactionRepository transactionRepository,
+                                                           HabitualLocationPort habitualLocationPort,
+                                                           BehavioralProfilePort behavioralProfilePort,
+                                                           FraudRingPort fraudRingPort) {
+        return new AssessmentContextLoader(transactionRepository, habitualLocationPort, behavioralProfilePort,
+                fraudRingPort, historyLookback, historyMaxTransactions);
+    }
+
+    @Bean
+    public GeographicValidator geographicValidator(LocationHistoryPort locationHistory, RiskZonePort riskZones) {
+        return new GeographicValidator(locationHistory, riskZones, unfamiliarDistanceKm);
     }
 
     @Bean
     public RiskScoringService riskScoringService(RuleEngineService ruleEngine, Optional<MLServicePort> mlService, VelocityServicePort velocityService,
-                                                 GeographicValidator geographicValidator) {
-        return new RiskScoringService(ruleEngine, mlService.orElse(null), velocityService, geographicValidator, mlWeight, ruleWeight);
+                                                 AssessmentContextLoader assessmentContextLoader, GeographicValidator geographicValidator,
+                                                 @Qualifier("riskScoringExecutor") ExecutorService riskScoringExecutor) {
+        ScoringCascade cascade = new ScoringCascade(cascadeEnabled, cascadeSpeculativeMl, cascadeLowValueAmount, cascadeTrustedMlCeiling);
+        ScoringTimeouts timeouts = new ScoringTimeouts(mlTimeout, velocityTimeout, historyTimeout, geographicTimeout);
+
+        return new RiskScoringService(ruleEngine, mlService.orElse(null), velocityService, assessmentContextLoader, geographicValidator,
+                mlWeight, ruleWeight, cascade, riskScoringExecutor, timeouts);
+    }
+
+    /**
+     * Executor for the scoring fan-out (ML, velocity, account history and location lookups all block on I/O). Virtual threads when
+     * {@code spring.threads.virtual.enabled}, otherwise a bounded platform pool. Not a default candidate, so it
+     * does not displace the auto-configured application task executor.
+     */
+    @Bean(name = "riskScoringExecutor", destroyMethod = "close", defaultCandidate = false)
+    public ExecutorService riskScoringExecutor() {
+        if (virtualThreadsEnabled) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("risk-scoring-", 0).factory());
+        }
+
+        return Executors.newFixedThreadPool(scoringPlatformThreads, Thread.ofPlatform().name("risk-scoring-", 0).daemon(true).factory());
     }
 
     @Bean
@@ -1,27 +1,88 @@
 package com.twenty9ine.frauddetection.infrastructure.config;
 
+import com.twenty9ine.frauddetection.domain.valueobject.RuleCatalogue;
 import com.twenty9ine.frauddetection.infrastructure.exception.RulesEngineException;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.definition.rule.Rule;
 import org.kie.api.runtime.KieContainer;
 import org.kie.internal.io.ResourceFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Configuration
 public class DroolsInfrastructureConfig {
 
+    public static final String TEMPORAL_KIE_BASE = "cep";
+    public static final String TEMPORAL_KIE_SESSION = "temporal-session";
+
+    // Metadata naming the catalogue rule id a DRL rule raises, as in @ruleId("LARGE_AMOUNT")
+    static final String RULE_ID_METADATA = "ruleId";
+
     @Bean
-    public KieContainer kieContainer() {
+    @Primary
+    public KieContainer kieContainer(RuleCatalogue ruleCatalogue) {
         KieServices kieServices = KieServices.Factory.get();
         KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
 
         kieFileSystem.write(ResourceFactory.newClassPathResource("rules/velocity-rules.drl"));
         kieFileSystem.write(ResourceFactory.newClassPathResource("rules/geographic-rules.drl"));
         kieFileSystem.write(ResourceFactory.newClassPathResource("rules/amount-rules.drl"));
+        kieFileSystem.write(ResourceFactory.newClassPathResource("rules/behavioral-rules.drl"));
+        kieFileSystem.write(ResourceFactory.newClassPathResource("rules/network-rules.drl"));
+
+        return buildKieContainer(kieServices, kieFileSystem, ruleCatalogue);
+    }
+
+    /**
+     * Classpath container holding the stream-mode {@code cep} KieBase declared in {@code META-INF/kmodule.xml} for the
+     * temporal (CEP) rules. Sessions run on a pseudo clock that {@code TemporalRuleEngineService} advances to each
+     * event's timestamp.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "fraud-detection.rules.temporal.enabled", havingValue = "true")
+    public KieContainer temporalKieContainer(RuleCatalogue ruleCatalogue) {
+        KieContainer kieContainer = KieServices.Factory.get().newKieClasspathContainer();
+
+        Results results = kieContainer.verify(TEMPORAL_KIE_BASE);
+        if (results.hasMessages(Message.Level.ERROR)) {
+            throw new RulesEngineException("Rule compilation errors: %s".formatted(results.toString()));
+        }
+
+        validateRuleIds(kieContainer, List.of(TEMPORAL_KIE_BASE), ruleCatalogue);
+
+        return kieContainer;
+    }
+
+    /**
+     * Rule metadata (types, weights, caps) the rule engine resolves triggers against and scoring weighs them by.
+     */
+    @Bean
+    public RuleCatalogue ruleCatalogue(@Value("${fraud-detection.rules.catalogue-location:classpath:" + RuleCatalogue.DEFAULT_LOCATION + "}")
+                                       Resource catalogueLocation) {
+        try (InputStream inputStream = catalogueLocation.getInputStream()) {
+            return RuleCatalogue.parse(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RulesEngineException("Unable to load rule catalogue from %s: %s".formatted(catalogueLocation, e.getMessage()));
+        }
+    }
 
+    private static KieContainer buildKieContainer(KieServices kieServices, KieFileSystem kieFileSystem, RuleCatalogue ruleCatalogue) {
         KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
         kieBuilder.buildAll();
 
@@ -29,6 +90,39 @@ public class DroolsInfrastructureConfig {
             throw new RulesEngineException("Rule compilation errors: %s".formatted(kieBuilder.getResults().toString()));
         }
 
-        return kieServices.newKieContainer(kieBuilder.getKieModule().getReleaseId());
+        KieContainer kieContainer = kieServices.newKieContainer(kieBuilder.getKieModule().getReleaseId());
+        validateRuleIds(kieContainer, kieContainer.getKieBaseNames(), ruleCatalogue);
+
+        return kieContainer;
+    }
+
+    /**
+     * Fails startup for a rule whose {@code @ruleId} is missing or not in the catalogue, which would otherwise fail
+     * the first assessment the rule triggers on.
+     */
+    static void validateRuleIds(KieContainer kieContainer, Collection<String> kieBaseNames, RuleCatalogue ruleCatalogue) {
+        List<String> unknown = new ArrayList<>();
+
+        for (String kieBaseName : kieBaseNames) {
+            for (KiePackage kiePackage : kieContainer.getKieBase(kieBaseName).getKiePackages()) {
+                for (Rule rule : kiePackage.getRules()) {
+                    Object ruleId = rule.getMetaData().get(RULE_ID_METADATA);
+
+                    if (ruleId == null || !ruleCatalogue.contains(unquote(ruleId.toString()))) {
+                        unknown.add("%s (@%s %s)".formatted(rule.getName(), RULE_ID_METADATA, ruleId));
+                    }
+                }
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            throw new RulesEngineException("Rules without a rule catalogue entry: %s".formatted(unknown));
+        }
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
     }
 }
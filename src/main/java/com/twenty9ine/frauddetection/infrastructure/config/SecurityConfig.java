@@ -39,6 +39,7 @@ public class SecurityConfig {
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.POST, "/fraud/assessments").hasAuthority("SCOPE_fraud:detect")
                         .requestMatchers(HttpMethod.GET, "/fraud/assessments", "/fraud/assessments/**").hasAuthority("SCOPE_fraud:read")
+                        .requestMatchers(HttpMethod.GET, "/fraud/accounts/*/assessments").hasAuthority("SCOPE_fraud:read")
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -0,0 +1,35 @@
+-- Copies the transaction attributes assessments are searched by onto the assessment, and lifts the model version out of
+-- the prediction document, so every search filter is a column of risk_assessments with an index of its own.
+ALTER TABLE risk_assessments
+    ADD COLUMN amount_value      DECIMAL(19, 4),
+    ADD COLUMN amount_currency   VARCHAR(3),
+    ADD COLUMN channel           VARCHAR(50),
+    ADD COLUMN merchant_category VARCHAR(100),
+    ADD COLUMN ml_model_version  VARCHAR(100);
+
+UPDATE risk_assessments a
+SET amount_value      = t.amount_value,
+    amount_currency   = t.amount_currency,
+    channel           = t.channel,
+    merchant_category = t.merchant_category
+FROM transaction t
+WHERE t.id = a.transaction_id;
+
+UPDATE risk_assessments
+SET ml_model_version = ml_prediction_json ->> 'modelVersion'
+WHERE ml_prediction_json IS NOT NULL;
+
+-- Equality filters lead an index that ends in the keyset, so a search on any one of them reads its matches already in
+-- page order. idx_decision is a prefix of its replacement.
+DROP INDEX idx_decision;
+
+CREATE INDEX idx_decision_assessment_time_id ON risk_assessments (decision, assessment_time, id);
+CREATE INDEX idx_channel_assessment_time_id ON risk_assessments (channel, assessment_time, id);
+CREATE INDEX idx_merchant_category_assessment_time_id ON risk_assessments (merchant_category, assessment_time, id);
+CREATE INDEX idx_ml_model_version_assessment_time_id ON risk_assessments (ml_model_version, assessment_time, id);
+
+-- Range filters cannot lead an index in page order, so a range search reads every match in value order, fetches it from
+-- the table and sorts it by the keyset before the page is cut. The included keyset columns only let a count or estimate
+-- over the range and a time bound be answered from the index alone.
+CREATE INDEX idx_risk_score_value_keyset ON risk_assessments (risk_score_value) INCLUDE (assessment_time, id);
+CREATE INDEX idx_amount_value_keyset ON risk_assessments (amount_value) INCLUDE (assessment_time, id);
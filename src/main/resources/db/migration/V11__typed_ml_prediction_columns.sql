@@ -0,0 +1,32 @@
+-- Stores the ML prediction as typed columns instead of a JSON document, so saving and loading an assessment parses no
+-- JSON and predictions can be filtered and indexed by model and probability. ml_model_version was added by V10.
+ALTER TABLE risk_assessments
+    ADD COLUMN ml_model_id           VARCHAR(100),
+    ADD COLUMN ml_fraud_probability  DOUBLE PRECISION,
+    ADD COLUMN ml_confidence         DOUBLE PRECISION,
+    ADD COLUMN ml_feature_importance BYTEA;
+
+-- Feature importance is packed as a 2-byte feature count followed, per feature, by a 2-byte name length, the UTF-8
+-- name and the 8-byte importance, all big-endian. int2send and float8send produce exactly those bytes.
+UPDATE risk_assessments a
+SET ml_model_id           = a.ml_prediction_json ->> 'modelId',
+    ml_model_version      = a.ml_prediction_json ->> 'modelVersion',
+    ml_fraud_probability  = (a.ml_prediction_json ->> 'fraudProbability')::DOUBLE PRECISION,
+    ml_confidence         = (a.ml_prediction_json ->> 'confidence')::DOUBLE PRECISION,
+    ml_feature_importance = (SELECT int2send(count(*)::SMALLINT)
+                                        || COALESCE(string_agg(int2send(octet_length(convert_to(f.key, 'UTF8'))::SMALLINT)
+                                                                   || convert_to(f.key, 'UTF8')
+                                                                   || float8send(f.value::DOUBLE PRECISION), ''::BYTEA),
+                                                    ''::BYTEA)
+                             FROM jsonb_each_text(CASE
+                                                      WHEN jsonb_typeof(a.ml_prediction_json -> 'featureImportance') = 'object'
+                                                          THEN a.ml_prediction_json -> 'featureImportance'
+                                                      ELSE '{}'::JSONB
+                                                  END) f)
+WHERE a.ml_prediction_json IS NOT NULL;
+
+ALTER TABLE risk_assessments
+    DROP COLUMN ml_prediction_json;
+
+-- "Probability above p for model m" is a range scan within one model
+CREATE INDEX idx_ml_model_id_fraud_probability ON risk_assessments (ml_model_id, ml_fraud_probability);
@@ -0,0 +1,56 @@
+-- A partitioned table cannot hold a unique index that leaves out the partition key, so neither transaction_id nor id is
+-- unique across the partitions of risk_assessments since V6. Writers serialize on a transaction-scoped advisory lock
+-- per transaction_id instead: the application takes it before saving, and the trigger below takes it again (advisory
+-- locks are re-entrant) and rejects a second assessment for a transaction, whoever inserts it.
+
+-- Keeps the latest assessment of every transaction that was assessed more than once before the guard existed
+CREATE TEMPORARY TABLE superseded_assessment ON COMMIT DROP AS
+SELECT id
+FROM (SELECT id,
+             row_number() OVER (PARTITION BY transaction_id
+                 ORDER BY updated_at DESC NULLS LAST, assessment_time DESC, id DESC) AS position
+      FROM risk_assessments) ranked
+WHERE position > 1;
+
+DELETE FROM rule_evaluations WHERE assessment_id IN (SELECT id FROM superseded_assessment);
+DELETE FROM risk_assessments WHERE id IN (SELECT id FROM superseded_assessment);
+
+-- The lock key the application locks a transaction's assessment with
+CREATE FUNCTION assessment_lock_key(transaction_id UUID)
+    RETURNS BIGINT
+    LANGUAGE sql
+    IMMUTABLE
+AS
+$$
+SELECT hashtextextended(transaction_id::TEXT, 0)
+$$;
+
+CREATE FUNCTION guard_one_assessment_per_transaction()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(assessment_lock_key(NEW.transaction_id));
+
+    -- Under READ COMMITTED this query sees every assessment committed before the lock was granted
+    IF EXISTS (SELECT 1 FROM risk_assessments WHERE transaction_id = NEW.transaction_id AND id <> NEW.id) THEN
+        RAISE EXCEPTION 'Transaction % already has an assessment', NEW.transaction_id
+            USING ERRCODE = 'unique_violation';
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM risk_assessments WHERE id = NEW.id) THEN
+        RAISE EXCEPTION 'Assessment % already exists', NEW.id
+            USING ERRCODE = 'unique_violation';
+    END IF;
+
+    RETURN NEW;
+END;
+$$;
+
+-- Row triggers on a partitioned table are cloned onto every partition, including those created later
+CREATE TRIGGER one_assessment_per_transaction
+    BEFORE INSERT
+    ON risk_assessments
+    FOR EACH ROW
+EXECUTE FUNCTION guard_one_assessment_per_transaction();
@@ -0,0 +1,135 @@
+-- A row lands in its table's default partition when no monthly partition covered its month at insert time. V6 left
+-- such rows there for good: creating the month was skipped with a warning, and retention dropped monthly partitions
+-- only. Creating a month now moves its rows out of the default partition, retention deletes expired rows from it as
+-- well, and default_partition_rows lets partition maintenance report what is left.
+
+-- The column a range-partitioned table is partitioned by
+CREATE FUNCTION partition_key_column(parent TEXT)
+    RETURNS NAME
+    LANGUAGE sql
+    STABLE
+AS
+$$
+SELECT a.attname
+FROM pg_partitioned_table p
+         JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0]
+WHERE p.partrelid = quote_ident(parent)::REGCLASS
+$$;
+
+-- The default partition of a partitioned table, NULL if it has none
+CREATE FUNCTION default_partition(parent TEXT)
+    RETURNS REGCLASS
+    LANGUAGE sql
+    STABLE
+AS
+$$
+SELECT NULLIF(p.partdefid, 0)::REGCLASS
+FROM pg_partitioned_table p
+WHERE p.partrelid = quote_ident(parent)::REGCLASS
+$$;
+
+-- Creates <parent>_pYYYY_MM partitions for the given number of months from from_month, skipping existing ones. A month
+-- whose rows sit in the default partition is created as a plain table, filled with those rows and then attached.
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent TEXT, from_month DATE, months INTEGER)
+    RETURNS INTEGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    key_column    NAME     := partition_key_column(parent);
+    default_table REGCLASS := default_partition(parent);
+    month_start   DATE;
+    lower_bound   TEXT;
+    upper_bound   TEXT;
+    partition     TEXT;
+    stranded      BOOLEAN;
+    created       INTEGER  := 0;
+BEGIN
+    FOR i IN 0..months - 1
+        LOOP
+            month_start := (date_trunc('month', from_month) + make_interval(months => i))::DATE;
+            partition := parent || '_p' || to_char(month_start, 'YYYY_MM');
+
+            CONTINUE WHEN to_regclass(quote_ident(partition)) IS NOT NULL;
+
+            -- The +00 offset makes timestamptz bounds UTC months; timestamp bounds ignore it
+            lower_bound := to_char(month_start, 'YYYY-MM-DD') || ' 00:00:00+00';
+            upper_bound := to_char((month_start + INTERVAL '1 month')::DATE, 'YYYY-MM-DD') || ' 00:00:00+00';
+
+            stranded := false;
+            IF default_table IS NOT NULL THEN
+                EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s WHERE %I >= %L AND %I < %L)',
+                               default_table, key_column, lower_bound, key_column, upper_bound)
+                    INTO stranded;
+            END IF;
+
+            IF stranded THEN
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition, parent);
+                EXECUTE format('WITH moved AS (DELETE FROM %s WHERE %I >= %L AND %I < %L RETURNING *) '
+                                   || 'INSERT INTO %I SELECT * FROM moved',
+                               default_table, key_column, lower_bound, key_column, upper_bound, partition);
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               parent, partition, lower_bound, upper_bound);
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               partition, parent, lower_bound, upper_bound);
+            END IF;
+
+            created := created + 1;
+        END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Drops the <parent>_pYYYY_MM partitions whose month ends on or before the given date, and deletes the rows before
+-- that date from the default partition
+CREATE OR REPLACE FUNCTION drop_monthly_partitions_before(parent TEXT, before DATE)
+    RETURNS INTEGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    default_table REGCLASS := default_partition(parent);
+    partition     RECORD;
+    dropped       INTEGER  := 0;
+BEGIN
+    FOR partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = quote_ident(parent)::REGCLASS
+          AND c.relname ~ ('^' || parent || '_p\d{4}_\d{2}$')
+          AND to_date(right(c.relname, 7), 'YYYY_MM') + INTERVAL '1 month' <= before
+        LOOP
+            EXECUTE format('DROP TABLE %I', partition.relname);
+            dropped := dropped + 1;
+        END LOOP;
+
+    IF default_table IS NOT NULL THEN
+        EXECUTE format('DELETE FROM %s WHERE %I < %L', default_table, partition_key_column(parent),
+                       to_char(before, 'YYYY-MM-DD') || ' 00:00:00+00');
+    END IF;
+
+    RETURN dropped;
+END;
+$$;
+
+-- How many rows of a partitioned table sit in its default partition
+CREATE FUNCTION default_partition_rows(parent TEXT)
+    RETURNS BIGINT
+    LANGUAGE plpgsql
+    STABLE
+AS
+$$
+DECLARE
+    default_table REGCLASS := default_partition(parent);
+    row_count     BIGINT   := 0;
+BEGIN
+    IF default_table IS NOT NULL THEN
+        EXECUTE format('SELECT count(*) FROM %s', default_table) INTO row_count;
+    END IF;
+
+    RETURN row_count;
+END;
+$$;
@@ -0,0 +1,25 @@
+-- Stores the catalogue id of the rule an evaluation was raised by, which id, the row's surrogate key, never was. Rows
+-- written before are backfilled from their rule name; a name the catalogue no longer has keeps a null rule id.
+ALTER TABLE rule_evaluations
+    ADD COLUMN rule_id VARCHAR(100);
+
+UPDATE rule_evaluations r
+SET rule_id = c.rule_id
+FROM (VALUES ('VELOCITY_5MIN', 'Medium Velocity 5min'),
+             ('VELOCITY_1HOUR', 'High Velocity 1hr'),
+             ('VELOCITY_24HOURS', 'Excessive Velocity 24hrs'),
+             ('RAPID_SUCCESSION', 'Rapid Succession 2min'),
+             ('CARD_TESTING', 'Card Testing'),
+             ('DEVICE_SHARED_ACCOUNTS', 'Device Shared Accounts'),
+             ('DEVICE_VELOCITY', 'Device Velocity 1hr'),
+             ('IMPOSSIBLE_TRAVEL', 'Impossible Travel'),
+             ('UNFAMILIAR_LOCATION', 'Unfamiliar Location'),
+             ('HIGH_RISK_ZONE', 'High Risk Zone'),
+             ('LARGE_AMOUNT', 'Large Amount'),
+             ('VERY_LARGE_AMOUNT', 'Very Large Amount'),
+             ('EXCESSIVELY_LARGE_AMOUNT', 'Excessively Large Amount'),
+             ('PROBE_THEN_LARGE_SPEND', 'Probe Then Large Spend'),
+             ('AMOUNT_ANOMALY', 'Amount Anomaly'),
+             ('OFF_HOURS_ACTIVITY', 'Off Hours Activity'),
+             ('FRAUD_RING', 'Fraud Ring')) AS c (rule_id, rule_name)
+WHERE r.rule_name = c.rule_name;
@@ -0,0 +1,4 @@
+-- Amount bounds are compared only with amounts in the searched currency, so the currency leads the amount index.
+DROP INDEX idx_amount_value_keyset;
+
+CREATE INDEX idx_amount_currency_value_keyset ON risk_assessments (amount_currency, amount_value) INCLUDE (assessment_time, id);
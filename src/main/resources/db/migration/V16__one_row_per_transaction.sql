@@ -0,0 +1,62 @@
+-- Since V6 the primary key of transaction is (id, timestamp), so a transaction saved again with a corrected or
+-- re-serialised timestamp conflicted with nothing and was inserted as a second row. As for assessments in V12, writers
+-- now serialize on a transaction-scoped advisory lock per id, taken by the trigger below. The trigger replaces a row
+-- stored under another timestamp with the new one, keeping its created_at and bumping its revision as the upsert's
+-- ON CONFLICT update would.
+
+-- Keeps the latest row of every transaction that was stored under more than one timestamp before the guard existed
+CREATE TEMPORARY TABLE superseded_transaction ON COMMIT DROP AS
+SELECT id, timestamp
+FROM (SELECT id,
+             timestamp,
+             row_number() OVER (PARTITION BY id ORDER BY updated_at DESC NULLS LAST, timestamp DESC) AS position
+      FROM transaction) ranked
+WHERE position > 1;
+
+DELETE FROM transaction t
+    USING superseded_transaction s
+WHERE t.id = s.id
+  AND t.timestamp = s.timestamp;
+
+-- The lock key a transaction's rows are written under
+CREATE FUNCTION transaction_lock_key(transaction_id UUID)
+    RETURNS BIGINT
+    LANGUAGE sql
+    IMMUTABLE
+AS
+$$
+SELECT hashtextextended('transaction:' || transaction_id::TEXT, 0)
+$$;
+
+CREATE FUNCTION guard_one_row_per_transaction()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    replaced RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(transaction_lock_key(NEW.id));
+
+    -- Under READ COMMITTED this statement sees every row committed before the lock was granted. A row under the same
+    -- timestamp is left to the upsert's ON CONFLICT clause.
+    DELETE FROM transaction
+    WHERE id = NEW.id
+      AND timestamp <> NEW.timestamp
+    RETURNING created_at, revision INTO replaced;
+
+    IF FOUND THEN
+        NEW.created_at := replaced.created_at;
+        NEW.revision := replaced.revision + 1;
+    END IF;
+
+    RETURN NEW;
+END;
+$$;
+
+-- Row triggers on a partitioned table are cloned onto every partition, including those created later
+CREATE TRIGGER one_row_per_transaction
+    BEFORE INSERT
+    ON transaction
+    FOR EACH ROW
+EXECUTE FUNCTION guard_one_row_per_transaction();
@@ -0,0 +1,3 @@
+-- Records why the ML stage was not called when the scoring cascade decided the outcome without it
+ALTER TABLE risk_assessments
+    ADD COLUMN ml_skip_reason VARCHAR(40);
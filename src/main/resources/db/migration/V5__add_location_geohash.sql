@@ -0,0 +1,57 @@
+-- Geohash storage key (precision 12, interleaved longitude/latitude bits) so proximity lookups are index range scans
+ALTER TABLE location
+    ADD COLUMN geohash BIGINT;
+
+-- Mirrors Geohash.encode(latitude, longitude, 12).toStorageKey(); only needed to backfill existing rows
+CREATE FUNCTION pg_temp.geohash_storage_key(latitude DOUBLE PRECISION, longitude DOUBLE PRECISION)
+    RETURNS BIGINT
+    LANGUAGE plpgsql
+    IMMUTABLE
+AS
+$$
+DECLARE
+    min_latitude  DOUBLE PRECISION := -90.0;
+    max_latitude  DOUBLE PRECISION := 90.0;
+    min_longitude DOUBLE PRECISION := -180.0;
+    max_longitude DOUBLE PRECISION := 180.0;
+    mid           DOUBLE PRECISION;
+    bits          BIGINT           := 0;
+BEGIN
+    FOR i IN 0..59
+        LOOP
+            bits := bits << 1;
+
+            IF i % 2 = 0 THEN
+                mid := (min_longitude + max_longitude) / 2;
+                IF longitude >= mid THEN
+                    bits := bits | 1;
+                    min_longitude := mid;
+                ELSE
+                    max_longitude := mid;
+                END IF;
+            ELSE
+                mid := (min_latitude + max_latitude) / 2;
+                IF latitude >= mid THEN
+                    bits := bits | 1;
+                    min_latitude := mid;
+                ELSE
+                    max_latitude := mid;
+                END IF;
+            END IF;
+        END LOOP;
+
+    RETURN bits;
+END;
+$$;
+
+UPDATE location
+SET geohash = pg_temp.geohash_storage_key(latitude, longitude);
+
+DROP FUNCTION pg_temp.geohash_storage_key(DOUBLE PRECISION, DOUBLE PRECISION);
+
+ALTER TABLE location
+    ALTER COLUMN geohash SET NOT NULL;
+
+-- A composite (latitude, longitude) B-tree can only range-scan on latitude; the geohash key covers both axes
+DROP INDEX IF EXISTS idx_location_coordinates;
+CREATE INDEX idx_location_geohash ON location (geohash);
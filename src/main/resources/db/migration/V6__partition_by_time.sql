@@ -0,0 +1,228 @@
+-- Range-partitions the transaction tables on the transaction timestamp and the assessment tables on assessment_time,
+-- one partition per calendar month (UTC), so retention drops whole partitions instead of deleting rows and time-range
+-- queries touch only the months they cover.
+--
+-- Primary keys on a partitioned table must include the partition key, so the child tables carry their parent's
+-- timestamp and the foreign keys to transaction and risk_assessments are gone: they could only reference the composite
+-- keys, and retention drops the parent and child partitions of a month together. risk_assessments.transaction_id is
+-- no longer unique across partitions; it stays indexed.
+
+-- Creates <parent>_pYYYY_MM partitions for the given number of months from from_month, skipping existing ones. A
+-- month whose rows already sit in the default partition is left to the default partition with a warning.
+CREATE FUNCTION create_monthly_partitions(parent TEXT, from_month DATE, months INTEGER)
+    RETURNS INTEGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    month_start DATE;
+    month_end   DATE;
+    partition   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    FOR i IN 0..months - 1
+        LOOP
+            month_start := (date_trunc('month', from_month) + make_interval(months => i))::DATE;
+            month_end := (month_start + INTERVAL '1 month')::DATE;
+            partition := parent || '_p' || to_char(month_start, 'YYYY_MM');
+
+            CONTINUE WHEN to_regclass(quote_ident(partition)) IS NOT NULL;
+
+            BEGIN
+                -- The +00 offset makes timestamptz bounds UTC months; timestamp bounds ignore it
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)', partition, parent,
+                               to_char(month_start, 'YYYY-MM-DD') || ' 00:00:00+00',
+                               to_char(month_end, 'YYYY-MM-DD') || ' 00:00:00+00');
+                created := created + 1;
+            EXCEPTION
+                WHEN check_violation THEN
+                    RAISE WARNING 'Skipping partition %: the default partition of % holds rows for that month', partition, parent;
+            END;
+        END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Drops the <parent>_pYYYY_MM partitions whose month ends on or before the given date
+CREATE FUNCTION drop_monthly_partitions_before(parent TEXT, before DATE)
+    RETURNS INTEGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    partition RECORD;
+    dropped   INTEGER := 0;
+BEGIN
+    FOR partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = quote_ident(parent)::REGCLASS
+          AND c.relname ~ ('^' || parent || '_p\d{4}_\d{2}$')
+          AND to_date(right(c.relname, 7), 'YYYY_MM') + INTERVAL '1 month' <= before
+        LOOP
+            EXECUTE format('DROP TABLE %I', partition.relname);
+            dropped := dropped + 1;
+        END LOOP;
+
+    RETURN dropped;
+END;
+$$;
+
+ALTER TABLE rule_evaluations RENAME TO rule_evaluations_unpartitioned;
+ALTER TABLE risk_assessments RENAME TO risk_assessments_unpartitioned;
+ALTER TABLE location RENAME TO location_unpartitioned;
+ALTER TABLE merchant RENAME TO merchant_unpartitioned;
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+
+-- Keeps the rule evaluation id sequence, and its position, when the old table is dropped
+ALTER SEQUENCE rule_evaluations_id_seq OWNED BY NONE;
+
+CREATE TABLE transaction
+(
+    id              UUID           NOT NULL,
+    account_id      VARCHAR(255)   NOT NULL,
+    amount_value    DECIMAL(19, 4) NOT NULL,
+    amount_currency VARCHAR(3)     NOT NULL,
+    type            VARCHAR(50)    NOT NULL,
+    channel         VARCHAR(50)    NOT NULL,
+    device_id       VARCHAR(255),
+    timestamp       TIMESTAMP      NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE,
+    updated_at      TIMESTAMP WITH TIME ZONE,
+    revision        INTEGER        NOT NULL,
+
+    CONSTRAINT chk_transaction_type CHECK (type IN ('PURCHASE', 'ATM_WITHDRAWAL', 'TRANSFER', 'PAYMENT', 'REFUND')),
+    CONSTRAINT chk_channel CHECK (channel IN ('CARD', 'ACH', 'WIRE', 'MOBILE', 'ONLINE', 'POS', 'ATM'))
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE merchant
+(
+    id                    VARCHAR(255) NOT NULL,
+    name                  VARCHAR(255) NOT NULL,
+    category              VARCHAR(100),
+    transaction_id        UUID         NOT NULL,
+    transaction_timestamp TIMESTAMP    NOT NULL
+) PARTITION BY RANGE (transaction_timestamp);
+
+CREATE TABLE location
+(
+    transaction_id        UUID             NOT NULL,
+    transaction_timestamp TIMESTAMP        NOT NULL,
+    latitude              DOUBLE PRECISION NOT NULL,
+    longitude             DOUBLE PRECISION NOT NULL,
+    geohash               BIGINT           NOT NULL,
+    country               VARCHAR(100),
+    city                  VARCHAR(100)
+) PARTITION BY RANGE (transaction_timestamp);
+
+CREATE TABLE risk_assessments
+(
+    id                 UUID                     NOT NULL,
+    transaction_id     UUID                     NOT NULL,
+    risk_score_value   INTEGER                  NOT NULL CHECK (risk_score_value >= 0 AND risk_score_value <= 100),
+    risk_level         VARCHAR(20)              NOT NULL,
+    decision           VARCHAR(20)              NOT NULL,
+    ml_prediction_json JSONB,
+    ml_skip_reason     VARCHAR(40),
+    assessment_time    TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at         TIMESTAMP WITH TIME ZONE,
+    updated_at         TIMESTAMP WITH TIME ZONE,
+    revision           INTEGER                  NOT NULL
+) PARTITION BY RANGE (assessment_time);
+
+CREATE TABLE rule_evaluations
+(
+    id              BIGINT                   NOT NULL DEFAULT nextval('rule_evaluations_id_seq'),
+    assessment_id   UUID                     NOT NULL,
+    assessment_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    rule_name       VARCHAR(100)             NOT NULL,
+    rule_type       VARCHAR(20)              NOT NULL,
+    score_impact    INTEGER                  NOT NULL,
+    description     TEXT
+) PARTITION BY RANGE (assessment_time);
+
+ALTER SEQUENCE rule_evaluations_id_seq OWNED BY rule_evaluations.id;
+
+-- Monthly partitions from the oldest stored row through three months ahead; later months are created by the
+-- application's partition maintenance
+DO
+$$
+DECLARE
+    first_month   DATE := date_trunc('month', LEAST((SELECT min(timestamp) FROM transaction_unpartitioned),
+                                                    (SELECT min(assessment_time) AT TIME ZONE 'UTC' FROM risk_assessments_unpartitioned),
+                                                    now() AT TIME ZONE 'UTC'));
+    current_month DATE := date_trunc('month', now() AT TIME ZONE 'UTC');
+    months        INTEGER;
+BEGIN
+    months := (extract(YEAR FROM age(current_month, first_month)) * 12 + extract(MONTH FROM age(current_month, first_month)))::INTEGER + 4;
+
+    PERFORM create_monthly_partitions(parent, first_month, months)
+    FROM unnest(ARRAY ['transaction', 'merchant', 'location', 'risk_assessments', 'rule_evaluations']) AS parent;
+END;
+$$;
+
+-- Rows outside every monthly partition (clock skew, far-future or very old backfills) land here
+CREATE TABLE transaction_default PARTITION OF transaction DEFAULT;
+CREATE TABLE merchant_default PARTITION OF merchant DEFAULT;
+CREATE TABLE location_default PARTITION OF location DEFAULT;
+CREATE TABLE risk_assessments_default PARTITION OF risk_assessments DEFAULT;
+CREATE TABLE rule_evaluations_default PARTITION OF rule_evaluations DEFAULT;
+
+INSERT INTO transaction (id, account_id, amount_value, amount_currency, type, channel, device_id, timestamp,
+                         created_at, updated_at, revision)
+SELECT id, account_id, amount_value, amount_currency, type, channel, device_id, timestamp,
+       created_at, updated_at, revision
+FROM transaction_unpartitioned;
+
+INSERT INTO merchant (id, name, category, transaction_id, transaction_timestamp)
+SELECT m.id, m.name, m.category, m.transaction_id, t.timestamp
+FROM merchant_unpartitioned m
+         JOIN transaction_unpartitioned t ON t.id = m.transaction_id;
+
+INSERT INTO location (transaction_id, transaction_timestamp, latitude, longitude, geohash, country, city)
+SELECT l.transaction_id, t.timestamp, l.latitude, l.longitude, l.geohash, l.country, l.city
+FROM location_unpartitioned l
+         JOIN transaction_unpartitioned t ON t.id = l.transaction_id;
+
+INSERT INTO risk_assessments (id, transaction_id, risk_score_value, risk_level, decision, ml_prediction_json,
+                              ml_skip_reason, assessment_time, created_at, updated_at, revision)
+SELECT id, transaction_id, risk_score_value, risk_level, decision, ml_prediction_json,
+       ml_skip_reason, assessment_time, created_at, updated_at, revision
+FROM risk_assessments_unpartitioned;
+
+INSERT INTO rule_evaluations (id, assessment_id, assessment_time, rule_name, rule_type, score_impact, description)
+SELECT r.id, r.assessment_id, a.assessment_time, r.rule_name, r.rule_type, r.score_impact, r.description
+FROM rule_evaluations_unpartitioned r
+         JOIN risk_assessments_unpartitioned a ON a.id = r.assessment_id;
+
+DROP TABLE rule_evaluations_unpartitioned;
+DROP TABLE risk_assessments_unpartitioned;
+DROP TABLE location_unpartitioned;
+DROP TABLE merchant_unpartitioned;
+DROP TABLE transaction_unpartitioned;
+
+ALTER TABLE transaction
+    ADD PRIMARY KEY (id, timestamp);
+ALTER TABLE merchant
+    ADD PRIMARY KEY (id, transaction_id, transaction_timestamp);
+ALTER TABLE location
+    ADD PRIMARY KEY (transaction_id, transaction_timestamp);
+ALTER TABLE risk_assessments
+    ADD PRIMARY KEY (id, assessment_time);
+ALTER TABLE rule_evaluations
+    ADD PRIMARY KEY (id, assessment_time);
+
+CREATE INDEX idx_transaction_account_id ON transaction (account_id);
+CREATE INDEX idx_transaction_timestamp ON transaction (timestamp);
+CREATE INDEX idx_transaction_device_id ON transaction (device_id);
+CREATE INDEX idx_transaction_account_id_timestamp ON transaction (account_id, timestamp);
+CREATE INDEX idx_merchant_transaction_id ON merchant (transaction_id);
+CREATE INDEX idx_location_geohash ON location (geohash);
+
+CREATE INDEX idx_transaction_id ON risk_assessments (transaction_id);
+CREATE INDEX idx_assessment_time ON risk_assessments (assessment_time);
+CREATE INDEX idx_risk_level ON risk_assessments (risk_level);
+CREATE INDEX idx_decision ON risk_assessments (decision);
+CREATE INDEX idx_assessment_rules ON rule_evaluations (assessment_id);
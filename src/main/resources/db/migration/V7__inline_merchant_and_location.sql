@@ -0,0 +1,52 @@
+-- Stores the merchant and location on the transaction row, so a save is one insert and account history is a
+-- single-table range scan. The per-transaction merchant and location tables are replaced by a merchant dimension
+-- holding each merchant once, with its latest name and category.
+ALTER TABLE transaction
+    ADD COLUMN merchant_id       VARCHAR(255),
+    ADD COLUMN merchant_name     VARCHAR(255),
+    ADD COLUMN merchant_category VARCHAR(100),
+    ADD COLUMN latitude          DOUBLE PRECISION,
+    ADD COLUMN longitude         DOUBLE PRECISION,
+    ADD COLUMN geohash           BIGINT,
+    ADD COLUMN country           VARCHAR(100),
+    ADD COLUMN city              VARCHAR(100);
+
+UPDATE transaction t
+SET merchant_id       = m.id,
+    merchant_name     = m.name,
+    merchant_category = m.category
+FROM merchant m
+WHERE m.transaction_id = t.id
+  AND m.transaction_timestamp = t.timestamp;
+
+UPDATE transaction t
+SET latitude  = l.latitude,
+    longitude = l.longitude,
+    geohash   = l.geohash,
+    country   = l.country,
+    city      = l.city
+FROM location l
+WHERE l.transaction_id = t.id
+  AND l.transaction_timestamp = t.timestamp;
+
+ALTER TABLE merchant RENAME TO merchant_per_transaction;
+
+CREATE TABLE merchant
+(
+    id            VARCHAR(255) PRIMARY KEY,
+    name          VARCHAR(255)             NOT NULL,
+    category      VARCHAR(100),
+    first_seen_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at    TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO merchant (id, name, category, first_seen_at, updated_at)
+SELECT DISTINCT ON (id) id, name, category, now(), now()
+FROM merchant_per_transaction
+ORDER BY id, transaction_timestamp DESC;
+
+DROP TABLE merchant_per_transaction;
+DROP TABLE location;
+
+-- Proximity lookups range-scan the geohash key; transactions without a location are left out of the index
+CREATE INDEX idx_transaction_geohash ON transaction (geohash) WHERE geohash IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Assessment searches page by (assessment_time, id), newest first. Each index ends in that key, so the page after a
+-- cursor is a backward range scan, within one risk level or across all of them, instead of an offset that reads and
+-- discards every earlier row. The single-column indexes are prefixes of the new ones.
+DROP INDEX idx_assessment_time;
+DROP INDEX idx_risk_level;
+
+CREATE INDEX idx_assessment_time_id ON risk_assessments (assessment_time, id);
+CREATE INDEX idx_risk_level_assessment_time_id ON risk_assessments (risk_level, assessment_time, id);
@@ -0,0 +1,12 @@
+-- Copies the account onto its assessments, so an account's assessment history is one index range scan instead of a
+-- join to transaction on transaction_id. Assessments whose transaction was never stored keep a null account.
+ALTER TABLE risk_assessments
+    ADD COLUMN account_id VARCHAR(255);
+
+UPDATE risk_assessments a
+SET account_id = t.account_id
+FROM transaction t
+WHERE t.id = a.transaction_id;
+
+-- id breaks ties between assessments of the same instant, so a page of an account's history is a keyset range
+CREATE INDEX idx_risk_assessments_account_time ON risk_assessments (account_id, assessment_time DESC, id DESC);
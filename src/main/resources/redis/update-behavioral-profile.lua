@@ -0,0 +1,46 @@
+-- Folds one transaction into an account's behavioral profile hash.
+-- KEYS[1] profile hash
+-- ARGV[1] base-currency amount, ARGV[2] epoch millis, ARGV[3] rate time constant millis, ARGV[4] ttl millis,
+-- ARGV[5] hour field, ARGV[6] channel field, ARGV[7] category field (may be empty)
+local key = KEYS[1]
+local amount = tonumber(ARGV[1])
+local now = tonumber(ARGV[2])
+local tau = tonumber(ARGV[3])
+
+local state = redis.call('HMGET', key, 'n', 'mean', 'm2', 'rate', 'last')
+local n = tonumber(state[1]) or 0
+local mean = tonumber(state[2]) or 0
+local m2 = tonumber(state[3]) or 0
+local rate = tonumber(state[4]) or 0
+local last = tonumber(state[5]) or now
+
+-- Welford's online mean and sum of squared deviations
+n = n + 1
+local delta = amount - mean
+mean = mean + delta / n
+m2 = m2 + delta * (amount - mean)
+
+-- Exponentially decayed transaction count as of the latest transaction; a late arrival adds its decayed weight
+if now >= last then
+    rate = rate * math.exp(-(now - last) / tau) + 1
+    last = now
+else
+    rate = rate + math.exp(-(last - now) / tau)
+end
+
+redis.call('HSET', key,
+        'n', n,
+        'mean', string.format('%.17g', mean),
+        'm2', string.format('%.17g', m2),
+        'rate', string.format('%.17g', rate),
+        'last', string.format('%d', last))
+
+for i = 5, 7 do
+    if ARGV[i] ~= '' then
+        redis.call('HINCRBY', key, ARGV[i], 1)
+    end
+end
+
+redis.call('PEXPIRE', key, ARGV[4])
+
+return n
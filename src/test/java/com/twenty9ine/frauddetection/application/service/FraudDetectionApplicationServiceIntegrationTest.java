@@ -4,12 +4,14 @@ import com.twenty9ine.frauddetection.application.dto.LocationDto;
 import com.twenty9ine.frauddetection.application.dto.PagedResultDto;
 import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
 import com.twenty9ine.frauddetection.application.port.in.command.AssessTransactionRiskCommand;
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
 import com.twenty9ine.frauddetection.application.port.in.query.FindRiskLeveledAssessmentsQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.GetRiskAssessmentQuery;
 import com.twenty9ine.frauddetection.application.port.in.query.PageRequestQuery;
 import com.twenty9ine.frauddetection.application.port.out.MLServicePort;
 import com.twenty9ine.frauddetection.application.port.out.RiskAssessmentRepository;
 import com.twenty9ine.frauddetection.application.port.out.VelocityServicePort;
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
 import com.twenty9ine.frauddetection.infrastructure.adapter.kafka.RiskAssessmentCompletedAvro;
 import io.apicurio.registry.serde.SerdeConfig;
@@ -175,7 +177,7 @@ public class FraudDetectionApplicationServiceIntegrationTest {
         @DisplayName("Should assess low risk transaction and return ALLOW decision")
         void shouldAssessLowRiskTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             // When
@@ -197,14 +199,14 @@ public class FraudDetectionApplicationServiceIntegrationTest {
             assertThat(result.riskScore()).isLessThanOrEqualTo(expectedFinalScore);
             assertThat(result.transactionRiskLevel()).isEqualTo(expectedTransactionRiskLevel);
             assertThat(result.decision()).isEqualTo(expectedDecision);
-            verify(mlServicePort).predict(any(Transaction.class));
+            verify(mlServicePort).predict(any(AssessmentContext.class));
         }
 
         @Test
         @DisplayName("Should assess medium risk transaction and return CHALLENGE decision")
         void shouldAssessMediumRiskTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockMediumRiskPrediction());
 
             // When
@@ -232,7 +234,7 @@ public class FraudDetectionApplicationServiceIntegrationTest {
         @DisplayName("Should assess high risk transaction and return REVIEW decision")
         void shouldAssessHighRiskTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockHighRiskPrediction());
 
 
@@ -261,7 +263,7 @@ public class FraudDetectionApplicationServiceIntegrationTest {
         @DisplayName("Should assess critical risk transaction and return BLOCK decision")
         void shouldAssessCriticalRiskTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockCriticalRiskPrediction());
 
             // When
@@ -294,7 +296,7 @@ public class FraudDetectionApplicationServiceIntegrationTest {
         @DisplayName("Should detect high velocity in 5 minute window")
         void shouldDetectHighVelocity5Minutes() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockMediumRiskPrediction());
 
             String accountId = "ACC-VEL-001";
@@ -348,7 +350,7 @@ public class FraudDetectionApplicationServiceIntegrationTest {
         @DisplayName("Should persist and retrieve risk assessment")
         void shouldPersistAndRetrieveAssessment() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -367,7 +369,7 @@ public class FraudDetectionApplicationServiceIntegrationTest {
         @DisplayName("Should find risk assessments by level and time")
         void shouldFindRiskAssessmentsByLevelAndTime() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockHighRiskPrediction());
 
             Instant now = Instant.now();
@@ -394,6 +396,40 @@ public class FraudDetectionApplicationServiceIntegrationTest {
             assertThat(result.content()).hasSize(3)
                     .allMatch(dto -> dto.transactionRiskLevel() == TransactionRiskLevel.HIGH);
         }
+
+        @Test
+        @DisplayName("Should record journaled risk assessments in one batch")
+        void shouldRecordJournaledAssessments() {
+            // Given
+            List<RecordAssessmentCommand> commands = new ArrayList<>();
+
+            for (int i = 0; i < 2; i++) {
+                Transaction transaction = Transaction.builder()
+                        .id(TransactionId.generate())
+                        .accountId("ACC-JOURNAL-" + i)
+                        .amount(new Money(new BigDecimal("25.00"), Currency.getInstance("USD")))
+                        .type(TransactionType.PURCHASE)
+                        .channel(Channel.ONLINE)
+                        .merchant(new Merchant(MerchantId.of("MER-JOURNAL"), "Journal Store", MerchantCategory.RETAIL))
+                        .location(Location.of(40.7128, -74.0060, "US", "New York"))
+                        .deviceId("DEV-JOURNAL")
+                        .timestamp(Instant.now())
+                        .build();
+                RiskAssessment assessment = new RiskAssessment(transaction, RiskScore.of(20), List.of(), mockLowRiskPrediction(), null);
+                assessment.completeAssessment(Decision.ALLOW);
+                commands.add(new RecordAssessmentCommand(transaction, assessment));
+            }
+
+            // When
+            applicationService.recordAll(commands);
+
+            // Then
+            assertRiskAssessmentsArePresent(commands.stream().map(command -> command.transaction().id()).toList());
+            assertRiskAssessmentCompletedAvroPublished(commands.getFirst().transaction().id(),
+                    commands.getFirst().assessment().getAssessmentId().toUUID(), 20, TransactionRiskLevel.LOW, Decision.ALLOW);
+            assertThat(commands).allMatch(command -> command.assessment().getDomainEvents().isEmpty());
+            assertVelocityMetricsIsPresent(commands.getFirst().transaction());
+        }
     }
 
     private void assertRiskAssessmentIsPresent(TransactionId transactionId) {
@@ -139,7 +139,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should successfully process and persist a valid transaction")
         void shouldProcessAndPersistTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -162,7 +162,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should trigger risk assessment when processing transaction")
         void shouldTriggerRiskAssessment() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockMediumRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -183,7 +183,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should increment velocity counters after processing")
         void shouldIncrementVelocityCounters() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -205,7 +205,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should process transaction with location data")
         void shouldProcessTransactionWithLocation() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -234,7 +234,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should process multiple transactions for same account")
         void shouldProcessMultipleTransactionsForAccount() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             String accountId = "ACC-MULTI-001";
@@ -258,7 +258,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should accumulate velocity metrics across transactions")
         void shouldAccumulateVelocityMetrics() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             String accountId = "ACC-VEL-ACCUM-001";
@@ -291,7 +291,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should process PURCHASE transaction")
         void shouldProcessPurchaseTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -309,7 +309,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should process TRANSFER transaction")
         void shouldProcessTransferTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockMediumRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -327,7 +327,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should process transaction through MOBILE channel")
         void shouldProcessMobileChannelTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
@@ -345,7 +345,7 @@ class ProcessTransactionApplicationServiceIntegrationTest {
         @DisplayName("Should process transaction through ONLINE channel")
         void shouldProcessOnlineChannelTransaction() {
             // Given
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockLowRiskPrediction());
 
             UUID transactionId = UUID.randomUUID();
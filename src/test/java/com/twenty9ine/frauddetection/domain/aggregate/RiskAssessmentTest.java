@@ -149,6 +149,20 @@ class RiskAssessmentTest {
             assertThat(assessment.getDomainEvents().get(1)).isInstanceOf(HighRiskDetected.class);
         }
 
+        @Test
+        @DisplayName("Should stamp the domain events with the time of the decision")
+        void shouldStampDomainEventsWithDecisionTime() {
+            Instant decidedAt = Instant.parse("2026-03-01T10:15:30Z");
+            RiskAssessment assessment = new RiskAssessment(TransactionId.generate(), new RiskScore(80));
+
+            assessment.completeAssessment(Decision.BLOCK, decidedAt);
+
+            assertThat(assessment.getDomainEvents())
+                    .hasSize(2)
+                    .extracting(DomainEvent::getOccurredAt)
+                    .containsOnly(decidedAt);
+        }
+
         @Test
         @DisplayName("Should complete assessment with high risk and review decision")
         void shouldCompleteAssessmentWithHighRiskAndReview() {
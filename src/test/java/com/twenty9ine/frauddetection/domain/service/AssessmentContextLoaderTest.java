@@ -0,0 +1,76 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import com.twenty9ine.frauddetection.application.port.out.BehavioralProfilePort;
+import com.twenty9ine.frauddetection.application.port.out.FraudRingPort;
+import com.twenty9ine.frauddetection.application.port.out.HabitualLocationPort;
+import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssessmentContextLoaderTest {
+
+    private static final Duration LOOKBACK = Duration.ofDays(30);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private HabitualLocationPort habitualLocationPort;
+
+    @Mock
+    private BehavioralProfilePort behavioralProfilePort;
+
+    @Mock
+    private FraudRingPort fraudRingPort;
+
+    private AssessmentContextLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new AssessmentContextLoader(transactionRepository, habitualLocationPort, behavioralProfilePort,
+                fraudRingPort, LOOKBACK, 100);
+    }
+
+    @Test
+    void load_shouldBoundTheHistoryWindowByTheTransactionTime() {
+        // Given
+        Instant madeAt = Instant.parse("2026-03-01T10:00:00Z");
+        Transaction transaction = createTransaction("ACC123", madeAt);
+        HistoricalTransaction previous = new HistoricalTransaction(TransactionId.generate(),
+                Money.of(new BigDecimal("20.00"), "USD"), null, null, madeAt.minus(Duration.ofMinutes(3)));
+        when(transactionRepository.findHistoryByAccountId("ACC123", madeAt.minus(LOOKBACK), madeAt, 100))
+                .thenReturn(List.of(previous));
+
+        // When
+        AssessmentContext context = loader.load(transaction);
+
+        // Then
+        assertEquals(madeAt, context.asOf());
+        assertEquals(List.of(previous), context.history());
+        assertEquals(1, context.transactionCountWithin(Duration.ofMinutes(5)));
+    }
+
+    private static Transaction createTransaction(String accountId, Instant timestamp) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId(accountId)
+                .amount(Money.of(new BigDecimal("100.00"), "USD"))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutScopeTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_withBranchWithinBudget_shouldReturnResult() {
+        try (FanOutScope scope = new FanOutScope(executor)) {
+            FanOutScope.Branch<String> branch = scope.fork("fast", () -> "result", Duration.ofSeconds(1));
+
+            assertThat(branch.join(() -> "fallback")).isEqualTo("result");
+        }
+    }
+
+    @Test
+    void join_withBranchOverrunningBudget_shouldCancelAndUseFallback() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = new FanOutScope(executor)) {
+            FanOutScope.Branch<String> branch = scope.fork("slow", () -> sleepUntilInterrupted(interrupted), Duration.ofMillis(50));
+
+            assertThat(branch.join(() -> "fallback")).isEqualTo("fallback");
+        }
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void join_withFailingBranch_shouldPropagateAndCancelSiblingsOnClose() throws InterruptedException {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> {
+            try (FanOutScope scope = new FanOutScope(executor)) {
+                scope.fork("sibling", () -> sleepUntilInterrupted(siblingInterrupted), Duration.ofSeconds(10));
+                FanOutScope.Branch<String> failing = scope.fork("failing", () -> {
+                    throw new IllegalStateException("redis down");
+                }, Duration.ofSeconds(1));
+
+                failing.join(() -> "fallback");
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessage("redis down");
+
+        assertThat(siblingInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void joinOrElse_withFailingBranch_shouldUseFallback() {
+        try (FanOutScope scope = new FanOutScope(executor)) {
+            FanOutScope.Branch<String> branch = scope.fork("ml", () -> {
+                throw new IllegalStateException("model unavailable");
+            }, Duration.ofSeconds(1));
+
+            assertThat(branch.joinOrElse(() -> "fallback")).isEqualTo("fallback");
+        }
+    }
+
+    private static String sleepUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(Duration.ofSeconds(30));
+            return "late";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            return "interrupted";
+        }
+    }
+}
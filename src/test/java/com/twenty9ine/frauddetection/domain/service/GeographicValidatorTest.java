@@ -1,9 +1,8 @@
 package com.twenty9ine.frauddetection.domain.service;
 
-import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
-import com.twenty9ine.frauddetection.domain.valueobject.GeographicContext;
-import com.twenty9ine.frauddetection.domain.valueobject.Location;
-import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
+import com.twenty9ine.frauddetection.application.port.out.LocationHistoryPort;
+import com.twenty9ine.frauddetection.application.port.out.RiskZonePort;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,20 +22,23 @@ import static org.mockito.Mockito.*;
 class GeographicValidatorTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private LocationHistoryPort locationHistory;
+
+    @Mock
+    private RiskZonePort riskZones;
 
     private GeographicValidator validator;
 
     @BeforeEach
     void setUp() {
-        validator = new GeographicValidator(transactionRepository);
+        validator = new GeographicValidator(locationHistory, riskZones);
     }
 
     @Test
     void validate_shouldReturnNormalContext_whenNoPreviousTransaction() {
         // Given
         Transaction transaction = createTransaction("ACC123", Location.of(0.0, 0.0), Instant.now());
-        when(transactionRepository.findEarliestByAccountId("ACC123")).thenReturn(Optional.empty());
+        when(locationHistory.findNearestPriorLocation("ACC123", transaction.timestamp())).thenReturn(Optional.empty());
 
         // When
         GeographicContext result = validator.validate(transaction);
@@ -58,8 +61,7 @@ class GeographicValidatorTest {
         Transaction previousTransaction = createTransaction("ACC123", previousLocation, now.minusSeconds(3600));
         Transaction currentTransaction = createTransaction("ACC123", currentLocation, now);
 
-        when(transactionRepository.findEarliestByAccountId("ACC123"))
-                .thenReturn(Optional.of(previousTransaction));
+        givenPreviousLocation(currentTransaction, previousTransaction);
 
         // When
         GeographicContext result = validator.validate(currentTransaction);
@@ -82,8 +84,7 @@ class GeographicValidatorTest {
         Transaction previousTransaction = createTransaction("ACC123", previousLocation, now.minusSeconds(36000));
         Transaction currentTransaction = createTransaction("ACC123", currentLocation, now);
 
-        when(transactionRepository.findEarliestByAccountId("ACC123"))
-                .thenReturn(Optional.of(previousTransaction));
+        givenPreviousLocation(currentTransaction, previousTransaction);
 
         // When
         GeographicContext result = validator.validate(currentTransaction);
@@ -101,8 +102,7 @@ class GeographicValidatorTest {
         Transaction previousTransaction = createTransaction("ACC123", Location.of(40.7128, -74.0060), now.minusSeconds(3600));
         Transaction currentTransaction = createTransaction("ACC123", Location.of(40.7128, -74.0060), now);
 
-        when(transactionRepository.findEarliestByAccountId("ACC123"))
-                .thenReturn(Optional.of(previousTransaction));
+        givenPreviousLocation(currentTransaction, previousTransaction);
 
         // When
         GeographicContext result = validator.validate(currentTransaction);
@@ -113,6 +113,74 @@ class GeographicValidatorTest {
         assertEquals(0.0, result.travelSpeed());
     }
 
+    @Test
+    void validate_shouldNotDetectImpossibleTravel_whenLocationJittersWithinZeroSeconds() {
+        // Given
+        Instant now = Instant.now();
+        Transaction previousTransaction = createTransaction("ACC123", Location.of(40.7128, -74.0060), now);
+        Transaction currentTransaction = createTransaction("ACC123", Location.of(40.7306, -73.9352), now); // ~6km
+
+        givenPreviousLocation(currentTransaction, previousTransaction);
+
+        // When
+        GeographicContext result = validator.validate(currentTransaction);
+
+        // Then
+        assertFalse(result.isImpossibleTravel());
+        assertTrue(Double.isFinite(result.travelSpeed()));
+    }
+
+    @Test
+    void validate_shouldDetectImpossibleTravel_whenFarAwayWithinZeroSeconds() {
+        // Given
+        Instant now = Instant.now();
+        Transaction previousTransaction = createTransaction("ACC123", Location.of(40.7128, -74.0060), now); // New York
+        Transaction currentTransaction = createTransaction("ACC123", Location.of(51.5074, -0.1278), now); // London
+
+        givenPreviousLocation(currentTransaction, previousTransaction);
+
+        // When
+        GeographicContext result = validator.validate(currentTransaction);
+
+        // Then
+        assertTrue(result.isImpossibleTravel());
+        assertTrue(Double.isFinite(result.travelSpeed()));
+    }
+
+    @Test
+    void validate_shouldNotDetectImpossibleTravel_whenLocationJittersWithinThirtySeconds() {
+        // Given
+        Instant now = Instant.now();
+        Transaction previousTransaction = createTransaction("ACC123", Location.of(40.7128, -74.0060), now.minusSeconds(30));
+        Transaction currentTransaction = createTransaction("ACC123", Location.of(40.7306, -73.9352), now);
+
+        givenPreviousLocation(currentTransaction, previousTransaction);
+
+        // When
+        GeographicContext result = validator.validate(currentTransaction);
+
+        // Then
+        assertFalse(result.isImpossibleTravel());
+        assertTrue(Double.isFinite(result.travelSpeed()));
+    }
+
+    @Test
+    void validate_shouldDetectImpossibleTravel_whenFarAwayWithinThirtySeconds() {
+        // Given
+        Instant now = Instant.now();
+        Transaction previousTransaction = createTransaction("ACC123", Location.of(40.7128, -74.0060), now.minusSeconds(30)); // New York
+        Transaction currentTransaction = createTransaction("ACC123", Location.of(42.3601, -71.0589), now); // Boston (~306km)
+
+        givenPreviousLocation(currentTransaction, previousTransaction);
+
+        // When
+        GeographicContext result = validator.validate(currentTransaction);
+
+        // Then
+        assertTrue(result.isImpossibleTravel());
+        assertEquals(306.0 * 60, result.travelSpeed(), 600.0);
+    }
+
     @Test
     void isImpossibleTravel_shouldReturnTrue_whenSpeedExceedsThreshold() throws Exception {
         // Given
@@ -165,6 +233,34 @@ class GeographicValidatorTest {
         assertEquals(200.0, result);
     }
 
+    @Test
+    void calculateRequiredSpeed_shouldHandleSeconds() throws Exception {
+        // Given
+        Method method = GeographicValidator.class.getDeclaredMethod("calculateRequiredSpeed", double.class, Duration.class);
+        method.setAccessible(true);
+
+        // When
+        double result = (double) method.invoke(null, 10.0, Duration.ofSeconds(90));
+
+        // Then
+        assertEquals(400.0, result, 0.001);
+    }
+
+    @Test
+    void calculateRequiredSpeed_shouldMeasureShortGapsOverOneMinute() throws Exception {
+        // Given
+        Method method = GeographicValidator.class.getDeclaredMethod("calculateRequiredSpeed", double.class, Duration.class);
+        method.setAccessible(true);
+
+        // When
+        double zeroSeconds = (double) method.invoke(null, 10.0, Duration.ZERO);
+        double thirtySeconds = (double) method.invoke(null, 10.0, Duration.ofSeconds(30));
+
+        // Then
+        assertEquals(600.0, zeroSeconds, 0.001);
+        assertEquals(600.0, thirtySeconds, 0.001);
+    }
+
     @Test
     void calculateDisplacement_shouldReturnDistance() throws Exception {
         // Given
@@ -183,36 +279,122 @@ class GeographicValidatorTest {
     @Test
     void calculateBetweenDuration_shouldReturnCorrectDuration() throws Exception {
         // Given
-        Method method = GeographicValidator.class.getDeclaredMethod("calculateBetweenDuration", Transaction.class, Transaction.class);
+        Method method = GeographicValidator.class.getDeclaredMethod("calculateBetweenDuration", Transaction.class, KnownLocation.class);
         method.setAccessible(true);
         Instant now = Instant.now();
         Transaction transaction1 = createTransaction("ACC123", Location.of(0.0, 0.0), now);
         Transaction transaction2 = createTransaction("ACC124", Location.of(0.0, 0.0), now.minusSeconds(3600));
 
         // When
-        Duration result = (Duration) method.invoke(null, transaction1, transaction2);
+        Duration result = (Duration) method.invoke(null, transaction1, KnownLocation.of(transaction2));
 
         // Then
         assertEquals(3600, result.getSeconds());
     }
 
     @Test
-    void findPreviousLocationByAccountId_shouldReturnEmpty_whenNoTransaction() throws Exception {
+    void findPreviousLocation_shouldReturnEmpty_whenNoTransaction() throws Exception {
         // Given
-        Method method = GeographicValidator.class.getDeclaredMethod("findPreviousLocationByAccountId", String.class);
+        Method method = GeographicValidator.class.getDeclaredMethod("findPreviousLocation", Transaction.class);
         method.setAccessible(true);
-        when(transactionRepository.findEarliestByAccountId("ACC123")).thenReturn(Optional.empty());
+        Transaction transaction = createTransaction("ACC123", Location.of(0.0, 0.0), Instant.now());
+        when(locationHistory.findNearestPriorLocation("ACC123", transaction.timestamp())).thenReturn(Optional.empty());
 
         // When
         @SuppressWarnings("unchecked")
-        Optional<Location> result = (Optional<Location>) method.invoke(validator, "ACC123");
+        Optional<KnownLocation> result = (Optional<KnownLocation>) method.invoke(validator, transaction);
 
         // Then
         assertFalse(result.isPresent());
     }
 
+    @Test
+    void validate_shouldReturnNormalContext_whenTransactionHasNoLocation() {
+        // Given
+        Transaction transaction = createTransaction("ACC123", null, Instant.now());
+
+        // When
+        GeographicContext result = validator.validate(transaction);
+
+        // Then
+        assertFalse(result.isImpossibleTravel());
+        verifyNoInteractions(locationHistory, riskZones);
+    }
+
+    @Test
+    void validate_shouldFlagHighRiskZone_evenWithoutPreviousLocation() {
+        // Given
+        Location location = Location.of(10.0, 10.0);
+        Transaction transaction = createTransaction("ACC123", location, Instant.now());
+        RiskZone zone = RiskZone.of("ZONE-1", "Test zone", List.of(new double[][]{{9, 9}, {11, 9}, {11, 11}, {9, 11}}));
+        when(locationHistory.findNearestPriorLocation("ACC123", transaction.timestamp())).thenReturn(Optional.empty());
+        when(riskZones.findZoneContaining(location)).thenReturn(Optional.of(zone));
+
+        // When
+        GeographicContext result = validator.validate(transaction);
+
+        // Then
+        assertTrue(result.isHighRiskZone());
+        assertEquals("ZONE-1", result.highRiskZoneId());
+        assertFalse(result.isImpossibleTravel());
+    }
+
+    @Test
+    void checkFamiliarity_shouldFlagUnfamiliarLocation_whenFarFromEveryHabitualLocation() {
+        // Given
+        Transaction transaction = createTransaction("ACC123", Location.of(51.5074, -0.1278), Instant.now()); // London
+        AssessmentContext context = contextWithHabitualLocations(transaction,
+                new double[]{40.7128, 42.3601}, new double[]{-74.0060, -71.0589}); // New York, Boston
+
+        // When
+        GeographicContext result = validator.checkFamiliarity(GeographicContext.normal(), context);
+
+        // Then
+        assertTrue(result.isUnfamiliarLocation());
+        assertEquals(5270.0, result.habitualDistanceKm(), 50.0);
+    }
+
+    @Test
+    void checkFamiliarity_shouldNotFlag_whenNearHabitualLocation() {
+        // Given
+        Transaction transaction = createTransaction("ACC123", Location.of(40.7306, -73.9352), Instant.now()); // Brooklyn
+        AssessmentContext context = contextWithHabitualLocations(transaction,
+                new double[]{40.7128, 51.5074}, new double[]{-74.0060, -0.1278}); // New York, London
+
+        // When
+        GeographicContext result = validator.checkFamiliarity(GeographicContext.normal(), context);
+
+        // Then
+        assertFalse(result.isUnfamiliarLocation());
+        assertTrue(result.habitualDistanceKm() < 10.0);
+    }
+
+    @Test
+    void checkFamiliarity_shouldKeepContext_whenAccountHasNoHabitualLocations() {
+        // Given
+        Transaction transaction = createTransaction("ACC123", Location.of(51.5074, -0.1278), Instant.now());
+        GeographicContext geographic = GeographicContext.builder().isImpossibleTravel(true).travelSpeed(1500.0).build();
+
+        // When
+        GeographicContext result = validator.checkFamiliarity(geographic, AssessmentContext.withoutHistory(transaction));
+
+        // Then
+        assertSame(geographic, result);
+        assertFalse(result.isUnfamiliarLocation());
+    }
+
+    private static AssessmentContext contextWithHabitualLocations(Transaction transaction, double[] latitudes, double[] longitudes) {
+        return AssessmentContext.of(transaction, List.of(), HabitualLocations.of(latitudes, longitudes), Instant.now());
+    }
+
+    private void givenPreviousLocation(Transaction current, Transaction previous) {
+        when(locationHistory.findNearestPriorLocation(current.accountId(), current.timestamp()))
+                .thenReturn(Optional.of(KnownLocation.of(previous)));
+    }
+
     private Transaction createTransaction(String accountId, Location location, Instant timestamp) {
         return Transaction.builder()
+                .id(TransactionId.generate())
                 .accountId(accountId)
                 .location(location)
                 .timestamp(timestamp)
@@ -1,5 +1,6 @@
 package com.twenty9ine.frauddetection.domain.service;
 
+import com.twenty9ine.frauddetection.application.port.out.LocationHistoryPort;
 import com.twenty9ine.frauddetection.application.port.out.MLServicePort;
 import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
 import com.twenty9ine.frauddetection.application.port.out.VelocityServicePort;
@@ -104,6 +105,9 @@ class RiskScoringServiceIntegrationTest {
     @Autowired
     private VelocityServicePort velocityService;
 
+    @Autowired
+    private LocationHistoryPort locationHistory;
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
@@ -127,7 +131,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for a normal low-risk transaction")
     void shouldAssessRiskForNormalLowRiskTransaction() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-001");
@@ -139,6 +143,7 @@ class RiskScoringServiceIntegrationTest {
         // Then
         assertThat(assessment).isNotNull();
         assertThat(assessment.getTransactionId()).isEqualTo(transaction.id());
+        assertThat(assessment.getAccountId()).isEqualTo(accountId);
         assertThat(assessment.getMlPrediction()).isNotNull();
         assertThat(assessment.getMlPrediction().modelId()).isEqualTo("test-model");
         assertThat(assessment.getRuleEvaluations()).isEmpty(); // No rules triggered for normal transaction
@@ -149,7 +154,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for large amount transaction")
     void shouldAssessRiskForLargeAmountTransaction() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-002");
@@ -170,7 +175,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for very large amount transaction")
     void shouldAssessRiskForVeryLargeAmountTransaction() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-003");
@@ -192,7 +197,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for high velocity transaction")
     void shouldAssessRiskForHighVelocityTransaction() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-004");
@@ -220,7 +225,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for extreme velocity transaction")
     void shouldAssessRiskForExtremeVelocityTransaction() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-005");
@@ -248,7 +253,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for impossible travel scenario")
     void shouldAssessRiskForImpossibleTravelScenario() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-006");
@@ -258,6 +263,7 @@ class RiskScoringServiceIntegrationTest {
         Location location1 = new Location(40.7128, -74.0060, "USA", "New York");
         Transaction transaction1 = createTransactionWithLocation(accountId, location1, now.minusSeconds(10));
         transactionRepository.save(transaction1);
+        locationHistory.recordLocation(transaction1);
 
         // Second transaction in London 10 seconds later (impossible travel)
         Location location2 = new Location(51.5074, -0.1278, "UK", "London");
@@ -279,7 +285,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk with multiple risk factors")
     void shouldAssessRiskWithMultipleRiskFactors() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-007");
@@ -289,6 +295,7 @@ class RiskScoringServiceIntegrationTest {
         Location location1 = new Location(40.7128, -74.0060, "USA", "New York");
         Transaction previousTransaction = createTransactionWithLocation(accountId, location1, now.minusSeconds(5));
         transactionRepository.save(previousTransaction);
+        locationHistory.recordLocation(previousTransaction);
 
         // Setup high velocity
         for (int i = 0; i < 10; i++) {
@@ -317,7 +324,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should calculate composite score correctly with ML prediction and rules")
     void shouldCalculateCompositeScoreCorrectly() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-008");
@@ -351,7 +358,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should handle transaction with no previous history")
     void shouldHandleTransactionWithNoPreviousHistory() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-009");
@@ -371,7 +378,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for zero amount transaction")
     void shouldAssessRiskForZeroAmountTransaction() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-010");
@@ -391,7 +398,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for boundary amount at 10000")
     void shouldAssessRiskForBoundaryAmountAt10000() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-011");
@@ -411,7 +418,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk for boundary amount at 50000")
     void shouldAssessRiskForBoundaryAmountAt50000() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-012");
@@ -430,7 +437,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk with exactly 6 transactions in 5 minutes")
     void shouldAssessRiskWithExactly6TransactionsIn5Minutes() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-013");
@@ -455,7 +462,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should assess risk with exactly 21 transactions in 1 hour")
     void shouldAssessRiskWithExactly21TransactionsIn1Hour() {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-014");
@@ -480,7 +487,7 @@ class RiskScoringServiceIntegrationTest {
     @DisplayName("Should handle concurrent risk assessments for same account")
     void shouldHandleConcurrentRiskAssessmentsForSameAccount() throws InterruptedException {
         // Given
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-015");
@@ -510,7 +517,7 @@ class RiskScoringServiceIntegrationTest {
     @Order(16)
     @DisplayName("Should assess risk for different transaction types")
     void shouldAssessRiskForDifferentTransactionTypes() {
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         for (TransactionType type : TransactionType.values()) {
@@ -526,7 +533,7 @@ class RiskScoringServiceIntegrationTest {
     @Order(17)
     @DisplayName("Should assess risk for different channels")
     void shouldAssessRiskForDifferentChannels() {
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         for (Channel channel : Channel.values()) {
@@ -542,7 +549,7 @@ class RiskScoringServiceIntegrationTest {
     @Order(18)
     @DisplayName("Should preserve ML prediction in assessment")
     void shouldPreserveMLPredictionInAssessment() {
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-018");
@@ -564,7 +571,7 @@ class RiskScoringServiceIntegrationTest {
     @Order(19)
     @DisplayName("Should assess risk with same location transactions")
     void shouldAssessRiskWithSameLocationTransactions() {
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-019");
@@ -573,6 +580,7 @@ class RiskScoringServiceIntegrationTest {
 
         Transaction transaction1 = createTransactionWithLocation(accountId, location, now);
         transactionRepository.save(transaction1);
+        locationHistory.recordLocation(transaction1);
 
         Transaction transaction2 = createTransactionWithLocation(accountId, location, now);
 
@@ -591,7 +599,7 @@ class RiskScoringServiceIntegrationTest {
     @Order(20)
     @DisplayName("Should assess risk with reasonable travel distance")
     void shouldAssessRiskWithReasonableTravelDistance() {
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
 
         String accountId = uniqueAccountId("ACC-020");
@@ -601,6 +609,7 @@ class RiskScoringServiceIntegrationTest {
         Location location1 = new Location(40.7128, -74.0060, "USA", "New York");
         Transaction transaction1 = createTransactionWithLocation(accountId, location1, now.minusSeconds(36000));
         transactionRepository.save(transaction1);
+        locationHistory.recordLocation(transaction1);
 
         // Transaction in Los Angeles now (reasonable time for travel)
         Location location2 = new Location(34.0522, -118.2437, "USA", "Los Angeles");
@@ -11,10 +11,12 @@ import org.kie.api.runtime.KieContainer;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Currency;
+import java.util.List;
 import java.util.Map;
 
 import static com.twenty9ine.frauddetection.domain.valueobject.TimeWindow.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 @Execution(ExecutionMode.CONCURRENT)
 class RuleEngineServiceIntegrationTest {
@@ -247,6 +249,50 @@ class RuleEngineServiceIntegrationTest {
         assertThat(result.aggregateScore()).isEqualTo(60.0);
     }
 
+    @Test
+    void evaluateRules_withUnfamiliarLocation_shouldTriggerGeographicRule() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(100));
+        GeographicContext geographic = GeographicContext.builder()
+                .isUnfamiliarLocation(true)
+                .habitualDistanceKm(820.0)
+                .build();
+
+        // When
+        RuleEvaluationResult result = ruleEngineService.evaluateRules(transaction, VelocityMetrics.empty(), geographic);
+
+        // Then
+        assertThat(result.getTriggers())
+                .hasSize(1)
+                .extracting(RuleTrigger::ruleId)
+                .containsExactly("UNFAMILIAR_LOCATION");
+        assertThat(result.getTriggers().getFirst().triggeredValue()).isEqualTo(820.0);
+        assertThat(result.aggregateScore()).isEqualTo(25.0);
+    }
+
+    @Test
+    void evaluateRules_withHighRiskZone_shouldTriggerGeographicRule() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(100));
+        GeographicContext geographic = GeographicContext.builder()
+                .isHighRiskZone(true)
+                .highRiskZoneId("ZONE-1")
+                .build();
+
+        // When
+        RuleEvaluationResult result = ruleEngineService.evaluateRules(transaction, VelocityMetrics.empty(), geographic);
+
+        // Then
+        assertThat(result.getTriggers())
+                .singleElement()
+                .satisfies(trigger -> {
+                    assertThat(trigger.ruleId()).isEqualTo("HIGH_RISK_ZONE");
+                    assertThat(trigger.description()).contains("ZONE-1");
+                    assertThat(trigger.ruleViolationSeverity()).isEqualTo(RuleViolationSeverity.HIGH);
+                });
+        assertThat(result.aggregateScore()).isEqualTo(40.0);
+    }
+
     @Test
     void evaluateRules_withMultipleRiskFactors_shouldTriggerMultipleRules() {
         // Given
@@ -320,6 +366,30 @@ class RuleEngineServiceIntegrationTest {
                 .containsExactly("Large Amount");
     }
 
+    @Test
+    void evaluateRules_withForeignCurrency_shouldCompareBaseAmount() {
+        // Given
+        FxRates previous = FxRates.current();
+        FxRates.install(FxRates.of(Currency.getInstance("USD"), Map.of(Currency.getInstance("JPY"), 0.0067), Instant.now()));
+        Transaction yen = createTestTransaction(new Money(BigDecimal.valueOf(10001), Currency.getInstance("JPY")));
+        Transaction largeYen = createTestTransaction(new Money(BigDecimal.valueOf(2_000_000), Currency.getInstance("JPY")));
+
+        try {
+            // When
+            RuleEvaluationResult small = ruleEngineService.evaluateRules(yen, VelocityMetrics.empty(), GeographicContext.normal());
+            RuleEvaluationResult large = ruleEngineService.evaluateRules(largeYen, VelocityMetrics.empty(), GeographicContext.normal());
+
+            // Then
+            assertThat(small.getTriggers()).isEmpty();
+            assertThat(large.getTriggers())
+                    .extracting(RuleTrigger::ruleId)
+                    .containsExactly("LARGE_AMOUNT");
+            assertThat(large.getTriggers().getFirst().triggeredValue()).isCloseTo(13400.0, within(1e-6));
+        } finally {
+            FxRates.install(previous);
+        }
+    }
+
     @Test
     void evaluateRules_withBoundaryAmount50000_shouldTriggerBothAmountRules() {
         // Given
@@ -337,6 +407,91 @@ class RuleEngineServiceIntegrationTest {
                 .containsExactlyInAnyOrder("Large Amount", "Very Large Amount");
     }
 
+    @Test
+    void evaluateRules_withBehavioralDeviation_shouldTriggerBehavioralRules() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(100));
+        BehavioralSignals behavior = new BehavioralSignals(40, 4.5, 0.0, 0.9, 0.5, 1.2);
+
+        // When
+        RuleEvaluationResult result = ruleEngineService.evaluateRules(transaction, VelocityMetrics.empty(),
+                GeographicContext.normal(), behavior);
+
+        // Then
+        assertThat(result.getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactlyInAnyOrder("AMOUNT_ANOMALY", "OFF_HOURS_ACTIVITY");
+        assertThat(result.aggregateScore()).isEqualTo(35.0);
+    }
+
+    @Test
+    void evaluateRules_withYoungProfile_shouldNotTriggerBehavioralRules() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(100));
+        BehavioralSignals behavior = new BehavioralSignals(3, 4.5, 0.0, 0.0, 0.0, 0.1);
+
+        // When
+        RuleEvaluationResult result = ruleEngineService.evaluateRules(transaction, VelocityMetrics.empty(),
+                GeographicContext.normal(), behavior);
+
+        // Then
+        assertThat(result.getTriggers()).isEmpty();
+    }
+
+    @Test
+    void evaluateRules_withCrossAccountVelocity_shouldTriggerMerchantAndDeviceRules() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(5));
+        VelocityMetrics velocity = VelocityMetrics.empty().withCrossAccount(CrossAccountVelocity.builder()
+                .merchantAccounts(Map.of(FIVE_MINUTES, 40L))
+                .deviceAccounts(Map.of(TWENTY_FOUR_HOURS, 6L))
+                .deviceTransactions(Map.of(ONE_HOUR, 45L))
+                .build());
+
+        // When
+        RuleEvaluationResult result = ruleEngineService.evaluateRules(transaction, velocity, GeographicContext.normal());
+
+        // Then
+        assertThat(result.getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactlyInAnyOrder("CARD_TESTING", "DEVICE_SHARED_ACCOUNTS", "DEVICE_VELOCITY");
+        assertThat(result.aggregateScore()).isEqualTo(105.0);
+    }
+
+    @Test
+    void evaluateRules_withBusyMerchantAndNormalAmount_shouldNotTriggerCardTesting() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(100));
+        VelocityMetrics velocity = VelocityMetrics.empty().withCrossAccount(CrossAccountVelocity.builder()
+                .merchantAccounts(Map.of(FIVE_MINUTES, 40L))
+                .build());
+
+        // When
+        RuleEvaluationResult result = ruleEngineService.evaluateRules(transaction, velocity, GeographicContext.normal());
+
+        // Then
+        assertThat(result.getTriggers()).isEmpty();
+    }
+
+    @Test
+    void evaluateRules_withRiskyRing_shouldTriggerFraudRingRule() {
+        // Given
+        Transaction transaction = createTestTransaction(BigDecimal.valueOf(100));
+
+        // When
+        RuleEvaluationResult ring = ruleEngineService.evaluateRules(transaction, VelocityMetrics.empty(),
+                GeographicContext.normal(), BehavioralSignals.none(), new RingSignals(9, 4, 3));
+        RuleEvaluationResult household = ruleEngineService.evaluateRules(transaction, VelocityMetrics.empty(),
+                GeographicContext.normal(), BehavioralSignals.none(), new RingSignals(4, 2, 2));
+
+        // Then
+        assertThat(ring.getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactly("FRAUD_RING");
+        assertThat(ring.aggregateScore()).isEqualTo(40.0);
+        assertThat(household.getTriggers()).isEmpty();
+    }
+
     @Test
     void evaluateRules_withExactly6Transactions5Minutes_shouldTriggerVelocityRule() {
         // Given
@@ -413,11 +568,72 @@ class RuleEngineServiceIntegrationTest {
                 .containsExactlyInAnyOrder("Medium Velocity 5min", "High Velocity 1hr");
     }
 
+    @Test
+    void evaluateRules_withBatch_shouldCorrelateTriggersToEachTransaction() {
+        // Given
+        VelocityMetrics highVelocity = VelocityMetrics.builder()
+                .transactionCounts(Map.of(FIVE_MINUTES, 7L, ONE_HOUR, 21L, TWENTY_FOUR_HOURS, 30L))
+                .build();
+        GeographicContext impossibleTravel = GeographicContext.builder()
+                .isImpossibleTravel(true)
+                .travelSpeed(1500.0)
+                .build();
+
+        RuleFacts normal = RuleFacts.of(createTestTransaction(BigDecimal.valueOf(100)), VelocityMetrics.empty(), GeographicContext.normal());
+        RuleFacts largeAmount = RuleFacts.of(createTestTransaction(BigDecimal.valueOf(55000)), VelocityMetrics.empty(), GeographicContext.normal());
+        RuleFacts velocity = RuleFacts.of(createTestTransaction(BigDecimal.valueOf(100)), highVelocity, GeographicContext.normal());
+        RuleFacts travel = RuleFacts.of(createTestTransaction(BigDecimal.valueOf(100)), VelocityMetrics.empty(), impossibleTravel);
+
+        // When
+        List<RuleEvaluationResult> results = ruleEngineService.evaluateRules(List.of(normal, largeAmount, velocity, travel));
+
+        // Then
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).getTriggers()).isEmpty();
+        assertThat(results.get(1).getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactlyInAnyOrder("LARGE_AMOUNT", "VERY_LARGE_AMOUNT");
+        assertThat(results.get(2).getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactlyInAnyOrder("VELOCITY_5MIN", "VELOCITY_1HOUR");
+        assertThat(results.get(3).getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactly("IMPOSSIBLE_TRAVEL");
+    }
+
+    @Test
+    void evaluateRules_withBatch_shouldMatchSingleEvaluationScores() {
+        // Given
+        List<BigDecimal> amounts = List.of(BigDecimal.valueOf(100), BigDecimal.valueOf(12000),
+                BigDecimal.valueOf(55000), BigDecimal.valueOf(150000));
+        List<RuleFacts> batch = amounts.stream()
+                .map(amount -> RuleFacts.of(createTestTransaction(amount), VelocityMetrics.empty(), GeographicContext.normal()))
+                .toList();
+
+        // When
+        List<RuleEvaluationResult> batchResults = ruleEngineService.evaluateRules(batch);
+
+        // Then
+        for (int i = 0; i < batch.size(); i++) {
+            RuleFacts facts = batch.get(i);
+            RuleEvaluationResult single = ruleEngineService.evaluateRules(facts.transaction(), facts.velocity(), facts.geographic());
+
+            assertThat(batchResults.get(i).aggregateScore()).isEqualTo(single.aggregateScore());
+            assertThat(batchResults.get(i).getTriggers())
+                    .extracting(RuleTrigger::ruleId)
+                    .containsExactlyInAnyOrderElementsOf(single.getTriggers().stream().map(RuleTrigger::ruleId).toList());
+        }
+    }
+
     private Transaction createTestTransaction(BigDecimal amount) {
+        return createTestTransaction(new Money(amount, Currency.getInstance("USD")));
+    }
+
+    private Transaction createTestTransaction(Money amount) {
         return Transaction.builder()
                 .id(TransactionId.generate())
                 .accountId("ACC-TEST-123")
-                .amount(new Money(amount, Currency.getInstance("USD")))
+                .amount(amount)
                 .type(TransactionType.PURCHASE)
                 .channel(Channel.ONLINE)
                 .merchant(new Merchant(MerchantId.of("MERCH-001"), "Test Merchant", MerchantCategory.ELECTRONICS))
@@ -0,0 +1,85 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringCascadeTest {
+
+    private static final ScoringCascade CASCADE = new ScoringCascade(true, false, BigDecimal.valueOf(50), 0.6);
+
+    @Test
+    void skipReason_whenDisabled_shouldNeverSkip() {
+        RuleEvaluationResult rules = triggered("EXCESSIVELY_LARGE_AMOUNT", "IMPOSSIBLE_TRAVEL", "VELOCITY_24HOURS", "EXCESSIVELY_LARGE_AMOUNT");
+
+        assertThat(ScoringCascade.disabled().skipReason(transaction(10), rules, 240.0, 0.6, 0.4)).isEmpty();
+    }
+
+    @Test
+    void skipReason_whenRulesAloneGuaranteeCritical_shouldSkipAsDecidedByRules() {
+        RuleEvaluationResult rules = triggered("EXCESSIVELY_LARGE_AMOUNT", "IMPOSSIBLE_TRAVEL", "VELOCITY_24HOURS", "EXCESSIVELY_LARGE_AMOUNT");
+
+        assertThat(CASCADE.skipReason(transaction(150000), rules, 240.0, 0.6, 0.4))
+                .contains(MLSkipReason.OUTCOME_DECIDED_BY_RULES);
+    }
+
+    @Test
+    void skipReason_whenMlCanStillChangeTheBand_shouldNotSkip() {
+        RuleEvaluationResult rules = triggered("EXCESSIVELY_LARGE_AMOUNT", "IMPOSSIBLE_TRAVEL");
+
+        // 120 rule points x 0.4 = 48 (MEDIUM) up to 108 with a certain ML fraud prediction (CRITICAL)
+        assertThat(CASCADE.skipReason(transaction(150000), rules, 120.0, 0.6, 0.4)).isEmpty();
+    }
+
+    @Test
+    void skipReason_withTrustedLowValueTransaction_shouldSkipAsTrustedLowValue() {
+        assertThat(CASCADE.skipReason(transaction(25), new RuleEvaluationResult(), 0.0, 0.6, 0.4))
+                .contains(MLSkipReason.TRUSTED_LOW_VALUE);
+    }
+
+    @Test
+    void skipReason_withLowValueButRuleTriggers_shouldNotSkip() {
+        RuleEvaluationResult rules = triggered("VELOCITY_5MIN");
+
+        assertThat(CASCADE.skipReason(transaction(25), rules, 25.0, 0.6, 0.4)).isEmpty();
+    }
+
+    @Test
+    void skipReason_whenPlausibleMlCeilingCouldLeaveLowBand_shouldNotSkip() {
+        ScoringCascade cautious = new ScoringCascade(true, false, BigDecimal.valueOf(50), 0.7);
+
+        assertThat(cautious.skipReason(transaction(25), new RuleEvaluationResult(), 0.0, 0.6, 0.4)).isEmpty();
+    }
+
+    @Test
+    void skipReason_withAmountAboveLowValueThreshold_shouldNotSkip() {
+        assertThat(CASCADE.skipReason(transaction(500), new RuleEvaluationResult(), 0.0, 0.6, 0.4)).isEmpty();
+    }
+
+    private static RuleEvaluationResult triggered(String... ruleIds) {
+        RuleEvaluationResult result = new RuleEvaluationResult();
+        for (String ruleId : ruleIds) {
+            result.addTrigger(new RuleTrigger(ruleId, ruleId, RuleViolationSeverity.CRITICAL, ruleId, 1.0));
+        }
+        return result;
+    }
+
+    private static Transaction transaction(long amount) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId("ACC-TEST-123")
+                .amount(new Money(BigDecimal.valueOf(amount), Currency.getInstance("USD")))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .merchant(new Merchant(MerchantId.of("MERCH-001"), "Test Merchant", MerchantCategory.ELECTRONICS))
+                .location(new Location(40.7128, -74.0060, "New York", "US"))
+                .deviceId("DEV-001")
+                .timestamp(Instant.now())
+                .build();
+    }
+}
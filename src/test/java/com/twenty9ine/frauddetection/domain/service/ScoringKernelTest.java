@@ -0,0 +1,136 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoringKernelTest {
+
+    private static final double[][] WEIGHTS = {
+            {0.6, 0.4}, {0.5, 0.5}, {0.7, 0.3}, {0.8, 0.2}, {0.0, 1.0}, {1.0, 0.0}, {0.25, 0.75}
+    };
+
+    private static final double[] RULE_WEIGHTS = {10.0, 25.0, 40.0, 60.0};
+
+    @Nested
+    @DisplayName("Equivalence with the decimal scoring path")
+    class EquivalenceTests {
+
+        @ParameterizedTest(name = "seed {0}")
+        @MethodSource("seeds")
+        @DisplayName("Should match the BigDecimal implementation for random probabilities and rule scores")
+        void shouldMatchDecimalPathForRandomInputs(long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+
+            for (int i = 0; i < 20_000; i++) {
+                double[] weights = WEIGHTS[random.nextInt(WEIGHTS.length)];
+                double probability = randomProbability(random);
+                double ruleScore = randomRuleScore(random);
+
+                assertEquivalent(probability, ruleScore, weights[0], weights[1]);
+            }
+        }
+
+        @ParameterizedTest(name = "weights {0}/{1}")
+        @CsvSource({"0.6, 0.4", "0.5, 0.5", "0.7, 0.3", "0.8, 0.2", "0.0, 1.0"})
+        @DisplayName("Should match the BigDecimal implementation on every probability step and rule combination")
+        void shouldMatchDecimalPathExhaustivelyOnGrid(double mlWeight, double ruleWeight) {
+            for (int step = 0; step <= 10_000; step++) {
+                double probability = step / 10_000.0;
+
+                for (int triggers = 0; triggers <= 6; triggers++) {
+                    for (double ruleWeightPoints : RULE_WEIGHTS) {
+                        assertEquivalent(probability, triggers * ruleWeightPoints, mlWeight, ruleWeight);
+                    }
+                }
+            }
+        }
+
+        static Stream<Arguments> seeds() {
+            return Stream.of(1L, 7L, 42L, 2024L, 31_337L).map(Arguments::of);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rounding contract")
+    class RoundingTests {
+
+        @ParameterizedTest(name = "p={0}, rules={1} -> {2}")
+        @CsvSource({
+                "0.125, 0.0, 8",     // 7.5 rounds half up
+                "0.0, 1.25, 1",      // 0.5 rounds half up
+                "0.0, 3.75, 2",      // 1.5 rounds half up
+                "0.0075, 0.0, 0",    // 0.45 rounds down
+                "1.0, 250.0, 100",   // clamped to the upper bound
+                "0.0, 0.0, 0"
+        })
+        @DisplayName("Should round half up and clamp to [0, 100]")
+        void shouldRoundHalfUpAndClamp(double probability, double ruleScore, int expected) {
+            assertThat(ScoringKernel.compositeScore(probability, ruleScore, 0.6, 0.4)).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("Should clamp negative inputs to zero")
+        void shouldClampNegativeScores() {
+            assertThat(ScoringKernel.compositeScore(-0.5, -10.0, 0.6, 0.4)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reject NaN probabilities like the decimal path")
+        void shouldRejectNaN() {
+            assertThatThrownBy(() -> ScoringKernel.compositeScore(Double.NaN, 0.0, 0.6, 0.4))
+                    .isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    private static void assertEquivalent(double probability, double ruleScore, double mlWeight, double ruleWeight) {
+        assertThat(ScoringKernel.compositeScore(probability, ruleScore, mlWeight, ruleWeight))
+                .as("p=%s, rules=%s, weights=%s/%s", probability, ruleScore, mlWeight, ruleWeight)
+                .isEqualTo(legacyCompositeScore(probability, ruleScore, mlWeight, ruleWeight));
+    }
+
+    private static double randomProbability(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextDouble();
+            case 1 -> random.nextInt(1_001) / 1_000.0;
+            case 2 -> random.nextInt(65) / 64.0;
+            default -> Math.round(random.nextDouble() * 1e6) / 1e6;
+        };
+    }
+
+    private static double randomRuleScore(SplittableRandom random) {
+        if (random.nextBoolean()) {
+            double score = 0.0;
+            int triggers = random.nextInt(6);
+            for (int i = 0; i < triggers; i++) {
+                score += RULE_WEIGHTS[random.nextInt(RULE_WEIGHTS.length)];
+            }
+            return score;
+        }
+        return random.nextDouble() * 300.0;
+    }
+
+    /**
+     * The scoring arithmetic as it was implemented before the kernel, kept verbatim as the oracle.
+     */
+    private static int legacyCompositeScore(double probability, double ruleScore, double mlWeight, double ruleWeight) {
+        BigDecimal mlScore = BigDecimal.valueOf(probability).multiply(BigDecimal.valueOf(100));
+        BigDecimal rules = BigDecimal.valueOf(ruleScore);
+        BigDecimal finalScore = mlScore.multiply(BigDecimal.valueOf(mlWeight))
+                .add(rules.multiply(BigDecimal.valueOf(ruleWeight)));
+
+        return Math.clamp(finalScore.setScale(0, RoundingMode.HALF_UP).intValue(), 0, 100);
+    }
+}
@@ -0,0 +1,195 @@
+package com.twenty9ine.frauddetection.domain.service;
+
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemporalRuleEngineServiceIntegrationTest {
+
+    private static final Instant START = Instant.parse("2026-01-15T10:00:00Z");
+    private static final Duration ALLOWED_LATENESS = Duration.ofSeconds(5);
+
+    private TemporalRuleEngineService temporalRuleEngine;
+
+    @BeforeEach
+    void setUp() {
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        temporalRuleEngine = new TemporalRuleEngineService(kieContainer, "temporal-session", Duration.ofMinutes(30),
+                ALLOWED_LATENESS, 100, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        temporalRuleEngine.close();
+    }
+
+    @Test
+    void evaluate_withProbeFollowedByLargeSpendWithinTenMinutes_shouldTriggerProbeRule() {
+        evaluate("ACC-1", BigDecimal.ONE, START);
+
+        RuleEvaluationResult result = evaluate("ACC-1", BigDecimal.valueOf(2500), START.plus(Duration.ofMinutes(4)));
+
+        assertThat(result.getTriggers())
+                .extracting(RuleTrigger::ruleId)
+                .containsExactly("PROBE_THEN_LARGE_SPEND");
+    }
+
+    @Test
+    void evaluate_withProbeFollowedByLargeSpendAfterTenMinutes_shouldNotTriggerProbeRule() {
+        evaluate("ACC-1", BigDecimal.ONE, START);
+
+        RuleEvaluationResult result = evaluate("ACC-1", BigDecimal.valueOf(2500), START.plus(Duration.ofMinutes(15)));
+
+        assertThat(result.getTriggers()).isEmpty();
+    }
+
+    @Test
+    void evaluate_withProbeOnAnotherAccount_shouldNotTriggerProbeRule() {
+        evaluate("ACC-1", BigDecimal.ONE, START);
+
+        RuleEvaluationResult result = evaluate("ACC-2", BigDecimal.valueOf(2500), START.plus(Duration.ofMinutes(1)));
+
+        assertThat(result.getTriggers()).isEmpty();
+    }
+
+    @Test
+    void evaluate_withFifthTransactionInsideTwoMinutes_shouldTriggerRapidSuccessionOnce() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(evaluate("ACC-1", BigDecimal.TEN, START.plusSeconds(i * 20L)).getTriggers()).isEmpty();
+        }
+
+        RuleEvaluationResult result = evaluate("ACC-1", BigDecimal.TEN, START.plusSeconds(80));
+
+        assertThat(result.getTriggers())
+                .singleElement()
+                .satisfies(trigger -> {
+                    assertThat(trigger.ruleId()).isEqualTo("RAPID_SUCCESSION");
+                    assertThat(trigger.triggeredValue()).isEqualTo(5.0);
+                });
+    }
+
+    @Test
+    void evaluate_withTransactionsSpreadBeyondWindow_shouldNotTriggerRapidSuccession() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(evaluate("ACC-1", BigDecimal.TEN, START.plus(Duration.ofMinutes(i))).getTriggers()).isEmpty();
+        }
+    }
+
+    @Test
+    void evaluate_withEventBeyondAllowedLateness_shouldRejectIt() {
+        evaluate("ACC-1", BigDecimal.valueOf(2500), START.plus(Duration.ofMinutes(4)));
+
+        RuleEvaluationResult result = evaluate("ACC-1", BigDecimal.ONE, START);
+
+        assertThat(result.getTriggers()).isEmpty();
+        assertThat(temporalRuleEngine.lateEvents()).isEqualTo(1);
+        assertThat(evaluate("ACC-1", BigDecimal.valueOf(2500), START.plus(Duration.ofMinutes(5))).getTriggers()).isEmpty();
+    }
+
+    @Test
+    void evaluate_withLateProbeCompletingAnEarlierSequence_shouldNotCreditTheProbe() {
+        evaluate("ACC-1", BigDecimal.valueOf(2500), START);
+
+        RuleEvaluationResult result = evaluate("ACC-1", BigDecimal.ONE, START.minusSeconds(2));
+
+        assertThat(result.getTriggers()).isEmpty();
+        assertThat(temporalRuleEngine.lateEvents()).isZero();
+    }
+
+    @Test
+    void evaluate_withLateTransactionFillingTheWindowOfAnEarlierOne_shouldNotCreditTheLateTransaction() {
+        for (int i = 0; i < 4; i++) {
+            evaluate("ACC-1", BigDecimal.TEN, START.plusSeconds(i * 20L));
+        }
+
+        RuleEvaluationResult result = evaluate("ACC-1", BigDecimal.TEN, START.plusSeconds(58));
+
+        assertThat(result.getTriggers()).isEmpty();
+    }
+
+    @Test
+    void evaluate_withShardedSessions_shouldShareSessionsAcrossAccounts() {
+        TemporalRuleEngineService sharded = new TemporalRuleEngineService(
+                KieServices.Factory.get().getKieClasspathContainer(), "temporal-session", Duration.ofMinutes(30),
+                ALLOWED_LATENESS, 100, 2);
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                sharded.evaluate(transaction("ACC-" + i, BigDecimal.TEN, START.plusSeconds(i)), new RuleEvaluationResult());
+            }
+
+            assertThat(sharded.activeSessions()).isLessThanOrEqualTo(2);
+        } finally {
+            sharded.close();
+        }
+    }
+
+    @Test
+    void evaluate_withTwoAccountsInOneShard_shouldJudgeLatenessPerAccount() {
+        TemporalRuleEngineService sharded = new TemporalRuleEngineService(
+                KieServices.Factory.get().getKieClasspathContainer(), "temporal-session", Duration.ofMinutes(30),
+                ALLOWED_LATENESS, 100, 1);
+
+        try {
+            sharded.evaluate(transaction("ACC-1", BigDecimal.TEN, START.plusSeconds(10)), new RuleEvaluationResult());
+            sharded.evaluate(transaction("ACC-2", BigDecimal.ONE, START), new RuleEvaluationResult());
+
+            RuleEvaluationResult result = new RuleEvaluationResult();
+            sharded.evaluate(transaction("ACC-2", BigDecimal.valueOf(2500), START.plusSeconds(1)), result);
+
+            assertThat(sharded.lateEvents()).isZero();
+            assertThat(result.getTriggers())
+                    .extracting(RuleTrigger::ruleId)
+                    .containsExactly("PROBE_THEN_LARGE_SPEND");
+        } finally {
+            sharded.close();
+        }
+    }
+
+    @Test
+    void evaluate_whenMaxSessionsExceeded_shouldEvictLeastRecentlyUsedSessions() {
+        TemporalRuleEngineService bounded = new TemporalRuleEngineService(
+                KieServices.Factory.get().getKieClasspathContainer(), "temporal-session", Duration.ofMinutes(30),
+                ALLOWED_LATENESS, 3, 0);
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                bounded.evaluate(transaction("ACC-" + i, BigDecimal.TEN, START.plusSeconds(i)), new RuleEvaluationResult());
+            }
+
+            assertThat(bounded.activeSessions()).isLessThanOrEqualTo(3);
+        } finally {
+            bounded.close();
+        }
+    }
+
+    private RuleEvaluationResult evaluate(String accountId, BigDecimal amount, Instant timestamp) {
+        RuleEvaluationResult result = new RuleEvaluationResult();
+        temporalRuleEngine.evaluate(transaction(accountId, amount, timestamp), result);
+        return result;
+    }
+
+    private static Transaction transaction(String accountId, BigDecimal amount, Instant timestamp) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId(accountId)
+                .amount(new Money(amount, Currency.getInstance("USD")))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .merchant(new Merchant(MerchantId.of("MERCH-001"), "Test Merchant", MerchantCategory.ELECTRONICS))
+                .location(new Location(40.7128, -74.0060, "New York", "US"))
+                .deviceId("DEV-001")
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssessmentCursorTest {
+
+    @Test
+    void encode_shouldRoundTripThroughUrlSafeToken() {
+        AssessmentCursor cursor = new AssessmentCursor(Instant.parse("2025-03-03T12:00:00.123456Z"),
+                AssessmentId.of("0195a3b2-6c1e-7d4f-8a90-123456789abc"));
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, AssessmentCursor.decode(token));
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokens() {
+        for (String token : new String[]{"", "not a token", "YWJj", "MjAyNS0wMy0wM1QxMjowMDowMFp8eHl6"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> AssessmentCursor.decode(token));
+
+            assertTrue(e.getMessage().startsWith("Unknown cursor"), token);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BehavioralProfileTest {
+
+    @Test
+    void signalsFor_shouldCompareTransactionWithProfile() {
+        long[] hours = new long[BehavioralProfile.HOURS];
+        hours[14] = 20;
+        long[] channels = new long[Channel.values().length];
+        channels[Channel.ONLINE.ordinal()] = 15;
+        channels[Channel.POS.ordinal()] = 5;
+        long[] categories = new long[MerchantCategory.values().length];
+        categories[MerchantCategory.GROCERY.ordinal()] = 20;
+
+        // 20 transactions averaging 100 with a sample variance of 100 (standard deviation 10)
+        BehavioralProfile profile = BehavioralProfile.of(20, 100.0, 1900.0, 2.5, hours, channels, categories);
+
+        BehavioralSignals signals = profile.signalsFor(transaction(140, "2025-03-03T03:30:00Z"));
+
+        assertEquals(20, signals.sampleCount());
+        assertEquals(4.0, signals.amountZScore(), 1e-9);
+        assertEquals(0.0, signals.hourShare());
+        assertEquals(0.75, signals.channelShare());
+        assertEquals(1.0, signals.categoryShare());
+        assertEquals(2.5, signals.dailyRate());
+        assertTrue(signals.isEstablished());
+        assertTrue(signals.isOffHours());
+        assertFalse(profile.signalsFor(transaction(100, "2025-03-03T14:00:00Z")).isOffHours());
+    }
+
+    @Test
+    void signalsFor_shouldBeNeutralForNewAccounts() {
+        BehavioralSignals signals = BehavioralProfile.empty().signalsFor(transaction(5000, "2025-03-03T03:30:00Z"));
+
+        assertSame(BehavioralSignals.none(), signals);
+        assertFalse(signals.isEstablished());
+        assertFalse(signals.isOffHours());
+    }
+
+    @Test
+    void amountZScore_shouldBeZeroWithoutSpread() {
+        BehavioralProfile single = BehavioralProfile.of(1, 50.0, 0.0, 1.0, new long[BehavioralProfile.HOURS],
+                new long[Channel.values().length], new long[MerchantCategory.values().length]);
+
+        assertEquals(0.0, single.amountVariance());
+        assertEquals(0.0, single.amountZScore(1_000.0));
+    }
+
+    @Test
+    void of_shouldRejectMismatchedHistograms() {
+        long[] channels = new long[Channel.values().length];
+        long[] categories = new long[MerchantCategory.values().length];
+
+        assertThrows(IllegalArgumentException.class, () -> BehavioralProfile.of(1, 1.0, 0.0, 0.0, new long[12], channels, categories));
+        assertThrows(IllegalArgumentException.class,
+                () -> BehavioralProfile.of(-1, 1.0, 0.0, 0.0, new long[BehavioralProfile.HOURS], channels, categories));
+    }
+
+    private static Transaction transaction(double amount, String timestamp) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId("ACC-001")
+                .amount(new Money(BigDecimal.valueOf(amount), Currency.getInstance("USD")))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .merchant(new Merchant(MerchantId.of("MERCH-001"), "Grocer", MerchantCategory.GROCERY))
+                .location(Location.of(-26.2041, 28.0473, "ZA", "Johannesburg"))
+                .timestamp(Instant.parse(timestamp))
+                .build();
+    }
+}
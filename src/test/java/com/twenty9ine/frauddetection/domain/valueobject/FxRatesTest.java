@@ -0,0 +1,67 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRatesTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final Currency CHF = Currency.getInstance("CHF");
+
+    private final FxRates rates = FxRates.of(USD, Map.of(EUR, 1.08, JPY, 0.0067), Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void toBase_shouldConvertIntoBaseCurrencyAtItsScale() {
+        Money converted = rates.toBase(new Money(new BigDecimal("10001"), JPY));
+
+        assertEquals(USD, converted.currency());
+        assertEquals(new BigDecimal("67.01"), converted.value());
+        assertEquals(108.0, rates.toBaseValue(new Money(new BigDecimal("100"), EUR)), 1e-9);
+    }
+
+    @Test
+    void toBase_shouldReturnBaseAmountsUnchanged() {
+        Money money = new Money(new BigDecimal("12.345"), USD);
+
+        assertSame(money, rates.toBase(money));
+        assertEquals(1.0, rates.rateToBase(USD));
+    }
+
+    @Test
+    void rateToBase_shouldUseFaceValueForCurrenciesWithoutARate() {
+        assertFalse(rates.hasRate(CHF));
+        assertEquals(1.0, rates.rateToBase(CHF));
+        assertTrue(rates.hasRate(JPY));
+    }
+
+    @Test
+    void of_shouldRejectNonPositiveRates() {
+        Instant now = Instant.now();
+
+        assertThrows(IllegalArgumentException.class, () -> FxRates.of(USD, Map.of(EUR, 0.0), now));
+        assertThrows(IllegalArgumentException.class, () -> FxRates.of(USD, Map.of(EUR, Double.NaN), now));
+    }
+
+    @Test
+    void money_shouldConvertThroughInstalledSnapshot() {
+        FxRates previous = FxRates.current();
+        FxRates.install(rates);
+
+        try {
+            Money money = new Money(new BigDecimal("10001"), JPY);
+
+            assertEquals(67.0067, money.baseValue(), 1e-9);
+            assertEquals(new BigDecimal("67.01"), money.toBase().value());
+        } finally {
+            FxRates.install(previous);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    private static final Location LONDON = Location.of(51.5074, -0.1278);
+
+    @Test
+    void encode_shouldRoundTripThroughBase32() {
+        Geohash geohash = Geohash.encode(57.64911, 10.40744, 11);
+
+        assertEquals("u4pruydqqvj", geohash.toString());
+        assertEquals(geohash, Geohash.fromString("u4pruydqqvj"));
+    }
+
+    @Test
+    void centre_shouldLieWithinCell() {
+        Geohash geohash = Geohash.encode(LONDON, 6);
+        double[] centre = geohash.centre();
+
+        assertEquals(geohash, Geohash.encode(centre[0], centre[1], 6));
+        assertTrue(LONDON.distanceFrom(Location.of(centre[0], centre[1])) < 1.0);
+    }
+
+    @Test
+    void storageKey_shouldFallWithinRangeOfEveryEnclosingCell() {
+        long storageKey = Geohash.encode(LONDON, Geohash.MAX_PRECISION).toStorageKey();
+
+        for (int precision = 1; precision <= Geohash.MAX_PRECISION; precision++) {
+            Geohash cell = Geohash.encode(LONDON, precision);
+
+            assertTrue(storageKey >= cell.lowerBound() && storageKey < cell.upperBound(), "precision " + precision);
+            assertEquals(cell, Geohash.fromStorageKey(storageKey).truncate(precision));
+        }
+    }
+
+    @Test
+    void neighbourhood_shouldContainCellAndItsEightNeighbours() {
+        Set<Geohash> neighbourhood = Geohash.fromString("gcpv").neighbourhood();
+
+        assertEquals(Set.of("gcps", "gcpu", "u10h", "gcpt", "gcpv", "u10j", "gcpw", "gcpy", "u10n"),
+                neighbourhood.stream().map(Geohash::toString).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void neighbourhood_shouldWrapAtAntimeridianAndStopAtPoles() {
+        Geohash east = Geohash.encode(0.0, 179.99, 3);
+        Geohash polar = Geohash.encode(89.99, 0.0, 3);
+
+        assertTrue(east.neighbourhood().contains(Geohash.encode(0.0, -179.99, 3)));
+        assertEquals(6, polar.neighbourhood().size());
+    }
+
+    @Test
+    void precisionFor_shouldPickCellsAtLeastAsLargeAsRadius() {
+        assertEquals(7, Geohash.precisionFor(0.1, 0.0));
+        assertEquals(5, Geohash.precisionFor(1.0, 51.5));
+        assertEquals(3, Geohash.precisionFor(50.0, 0.0));
+    }
+
+    @Test
+    void constructor_shouldRejectBitsBeyondPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new Geohash(1L << 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0.0, 0.0, 13));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.fromString("abc"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalDouble;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HabitualLocationsTest {
+
+    private static final Location NEW_YORK = Location.of(40.7128, -74.0060);
+    private static final Location LONDON = Location.of(51.5074, -0.1278);
+    private static final Location TOKYO = Location.of(35.6762, 139.6503);
+
+    @Test
+    void nearestDistanceKm_shouldBeEmpty_whenNoHabitualLocations() {
+        assertTrue(HabitualLocations.none().nearestDistanceKm(LONDON).isEmpty());
+        assertTrue(HabitualLocations.of(new double[0], new double[0]).isEmpty());
+    }
+
+    @Test
+    void nearestDistanceKm_shouldMatchHaversineToNearestLocation() {
+        HabitualLocations habitual = HabitualLocations.of(
+                new double[]{NEW_YORK.latitude(), TOKYO.latitude()},
+                new double[]{NEW_YORK.longitude(), TOKYO.longitude()});
+
+        OptionalDouble distance = habitual.nearestDistanceKm(LONDON);
+
+        assertTrue(distance.isPresent());
+        assertEquals(LONDON.distanceFrom(NEW_YORK), distance.getAsDouble(), 0.001);
+    }
+
+    @Test
+    void nearestDistanceKm_shouldBeZero_whenAtHabitualLocation() {
+        HabitualLocations habitual = HabitualLocations.of(
+                new double[]{TOKYO.latitude(), LONDON.latitude()},
+                new double[]{TOKYO.longitude(), LONDON.longitude()});
+
+        assertEquals(0.0, habitual.nearestDistanceKm(LONDON).getAsDouble(), 0.01);
+    }
+
+    @Test
+    void nearestDistanceKm_shouldHandleAntimeridian() {
+        HabitualLocations habitual = HabitualLocations.of(new double[]{0.0, 0.0}, new double[]{179.9, 0.0});
+
+        assertEquals(22.2, habitual.nearestDistanceKm(Location.of(0.0, -179.9)).getAsDouble(), 0.5);
+    }
+
+    @Test
+    void of_shouldRejectMismatchedArrays() {
+        assertThrows(IllegalArgumentException.class, () -> HabitualLocations.of(new double[]{1.0}, new double[0]));
+    }
+}
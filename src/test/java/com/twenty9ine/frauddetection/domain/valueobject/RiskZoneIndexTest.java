@@ -0,0 +1,68 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskZoneIndexTest {
+
+    // 10x10 degree square with a 2x2 hole in the middle, as {longitude, latitude} pairs
+    private static final double[][] OUTER = {{0, 0}, {10, 0}, {10, 10}, {0, 10}, {0, 0}};
+    private static final double[][] HOLE = {{4, 4}, {6, 4}, {6, 6}, {4, 6}, {4, 4}};
+
+    @Test
+    void contains_shouldRespectHoles() {
+        RiskZone zone = RiskZone.of("SQUARE", "Square", List.of(OUTER, HOLE));
+
+        assertTrue(zone.contains(2.0, 2.0));
+        assertFalse(zone.contains(5.0, 5.0));
+        assertFalse(zone.contains(12.0, 2.0));
+    }
+
+    @Test
+    void contains_shouldHandleMultipleParts() {
+        double[][] secondPart = {{20, 20}, {22, 20}, {21, 22}};
+        RiskZone zone = RiskZone.of("MULTI", null, List.of(OUTER, secondPart));
+
+        assertTrue(zone.contains(20.5, 21.0));
+        assertTrue(zone.contains(1.0, 1.0));
+        assertFalse(zone.contains(15.0, 15.0));
+        assertEquals("MULTI", zone.name());
+    }
+
+    @Test
+    void findContaining_shouldResolveZonesSpanningSeveralGridCells() {
+        RiskZone square = RiskZone.of("SQUARE", "Square", List.of(OUTER, HOLE));
+        RiskZone triangle = RiskZone.of("TRIANGLE", "Triangle", List.of(new double[][]{{-30, -30}, {-29.5, -30}, {-29.75, -29.5}}));
+        RiskZoneIndex index = RiskZoneIndex.of(List.of(square, triangle));
+
+        assertEquals("SQUARE", index.findContaining(Location.of(9.9, 0.1)).map(RiskZone::id).orElseThrow());
+        assertEquals("TRIANGLE", index.findContaining(Location.of(-29.9, -29.75)).map(RiskZone::id).orElseThrow());
+        assertTrue(index.findContaining(Location.of(5.0, 5.0)).isEmpty());
+        assertTrue(index.findContaining(Location.of(-45.0, 170.0)).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void findContaining_shouldHandleGridEdges() {
+        RiskZone edge = RiskZone.of("EDGE", "Edge", List.of(new double[][]{{179, 89}, {180, 89}, {180, 90}, {179, 90}}));
+        RiskZoneIndex index = RiskZoneIndex.of(List.of(edge));
+
+        assertTrue(index.findContaining(Location.of(89.5, 179.5)).isPresent());
+        assertTrue(index.findContaining(Location.of(-90.0, -180.0)).isEmpty());
+    }
+
+    @Test
+    void empty_shouldContainNothing() {
+        assertTrue(RiskZoneIndex.empty().findContaining(Location.of(0.0, 0.0)).isEmpty());
+        assertSame(RiskZoneIndex.empty(), RiskZoneIndex.of(List.of()));
+    }
+
+    @Test
+    void of_shouldRejectDegenerateRings() {
+        assertThrows(IllegalArgumentException.class, () -> RiskZone.of("BAD", null, List.of(new double[][]{{0, 0}, {1, 1}})));
+        assertThrows(IllegalArgumentException.class, () -> RiskZone.of(" ", null, List.of(OUTER)));
+    }
+}
@@ -0,0 +1,150 @@
+package com.twenty9ine.frauddetection.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuleCatalogueTest {
+
+    @Nested
+    @DisplayName("Default catalogue")
+    class DefaultCatalogueTests {
+
+        @ParameterizedTest(name = "{0} -> {1} ({2})")
+        @CsvSource({
+                "VELOCITY_5MIN, VELOCITY, 25",
+                "VELOCITY_1HOUR, VELOCITY, 40",
+                "VELOCITY_24HOURS, VELOCITY, 60",
+                "IMPOSSIBLE_TRAVEL, GEOGRAPHIC, 60",
+                "UNFAMILIAR_LOCATION, GEOGRAPHIC, 25",
+                "HIGH_RISK_ZONE, GEOGRAPHIC, 40",
+                "LARGE_AMOUNT, AMOUNT, 25",
+                "VERY_LARGE_AMOUNT, AMOUNT, 40",
+                "EXCESSIVELY_LARGE_AMOUNT, AMOUNT, 60",
+                "AMOUNT_ANOMALY, BEHAVIORAL, 25",
+                "OFF_HOURS_ACTIVITY, BEHAVIORAL, 10",
+                "CARD_TESTING, MERCHANT, 40",
+                "DEVICE_SHARED_ACCOUNTS, DEVICE, 40",
+                "DEVICE_VELOCITY, DEVICE, 25",
+                "FRAUD_RING, NETWORK, 40"
+        })
+        @DisplayName("Should keep the historical rule types and severity weights")
+        void shouldKeepHistoricalTypesAndWeights(String ruleId, RuleType ruleType, double weight) {
+            RuleDefinition definition = RuleCatalogue.defaults().get(ruleId);
+
+            assertThat(definition.ruleType()).isEqualTo(ruleType);
+            assertThat(definition.weight()).isEqualTo(weight);
+        }
+
+        @Test
+        @DisplayName("Should resolve ordinals consistently with the definition array")
+        void shouldResolveOrdinals() {
+            RuleCatalogue catalogue = RuleCatalogue.defaults();
+
+            for (RuleDefinition definition : catalogue.definitions()) {
+                assertThat(catalogue.ordinalOf(definition.ruleId())).isEqualTo(definition.ordinal());
+                assertThat(catalogue.get(definition.ordinal())).isSameAs(definition);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @Test
+        @DisplayName("Should skip comments and treat an empty cap as uncapped")
+        void shouldParseCommentsAndOptionalCap() {
+            RuleCatalogue catalogue = RuleCatalogue.parse(List.of(
+                    "# comment",
+                    "rule_id,rule_name,rule_type,severity,weight,score_cap",
+                    "",
+                    "A,Rule A,MERCHANT,LOW,10,",
+                    "B,Rule B,DEVICE,HIGH,40,50"
+            ));
+
+            assertThat(catalogue.size()).isEqualTo(2);
+            assertThat(catalogue.get("A").scoreCap()).isEqualTo(Double.POSITIVE_INFINITY);
+            assertThat(catalogue.get("B").scoreCap()).isEqualTo(50.0);
+            assertThat(catalogue.get("B").ordinal()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject duplicate rule ids")
+        void shouldRejectDuplicates() {
+            List<String> lines = List.of(
+                    "rule_id,rule_name,rule_type,severity,weight,score_cap",
+                    "A,Rule A,MERCHANT,LOW,10,",
+                    "A,Rule A again,MERCHANT,LOW,10,"
+            );
+
+            assertThatThrownBy(() -> RuleCatalogue.parse(lines))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Duplicate rule id");
+        }
+
+        @Test
+        @DisplayName("Should reject a document without the expected header")
+        void shouldRejectMissingHeader() {
+            assertThatThrownBy(() -> RuleCatalogue.parse(List.of("A,Rule A,MERCHANT,LOW,10,")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Scoring")
+    class ScoringTests {
+
+        private final RuleCatalogue catalogue = RuleCatalogue.parse(List.of(
+                "rule_id,rule_name,rule_type,severity,weight,score_cap",
+                "A,Rule A,MERCHANT,MEDIUM,25,",
+                "B,Rule B,DEVICE,HIGH,40,50"
+        ));
+
+        @Test
+        @DisplayName("Should apply score caps to repeated triggers of the same rule")
+        void shouldApplyScoreCaps() {
+            RuleEvaluationResult result = new RuleEvaluationResult(catalogue);
+            result.addTrigger(trigger("B"));
+            result.addTrigger(trigger("A"));
+            result.addTrigger(trigger("B"));
+
+            assertThat(result.aggregateScore()).isEqualTo(75.0);
+            assertThat(result.definitionAt(1).ruleType()).isEqualTo(RuleType.MERCHANT);
+        }
+
+        @Test
+        @DisplayName("Should count each rule once across interleaved triggers")
+        void shouldCountInterleavedTriggersPerRule() {
+            RuleEvaluationResult result = new RuleEvaluationResult(catalogue);
+            result.addTrigger(trigger("A"));
+            result.addTrigger(trigger("B"));
+            result.addTrigger(trigger("A"));
+            result.addTrigger(trigger("A"));
+
+            assertThat(result.aggregateScore()).isEqualTo(115.0);
+            assertThat(result.aggregateScore()).isEqualTo(115.0);
+        }
+
+        @Test
+        @DisplayName("Should reject triggers for rules outside the catalogue")
+        void shouldRejectUnknownRule() {
+            RuleEvaluationResult result = new RuleEvaluationResult(catalogue);
+
+            assertThatThrownBy(() -> result.addTrigger(trigger("UNKNOWN")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Unknown rule");
+        }
+
+        private static RuleTrigger trigger(String ruleId) {
+            return new RuleTrigger(ruleId, "Rule " + ruleId, RuleViolationSeverity.MEDIUM, "description", 1.0);
+        }
+    }
+}
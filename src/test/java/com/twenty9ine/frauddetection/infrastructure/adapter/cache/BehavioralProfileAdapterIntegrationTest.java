@@ -0,0 +1,127 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import com.twenty9ine.frauddetection.application.port.out.BehavioralProfilePort;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.config.RedisConfig;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.redis.test.autoconfigure.DataRedisTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataRedisTest
+@Testcontainers
+@Import({RedisConfig.class, BehavioralProfileAdapter.class})
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock("redis")
+class BehavioralProfileAdapterIntegrationTest {
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379)
+            .withReuse(true);
+
+    @DynamicPropertySource
+    static void configureRedis(DynamicPropertyRegistry registry) {
+        redis.start();
+
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+    }
+
+    @Autowired
+    private BehavioralProfilePort behavioralProfiles;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = "ACC-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should return an empty profile for an unknown account")
+    void shouldReturnEmptyProfileForUnknownAccount() {
+        assertThat(behavioralProfiles.findProfile(accountId)).isSameAs(BehavioralProfile.empty());
+    }
+
+    @Test
+    @DisplayName("Should accumulate amount mean and variance incrementally")
+    void shouldAccumulateAmountStatistics() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        double[] amounts = {10, 20, 30, 40, 50};
+
+        for (int i = 0; i < amounts.length; i++) {
+            behavioralProfiles.recordTransaction(transaction(amounts[i], Channel.ONLINE, now.minusSeconds(60L * i)));
+        }
+
+        BehavioralProfile profile = behavioralProfiles.findProfile(accountId);
+
+        assertThat(profile.count()).isEqualTo(5);
+        assertThat(profile.amountMean()).isCloseTo(30.0, within(1e-9));
+        assertThat(profile.amountVariance()).isCloseTo(250.0, within(1e-9));
+        assertThat(profile.amountZScore(30.0 + 3 * Math.sqrt(250.0))).isCloseTo(3.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should count hours, channels and merchant categories")
+    void shouldCountHistograms() {
+        Instant noon = Instant.parse("2025-03-03T12:15:00Z");
+
+        behavioralProfiles.recordTransaction(transaction(10, Channel.ONLINE, noon));
+        behavioralProfiles.recordTransaction(transaction(10, Channel.ONLINE, noon.plusSeconds(600)));
+        behavioralProfiles.recordTransaction(transaction(10, Channel.POS, noon.plusSeconds(3600)));
+        behavioralProfiles.recordTransaction(transaction(10, Channel.ONLINE, noon.plusSeconds(7200)));
+
+        BehavioralProfile profile = behavioralProfiles.findProfile(accountId);
+
+        assertThat(profile.hourShare(12)).isEqualTo(0.5);
+        assertThat(profile.hourShare(13)).isEqualTo(0.25);
+        assertThat(profile.hourShare(3)).isZero();
+        assertThat(profile.channelShare(Channel.ONLINE)).isEqualTo(0.75);
+        assertThat(profile.categoryShare(MerchantCategory.GROCERY)).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should report a decayed daily transaction rate")
+    void shouldReportDailyRate() {
+        Instant now = Instant.now();
+
+        for (int i = 0; i < 7; i++) {
+            behavioralProfiles.recordTransaction(transaction(10, Channel.ONLINE, now.minus(i, ChronoUnit.DAYS)));
+        }
+
+        // A week of daily transactions has not yet built up to the steady state of 1/day under a 7 day time constant
+        assertThat(behavioralProfiles.findProfile(accountId).dailyRate()).isBetween(0.5, 1.0);
+    }
+
+    private Transaction transaction(double amount, Channel channel, Instant timestamp) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId(accountId)
+                .amount(new Money(BigDecimal.valueOf(amount), Currency.getInstance("USD")))
+                .type(TransactionType.PURCHASE)
+                .channel(channel)
+                .merchant(new Merchant(MerchantId.of("MERCH-001"), "Grocer", MerchantCategory.GROCERY))
+                .location(Location.of(-26.2041, 28.0473, "ZA", "Johannesburg"))
+                .deviceId("DEVICE-001")
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+
+    @Test
+    void counters_shouldPickOneCounterPerRowDeterministically() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+
+        int[] counters = sketch.counters("MERCH-001");
+
+        assertEquals(4, counters.length);
+        for (int row = 0; row < counters.length; row++) {
+            assertTrue(counters[row] >= row * 1024 && counters[row] < (row + 1) * 1024);
+        }
+        assertArrayEquals(counters, sketch.counters("MERCH-001"));
+    }
+
+    @Test
+    void counters_shouldSpreadItemsAcrossTheRow() {
+        CountMinSketch sketch = new CountMinSketch(1024, 1);
+        Set<Integer> used = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            used.add(sketch.counters("DEVICE-" + i)[0]);
+        }
+
+        // 1000 uniform draws over 1024 counters should hit roughly 1024 * (1 - e^-0.98) = 640 of them
+        assertTrue(used.size() > 580, "only " + used.size() + " counters used");
+    }
+
+    @Test
+    void estimate_shouldTakeTheSmallestCounter() {
+        assertEquals(3L, CountMinSketch.estimate(new long[]{7, 3, 5, 3}));
+        assertEquals(0L, CountMinSketch.estimate(new long[0]));
+    }
+
+    @Test
+    void constructor_shouldRejectEmptySketch() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(1024, 0));
+    }
+}
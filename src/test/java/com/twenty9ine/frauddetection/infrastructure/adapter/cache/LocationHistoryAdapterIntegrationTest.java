@@ -0,0 +1,109 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.cache;
+
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.config.RedisConfig;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.redis.test.autoconfigure.DataRedisTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataRedisTest
+@Testcontainers
+@Import({RedisConfig.class, LocationHistoryAdapter.class})
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock("redis")
+class LocationHistoryAdapterIntegrationTest {
+
+    private static final Instant START = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379)
+            .withReuse(true);
+
+    @DynamicPropertySource
+    static void configureRedis(DynamicPropertyRegistry registry) {
+        redis.start();
+
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+    }
+
+    @Autowired
+    private LocationHistoryAdapter locationHistory;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = "ACC-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Should return the latest location at or before the transaction time")
+    void shouldReturnNearestPriorLocation() {
+        locationHistory.recordLocation(transaction(Location.of(40.7128, -74.0060), START.plusSeconds(600)));
+        locationHistory.recordLocation(transaction(Location.of(51.5074, -0.1278), START));
+
+        assertThat(locationHistory.findNearestPriorLocation(accountId, START.plusSeconds(300)))
+                .contains(new KnownLocation(START, 51.5074, -0.1278));
+        assertThat(locationHistory.findNearestPriorLocation(accountId, START.plusSeconds(600)))
+                .contains(new KnownLocation(START.plusSeconds(600), 40.7128, -74.0060));
+        assertThat(locationHistory.findNearestPriorLocation(accountId, START.minusSeconds(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should see locations recorded by another instance")
+    void shouldSeeLocationsRecordedByAnotherInstance() {
+        LocationHistoryAdapter otherInstance = new LocationHistoryAdapter(redisTemplate, 16, Duration.ofDays(30));
+        locationHistory.recordLocation(transaction(Location.of(40.7128, -74.0060), START));
+        assertThat(locationHistory.findNearestPriorLocation(accountId, START.plusSeconds(60))).isPresent();
+
+        otherInstance.recordLocation(transaction(Location.of(51.5074, -0.1278), START.plusSeconds(30)));
+
+        assertThat(locationHistory.findNearestPriorLocation(accountId, START.plusSeconds(60)))
+                .contains(new KnownLocation(START.plusSeconds(30), 51.5074, -0.1278));
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent locations up to the capacity")
+    void shouldTrimToCapacity() {
+        LocationHistoryAdapter bounded = new LocationHistoryAdapter(redisTemplate, 2, Duration.ofDays(30));
+
+        for (int i = 0; i < 3; i++) {
+            bounded.recordLocation(transaction(Location.of(10.0 + i, 20.0), START.plusSeconds(60L * i)));
+        }
+
+        assertThat(bounded.findNearestPriorLocation(accountId, START.plusSeconds(30))).isEmpty();
+        assertThat(bounded.findNearestPriorLocation(accountId, START.plusSeconds(300)))
+                .contains(new KnownLocation(START.plusSeconds(120), 12.0, 20.0));
+    }
+
+    private Transaction transaction(Location location, Instant timestamp) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId(accountId)
+                .location(location)
+                .timestamp(timestamp)
+                .build();
+    }
+}
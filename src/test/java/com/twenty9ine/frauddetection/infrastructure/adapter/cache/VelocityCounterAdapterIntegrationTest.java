@@ -174,6 +174,25 @@ class VelocityCounterAdapterIntegrationTest {
         assertThat(metrics.getUniqueLocations(FIVE_MINUTES)).isEqualTo(2L); // Only 2 unique locations
     }
 
+    @Test
+    @DisplayName("Should count GPS jitter within one geohash cell as a single location")
+    void shouldCountJitteredCoordinatesAsOneLocation() {
+        // Arrange
+        String accountId = uniqueAccountId("ACC-005J");
+        Transaction transaction1 = createTransactionWithLocation(accountId, 40.712800, -74.006000);
+        Transaction transaction2 = createTransactionWithLocation(accountId, 40.712810, -74.006012);
+        Transaction transaction3 = createTransactionWithLocation(accountId, 40.712795, -74.005991);
+
+        // Act
+        velocityService.incrementCounters(transaction1);
+        velocityService.incrementCounters(transaction2);
+        velocityService.incrementCounters(transaction3);
+
+        // Assert
+        VelocityMetrics metrics = velocityService.findVelocityMetricsByTransaction(transaction3);
+        assertThat(metrics.getUniqueLocations(FIVE_MINUTES)).isEqualTo(1L);
+    }
+
     @Disabled("Requires cache eviction logic to be implemented in VelocityCounterAdapter for this test to pass")
     @Test
     @DisplayName("Should cache velocity metrics after first fetch")
@@ -358,6 +377,50 @@ class VelocityCounterAdapterIntegrationTest {
                 .isCloseTo(FIVE_MINUTES.getDuration().toSeconds(), within(10L));
     }
 
+    @Test
+    @DisplayName("Should count transactions and distinct accounts per merchant and device across accounts")
+    void shouldTrackCrossAccountVelocity() {
+        // Arrange - one timestamp so every increment lands in the same bucket
+        Instant now = Instant.now();
+        String merchantId = uniqueAccountId("MERCH-CT");
+        String deviceId = uniqueAccountId("DEVICE-CT");
+
+        for (int i = 0; i < 30; i++) {
+            String accountId = uniqueAccountId("ACC-CT");
+            velocityService.incrementCounters(createCrossAccountTransaction(accountId, merchantId, deviceId, now));
+            velocityService.incrementCounters(createCrossAccountTransaction(accountId, merchantId, deviceId, now));
+        }
+
+        // Act
+        CrossAccountVelocity velocity = velocityService.findCrossAccountVelocity(
+                createCrossAccountTransaction(uniqueAccountId("ACC-CT"), merchantId, deviceId, now));
+
+        // Assert - the sketch never undercounts, HyperLogLog is within a few percent at this size
+        assertThat(velocity.getMerchantTransactionCount(FIVE_MINUTES)).isBetween(60L, 61L);
+        assertThat(velocity.getDeviceTransactionCount(ONE_HOUR)).isBetween(60L, 61L);
+        assertThat(velocity.getMerchantAccountCount(FIVE_MINUTES)).isBetween(29L, 31L);
+        assertThat(velocity.getDeviceAccountCount(TWENTY_FOUR_HOURS)).isBetween(29L, 31L);
+    }
+
+    @Test
+    @DisplayName("Should not count other merchants or missing devices")
+    void shouldIsolateCrossAccountDimensions() {
+        // Arrange
+        Instant now = Instant.now();
+        String merchantId = uniqueAccountId("MERCH-A");
+        velocityService.incrementCounters(createCrossAccountTransaction(uniqueAccountId("ACC"), merchantId, null, now));
+
+        // Act
+        CrossAccountVelocity velocity = velocityService.findCrossAccountVelocity(
+                createCrossAccountTransaction(uniqueAccountId("ACC"), uniqueAccountId("MERCH-B"), null, now));
+
+        // Assert
+        assertThat(velocity.getMerchantTransactionCount(FIVE_MINUTES)).isZero();
+        assertThat(velocity.getMerchantAccountCount(FIVE_MINUTES)).isZero();
+        assertThat(velocity.deviceTransactions()).isEmpty();
+        assertThat(velocity.deviceAccounts()).isEmpty();
+    }
+
     // Helper methods for Redis key access
     private long getKeyTtl(String key) {
         return redisTemplate.getExpire(key);
@@ -426,4 +489,18 @@ class VelocityCounterAdapterIntegrationTest {
                 .timestamp(Instant.now())
                 .build();
     }
+
+    private Transaction createCrossAccountTransaction(String accountId, String merchantId, String deviceId, Instant timestamp) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId(accountId)
+                .amount(new Money(new BigDecimal("1.00"), Currency.getInstance("USD")))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .merchant(new Merchant(MerchantId.of(merchantId), "Test Merchant", MerchantCategory.RETAIL))
+                .location(Location.of(40.7128, -74.0060))
+                .deviceId(deviceId)
+                .timestamp(timestamp)
+                .build();
+    }
 }
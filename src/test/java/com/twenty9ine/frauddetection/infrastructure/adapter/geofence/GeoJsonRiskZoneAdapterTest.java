@@ -0,0 +1,103 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.geofence;
+
+import com.twenty9ine.frauddetection.domain.valueobject.Location;
+import com.twenty9ine.frauddetection.domain.valueobject.RiskZone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoJsonRiskZoneAdapterTest {
+
+    private static final String SQUARE = """
+            {
+              "type": "FeatureCollection",
+              "features": [
+                {
+                  "type": "Feature",
+                  "id": "ZONE-1",
+                  "properties": {"name": "Square"},
+                  "geometry": {"type": "Polygon", "coordinates": [[[0, 0], [10, 0], [10, 10], [0, 10], [0, 0]]]}
+                }
+              ]
+            }
+            """;
+
+    private static final String MULTI_POLYGON = """
+            {
+              "type": "FeatureCollection",
+              "features": [
+                {
+                  "type": "Feature",
+                  "properties": {"id": "ZONE-2", "name": "Islands"},
+                  "geometry": {
+                    "type": "MultiPolygon",
+                    "coordinates": [
+                      [[[20, 20], [22, 20], [22, 22], [20, 22], [20, 20]]],
+                      [[[30, 30], [32, 30], [32, 32], [30, 32], [30, 30]]]
+                    ]
+                  }
+                }
+              ]
+            }
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldLoadPolygonZones() throws IOException {
+        GeoJsonRiskZoneAdapter adapter = new GeoJsonRiskZoneAdapter(new FileSystemResource(write(SQUARE)));
+
+        assertThat(adapter.findZoneContaining(Location.of(5.0, 5.0))).map(RiskZone::id).contains("ZONE-1");
+        assertThat(adapter.findZoneContaining(Location.of(15.0, 5.0))).isEmpty();
+    }
+
+    @Test
+    void shouldHotReloadWhenFileChanges() throws IOException {
+        Path file = write(SQUARE);
+        GeoJsonRiskZoneAdapter adapter = new GeoJsonRiskZoneAdapter(new FileSystemResource(file));
+
+        Files.writeString(file, MULTI_POLYGON);
+        touch(file);
+        adapter.reloadIfModified();
+
+        assertThat(adapter.findZoneContaining(Location.of(5.0, 5.0))).isEmpty();
+        assertThat(adapter.findZoneContaining(Location.of(31.0, 31.0))).map(RiskZone::name).contains("Islands");
+    }
+
+    @Test
+    void shouldKeepPreviousZonesWhenReloadFails() throws IOException {
+        Path file = write(SQUARE);
+        GeoJsonRiskZoneAdapter adapter = new GeoJsonRiskZoneAdapter(new FileSystemResource(file));
+
+        Files.writeString(file, "{ not geojson");
+        touch(file);
+        adapter.reloadIfModified();
+
+        assertThat(adapter.findZoneContaining(Location.of(5.0, 5.0))).map(RiskZone::id).contains("ZONE-1");
+    }
+
+    @Test
+    void shouldStartEmptyWhenFileIsMissing() {
+        GeoJsonRiskZoneAdapter adapter = new GeoJsonRiskZoneAdapter(new FileSystemResource(directory.resolve("missing.geojson")));
+
+        assertThat(adapter.currentIndex().size()).isZero();
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("zones.geojson"), content);
+    }
+
+    // File systems with coarse timestamps may not register a rewrite within the same tick
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.graph;
+
+import com.twenty9ine.frauddetection.domain.valueobject.RingSignals;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionGraphTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final long NOW = 1_750_000_000_000L;
+
+    @Test
+    void find_shouldJoinAccountsThroughSharedDevicesAndMerchants() {
+        TransactionGraph graph = new TransactionGraph(7 * DAY, 0.05, 500);
+
+        graph.record("ACC-1", "DEV-1", "MERCH-1", true, NOW);
+        graph.record("ACC-2", "DEV-1", "MERCH-2", true, NOW);
+        graph.record("ACC-3", "DEV-2", "MERCH-2", false, NOW);
+        graph.record("ACC-9", "DEV-9", "MERCH-9", true, NOW);
+
+        RingSignals ring = graph.find("ACC-3", "DEV-2", "MERCH-2");
+
+        // ACC-1, ACC-2, ACC-3 with DEV-1, DEV-2, MERCH-1, MERCH-2
+        assertEquals(7, ring.componentSize());
+        assertEquals(3, ring.linkedAccounts());
+        assertEquals(2, ring.riskyAccounts());
+        assertTrue(ring.isRing());
+    }
+
+    @Test
+    void find_shouldCountTheComponentANewAccountWouldJoin() {
+        TransactionGraph graph = new TransactionGraph(7 * DAY, 0.05, 500);
+
+        graph.record("ACC-1", "DEV-1", "MERCH-1", true, NOW);
+        graph.record("ACC-2", "DEV-2", "MERCH-2", true, NOW);
+
+        RingSignals ring = graph.find("ACC-NEW", "DEV-1", "MERCH-2");
+
+        assertEquals(3, ring.linkedAccounts());
+        assertEquals(2, ring.riskyAccounts());
+        assertEquals(1, graph.find("ACC-OTHER", null, null).linkedAccounts());
+        assertEquals(RingSignals.none().riskyAccounts(), graph.find("ACC-OTHER", null, null).riskyAccounts());
+    }
+
+    @Test
+    void record_shouldNotLinkThroughHubs() {
+        TransactionGraph graph = new TransactionGraph(7 * DAY, 0.05, 2);
+
+        graph.record("ACC-1", null, "MERCH-BIG", true, NOW);
+        graph.record("ACC-2", null, "MERCH-BIG", true, NOW);
+        graph.record("ACC-3", null, "MERCH-BIG", false, NOW);
+
+        assertEquals(1, graph.find("ACC-3", null, "MERCH-BIG").linkedAccounts());
+        assertEquals(2, graph.find("ACC-1", null, "MERCH-BIG").linkedAccounts());
+    }
+
+    @Test
+    void compact_shouldDropDecayedEdgesAndSplitComponents() {
+        TransactionGraph graph = new TransactionGraph(DAY, 0.05, 500);
+
+        graph.record("ACC-1", "DEV-1", null, true, NOW - 10 * DAY);
+        graph.record("ACC-2", "DEV-1", null, false, NOW - 10 * DAY);
+        graph.record("ACC-2", "DEV-2", null, false, NOW);
+        graph.record("ACC-3", "DEV-2", null, false, NOW);
+
+        int pruned = graph.compact(NOW);
+
+        assertEquals(2, pruned);
+        assertEquals(2, graph.edgeCount());
+        assertEquals(3, graph.nodeCount());
+        RingSignals ring = graph.find("ACC-2", "DEV-2", null);
+        assertEquals(2, ring.linkedAccounts());
+        assertEquals(0, ring.riskyAccounts());
+        assertEquals(1, graph.find("ACC-1", "DEV-1", null).linkedAccounts());
+    }
+
+    @Test
+    void compact_shouldKeepEdgesThatAreSeenRepeatedly() {
+        TransactionGraph graph = new TransactionGraph(DAY, 0.05, 500);
+
+        for (int i = 0; i < 40; i++) {
+            graph.record("ACC-1", "DEV-1", null, false, NOW - 3 * DAY);
+        }
+
+        // 40 sightings decay to about 2 over three time constants; a single one would be just under 0.05 and pruned
+        assertEquals(0, graph.compact(NOW));
+        assertEquals(2, graph.find("ACC-2", "DEV-1", null).linkedAccounts());
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionGraph(0, 0.05, 500));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionGraph(DAY, 1.5, 500));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionGraph(DAY, 0.05, 0));
+    }
+}
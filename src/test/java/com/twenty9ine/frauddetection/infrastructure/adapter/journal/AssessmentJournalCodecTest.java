@@ -0,0 +1,87 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.event.HighRiskDetected;
+import com.twenty9ine.frauddetection.domain.event.RiskAssessmentCompleted;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.exception.BoundaryMapperException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssessmentJournalCodecTest {
+
+    @Test
+    void decode_shouldRestoreTheTransactionAndAssessment() {
+        Transaction transaction = transaction(new Merchant(MerchantId.of("MER-1"), "Store", MerchantCategory.ELECTRONICS),
+                Location.of(-26.2041, 28.0473, "ZA", "Johannesburg"));
+        RuleEvaluation evaluation = new RuleEvaluation("R-1", "Large amount", RuleType.AMOUNT, true, 25.0, "Amount above limit");
+        MLPrediction prediction = new MLPrediction("model", "2.1.0", 0.82, 0.9, Map.of("amount", 0.7, "velocity", 0.2));
+        RiskAssessment assessment = new RiskAssessment(transaction, RiskScore.of(75), List.of(evaluation), prediction, null);
+        assessment.completeAssessment(Decision.REVIEW);
+
+        RecordAssessmentCommand decoded = AssessmentJournalCodec.decode(AssessmentJournalCodec.encode(transaction, assessment));
+        RiskAssessment restored = decoded.assessment();
+
+        assertEquals(transaction, decoded.transaction());
+        assertEquals(transaction.location().country(), decoded.transaction().location().country());
+        assertEquals(assessment.getAssessmentId(), restored.getAssessmentId());
+        assertEquals(transaction.id(), restored.getTransactionId());
+        assertEquals(transaction.accountId(), restored.getAccountId());
+        assertEquals(RiskScore.of(75), restored.getRiskScore());
+        assertEquals(TransactionRiskLevel.HIGH, restored.getTransactionRiskLevel());
+        assertEquals(List.of(evaluation), restored.getRuleEvaluations());
+        assertEquals(prediction, restored.getMlPrediction());
+        assertEquals(assessment.getAssessmentTime(), restored.getAssessmentTime());
+        assertEquals(Decision.REVIEW, restored.getDecision());
+    }
+
+    @Test
+    void decode_shouldRaiseTheDomainEventsOfTheDecisionAgain() {
+        Transaction transaction = transaction(null, null);
+        RiskAssessment assessment = new RiskAssessment(transaction, RiskScore.of(95), List.of(), null, MLSkipReason.OUTCOME_DECIDED_BY_RULES);
+        assessment.completeAssessment(Decision.BLOCK, Instant.parse("2026-03-01T10:15:31Z"));
+
+        RiskAssessment restored = AssessmentJournalCodec.decode(AssessmentJournalCodec.encode(transaction, assessment)).assessment();
+
+        assertNull(restored.getMlPrediction());
+        assertEquals(MLSkipReason.OUTCOME_DECIDED_BY_RULES, restored.getMlSkipReason());
+        assertEquals(2, restored.getDomainEvents().size());
+        assertInstanceOf(RiskAssessmentCompleted.class, restored.getDomainEvents().get(0));
+        assertInstanceOf(HighRiskDetected.class, restored.getDomainEvents().get(1));
+        assertEquals(transaction.id(), restored.getDomainEvents().get(0).getEventId());
+        assertEquals(Instant.parse("2026-03-01T10:15:31Z"), restored.getDomainEvents().get(0).getOccurredAt());
+        assertEquals(Instant.parse("2026-03-01T10:15:31Z"), restored.getDomainEvents().get(1).getOccurredAt());
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedEntries() {
+        Transaction transaction = transaction(null, null);
+        RiskAssessment assessment = new RiskAssessment(transaction, RiskScore.of(10), List.of(), null, null);
+        assessment.completeAssessment(Decision.ALLOW);
+        byte[] encoded = AssessmentJournalCodec.encode(transaction, assessment);
+
+        assertThrows(BoundaryMapperException.class, () -> AssessmentJournalCodec.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+    }
+
+    private static Transaction transaction(Merchant merchant, Location location) {
+        return Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId("ACC-1")
+                .amount(Money.of(new BigDecimal("1250.50"), "ZAR"))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .merchant(merchant)
+                .location(location)
+                .deviceId("DEV-1")
+                .timestamp(Instant.parse("2026-03-01T10:15:30.123456Z"))
+                .build();
+    }
+}
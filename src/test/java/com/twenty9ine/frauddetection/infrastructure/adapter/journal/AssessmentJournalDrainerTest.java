@@ -0,0 +1,165 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import com.twenty9ine.frauddetection.application.port.in.RecordAssessmentsUseCase;
+import com.twenty9ine.frauddetection.application.port.in.command.RecordAssessmentCommand;
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssessmentJournalDrainerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void drain_shouldRecordJournaledAssessmentsInBatches() {
+        MappedAssessmentJournalAdapter journal = journal();
+        List<List<RecordAssessmentCommand>> batches = new ArrayList<>();
+        AssessmentJournalDrainer drainer = drainer(journal, batches::add, 2);
+
+        List<TransactionId> appended = appendAssessments(journal, 5);
+        drainer.drain();
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(appended, batches.stream().flatMap(List::stream).map(command -> command.transaction().id()).toList());
+
+        drainer.drain();
+        assertEquals(3, batches.size());
+    }
+
+    @Test
+    void drain_shouldRetryABatchThatFailedToRecord() {
+        MappedAssessmentJournalAdapter journal = journal();
+        List<RecordAssessmentCommand> recorded = new ArrayList<>();
+        boolean[] failing = {true};
+        AssessmentJournalDrainer drainer = drainer(journal, commands -> {
+            if (failing[0]) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            recorded.addAll(commands);
+        }, 10);
+
+        List<TransactionId> appended = appendAssessments(journal, 3);
+        drainer.drain();
+        assertTrue(recorded.isEmpty());
+
+        failing[0] = false;
+        drainer.drain();
+        assertEquals(appended, recorded.stream().map(command -> command.transaction().id()).toList());
+    }
+
+    @Test
+    void drain_shouldDeadLetterAnAssessmentThatKeepsFailingAndRecordTheRest() {
+        MappedAssessmentJournalAdapter journal = journal();
+        List<TransactionId> appended = appendAssessments(journal, 3);
+        TransactionId poison = appended.get(1);
+        List<RecordAssessmentCommand> recorded = new ArrayList<>();
+        AssessmentJournalDrainer drainer = drainer(journal, commands -> {
+            if (commands.stream().anyMatch(command -> command.transaction().id().equals(poison))) {
+                throw new IllegalStateException("Constraint violated");
+            }
+            recorded.addAll(commands);
+        }, 10);
+
+        drainer.drain();
+        assertTrue(recorded.isEmpty());
+        assertEquals(3, journal.pending());
+
+        drainer.drain();
+        assertEquals(List.of(appended.get(0), appended.get(2)), recorded.stream().map(command -> command.transaction().id()).toList());
+        assertEquals(0, journal.pending());
+        assertEquals(1, journal.deadLettered());
+        journal.close();
+
+        List<byte[]> deadLetters = deadLetterLog().read(10).entries();
+        assertEquals(1, deadLetters.size());
+        assertEquals(poison, AssessmentJournalCodec.decode(deadLetters.getFirst()).transaction().id());
+    }
+
+    @Test
+    void drain_shouldKeepTheBatchWhileTheDatabaseIsUnavailable() {
+        MappedAssessmentJournalAdapter journal = journal();
+        appendAssessments(journal, 3);
+        Clock anHourLater = Clock.fixed(Instant.now().plus(Duration.ofHours(1)), ZoneOffset.UTC);
+        AssessmentJournalDrainer drainer = new AssessmentJournalDrainer(journal, commands -> {
+            throw new CannotGetJdbcConnectionException("Connection refused");
+        }, 10, 2, anHourLater);
+
+        for (int i = 0; i < 5; i++) {
+            drainer.drain();
+        }
+
+        assertEquals(3, journal.pending());
+        assertEquals(0, journal.deadLettered());
+        assertTrue(drainer.lag().compareTo(Duration.ofMinutes(59)) > 0);
+    }
+
+    @Test
+    void drain_shouldRecordAssessmentsRecoveredAfterARestart() {
+        MappedAssessmentJournalAdapter journal = journal();
+        List<TransactionId> appended = appendAssessments(journal, 3);
+        journal.close();
+
+        List<RecordAssessmentCommand> recorded = new ArrayList<>();
+        drainer(journal(), recorded::addAll, 10).drain();
+
+        assertEquals(appended, recorded.stream().map(command -> command.transaction().id()).toList());
+        assertTrue(recorded.stream().allMatch(command -> command.assessment().getDecision() == Decision.ALLOW));
+    }
+
+    @Test
+    void append_shouldFailWhenWriteBehindIsDisabled() {
+        MappedAssessmentJournalAdapter journal = new MappedAssessmentJournalAdapter(null, null);
+
+        assertFalse(journal.isEnabled());
+        assertThrows(IllegalStateException.class, () -> appendAssessments(journal, 1));
+    }
+
+    private MappedAssessmentJournalAdapter journal() {
+        return new MappedAssessmentJournalAdapter(new MappedLog(directory, 4096, false), deadLetterLog());
+    }
+
+    private MappedLog deadLetterLog() {
+        return new MappedLog(directory.resolve(MappedAssessmentJournalAdapter.DEAD_LETTER_DIRECTORY), 4096, false);
+    }
+
+    private static AssessmentJournalDrainer drainer(MappedAssessmentJournalAdapter journal,
+                                                    RecordAssessmentsUseCase recordAssessments, int batchSize) {
+        return new AssessmentJournalDrainer(journal, recordAssessments, batchSize, 2, Clock.systemUTC());
+    }
+
+    private static List<TransactionId> appendAssessments(MappedAssessmentJournalAdapter journal, int count) {
+        List<TransactionId> appended = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = Transaction.builder()
+                    .id(TransactionId.generate())
+                    .accountId("ACC-" + i)
+                    .amount(Money.of(new BigDecimal("10.00"), "USD"))
+                    .type(TransactionType.PURCHASE)
+                    .channel(Channel.MOBILE)
+                    .timestamp(Instant.now())
+                    .build();
+            RiskAssessment assessment = new RiskAssessment(transaction, RiskScore.of(5), List.of(), null, null);
+            assessment.completeAssessment(Decision.ALLOW);
+
+            journal.append(transaction, assessment);
+            appended.add(transaction.id());
+        }
+
+        return appended;
+    }
+}
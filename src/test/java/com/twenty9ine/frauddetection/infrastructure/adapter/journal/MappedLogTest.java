@@ -0,0 +1,147 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLogTest {
+
+    // Room for a few entries per segment, so the tests cross segment boundaries
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldReturnEntriesInAppendOrderAcrossSegments() {
+        MappedLog log = new MappedLog(directory, SEGMENT_SIZE, false);
+
+        for (int i = 0; i < 10; i++) {
+            log.append(entry(i));
+        }
+
+        assertEquals(entries(0, 10), payloads(log.read(100)));
+        assertEquals(entries(0, 4), payloads(log.read(4)));
+    }
+
+    @Test
+    void commit_shouldConsumeEntriesAndDeleteConsumedSegments() throws IOException {
+        MappedLog log = new MappedLog(directory, SEGMENT_SIZE, false);
+
+        for (int i = 0; i < 10; i++) {
+            log.append(entry(i));
+        }
+
+        log.commit(log.read(4).end());
+        assertEquals(entries(4, 10), payloads(log.read(100)));
+
+        log.commit(log.read(100).end());
+        assertTrue(log.read(100).entries().isEmpty());
+        assertEquals(1, segmentCount());
+    }
+
+    @Test
+    void open_shouldRecoverEntriesNotCommittedBeforeClosing() {
+        MappedLog log = new MappedLog(directory, SEGMENT_SIZE, false);
+
+        for (int i = 0; i < 10; i++) {
+            log.append(entry(i));
+        }
+        log.commit(log.read(4).end());
+        log.close();
+
+        MappedLog reopened = new MappedLog(directory, SEGMENT_SIZE, false);
+
+        assertEquals(6, reopened.recovered());
+        assertEquals(entries(4, 10), payloads(reopened.read(100)));
+
+        reopened.append(entry(10));
+        assertEquals(entries(4, 11), payloads(reopened.read(100)));
+    }
+
+    @Test
+    void open_shouldEndTheLogAtATornEntry() throws IOException {
+        MappedLog log = new MappedLog(directory, 4096, false);
+        log.append(entry(0));
+        log.append(entry(1));
+        log.close();
+
+        Path segment = lastSegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        int torn = new String(bytes, StandardCharsets.ISO_8859_1).indexOf(new String(entry(1), StandardCharsets.ISO_8859_1));
+        bytes[torn + 1] ^= 1;
+        Files.write(segment, bytes);
+
+        MappedLog reopened = new MappedLog(directory, 4096, false);
+        reopened.append(entry(2));
+
+        assertEquals(1, reopened.recovered());
+        assertEquals(List.of(new String(entry(0)), new String(entry(2))), payloads(reopened.read(100)));
+    }
+
+    @Test
+    void append_shouldRejectEntriesLargerThanASegment() {
+        MappedLog log = new MappedLog(directory, SEGMENT_SIZE, false);
+
+        assertThrows(IllegalArgumentException.class, () -> log.append(new byte[SEGMENT_SIZE]));
+        assertThrows(IllegalArgumentException.class, () -> log.append(new byte[0]));
+    }
+
+    @Test
+    void append_shouldKeepEveryEntryOfConcurrentWriters() throws InterruptedException {
+        MappedLog log = new MappedLog(directory, 4096, false);
+        List<Thread> writers = new ArrayList<>();
+
+        for (int writer = 0; writer < 4; writer++) {
+            writers.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    log.append(entry(i));
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(4000, log.read(10_000).entries().size());
+    }
+
+    private static byte[] entry(int i) {
+        return ("entry-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> entries(int from, int to) {
+        List<String> entries = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            entries.add(new String(entry(i), StandardCharsets.UTF_8));
+        }
+        return entries;
+    }
+
+    private static List<String> payloads(MappedLog.Batch batch) {
+        return batch.entries().stream()
+                .map(payload -> new String(payload, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).count();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).sorted().toList().getLast();
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.twenty9ine.frauddetection.infrastructure.adapter.ml;
 
 import com.twenty9ine.frauddetection.application.port.out.AccountServicePort;
 import com.twenty9ine.frauddetection.application.port.out.MLServicePort;
-import com.twenty9ine.frauddetection.application.port.out.TransactionRepository;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
 import com.twenty9ine.frauddetection.infrastructure.config.RedisConfig;
 import com.twenty9ine.frauddetection.infrastructure.config.SageMakerConfig;
@@ -41,7 +40,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -147,9 +145,6 @@ class SageMakerMLAdapterIntegrationTest {
     @MockitoBean
     private AccountServicePort accountServicePort;
 
-    @MockitoBean
-    private TransactionRepository transactionRepository;
-
     private Locale originalLocale;
 
     @DynamicPropertySource
@@ -222,7 +217,7 @@ class SageMakerMLAdapterIntegrationTest {
 
             for (MerchantCategory category : categories) {
                 Transaction transaction = createTransactionWithMerchant(ACCOUNT_ID, new Merchant(MerchantId.of("MERCH-" + category), "Test Merchant", category));
-                MLPrediction result = sageMakerMLAdapter.predict(transaction);
+                MLPrediction result = predict(transaction);
                 assertThat(result).isNotNull();
             }
         }
@@ -235,7 +230,7 @@ class SageMakerMLAdapterIntegrationTest {
 
             for (TransactionType type : types) {
                 Transaction transaction = createTransactionWithType(ACCOUNT_ID, type);
-                MLPrediction result = sageMakerMLAdapter.predict(transaction);
+                MLPrediction result = predict(transaction);
                 assertThat(result).isNotNull();
             }
         }
@@ -248,7 +243,7 @@ class SageMakerMLAdapterIntegrationTest {
 
             for (Channel channel : channels) {
                 Transaction transaction = createTransactionWithChannel(ACCOUNT_ID, channel);
-                MLPrediction result = sageMakerMLAdapter.predict(transaction);
+                MLPrediction result = predict(transaction);
                 assertThat(result).isNotNull();
             }
         }
@@ -265,8 +260,8 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction lowAmountTx = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(50.00));
             Transaction highAmountTx = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(5000.00));
 
-            MLPrediction lowAmountPrediction = sageMakerMLAdapter.predict(lowAmountTx);
-            MLPrediction highAmountPrediction = sageMakerMLAdapter.predict(highAmountTx);
+            MLPrediction lowAmountPrediction = predict(lowAmountTx);
+            MLPrediction highAmountPrediction = predict(highAmountTx);
 
             assertThat(highAmountPrediction.fraudProbability()).isGreaterThan(lowAmountPrediction.fraudProbability());
         }
@@ -281,8 +276,8 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction nightTransaction = createTransactionAtTime(ACCOUNT_ID, nightTime);
             Transaction dayTransaction = createTransactionAtTime(ACCOUNT_ID, dayTime);
 
-            MLPrediction nightPrediction = sageMakerMLAdapter.predict(nightTransaction);
-            MLPrediction dayPrediction = sageMakerMLAdapter.predict(dayTransaction);
+            MLPrediction nightPrediction = predict(nightTransaction);
+            MLPrediction dayPrediction = predict(dayTransaction);
 
             assertThat(nightPrediction.fraudProbability()).isGreaterThan(dayPrediction.fraudProbability());
         }
@@ -294,15 +289,11 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction lowVelocityTx = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(100.00));
             Transaction highVelocityTx = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(100.00));
 
-            // Mock low velocity
-            when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                    .thenReturn(List.of(createTransaction(ACCOUNT_ID, BigDecimal.valueOf(50.00))));
-            MLPrediction lowVelocityPrediction = sageMakerMLAdapter.predict(lowVelocityTx);
+            // Low velocity
+            MLPrediction lowVelocityPrediction = predict(lowVelocityTx, List.of(createTransaction(ACCOUNT_ID, BigDecimal.valueOf(50.00))));
 
-            // Mock high velocity (8+ transactions)
-            when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                    .thenReturn(createTransactionHistory(ACCOUNT_ID, 10));
-            MLPrediction highVelocityPrediction = sageMakerMLAdapter.predict(highVelocityTx);
+            // High velocity (8+ transactions)
+            MLPrediction highVelocityPrediction = predict(highVelocityTx, createTransactionHistory(ACCOUNT_ID, 10));
 
             assertThat(highVelocityPrediction.fraudProbability()).isGreaterThan(lowVelocityPrediction.fraudProbability());
         }
@@ -314,8 +305,8 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction domesticTx = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(200.00));
             Transaction internationalTx = createForeignTransaction(ACCOUNT_ID);
 
-            MLPrediction domesticPrediction = sageMakerMLAdapter.predict(domesticTx);
-            MLPrediction internationalPrediction = sageMakerMLAdapter.predict(internationalTx);
+            MLPrediction domesticPrediction = predict(domesticTx);
+            MLPrediction internationalPrediction = predict(internationalTx);
 
             assertThat(internationalPrediction.fraudProbability()).isGreaterThan(domesticPrediction.fraudProbability());
         }
@@ -328,8 +319,8 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction withDevice = createTransactionWithDevice(ACCOUNT_ID, "DEVICE-123");
             Transaction withoutDevice = createTransactionWithDevice(ACCOUNT_ID, null);
 
-            MLPrediction withDevicePrediction = sageMakerMLAdapter.predict(withDevice);
-            MLPrediction withoutDevicePrediction = sageMakerMLAdapter.predict(withoutDevice);
+            MLPrediction withDevicePrediction = predict(withDevice);
+            MLPrediction withoutDevicePrediction = predict(withoutDevice);
 
             assertThat(withoutDevicePrediction.fraudProbability()).isGreaterThan(withDevicePrediction.fraudProbability());
         }
@@ -342,14 +333,11 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction transaction2 = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(300.00));
 
             // Known merchant
-            when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                    .thenReturn(List.of(createTransactionWithSameMerchant(ACCOUNT_ID)));
-            MLPrediction knownMerchantPrediction = sageMakerMLAdapter.predict(transaction1);
+            MLPrediction knownMerchantPrediction = predict(transaction1, List.of(createTransactionWithSameMerchant(ACCOUNT_ID)));
 
             // New merchant
-            when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                    .thenReturn(List.of(createTransactionWithMerchant(ACCOUNT_ID, new Merchant(MerchantId.of("DIFF-MERCH"), "Different Merchant", MerchantCategory.RETAIL))));
-            MLPrediction newMerchantPrediction = sageMakerMLAdapter.predict(transaction2);
+            MLPrediction newMerchantPrediction = predict(transaction2,
+                    List.of(createTransactionWithMerchant(ACCOUNT_ID, new Merchant(MerchantId.of("DIFF-MERCH"), "Different Merchant", MerchantCategory.RETAIL))));
 
             assertThat(newMerchantPrediction.fraudProbability()).isGreaterThan(knownMerchantPrediction.fraudProbability());
         }
@@ -364,8 +352,8 @@ class SageMakerMLAdapterIntegrationTest {
                     Location.of(40.7128, -74.0060, "US", "New York") // Far from Johannesburg
             );
 
-            MLPrediction nearHomePrediction = sageMakerMLAdapter.predict(nearHomeTx);
-            MLPrediction farFromHomePrediction = sageMakerMLAdapter.predict(farFromHomeTx);
+            MLPrediction nearHomePrediction = predict(nearHomeTx);
+            MLPrediction farFromHomePrediction = predict(farFromHomeTx);
 
             assertThat(farFromHomePrediction.fraudProbability()).isGreaterThan(nearHomePrediction.fraudProbability());
         }
@@ -380,8 +368,8 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction weekdayTx = createTransactionAtTime(ACCOUNT_ID, weekday);
             Transaction weekendTx = createTransactionAtTime(ACCOUNT_ID, weekend);
 
-            MLPrediction weekdayPrediction = sageMakerMLAdapter.predict(weekdayTx);
-            MLPrediction weekendPrediction = sageMakerMLAdapter.predict(weekendTx);
+            MLPrediction weekdayPrediction = predict(weekdayTx);
+            MLPrediction weekendPrediction = predict(weekendTx);
 
             assertThat(weekendPrediction.fraudProbability()).isGreaterThanOrEqualTo(weekdayPrediction.fraudProbability());
         }
@@ -394,21 +382,17 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction transaction2 = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(500.00));
 
             // Low spending pattern
-            when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                    .thenReturn(List.of(
-                            createTransaction(ACCOUNT_ID, BigDecimal.valueOf(20.00)),
-                            createTransaction(ACCOUNT_ID, BigDecimal.valueOf(30.00))
-                    ));
-            MLPrediction lowSpendingPrediction = sageMakerMLAdapter.predict(transaction1);
+            MLPrediction lowSpendingPrediction = predict(transaction1, List.of(
+                    createTransaction(ACCOUNT_ID, BigDecimal.valueOf(20.00)),
+                    createTransaction(ACCOUNT_ID, BigDecimal.valueOf(30.00))
+            ));
 
             // High spending pattern
-            when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                    .thenReturn(List.of(
-                            createTransaction(ACCOUNT_ID, BigDecimal.valueOf(2000.00)),
-                            createTransaction(ACCOUNT_ID, BigDecimal.valueOf(1500.00)),
-                            createTransaction(ACCOUNT_ID, BigDecimal.valueOf(1000.00))
-                    ));
-            MLPrediction highSpendingPrediction = sageMakerMLAdapter.predict(transaction2);
+            MLPrediction highSpendingPrediction = predict(transaction2, List.of(
+                    createTransaction(ACCOUNT_ID, BigDecimal.valueOf(2000.00)),
+                    createTransaction(ACCOUNT_ID, BigDecimal.valueOf(1500.00)),
+                    createTransaction(ACCOUNT_ID, BigDecimal.valueOf(1000.00))
+            ));
 
             assertThat(highSpendingPrediction.fraudProbability()).isGreaterThan(lowSpendingPrediction.fraudProbability());
         }
@@ -425,8 +409,8 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction highRiskTx = createComplexFraudTransaction(ACCOUNT_ID);
             Transaction lowRiskTx = createComplexLegitimateTransaction(ACCOUNT_ID);
 
-            MLPrediction highRiskPrediction = sageMakerMLAdapter.predict(highRiskTx);
-            MLPrediction lowRiskPrediction = sageMakerMLAdapter.predict(lowRiskTx);
+            MLPrediction highRiskPrediction = predict(highRiskTx);
+            MLPrediction lowRiskPrediction = predict(lowRiskTx);
 
             assertThat(highRiskPrediction.fraudProbability()).isGreaterThan(0.9);
             assertThat(lowRiskPrediction.fraudProbability()).isLessThan(0.3);
@@ -441,7 +425,7 @@ class SageMakerMLAdapterIntegrationTest {
         @DisplayName("Should handle zero amount transaction")
         void shouldHandleZeroAmount() {
             Transaction transaction = createTransaction(ACCOUNT_ID, BigDecimal.ZERO);
-            MLPrediction result = sageMakerMLAdapter.predict(transaction);
+            MLPrediction result = predict(transaction);
             assertThat(result).isNotNull();
         }
 
@@ -449,7 +433,7 @@ class SageMakerMLAdapterIntegrationTest {
         @DisplayName("Should handle very large amount transaction")
         void shouldHandleVeryLargeAmount() {
             Transaction transaction = createTransaction(ACCOUNT_ID, BigDecimal.valueOf(1_000_000.00));
-            MLPrediction result = sageMakerMLAdapter.predict(transaction);
+            MLPrediction result = predict(transaction);
             assertThat(result).isNotNull();
             assertThat(result.fraudProbability()).isGreaterThan(0.3);
         }
@@ -460,7 +444,7 @@ class SageMakerMLAdapterIntegrationTest {
             for (int hour = 0; hour < 24; hour++) {
                 Instant timestamp = Instant.parse("2024-01-15T00:00:00Z").plus(hour, ChronoUnit.HOURS);
                 Transaction transaction = createTransactionAtTime(ACCOUNT_ID, timestamp);
-                MLPrediction result = sageMakerMLAdapter.predict(transaction);
+                MLPrediction result = predict(transaction);
                 assertThat(result).isNotNull();
             }
         }
@@ -473,7 +457,7 @@ class SageMakerMLAdapterIntegrationTest {
             for (int day = 0; day < 7; day++) {
                 Instant timestamp = monday.plus(day, ChronoUnit.DAYS);
                 Transaction transaction = createTransactionAtTime(ACCOUNT_ID, timestamp);
-                MLPrediction result = sageMakerMLAdapter.predict(transaction);
+                MLPrediction result = predict(transaction);
                 assertThat(result).isNotNull();
             }
         }
@@ -484,7 +468,7 @@ class SageMakerMLAdapterIntegrationTest {
             Transaction transaction = createTransactionWithLocation(ACCOUNT_ID, null);
 
             // Should not throw exception
-            assertThatCode(() -> sageMakerMLAdapter.predict(transaction))
+            assertThatCode(() -> predict(transaction))
                     .doesNotThrowAnyException();
         }
 
@@ -492,7 +476,7 @@ class SageMakerMLAdapterIntegrationTest {
         @DisplayName("Should handle empty device ID")
         void shouldHandleEmptyDeviceId() {
             Transaction transaction = createTransactionWithDevice(ACCOUNT_ID, "");
-            MLPrediction result = sageMakerMLAdapter.predict(transaction);
+            MLPrediction result = predict(transaction);
             assertThat(result).isNotNull();
         }
     }
@@ -615,8 +599,18 @@ class SageMakerMLAdapterIntegrationTest {
     private void setupDefaultMocks() {
         AccountProfile accountProfile = createAccountProfile(ACCOUNT_ID);
         when(accountServicePort.findAccountProfile(anyString())).thenReturn(accountProfile);
-        when(transactionRepository.findByAccountIdAndTimestampBetween(anyString(), any(), any()))
-                .thenReturn(List.of());
+    }
+
+    private MLPrediction predict(Transaction transaction) {
+        return predict(transaction, List.of());
+    }
+
+    private MLPrediction predict(Transaction transaction, List<Transaction> history) {
+        List<HistoricalTransaction> previous = history.stream()
+                .map(HistoricalTransaction::from)
+                .toList();
+
+        return sageMakerMLAdapter.predict(AssessmentContext.of(transaction, previous, Instant.now()));
     }
 
     private void setupLocale() {
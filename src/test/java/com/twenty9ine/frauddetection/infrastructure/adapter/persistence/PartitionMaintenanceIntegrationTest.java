@@ -0,0 +1,140 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jdbc.test.autoconfigure.DataJdbcTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@DisabledInAotMode
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock("postgres")
+class PartitionMaintenanceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        postgres.start();
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    // Partition DDL runs inside the test transaction and is rolled back with it
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCreatePartitionsAheadOfCurrentMonth() {
+        maintenanceAt("2031-06-15T10:00:00Z", 2, 0).maintain();
+
+        for (String table : PartitionMaintenance.PARTITIONED_TABLES) {
+            assertThat(partitionExists(table + "_p2031_06")).isTrue();
+            assertThat(partitionExists(table + "_p2031_08")).isTrue();
+            assertThat(partitionExists(table + "_p2031_09")).isFalse();
+        }
+    }
+
+    @Test
+    void shouldDropPartitionsPastRetention() {
+        jdbcTemplate.queryForObject("SELECT create_monthly_partitions('transaction', DATE '2020-01-01', 2)", Integer.class);
+        UUID expired = insertTransaction("2020-01-10 12:00:00");
+        UUID retained = insertTransaction("2020-02-10 12:00:00");
+
+        maintenanceAt("2021-03-15T10:00:00Z", 0, 13).maintain();
+
+        assertThat(partitionExists("transaction_p2020_01")).isFalse();
+        assertThat(partitionExists("transaction_p2020_02")).isTrue();
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM transaction WHERE id IN (?, ?)", UUID.class, expired, retained))
+                .containsExactly(retained);
+    }
+
+    @Test
+    void shouldMoveRowsOutOfTheDefaultPartitionWhenTheirMonthIsCreated() {
+        UUID stranded = insertTransaction("2032-01-10 12:00:00");
+        assertThat(partitionOf(stranded)).isEqualTo("transaction_default");
+
+        maintenanceAt("2031-12-15T10:00:00Z", 1, 0).maintain();
+
+        assertThat(partitionOf(stranded)).isEqualTo("transaction_p2032_01");
+    }
+
+    @Test
+    void shouldPurgeExpiredRowsFromTheDefaultPartitionAndReportTheRest() {
+        UUID expired = insertTransaction("2019-05-10 12:00:00");
+        UUID future = insertTransaction("2040-05-10 12:00:00");
+        PartitionMaintenance maintenance = maintenanceAt("2021-03-15T10:00:00Z", 0, 13);
+
+        maintenance.maintain();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM transaction WHERE id IN (?, ?)", UUID.class, expired, future))
+                .containsExactly(future);
+        assertThat(maintenance.defaultPartitionRows("transaction")).isPositive();
+    }
+
+    @Test
+    void shouldPruneTimeRangeQueriesToTheirPartitions() {
+        jdbcTemplate.queryForObject("SELECT create_monthly_partitions('transaction', DATE '2020-01-01', 3)", Integer.class);
+
+        List<String> plan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT id FROM transaction
+                WHERE timestamp >= TIMESTAMP '2020-02-01 00:00:00' AND timestamp < TIMESTAMP '2020-03-01 00:00:00'
+                """, String.class);
+
+        assertThat(String.join("\n", plan))
+                .contains("transaction_p2020_02")
+                .doesNotContain("transaction_p2020_01", "transaction_p2020_03", "transaction_default");
+    }
+
+    private PartitionMaintenance maintenanceAt(String instant, int monthsAhead, int retentionMonths) {
+        Clock clock = Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+
+        return new PartitionMaintenance(jdbcTemplate, clock, true, monthsAhead, retentionMonths);
+    }
+
+    private boolean partitionExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private String partitionOf(UUID transactionId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::REGCLASS::TEXT FROM transaction WHERE id = ?", String.class, transactionId);
+    }
+
+    private UUID insertTransaction(String timestamp) {
+        UUID id = UUID.randomUUID();
+
+        jdbcTemplate.update("""
+                INSERT INTO transaction (id, account_id, amount_value, amount_currency, type, channel, timestamp, revision)
+                VALUES (?, 'ACC-PARTITION', 10, 'USD', 'PURCHASE', 'ONLINE', CAST(? AS TIMESTAMP), 1)
+                """, id, timestamp);
+
+        return id;
+    }
+}
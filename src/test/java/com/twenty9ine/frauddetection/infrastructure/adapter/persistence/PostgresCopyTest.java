@@ -0,0 +1,45 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresCopyTest {
+
+    @Test
+    void appendRow_shouldWriteCsvWithQuotedStringsAndBareNulls() throws SQLException {
+        PGobject json = new PGobject();
+        json.setType("jsonb");
+        json.setValue("{\"score\": 0.9}");
+        UUID id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+        String row = PostgresCopy.appendRow(new StringBuilder(), new Object[]{
+                id, "say \"hi\", twice", "", null, 42, new BigDecimal("1E+3"), 1.5, json,
+                Instant.parse("2025-03-03T12:00:00Z")
+        }).toString();
+
+        assertThat(row).isEqualTo("\"00000000-0000-0000-0000-000000000001\",\"say \"\"hi\"\", twice\",\"\",,42,1000,1.5,"
+                + "\"{\"\"score\"\": 0.9}\",\"2025-03-03T12:00:00Z\"\n");
+    }
+
+    @Test
+    void appendRow_shouldWriteNullJsonAsNull() {
+        String row = PostgresCopy.appendRow(new StringBuilder(), new Object[]{new PGobject(), "x"}).toString();
+
+        assertThat(row).isEqualTo(",\"x\"\n");
+    }
+
+    @Test
+    void appendRow_shouldWriteBytesInHexFormat() {
+        String row = PostgresCopy.appendRow(new StringBuilder(), new Object[]{new byte[]{0, 1, (byte) 0xAB}, new byte[0]})
+                .toString();
+
+        assertThat(row).isEqualTo("\\x0001ab,\\x\n");
+    }
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.api.parallel.ResourceLock;
-import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jdbc.test.autoconfigure.DataJdbcTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
@@ -20,7 +19,6 @@ import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
@@ -258,19 +256,11 @@ class RiskAssessmentJdbcRepositoryIntegrationTest {
                 .riskScoreValue(75)
                 .riskLevel("MEDIUM")
                 .decision("REVIEW")
-                .mlPredictionJson(createMlPredictionJson())
+                .mlModelId("model")
+                .mlModelVersion("1.0.0")
+                .mlFraudProbability(0.6)
+                .mlConfidence(0.85)
                 .assessmentTime(now())
                 .build();
     }
-
-    private PGobject createMlPredictionJson() {
-        PGobject jsonObject = new PGobject();
-        jsonObject.setType("jsonb");
-        try {
-            jsonObject.setValue("{\"confidence\": 0.85}");
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-        return jsonObject;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,379 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
+
+import com.twenty9ine.frauddetection.application.dto.RiskAssessmentDto;
+import com.twenty9ine.frauddetection.application.dto.RuleEvaluationDto;
+import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jdbc.test.autoconfigure.DataJdbcTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@DisabledInAotMode
+@ComponentScan(basePackages = "com.twenty9ine.frauddetection.infrastructure.adapter.persistence")
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock("postgres")
+class RiskAssessmentQueryAdapterIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        postgres.start();
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private RiskAssessmentQueryAdapter queryAdapter;
+
+    @Autowired
+    private RiskAssessmentRepositoryAdapter repositoryAdapter;
+
+    @Autowired
+    private RiskAssessmentJdbcRepository jdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFindPageWithRuleEvaluations() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        RuleEvaluation velocity = new RuleEvaluation("VELOCITY_5MIN", "velocity", RuleType.VELOCITY, true, 30, "High transaction velocity");
+        RuleEvaluation amount = new RuleEvaluation("LARGE_AMOUNT", "amount", RuleType.AMOUNT, true, 40, null);
+
+        RiskAssessment newest = save(now, RiskScore.of(85), List.of(velocity, amount), Decision.BLOCK);
+        RiskAssessment middle = save(now.minus(1, ChronoUnit.MINUTES), RiskScore.of(80), List.of(), Decision.REVIEW);
+        save(now.minus(2, ChronoUnit.MINUTES), RiskScore.of(75), List.of(amount), Decision.REVIEW);
+        save(now, RiskScore.of(20), List.of(velocity), Decision.ALLOW);
+
+        PagedResult<RiskAssessmentDto> page = queryAdapter.findByRiskLevelSince(Set.of(TransactionRiskLevel.HIGH),
+                now.minus(1, ChronoUnit.HOURS), PageRequest.of(0, 2, SortDirection.DESC));
+
+        assertThat(page.totalElements()).isEqualTo(3);
+        assertThat(page.totalPages()).isEqualTo(2);
+        assertThat(page.content())
+                .extracting(RiskAssessmentDto::assessmentId)
+                .containsExactly(newest.getAssessmentId().toUUID(), middle.getAssessmentId().toUUID());
+
+        RiskAssessmentDto first = page.content().getFirst();
+        assertThat(first.transactionRiskLevel()).isEqualTo(TransactionRiskLevel.HIGH);
+        assertThat(first.decision()).isEqualTo(Decision.BLOCK);
+        assertThat(first.ruleEvaluations())
+                .extracting(RuleEvaluationDto::ruleId, RuleEvaluationDto::ruleType, RuleEvaluationDto::description)
+                .containsExactlyInAnyOrder(
+                        tuple("VELOCITY_5MIN", RuleType.VELOCITY, "High transaction velocity"),
+                        tuple("LARGE_AMOUNT", RuleType.AMOUNT, null));
+        assertThat(page.content().getLast().ruleEvaluations()).isEmpty();
+    }
+
+    @Test
+    void shouldCountMatchesWhenPageIsPastTheLastOne() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        for (int i = 0; i < 3; i++) {
+            save(now.minus(i, ChronoUnit.MINUTES), RiskScore.of(85), List.of(), Decision.BLOCK);
+        }
+
+        PagedResult<RiskAssessmentDto> page = queryAdapter.findByRiskLevelSince(Set.of(), null,
+                PageRequest.of(5, 2, SortDirection.ASC));
+
+        assertThat(page.content()).isEmpty();
+        assertThat(page.totalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectUnknownSortProperty() {
+        PageRequest pageRequest = new PageRequest(0, 10, "transactionId; DROP TABLE risk_assessments", SortDirection.DESC);
+
+        assertThatThrownBy(() -> queryAdapter.findByRiskLevelSince(Set.of(), null, pageRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unknown sort property");
+    }
+
+    @Test
+    void shouldScrollByCursorWithoutSkippingOrRepeating() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        RuleEvaluation velocity = new RuleEvaluation("ruleId", "velocity", RuleType.VELOCITY, true, 30, "High transaction velocity");
+
+        for (int i = 0; i < 5; i++) {
+            save(now.minus(i, ChronoUnit.MINUTES), RiskScore.of(85), List.of(velocity), Decision.BLOCK);
+        }
+        save(now, RiskScore.of(85), List.of(velocity), Decision.BLOCK);
+        save(now, RiskScore.of(40), List.of(), Decision.REVIEW);
+
+        Set<TransactionRiskLevel> levels = Set.of(TransactionRiskLevel.HIGH);
+        Instant since = now.minus(10, ChronoUnit.MINUTES);
+        List<RiskAssessmentDto> scrolled = new ArrayList<>();
+        AssessmentCursor cursor = null;
+        int pages = 0;
+
+        do {
+            CursorPage<RiskAssessmentDto> page = queryAdapter.scrollByRiskLevelSince(levels, since, cursor, 2, false);
+            assertThat(page.estimatedTotalElements()).isNull();
+            scrolled.addAll(page.content());
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(scrolled)
+                .hasSize(6)
+                .allMatch(dto -> dto.transactionRiskLevel() == TransactionRiskLevel.HIGH)
+                .allMatch(dto -> dto.ruleEvaluations().size() == 1)
+                .extracting(RiskAssessmentDto::assessmentId)
+                .doesNotHaveDuplicates();
+        assertThat(scrolled)
+                .extracting(RiskAssessmentDto::assessmentTime)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void shouldEstimateTotalWhenScrollingOnlyWhenAsked() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        for (int i = 0; i < 3; i++) {
+            save(now.minus(i, ChronoUnit.MINUTES), RiskScore.of(95), List.of(), Decision.BLOCK);
+        }
+
+        CursorPage<RiskAssessmentDto> page = queryAdapter.scrollByRiskLevelSince(
+                Set.of(TransactionRiskLevel.CRITICAL), now.minus(1, ChronoUnit.HOURS), null, 10, true);
+
+        assertThat(page.content()).hasSize(3);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.estimatedTotalElements()).isNotNull().isPositive();
+    }
+
+    @Test
+    void shouldScrollAccountAssessmentsWithinTimeRange() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        for (int i = 0; i < 4; i++) {
+            saveForAccount("ACC-1", now.minus(i, ChronoUnit.HOURS));
+        }
+        saveForAccount("ACC-1", now.minus(3, ChronoUnit.DAYS));
+        saveForAccount("ACC-2", now);
+
+        Instant from = now.minus(3, ChronoUnit.HOURS);
+        List<RiskAssessmentDto> scrolled = new ArrayList<>();
+        AssessmentCursor cursor = null;
+
+        do {
+            CursorPage<RiskAssessmentDto> page = queryAdapter.scrollByAccount("ACC-1", from, now, cursor, 2);
+            scrolled.addAll(page.content());
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertThat(scrolled)
+                .extracting(RiskAssessmentDto::assessmentTime)
+                .containsExactly(now.minus(1, ChronoUnit.HOURS), now.minus(2, ChronoUnit.HOURS), from);
+        assertThat(scrolled).allMatch(dto -> "ACC-1".equals(dto.accountId()));
+        assertThat(queryAdapter.scrollByAccount("ACC-1", null, null, null, 10).content()).hasSize(5);
+    }
+
+    @Test
+    void shouldScanAccountHistoryThroughTheAccountIndex() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        List<String> plan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT id FROM risk_assessments
+                WHERE account_id = 'ACC-1' AND assessment_time >= now() - INTERVAL '1 day'
+                ORDER BY assessment_time DESC, id DESC
+                LIMIT 10
+                """, String.class);
+
+        assertThat(String.join("\n", plan)).contains("account_id_assessment_time");
+    }
+
+    @Test
+    void shouldSearchByEveryGivenFilter() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        MLPrediction v2 = new MLPrediction("model", "2.0.0", 0.9, 0.8, Map.of());
+        MLPrediction v1 = new MLPrediction("model", "1.0.0", 0.9, 0.8, Map.of());
+
+        RiskAssessment match = saveForSearch(now, 80, Decision.BLOCK, Channel.ONLINE, MerchantCategory.GAMBLING, "900.00", v2);
+        RiskAssessment older = saveForSearch(now.minus(1, ChronoUnit.MINUTES), 75, Decision.REVIEW, Channel.ONLINE,
+                MerchantCategory.GAMBLING, "500.00", v2);
+        saveForSearch(now, 80, Decision.BLOCK, Channel.POS, MerchantCategory.GAMBLING, "900.00", v2);
+        saveForSearch(now, 80, Decision.BLOCK, Channel.ONLINE, MerchantCategory.RETAIL, "900.00", v2);
+        saveForSearch(now, 80, Decision.BLOCK, Channel.ONLINE, MerchantCategory.GAMBLING, "50.00", v2);
+        saveForSearch(now, 80, Decision.BLOCK, Channel.ONLINE, MerchantCategory.GAMBLING, "900.00", v1);
+        saveForSearch(now, 40, Decision.REVIEW, Channel.ONLINE, MerchantCategory.GAMBLING, "900.00", v2);
+        saveForSearch(now, 80, Decision.BLOCK, Channel.ONLINE, MerchantCategory.GAMBLING, Money.of(new BigDecimal("900.00"), "EUR"), v2);
+
+        AssessmentSearchCriteria criteria = AssessmentSearchCriteria.builder()
+                .decisions(Set.of(Decision.BLOCK, Decision.REVIEW))
+                .minRiskScore(70)
+                .maxRiskScore(90)
+                .channels(Set.of(Channel.ONLINE))
+                .merchantCategories(Set.of(MerchantCategory.GAMBLING))
+                .minAmount(new BigDecimal("100"))
+                .maxAmount(new BigDecimal("1000"))
+                .amountCurrency("USD")
+                .modelId("model")
+                .modelVersion("2.0.0")
+                .minFraudProbability(0.85)
+                .from(now.minus(1, ChronoUnit.HOURS))
+                .to(now.plus(1, ChronoUnit.HOURS))
+                .build();
+
+        CursorPage<RiskAssessmentDto> first = queryAdapter.search(criteria, null, 1, false);
+        CursorPage<RiskAssessmentDto> second = queryAdapter.search(criteria, first.next(), 1, false);
+
+        assertThat(first.content())
+                .extracting(RiskAssessmentDto::assessmentId)
+                .containsExactly(match.getAssessmentId().toUUID());
+        assertThat(second.content())
+                .extracting(RiskAssessmentDto::assessmentId)
+                .containsExactly(older.getAssessmentId().toUUID());
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldSearchEverythingWhenNoFilterIsGiven() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        saveForSearch(now, 80, Decision.BLOCK, Channel.ONLINE, MerchantCategory.GAMBLING, "900.00", null);
+        saveForSearch(now, 10, Decision.ALLOW, Channel.POS, MerchantCategory.GROCERY, "5.00", null);
+
+        CursorPage<RiskAssessmentDto> page = queryAdapter.search(AssessmentSearchCriteria.builder().build(), null, 10, true);
+
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.estimatedTotalElements()).isNotNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("singleFilterSearches")
+    void shouldServeEachFilterFromItsOwnIndex(AssessmentSearchCriteria criteria, String indexedColumns) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", queryAdapter.explainSearch(criteria, 50));
+
+        assertThat(plan).contains(indexedColumns).doesNotContain("Seq Scan");
+    }
+
+    // Where filters are equally selective the planner may lead with any of their indexes, so each alternative is listed
+    @ParameterizedTest
+    @MethodSource("combinedFilterSearches")
+    void shouldServeCombinedFiltersFromTheirOwnIndexes(AssessmentSearchCriteria criteria, String indexedColumns) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", queryAdapter.explainSearch(criteria, 50));
+
+        assertThat(plan).containsPattern("(using|Bitmap Index Scan on) \\S*(" + indexedColumns + ")").doesNotContain("Seq Scan");
+    }
+
+    private static Stream<Arguments> singleFilterSearches() {
+        return Stream.of(
+                Arguments.of(AssessmentSearchCriteria.builder().riskLevels(Set.of(TransactionRiskLevel.HIGH)).build(),
+                        "risk_level_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().decisions(Set.of(Decision.BLOCK)).build(),
+                        "decision_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().channels(Set.of(Channel.ONLINE)).build(),
+                        "channel_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().merchantCategories(Set.of(MerchantCategory.GAMBLING)).build(),
+                        "merchant_category_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().modelVersion("2.0.0").build(),
+                        "ml_model_version_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().modelId("model").minFraudProbability(0.8).build(),
+                        "ml_model_id_ml_fraud_probability"),
+                Arguments.of(AssessmentSearchCriteria.builder().from(Instant.now().minus(1, ChronoUnit.DAYS)).build(),
+                        "assessment_time_id"));
+    }
+
+    private static Stream<Arguments> combinedFilterSearches() {
+        Instant since = Instant.now().minus(1, ChronoUnit.DAYS);
+
+        return Stream.of(
+                Arguments.of(AssessmentSearchCriteria.builder().minRiskScore(70).maxRiskScore(90).build(),
+                        "risk_score_value"),
+                Arguments.of(AssessmentSearchCriteria.builder().minAmount(new BigDecimal("100")).maxAmount(new BigDecimal("1000"))
+                        .amountCurrency("USD").build(),
+                        "amount_currency_amount_value"),
+                Arguments.of(AssessmentSearchCriteria.builder().decisions(Set.of(Decision.BLOCK)).from(since).build(),
+                        "decision_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().channels(Set.of(Channel.ONLINE))
+                        .merchantCategories(Set.of(MerchantCategory.GAMBLING)).build(),
+                        "channel_assessment_time|merchant_category_assessment_time"),
+                Arguments.of(AssessmentSearchCriteria.builder().decisions(Set.of(Decision.BLOCK)).minRiskScore(70)
+                        .minAmount(new BigDecimal("100")).amountCurrency("USD").build(),
+                        "decision_assessment_time|amount_currency_amount_value"),
+                Arguments.of(AssessmentSearchCriteria.builder().riskLevels(Set.of(TransactionRiskLevel.HIGH))
+                        .channels(Set.of(Channel.ONLINE)).modelVersion("2.0.0").from(since).to(Instant.now()).build(),
+                        "risk_level_assessment_time|channel_assessment_time|ml_model_version_assessment_time"));
+    }
+
+    private RiskAssessment save(Instant time, RiskScore score, List<RuleEvaluation> evaluations, Decision decision) {
+        RiskAssessment assessment = new RiskAssessment(AssessmentId.generate(), TransactionId.generate(), score, evaluations,
+                null, time);
+        assessment.completeAssessment(decision);
+
+        return repositoryAdapter.save(assessment);
+    }
+
+    private void saveForAccount(String accountId, Instant time) {
+        repositoryAdapter.save(new RiskAssessment(AssessmentId.generate(), TransactionId.generate(), accountId,
+                RiskScore.of(50), List.of(), null, null, time, Decision.REVIEW));
+    }
+
+    private RiskAssessment saveForSearch(Instant time, int score, Decision decision, Channel channel,
+                                         MerchantCategory merchantCategory, String amount, MLPrediction mlPrediction) {
+        return saveForSearch(time, score, decision, channel, merchantCategory, Money.of(new BigDecimal(amount), "USD"),
+                mlPrediction);
+    }
+
+    private RiskAssessment saveForSearch(Instant time, int score, Decision decision, Channel channel,
+                                         MerchantCategory merchantCategory, Money amount, MLPrediction mlPrediction) {
+        Transaction transaction = Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId("ACC-1")
+                .amount(amount)
+                .type(TransactionType.PURCHASE)
+                .channel(channel)
+                .merchant(new Merchant(MerchantId.of("MER-1"), "Merchant", merchantCategory))
+                .timestamp(time)
+                .build();
+
+        return repositoryAdapter.save(new RiskAssessment(AssessmentId.generate(), transaction.id(), "ACC-1",
+                RiskScore.of(score), List.of(), mlPrediction, null, time, decision), transaction);
+    }
+}
@@ -2,6 +2,8 @@ package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
 
 import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
 import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.RiskAssessmentEntity;
+import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper.RiskAssessmentMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -11,16 +13,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jdbc.test.autoconfigure.DataJdbcTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -55,6 +63,12 @@ class RiskAssessmentRepositoryAdapterIntegrationTest {
     @Autowired
     private RiskAssessmentJdbcRepository jdbcRepository;
 
+    @Autowired
+    private RiskAssessmentMapper mapper;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         jdbcRepository.deleteAll();
@@ -323,6 +337,230 @@ class RiskAssessmentRepositoryAdapterIntegrationTest {
         assertThat(found.get().getAssessmentId()).isEqualTo(saved2.getAssessmentId());
     }
 
+    @Test
+    void shouldBumpRevisionAndReplaceRuleEvaluationsOnUpdate() {
+        RuleEvaluation velocity = new RuleEvaluation("VELOCITY_5MIN", "ruleName", RuleType.VELOCITY, true, 30, "High transaction velocity");
+        RuleEvaluation amount = new RuleEvaluation("LARGE_AMOUNT", "ruleName", RuleType.AMOUNT, true, 40, null);
+        AssessmentId assessmentId = AssessmentId.generate();
+        TransactionId transactionId = TransactionId.generate();
+
+        RiskAssessment first = new RiskAssessment(assessmentId, transactionId, RiskScore.of(50), List.of(velocity, amount), null);
+        first.completeAssessment(Decision.REVIEW);
+        repositoryAdapter.save(first);
+        RiskAssessmentEntity inserted = jdbcRepository.findById(assessmentId.toUUID()).orElseThrow();
+
+        RiskAssessment second = new RiskAssessment(assessmentId, transactionId, RiskScore.of(80), List.of(amount), null);
+        second.completeAssessment(Decision.BLOCK);
+        RiskAssessment saved = repositoryAdapter.save(second);
+
+        RiskAssessmentEntity updated = jdbcRepository.findById(assessmentId.toUUID()).orElseThrow();
+        assertThat(inserted.getRevision()).isEqualTo(1);
+        assertThat(updated.getRevision()).isEqualTo(2);
+        assertThat(updated.getCreatedAt()).isEqualTo(inserted.getCreatedAt());
+        assertThat(updated.getDecision()).isEqualTo(Decision.BLOCK.name());
+        assertThat(updated.getRuleEvaluations())
+                .singleElement()
+                .satisfies(rule -> assertThat(rule.getRuleType()).isEqualTo(RuleType.AMOUNT.name()));
+        assertThat(saved.getRuleEvaluations())
+                .singleElement()
+                .satisfies(rule -> assertThat(rule.ruleId()).isEqualTo("LARGE_AMOUNT"));
+    }
+
+    @Test
+    void shouldKeepAccountIdWhenUpdatedWithoutOne() {
+        AssessmentId assessmentId = AssessmentId.generate();
+        TransactionId transactionId = TransactionId.generate();
+        Instant now = Instant.now();
+
+        RiskAssessment saved = repositoryAdapter.save(new RiskAssessment(assessmentId, transactionId, "ACC-1",
+                RiskScore.of(50), List.of(), null, null, now, Decision.REVIEW));
+        repositoryAdapter.save(new RiskAssessment(assessmentId, transactionId, RiskScore.of(80), List.of(), null, now,
+                Decision.BLOCK));
+
+        assertThat(saved.getAccountId()).isEqualTo("ACC-1");
+        assertThat(jdbcRepository.findById(assessmentId.toUUID()).orElseThrow().getAccountId()).isEqualTo("ACC-1");
+    }
+
+    @Test
+    void shouldStoreSearchAttributesAndKeepThemWhenUpdatedWithoutThem() {
+        AssessmentId assessmentId = AssessmentId.generate();
+        TransactionId transactionId = TransactionId.generate();
+        Instant now = Instant.now();
+        MLPrediction mlPrediction = new MLPrediction("model", "2.1.0", 0.7, 0.9, Map.of("amount", 0.4, "velocity", 0.2));
+
+        Transaction transaction = Transaction.builder()
+                .id(transactionId)
+                .accountId("ACC-1")
+                .amount(Money.of(new BigDecimal("250.50"), "EUR"))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.ONLINE)
+                .merchant(new Merchant(MerchantId.of("MER-1"), "Casino", MerchantCategory.GAMBLING))
+                .timestamp(now)
+                .build();
+
+        repositoryAdapter.save(new RiskAssessment(assessmentId, transactionId, "ACC-1", RiskScore.of(50), List.of(),
+                mlPrediction, null, now, Decision.REVIEW), transaction);
+        repositoryAdapter.save(new RiskAssessment(assessmentId, transactionId, RiskScore.of(80), List.of(), mlPrediction, now,
+                Decision.BLOCK));
+
+        RiskAssessmentEntity stored = jdbcRepository.findById(assessmentId.toUUID()).orElseThrow();
+        assertThat(stored.getAmountValue()).isEqualByComparingTo("250.50");
+        assertThat(stored.getAmountCurrency()).isEqualTo("EUR");
+        assertThat(stored.getChannel()).isEqualTo(Channel.ONLINE.name());
+        assertThat(stored.getMerchantCategory()).isEqualTo(MerchantCategory.GAMBLING.name());
+        assertThat(stored.getMlModelVersion()).isEqualTo("2.1.0");
+        assertThat(stored.getMlFraudProbability()).isEqualTo(0.7);
+        assertThat(repositoryAdapter.findByTransactionId(transactionId).orElseThrow().getMlPrediction())
+                .isEqualTo(mlPrediction);
+    }
+
+    @Test
+    void shouldSaveAllWithJdbcBatches() {
+        assertSavesAll(repositoryAdapter);
+    }
+
+    @Test
+    void shouldSaveAllWithCopy() {
+        assertSavesAll(new RiskAssessmentRepositoryAdapter(jdbcRepository, mapper, jdbcTemplate, 1));
+    }
+
+    private void assertSavesAll(RiskAssessmentRepositoryAdapter target) {
+        RuleEvaluation velocity = new RuleEvaluation("ruleId", "ruleName", RuleType.VELOCITY, true, 30, "Quoted \"velocity\", with a comma");
+        RuleEvaluation amount = new RuleEvaluation("ruleId", "ruleName", RuleType.AMOUNT, true, 40, null);
+        MLPrediction mlPrediction = new MLPrediction("modelId", "fraud_model_v1", 0.85,
+                0.85, Map.of("feature1", 0.1, "feature2", 0.9));
+
+        RiskAssessment existing = new RiskAssessment(TransactionId.generate(), RiskScore.of(50), List.of(velocity, amount), null);
+        existing.completeAssessment(Decision.REVIEW);
+        repositoryAdapter.save(existing);
+
+        RiskAssessment rescored = new RiskAssessment(existing.getAssessmentId(), existing.getTransactionId(), RiskScore.of(80),
+                List.of(amount), null);
+        rescored.completeAssessment(Decision.BLOCK);
+        RiskAssessment predicted = new RiskAssessment(TransactionId.generate(), RiskScore.of(90), List.of(velocity), mlPrediction);
+        predicted.completeAssessment(Decision.BLOCK);
+        RiskAssessment clean = createRiskAssessment(RiskScore.of(10));
+        clean.completeAssessment(Decision.ALLOW);
+
+        List<RiskAssessment> saved = target.saveAll(List.of(rescored, predicted, clean), Map.of());
+
+        assertThat(saved).extracting(RiskAssessment::getAssessmentId)
+                .containsExactly(existing.getAssessmentId(), predicted.getAssessmentId(), clean.getAssessmentId());
+
+        RiskAssessmentEntity updated = jdbcRepository.findById(existing.getAssessmentId().toUUID()).orElseThrow();
+        assertThat(updated.getRevision()).isEqualTo(2);
+        assertThat(updated.getDecision()).isEqualTo(Decision.BLOCK.name());
+        assertThat(updated.getRuleEvaluations())
+                .singleElement()
+                .satisfies(rule -> assertThat(rule.getDescription()).isNull());
+
+        RiskAssessment found = repositoryAdapter.findByTransactionId(predicted.getTransactionId()).orElseThrow();
+        assertThat(found.getAssessmentTime()).isEqualTo(predicted.getAssessmentTime().truncatedTo(ChronoUnit.MICROS));
+        assertThat(found.getMlPrediction().modelVersion()).isEqualTo("fraud_model_v1");
+        assertThat(found.getRuleEvaluations())
+                .singleElement()
+                .satisfies(rule -> assertThat(rule.description()).isEqualTo("Quoted \"velocity\", with a comma"));
+        assertThat(repositoryAdapter.findByTransactionId(clean.getTransactionId()).orElseThrow().getRuleEvaluations()).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldStoreOneRowWhenTheSameAssessmentIsSavedConcurrently() throws Exception {
+        RuleEvaluation velocity = new RuleEvaluation("ruleId", "ruleName", RuleType.VELOCITY, true, 30, "High transaction velocity");
+        RiskAssessment assessment = new RiskAssessment(TransactionId.generate(), RiskScore.of(50), List.of(velocity), null);
+        assessment.completeAssessment(Decision.REVIEW);
+
+        try {
+            List<Throwable> failures = saveConcurrently(Collections.nCopies(8, assessment));
+
+            assertThat(failures).isEmpty();
+            assertThat(assessmentRowCount(assessment.getTransactionId())).isEqualTo(1);
+            assertThat(jdbcRepository.findById(assessment.getAssessmentId().toUUID()).orElseThrow().getRuleEvaluations()).hasSize(1);
+        } finally {
+            deleteAssessments(assessment.getTransactionId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldRejectASecondAssessmentOfATransactionSavedConcurrently() throws Exception {
+        TransactionId transactionId = TransactionId.generate();
+        Instant now = Instant.now();
+        List<RiskAssessment> competing = new ArrayList<>();
+
+        // Assessment times months apart put the competing rows in different partitions
+        for (int i = 0; i < 8; i++) {
+            competing.add(new RiskAssessment(AssessmentId.generate(), transactionId, RiskScore.of(50), List.of(), null,
+                    now.minus(i * 40L, ChronoUnit.DAYS), Decision.REVIEW));
+        }
+
+        try {
+            List<Throwable> failures = saveConcurrently(competing);
+
+            assertThat(failures).hasSize(7).allMatch(DataIntegrityViolationException.class::isInstance);
+            assertThat(assessmentRowCount(transactionId)).isEqualTo(1);
+        } finally {
+            deleteAssessments(transactionId);
+        }
+    }
+
+    @Test
+    void shouldMoveAnAssessmentResavedWithAnotherAssessmentTime() {
+        AssessmentId assessmentId = AssessmentId.generate();
+        TransactionId transactionId = TransactionId.generate();
+        Instant now = Instant.now();
+
+        repositoryAdapter.save(new RiskAssessment(assessmentId, transactionId, RiskScore.of(50), List.of(), null, now,
+                Decision.REVIEW));
+        repositoryAdapter.save(new RiskAssessment(assessmentId, transactionId, RiskScore.of(50), List.of(), null,
+                now.minus(60, ChronoUnit.DAYS), Decision.REVIEW));
+
+        assertThat(assessmentRowCount(transactionId)).isEqualTo(1);
+        assertThat(jdbcRepository.findById(assessmentId.toUUID()).orElseThrow().getRevision()).isEqualTo(2);
+    }
+
+    // Starts every save at once, each in its own transaction, and returns the failures
+    private List<Throwable> saveConcurrently(List<RiskAssessment> assessments) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(assessments.size());
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<RiskAssessment>> saves = new ArrayList<>();
+            for (RiskAssessment assessment : assessments) {
+                saves.add(executor.submit(() -> {
+                    start.await();
+                    return repositoryAdapter.save(assessment);
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<RiskAssessment> save : saves) {
+                try {
+                    save.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Integer assessmentRowCount(TransactionId transactionId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM risk_assessments WHERE transaction_id = :transactionId",
+                Map.of("transactionId", transactionId.toUUID()), Integer.class);
+    }
+
+    private void deleteAssessments(TransactionId transactionId) {
+        Map<String, UUID> parameters = Map.of("transactionId", transactionId.toUUID());
+        jdbcTemplate.update("""
+                DELETE FROM rule_evaluations
+                WHERE assessment_id IN (SELECT id FROM risk_assessments WHERE transaction_id = :transactionId)""", parameters);
+        jdbcTemplate.update("DELETE FROM risk_assessments WHERE transaction_id = :transactionId", parameters);
+    }
+
     private RiskAssessment createRiskAssessment(RiskScore score) {
         return new RiskAssessment(TransactionId.generate(), score);
     }
@@ -1,6 +1,7 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.persistence;
 
 import com.twenty9ine.frauddetection.domain.valueobject.*;
+import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.TransactionEntity;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jdbc.test.autoconfigure.DataJdbcTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.aot.DisabledInAotMode;
@@ -23,7 +25,10 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Currency;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -58,6 +63,12 @@ class TransactionRepositoryAdapterIntegrationTest {
     @Autowired
     private TransactionJdbcRepository jdbcRepository;
 
+    @Autowired
+    private TransactionMapper mapper;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         jdbcRepository.deleteAll();
@@ -163,6 +174,103 @@ class TransactionRepositoryAdapterIntegrationTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void shouldFindHistoryByAccountIdNewestFirstInOneProjection() {
+        // Given
+        String accountId = "ACC123";
+        Instant now = now();
+
+        Transaction older = createTransactionWithAccountIdAndTime(accountId, oneHourEarlier(now));
+        Transaction newer = createTransactionWithAccountIdAndTime(accountId, now);
+        Transaction beforeWindow = createTransactionWithAccountIdAndTime(accountId, oneHourEarlier(twoHoursEarlier(now)));
+        Transaction afterWindow = createTransactionWithAccountIdAndTime(accountId, now.plus(1, ChronoUnit.MINUTES));
+        Transaction differentAccount = createTransactionWithAccountIdAndTime("ACC456", now);
+
+        adapter.save(older);
+        adapter.save(newer);
+        adapter.save(beforeWindow);
+        adapter.save(afterWindow);
+        adapter.save(differentAccount);
+
+        // When
+        List<HistoricalTransaction> history = adapter.findHistoryByAccountId(accountId, twoHoursEarlier(now), now, 10);
+
+        // Then
+        assertThat(history)
+                .extracting(HistoricalTransaction::id)
+                .containsExactly(newer.id(), older.id());
+        assertThat(history.getFirst().timestamp()).isEqualTo(now);
+        assertThat(history.getFirst().merchantId()).isEqualTo(MerchantId.of("MER123"));
+        assertThat(history.getFirst().location()).isEqualTo(newer.location());
+        assertThat(history.getFirst().amount().value()).isEqualByComparingTo(newer.amount().value());
+    }
+
+    @Test
+    void shouldLimitHistoryToMostRecentTransactions() {
+        // Given
+        String accountId = "ACC123";
+        Instant now = now();
+
+        for (int i = 0; i < 5; i++) {
+            adapter.save(createTransactionWithAccountIdAndTime(accountId, now.minus(i, ChronoUnit.MINUTES)));
+        }
+
+        // When
+        List<HistoricalTransaction> history = adapter.findHistoryByAccountId(accountId, twoHoursEarlier(now), now, 3);
+
+        // Then
+        assertThat(history)
+                .hasSize(3)
+                .extracting(HistoricalTransaction::timestamp)
+                .containsExactly(now, now.minus(1, ChronoUnit.MINUTES), now.minus(2, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void shouldFindNearbyTransactionsAcrossAccountsWithinRadius() {
+        // Given
+        Instant now = now();
+        Location london = Location.of(51.5074, -0.1278);
+
+        Transaction atCentre = createTransactionAt("ACC123", now, london);
+        Transaction threeKmAway = createTransactionAt("ACC456", oneHourEarlier(now), Location.of(51.5300, -0.1000));
+        Transaction inParis = createTransactionAt("ACC789", now, Location.of(48.8566, 2.3522));
+        Transaction beforeWindow = createTransactionAt("ACC123", oneHourEarlier(twoHoursEarlier(now)), london);
+
+        adapter.save(atCentre);
+        adapter.save(threeKmAway);
+        adapter.save(inParis);
+        adapter.save(beforeWindow);
+
+        // When
+        List<HistoricalTransaction> nearby = adapter.findNearby(london, 10.0, twoHoursEarlier(now), 10);
+
+        // Then
+        assertThat(nearby)
+                .extracting(HistoricalTransaction::id)
+                .containsExactly(atCentre.id(), threeKmAway.id());
+    }
+
+    @Test
+    void shouldFindNearbyTransactionsFromTheInlinedLocationColumns() {
+        // Given - V7 folded the location table into transaction, so the geohash ranges must name its column
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForObject("SELECT to_regclass('location') IS NULL", Boolean.class)).isTrue();
+
+        Instant now = now();
+        Location centre = Location.of(-26.2041, 28.0473);
+        Transaction nearCentre = createTransactionAt("ACC123", now, Location.of(-26.2050, 28.0480));
+        Transaction acrossTown = createTransactionAt("ACC456", now, Location.of(-26.1076, 28.0567));
+        adapter.save(nearCentre);
+        adapter.save(acrossTown);
+
+        // When - a small radius searches fine cells around the centre
+        List<HistoricalTransaction> nearby = adapter.findNearby(centre, 0.5, twoHoursEarlier(now), 10);
+
+        // Then
+        assertThat(nearby)
+                .extracting(HistoricalTransaction::id)
+                .containsExactly(nearCentre.id());
+    }
+
     @Test
     void shouldFindEarliestByAccountId() {
         // Given
@@ -282,6 +390,168 @@ class TransactionRepositoryAdapterIntegrationTest {
         assertThat(found.get().amount().value()).isEqualByComparingTo(new BigDecimal("999.99"));
     }
 
+    @Test
+    void shouldBumpRevisionAndReplaceChildrenOnUpdate() {
+        // Given
+        Transaction transaction = createTransaction();
+        adapter.save(transaction);
+        TransactionEntity inserted = jdbcRepository.findById(transaction.id().toUUID()).orElseThrow();
+
+        // When
+        Transaction updated = Transaction.builder()
+                .id(transaction.id())
+                .accountId(transaction.accountId())
+                .amount(transaction.amount())
+                .type(transaction.type())
+                .channel(transaction.channel())
+                .merchant(new Merchant(MerchantId.of("MER456"), "Other Merchant", MerchantCategory.GROCERY))
+                .location(null)
+                .deviceId(transaction.deviceId())
+                .timestamp(transaction.timestamp())
+                .build();
+        adapter.save(updated);
+
+        // Then
+        TransactionEntity saved = jdbcRepository.findById(transaction.id().toUUID()).orElseThrow();
+        assertThat(inserted.revision()).isEqualTo(1);
+        assertThat(saved.revision()).isEqualTo(2);
+        assertThat(saved.createdAt()).isEqualTo(inserted.createdAt());
+        assertThat(saved.merchant().id()).isEqualTo("MER456");
+        assertThat(saved.merchant().category()).isEqualTo(MerchantCategory.GROCERY.name());
+        assertThat(saved.location()).isNull();
+        assertThat(adapter.findHistoryByAccountId(transaction.accountId(), oneHourEarlier(transaction.timestamp()),
+                transaction.timestamp(), 10))
+                .singleElement()
+                .satisfies(history -> assertThat(history.merchantId()).isEqualTo(MerchantId.of("MER456")));
+    }
+
+    @Test
+    void shouldReplaceTheRowOfATransactionResavedWithAShiftedTimestamp() {
+        assertReplacesShiftedTransaction(adapter::save);
+    }
+
+    @Test
+    void shouldReplaceTheRowOfATransactionResavedWithAShiftedTimestampWithCopy() {
+        TransactionRepositoryAdapter copying = new TransactionRepositoryAdapter(jdbcRepository, mapper, jdbcTemplate, 1);
+        assertReplacesShiftedTransaction(transaction -> copying.saveAll(List.of(transaction)));
+    }
+
+    private void assertReplacesShiftedTransaction(Consumer<Transaction> resave) {
+        // Given
+        Transaction transaction = createTransaction();
+        adapter.save(transaction);
+        TransactionEntity inserted = jdbcRepository.findById(transaction.id().toUUID()).orElseThrow();
+
+        // When
+        resave.accept(shifted(transaction));
+
+        // Then
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM transaction WHERE id = :id",
+                Map.of("id", transaction.id().toUUID()), Long.class);
+        assertThat(rows).isEqualTo(1);
+
+        TransactionEntity saved = jdbcRepository.findById(transaction.id().toUUID()).orElseThrow();
+        assertThat(saved.timestamp()).isEqualTo(inserted.timestamp().plus(1, ChronoUnit.MINUTES));
+        assertThat(saved.revision()).isEqualTo(2);
+        assertThat(saved.createdAt()).isEqualTo(inserted.createdAt());
+    }
+
+    private static Transaction shifted(Transaction transaction) {
+        return Transaction.builder()
+                .id(transaction.id())
+                .accountId(transaction.accountId())
+                .amount(transaction.amount())
+                .type(transaction.type())
+                .channel(transaction.channel())
+                .merchant(transaction.merchant())
+                .location(transaction.location())
+                .deviceId(transaction.deviceId())
+                .timestamp(transaction.timestamp().plus(1, ChronoUnit.MINUTES))
+                .build();
+    }
+
+    @Test
+    void shouldKeepOneMerchantDimensionRowPerMerchant() {
+        // Given
+        MerchantId merchantId = MerchantId.of("MER-" + UUID.randomUUID());
+        Transaction first = withMerchant(createTransaction(), new Merchant(merchantId, "Corner Shop", MerchantCategory.RETAIL));
+        Transaction second = withMerchant(createTransaction(), new Merchant(merchantId, "Corner Shop", MerchantCategory.RETAIL));
+        Transaction renamed = withMerchant(createTransaction(), new Merchant(merchantId, "Corner Grocer", MerchantCategory.GROCERY));
+
+        // When
+        adapter.save(first);
+        adapter.saveAll(List.of(second, renamed));
+
+        // Then
+        List<Map<String, Object>> merchants = jdbcTemplate.queryForList("SELECT name, category FROM merchant WHERE id = :id",
+                Map.of("id", merchantId.merchantId()));
+        assertThat(merchants).containsExactly(Map.of("name", "Corner Grocer", "category", MerchantCategory.GROCERY.name()));
+        assertThat(adapter.findById(first.id()).orElseThrow().merchant().name()).isEqualTo("Corner Shop");
+    }
+
+    @Test
+    void shouldSaveAllWithJdbcBatches() {
+        assertSavesAll(adapter);
+    }
+
+    @Test
+    void shouldSaveAllWithCopy() {
+        assertSavesAll(new TransactionRepositoryAdapter(jdbcRepository, mapper, jdbcTemplate, 1));
+    }
+
+    private void assertSavesAll(TransactionRepositoryAdapter target) {
+        // Given
+        Transaction existing = createTransaction();
+        adapter.save(existing);
+        Transaction moved = Transaction.builder()
+                .id(existing.id())
+                .accountId(existing.accountId())
+                .amount(existing.amount())
+                .type(existing.type())
+                .channel(existing.channel())
+                .merchant(new Merchant(MerchantId.of("MER456"), "Other Merchant", MerchantCategory.GROCERY))
+                .location(null)
+                .deviceId(null)
+                .timestamp(existing.timestamp())
+                .build();
+        Transaction located = createTransactionWithAccountId("ACC456");
+        Transaction unlocated = createTransactionAt("ACC456", oneHourEarlier(now()), null);
+
+        // When
+        List<Transaction> saved = target.saveAll(List.of(existing, located, unlocated, moved));
+
+        // Then
+        assertThat(saved).extracting(Transaction::id).containsExactly(existing.id(), located.id(), unlocated.id());
+
+        TransactionEntity updated = jdbcRepository.findById(existing.id().toUUID()).orElseThrow();
+        assertThat(updated.revision()).isEqualTo(2);
+        assertThat(updated.deviceId()).isNull();
+        assertThat(updated.merchant().id()).isEqualTo("MER456");
+        assertThat(updated.location()).isNull();
+
+        Transaction found = adapter.findById(located.id()).orElseThrow();
+        assertThat(found.timestamp()).isEqualTo(located.timestamp());
+        assertThat(found.amount().value()).isEqualByComparingTo(located.amount().value());
+        assertThat(found.merchant().id()).isEqualTo(MerchantId.of("MER123"));
+        assertThat(found.location().country()).isEqualTo("Test Location");
+        assertThat(adapter.findById(unlocated.id()).orElseThrow().location()).isNull();
+        assertThat(adapter.findByAccountId("ACC456")).hasSize(2);
+    }
+
+    private static Transaction withMerchant(Transaction transaction, Merchant merchant) {
+        return Transaction.builder()
+                .id(transaction.id())
+                .accountId(transaction.accountId())
+                .amount(transaction.amount())
+                .type(transaction.type())
+                .channel(transaction.channel())
+                .merchant(merchant)
+                .location(transaction.location())
+                .deviceId(transaction.deviceId())
+                .timestamp(transaction.timestamp())
+                .build();
+    }
+
     private Transaction createTransaction() {
         return createTransactionWithAccountId("ACC123");
     }
@@ -311,6 +581,10 @@ class TransactionRepositoryAdapterIntegrationTest {
     }
 
     private Transaction createTransactionWithAccountIdAndTime(String accountId, Instant timestamp) {
+        return createTransactionAt(accountId, timestamp, new Location(12.34, 56.78, "Test Location", "City"));
+    }
+
+    private Transaction createTransactionAt(String accountId, Instant timestamp, Location location) {
         return Transaction.builder()
                 .id(TransactionId.generate())
                 .accountId(accountId)
@@ -318,7 +592,7 @@ class TransactionRepositoryAdapterIntegrationTest {
                 .type(TransactionType.PURCHASE)
                 .channel(Channel.ONLINE)
                 .merchant(new Merchant(MerchantId.of("MER123"), "Test Merchant", MerchantCategory.RETAIL))
-                .location(new Location(12.34, 56.78, "Test Location", "City"))
+                .location(location)
                 .deviceId("DEV123")
                 .timestamp(timestamp)
                 .build();
@@ -0,0 +1,55 @@
+package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper;
+
+import com.twenty9ine.frauddetection.infrastructure.exception.BoundaryMapperException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeatureImportanceCodecTest {
+
+    @Test
+    void shouldRoundTripFeatureImportance() {
+        Map<String, Double> featureImportance = Map.of("amount", 0.7, "geographic", 0.6, "vélocité", -0.25);
+
+        assertThat(FeatureImportanceCodec.decode(FeatureImportanceCodec.encode(featureImportance)))
+                .isEqualTo(featureImportance);
+    }
+
+    @Test
+    void shouldEncodeInTheLayoutTheMigrationBuilds() {
+        // count 1, name length 1, "a", 0.5 as an IEEE 754 double
+        assertThat(HexFormat.of().formatHex(FeatureImportanceCodec.encode(Map.of("a", 0.5))))
+                .isEqualTo("0001" + "0001" + "61" + "3fe0000000000000");
+    }
+
+    @Test
+    void shouldRoundTripEmptyAndNull() {
+        assertThat(FeatureImportanceCodec.encode(Map.of())).hasSize(2);
+        assertThat(FeatureImportanceCodec.decode(FeatureImportanceCodec.encode(Map.of()))).isEmpty();
+        assertThat(FeatureImportanceCodec.encode(null)).isNull();
+        assertThat(FeatureImportanceCodec.decode(null)).isNull();
+    }
+
+    @Test
+    void shouldRejectTruncatedBytes() {
+        byte[] encoded = FeatureImportanceCodec.encode(Map.of("amount", 0.7));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThatThrownBy(() -> FeatureImportanceCodec.decode(truncated))
+                .isInstanceOf(BoundaryMapperException.class);
+    }
+
+    @Test
+    void shouldRejectANegativeFeatureCount() {
+        byte[] malformed = HexFormat.of().parseHex("ffff" + "0001" + "61" + "3fe0000000000000");
+
+        assertThatThrownBy(() -> FeatureImportanceCodec.decode(malformed))
+                .isInstanceOf(BoundaryMapperException.class)
+                .hasMessageContaining("-1");
+    }
+}
@@ -1,5 +1,6 @@
 package com.twenty9ine.frauddetection.infrastructure.adapter.persistence.mapper;
 
+import com.twenty9ine.frauddetection.domain.valueobject.Geohash;
 import com.twenty9ine.frauddetection.domain.valueobject.Location;
 import com.twenty9ine.frauddetection.infrastructure.adapter.persistence.entity.LocationEntity;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +34,15 @@ class LocationMapperTest {
         assertEquals("New York", entity.city());
     }
 
+    @Test
+    void testToEntity_ComputesGeohashStorageKey() {
+        Location location = Location.of(57.64911, 10.40744);
+
+        LocationEntity entity = mapper.toEntity(location);
+
+        assertEquals("u4pruydqqvj", Geohash.fromStorageKey(entity.geohash()).truncate(11).toString());
+    }
+
     @Test
     void testToEntity_MinimalLocation_MapsRequiredFields() {
         Location location = Location.of(51.5074, -0.1278);
@@ -10,7 +10,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.api.parallel.ResourceLock;
-import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jdbc.test.autoconfigure.DataJdbcTest;
 import org.springframework.context.annotation.ComponentScan;
@@ -21,7 +20,7 @@ import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.sql.SQLException;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -84,10 +83,38 @@ class RiskAssessmentMapperTest {
         assertEquals("HIGH", entity.getRiskLevel());
         assertEquals("REVIEW", entity.getDecision());
         assertEquals(assessment.getAssessmentTime(), entity.getAssessmentTime());
-        assertNotNull(entity.getMlPredictionJson());
+        assertEquals("modelId", entity.getMlModelId());
         assertEquals(1, entity.getRuleEvaluations().size());
     }
 
+    @Test
+    void testToEntity_WithTransaction_MapsSearchAttributes() {
+        MLPrediction mlPrediction = new MLPrediction("modelId", "3.2.1", 0.4, 0.9, Map.of());
+        Transaction transaction = Transaction.builder()
+                .id(TransactionId.generate())
+                .accountId("ACC-1")
+                .amount(Money.of(new BigDecimal("99.95"), "GBP"))
+                .type(TransactionType.PURCHASE)
+                .channel(Channel.MOBILE)
+                .merchant(new Merchant(MerchantId.of("MER-1"), "Shop", MerchantCategory.RETAIL))
+                .timestamp(timestamp)
+                .build();
+        RiskAssessment assessment = new RiskAssessment(AssessmentId.generate(), transaction.id(), "ACC-1", RiskScore.of(30),
+                List.of(), mlPrediction, null, timestamp, Decision.ALLOW);
+
+        RiskAssessmentEntity entity = mapper.toEntity(assessment, transaction);
+        RiskAssessmentEntity withoutTransaction = mapper.toEntity(assessment);
+
+        assertEquals(new BigDecimal("99.95"), entity.getAmountValue());
+        assertEquals("GBP", entity.getAmountCurrency());
+        assertEquals("MOBILE", entity.getChannel());
+        assertEquals("RETAIL", entity.getMerchantCategory());
+        assertEquals("3.2.1", entity.getMlModelVersion());
+        assertNull(withoutTransaction.getAmountValue());
+        assertNull(withoutTransaction.getChannel());
+        assertNull(withoutTransaction.getMerchantCategory());
+    }
+
     @Test
     void testToEntity_MinimalRiskAssessment_MapsRequiredFields() {
         TransactionId transactionId = TransactionId.of(UUID.randomUUID());
@@ -103,7 +130,7 @@ class RiskAssessmentMapperTest {
         assertEquals(30, entity.getRiskScoreValue());
         assertEquals("LOW", entity.getRiskLevel());
         assertEquals("ALLOW", entity.getDecision());
-        assertNull(entity.getMlPredictionJson());
+        assertNull(entity.getMlModelId());
         assertTrue(entity.getRuleEvaluations().isEmpty());
     }
 
@@ -166,7 +193,7 @@ class RiskAssessmentMapperTest {
     }
 
     @Test
-    void testToEntity_WithMLPrediction_SerializesCorrectly() {
+    void testToEntity_WithMLPrediction_MapsTypedColumns() {
         TransactionId transactionId = TransactionId.of(UUID.randomUUID());
         Map<String, Double> features = Map.of("amount", 0.7, "velocity", 0.5, "location", 0.3);
         MLPrediction mlPrediction = new MLPrediction("model123", "GradientBoost", 0.85,
@@ -177,27 +204,28 @@ class RiskAssessmentMapperTest {
 
         RiskAssessmentEntity entity = mapper.toEntity(assessment);
 
-        assertNotNull(entity.getMlPredictionJson());
-        assertEquals("jsonb", entity.getMlPredictionJson().getType());
-
-        String json = entity.getMlPredictionJson().getValue();
-        assertTrue(json.contains("0.85"));
-        assertTrue(json.contains("GradientBoost"));
+        assertEquals("model123", entity.getMlModelId());
+        assertEquals("GradientBoost", entity.getMlModelVersion());
+        assertEquals(0.85, entity.getMlFraudProbability());
+        assertEquals(0.93, entity.getMlConfidence());
+        assertEquals(features, FeatureImportanceCodec.decode(entity.getMlFeatureImportance()));
     }
 
     @Test
-    void testToEntity_NoMLPrediction_ReturnsNullJson() {
+    void testToEntity_NoMLPrediction_LeavesColumnsNull() {
         TransactionId transactionId = TransactionId.of(UUID.randomUUID());
         RiskAssessment assessment = new RiskAssessment(transactionId, RiskScore.of(90));
         assessment.completeAssessment(Decision.REVIEW);
 
         RiskAssessmentEntity entity = mapper.toEntity(assessment);
 
-        assertNull(entity.getMlPredictionJson());
+        assertNull(entity.getMlModelId());
+        assertNull(entity.getMlFraudProbability());
+        assertNull(entity.getMlFeatureImportance());
     }
 
     @Test
-    void testToDomain_CompleteEntity_MapsAllFields() throws SQLException {
+    void testToDomain_CompleteEntity_MapsAllFields() {
         UUID assessmentId = UUID.randomUUID();
         UUID transactionId = UUID.randomUUID();
 
@@ -208,7 +236,11 @@ class RiskAssessmentMapperTest {
                 .riskLevel("HIGH")
                 .decision("REVIEW")
                 .assessmentTime(timestamp)
-                .mlPredictionJson(buildMlJson())
+                .mlModelId("model-id")
+                .mlModelVersion("XGBoost")
+                .mlFraudProbability(0.80)
+                .mlConfidence(0.90)
+                .mlFeatureImportance(FeatureImportanceCodec.encode(Map.of()))
                 .ruleEvaluations(buildRuleEvaluationEntities())
                 .build();
 
@@ -225,12 +257,14 @@ class RiskAssessmentMapperTest {
                 "Timestamps should be within 10ms of each other");
         assertNotNull(assessment.getMlPrediction());
         assertEquals(1, assessment.getRuleEvaluations().size());
+        assertEquals("LARGE_AMOUNT", assessment.getRuleEvaluations().getFirst().ruleId());
     }
 
     private static @NotNull Set<RuleEvaluationEntity> buildRuleEvaluationEntities() {
         Set<RuleEvaluationEntity> ruleEntities = new HashSet<>();
         RuleEvaluationEntity ruleEntity = new RuleEvaluationEntity();
         ruleEntity.setId(1L);
+        ruleEntity.setRuleId("LARGE_AMOUNT");
         ruleEntity.setRuleName("Test Rule");
         ruleEntity.setRuleType("AMOUNT");
         ruleEntity.setScoreImpact(40);
@@ -239,13 +273,6 @@ class RiskAssessmentMapperTest {
         return ruleEntities;
     }
 
-    private static @NotNull PGobject buildMlJson() throws SQLException {
-        PGobject mlJson = new PGobject();
-        mlJson.setType("jsonb");
-        mlJson.setValue("{\"modelId\":\"model-id\",\"modelVersion\":\"XGBoost\",\"fraudProbability\":0.80,\"confidence\":0.90,\"featureImportance\":{}}");
-        return mlJson;
-    }
-
     @Test
     void testToDomain_MinimalEntity_MapsRequiredFields() {
         RiskAssessmentEntity entity = RiskAssessmentEntity.builder()
@@ -311,7 +338,24 @@ class RiskAssessmentMapperTest {
     }
 
     @Test
-    void testToDomain_WithMLPrediction_DeserializesCorrectly() throws SQLException {
+    void testToDomain_StoredDecision_RaisesNoDomainEvents() {
+        RiskAssessmentEntity entity = RiskAssessmentEntity.builder()
+                .id(UUID.randomUUID())
+                .transactionId(UUID.randomUUID())
+                .riskScoreValue(95)
+                .riskLevel("CRITICAL")
+                .decision("BLOCK")
+                .assessmentTime(timestamp)
+                .ruleEvaluations(new HashSet<>()).build();
+
+        RiskAssessment assessment = mapper.toDomain(entity);
+
+        assertEquals(Decision.BLOCK, assessment.getDecision());
+        assertTrue(assessment.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    void testToDomain_WithMLPrediction_MapsTypedColumns() {
         RiskAssessmentEntity entity = RiskAssessmentEntity.builder()
                 .id(UUID.randomUUID())
                 .transactionId(UUID.randomUUID())
@@ -319,19 +363,20 @@ class RiskAssessmentMapperTest {
                 .riskLevel("HIGH")
                 .decision("BLOCK")
                 .assessmentTime(timestamp)
+                .mlModelId("model-id")
+                .mlModelVersion("RandomForest")
+                .mlFraudProbability(0.85)
+                .mlConfidence(0.92)
+                .mlFeatureImportance(FeatureImportanceCodec.encode(Map.of("f1", 0.5)))
                 .ruleEvaluations(new HashSet<>()).build();
 
-        PGobject mlJson = new PGobject();
-        mlJson.setType("json");
-        mlJson.setValue("{\"fraudProbability\":0.85,\"modelId\":\"model-id\",\"modelVersion\":\"RandomForest\",\"confidence\":0.92,\"featureImportance\":{\"f1\":0.5}}");
-        entity.setMlPredictionJson(mlJson);
-
         RiskAssessment assessment = mapper.toDomain(entity);
 
         assertNotNull(assessment.getMlPrediction());
         assertEquals(0.85, assessment.getMlPrediction().fraudProbability());
         assertEquals("RandomForest", assessment.getMlPrediction().modelVersion());
         assertEquals(0.92, assessment.getMlPrediction().confidence());
+        assertEquals(Map.of("f1", 0.5), assessment.getMlPrediction().featureImportance());
     }
 
     @Test
@@ -344,7 +389,7 @@ class RiskAssessmentMapperTest {
                 .decision("REVIEW")
                 .assessmentTime(timestamp)
                 .ruleEvaluations(new HashSet<>())
-                .mlPredictionJson(null)
+                .mlModelId(null)
                 .build();
 
         RiskAssessment assessment = mapper.toDomain(entity);
@@ -406,7 +451,7 @@ class RiskAssessmentMapperTest {
     }
 
     @Test
-    void testRoundTrip_EntityToDomainToEntity_PreservesData() throws SQLException {
+    void testRoundTrip_EntityToDomainToEntity_PreservesData() {
         UUID assessmentId = UUID.randomUUID();
         UUID transactionId = UUID.randomUUID();
 
@@ -420,9 +465,12 @@ class RiskAssessmentMapperTest {
         assertEquals(originalEntity.getRiskScoreValue(), roundTripEntity.getRiskScoreValue());
         assertEquals(originalEntity.getRiskLevel(), roundTripEntity.getRiskLevel());
         assertEquals(originalEntity.getDecision(), roundTripEntity.getDecision());
+        assertEquals(originalEntity.getMlModelId(), roundTripEntity.getMlModelId());
+        assertEquals(originalEntity.getMlFraudProbability(), roundTripEntity.getMlFraudProbability());
+        assertArrayEquals(originalEntity.getMlFeatureImportance(), roundTripEntity.getMlFeatureImportance());
     }
 
-    private @NotNull RiskAssessmentEntity getRiskAssessmentEntity(UUID assessmentId, UUID transactionId) throws SQLException {
+    private @NotNull RiskAssessmentEntity getRiskAssessmentEntity(UUID assessmentId, UUID transactionId) {
         return RiskAssessmentEntity.builder()
                 .id(assessmentId)
                 .transactionId(transactionId)
@@ -430,19 +478,15 @@ class RiskAssessmentMapperTest {
                 .riskLevel("MEDIUM")
                 .decision("REVIEW")
                 .assessmentTime(timestamp)
-                .mlPredictionJson(buildPGobject())
+                .mlModelId("fraud-detector-v1")
+                .mlModelVersion("1.0.0")
+                .mlFraudProbability(0.75)
+                .mlConfidence(0.88)
+                .mlFeatureImportance(FeatureImportanceCodec.encode(Map.of("amount", 0.4)))
                 .ruleEvaluations(new HashSet<>())
                 .build();
     }
 
-    private PGobject buildPGobject() throws SQLException {
-        PGobject mlJson = new PGobject();
-        mlJson.setType("jsonb");
-        mlJson.setValue("{\"modelId\":\"fraud-detector-v1\",\"modelVersion\":\"1.0.0\",\"fraudProbability\":0.75,\"confidence\":0.88,\"featureImportance\":{\"amount\":0.4,\"velocity\":0.6}}");
-
-        return mlJson;
-    }
-
     @Test
     void testAssessmentIdMapping_BothDirections_WorksCorrectly() {
         UUID uuid = UUID.randomUUID();
@@ -495,42 +539,18 @@ class RiskAssessmentMapperTest {
     }
 
     @Test
-    void testMlPredictionToJson_ValidPrediction_CreatesValidPGobject() {
-        MLPrediction prediction = new MLPrediction("modelId", "RandomForest", 0.85,
-                0.90, Map.of("key1", 0.5, "key2", 0.3));
-
-        PGobject pgObject = mapper.mlPredictionToJson(prediction);
-
-        assertNotNull(pgObject);
-        assertEquals("jsonb", pgObject.getType());
-        assertTrue(pgObject.getValue().contains("0.85"));
-        assertTrue(pgObject.getValue().contains("RandomForest"));
-    }
-
-    @Test
-    void testMlPredictionToJson_NullPrediction_ReturnsNull() {
-        PGobject result = mapper.mlPredictionToJson(null);
-        assertNull(result);
-    }
-
-    @Test
-    void testJsonToMlPrediction_ValidJson_DeserializesCorrectly() throws SQLException {
-        PGobject pgObject = new PGobject();
-        pgObject.setType("json");
-        pgObject.setValue("{\"fraudProbability\":0.80,\"modelId\":\"model-id\",\"modelVersion\":\"Model\",\"confidence\":0.95,\"featureImportance\":{\"f1\":0.4}}");
+    void testEncodeFeatureImportance_ValidPrediction_RoundTrips() {
+        Map<String, Double> features = Map.of("key1", 0.5, "key2", 0.3);
 
-        MLPrediction prediction = mapper.jsonToMlPrediction(pgObject);
+        byte[] encoded = mapper.encodeFeatureImportance(features);
 
-        assertNotNull(prediction);
-        assertEquals(0.80, prediction.fraudProbability());
-        assertEquals("Model", prediction.modelVersion());
-        assertEquals(0.95, prediction.confidence());
+        assertNotNull(encoded);
+        assertEquals(features, FeatureImportanceCodec.decode(encoded));
     }
 
     @Test
-    void testJsonToMlPrediction_NullJson_ReturnsNull() {
-        MLPrediction prediction = mapper.jsonToMlPrediction(null);
-        assertNull(prediction);
+    void testEncodeFeatureImportance_NullFeatures_ReturnsNull() {
+        assertNull(mapper.encodeFeatureImportance(null));
     }
 
     @Test
@@ -43,6 +43,7 @@ class RuleEvaluationMapperTest {
 
         assertNotNull(entity);
         assertNull(entity.getId()); // ID should be ignored
+        assertEquals("RULE001", entity.getRuleId());
         assertEquals("High Amount Rule", entity.getRuleName());
         assertEquals("AMOUNT", entity.getRuleType());
         assertEquals(50, entity.getScoreImpact());
@@ -142,6 +143,7 @@ class RuleEvaluationMapperTest {
     void testToDomain_CompleteEntity_MapsAllFields() {
         RuleEvaluationEntity entity = new RuleEvaluationEntity();
         entity.setId(1L);
+        entity.setRuleId("HIGH_RISK_ZONE");
         entity.setRuleName("Geo Location Rule");
         entity.setRuleType("GEOGRAPHIC");
         entity.setScoreImpact(35);
@@ -150,7 +152,7 @@ class RuleEvaluationMapperTest {
         RuleEvaluation evaluation = mapper.toDomain(entity);
 
         assertNotNull(evaluation);
-        assertEquals("1", evaluation.ruleId()); // ID mapped to String
+        assertEquals("HIGH_RISK_ZONE", evaluation.ruleId()); // Rule id, not the row ID
         assertEquals("Geo Location Rule", evaluation.ruleName());
         assertEquals(RuleType.GEOGRAPHIC, evaluation.ruleType());
         assertTrue(evaluation.triggered()); // Always true by constant
@@ -295,7 +297,7 @@ class RuleEvaluationMapperTest {
         entity.setId(100L); // Set ID for round trip
         RuleEvaluation roundTripEvaluation = mapper.toDomain(entity);
 
-        assertEquals("100", roundTripEvaluation.ruleId());
+        assertEquals(originalEvaluation.ruleId(), roundTripEvaluation.ruleId());
         assertEquals(originalEvaluation.ruleName(), roundTripEvaluation.ruleName());
         assertEquals(originalEvaluation.ruleType(), roundTripEvaluation.ruleType());
         assertTrue(roundTripEvaluation.triggered());
@@ -307,6 +309,7 @@ class RuleEvaluationMapperTest {
     void testRoundTrip_EntityToDomainToEntity_PreservesData() {
         RuleEvaluationEntity originalEntity = new RuleEvaluationEntity();
         originalEntity.setId(200L);
+        originalEntity.setRuleId("IMPOSSIBLE_TRAVEL");
         originalEntity.setRuleName("Entity Round Trip");
         originalEntity.setRuleType("GEOGRAPHIC");
         originalEntity.setScoreImpact(55);
@@ -315,6 +318,7 @@ class RuleEvaluationMapperTest {
         RuleEvaluation evaluation = mapper.toDomain(originalEntity);
         RuleEvaluationEntity roundTripEntity = mapper.toEntity(evaluation);
 
+        assertEquals(originalEntity.getRuleId(), roundTripEntity.getRuleId());
         assertEquals(originalEntity.getRuleName(), roundTripEntity.getRuleName());
         assertEquals(originalEntity.getRuleType(), roundTripEntity.getRuleType());
         assertEquals(originalEntity.getScoreImpact(), roundTripEntity.getScoreImpact());
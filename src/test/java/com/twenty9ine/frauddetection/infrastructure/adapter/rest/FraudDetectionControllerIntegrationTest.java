@@ -5,8 +5,8 @@ import com.twenty9ine.frauddetection.application.port.out.MLServicePort;
 import com.twenty9ine.frauddetection.application.port.out.RiskAssessmentRepository;
 import com.twenty9ine.frauddetection.application.service.FraudDetectionApplicationServiceIntegrationTest;
 import com.twenty9ine.frauddetection.domain.aggregate.RiskAssessment;
+import com.twenty9ine.frauddetection.domain.valueobject.AssessmentContext;
 import com.twenty9ine.frauddetection.domain.valueobject.MLPrediction;
-import com.twenty9ine.frauddetection.domain.valueobject.Transaction;
 import com.twenty9ine.frauddetection.domain.valueobject.TransactionId;
 import com.twenty9ine.frauddetection.domain.valueobject.TransactionRiskLevel;
 import dasniko.testcontainers.keycloak.KeycloakContainer;
@@ -40,6 +40,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.twenty9ine.frauddetection.application.service.FraudDetectionApplicationServiceIntegrationTest.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -141,6 +142,12 @@ class FraudDetectionControllerIntegrationTest {
 
         // Disable AWS SageMaker
         registry.add("aws.sagemaker.enabled", () -> "false");
+
+        // Convert amounts at face value, as the test profile does
+        registry.add("fraud-detection.fx.rates", () -> "");
+
+        // Fixtures share devices and merchants across accounts, as the test profile notes
+        registry.add("fraud-detection.fraud-ring.enabled", () -> "false");
     }
 
     private static String getApicurioUrl() {
@@ -182,7 +189,7 @@ class FraudDetectionControllerIntegrationTest {
         analystToken = obtainAccessToken("test-analyst", "test123");
 
         // Configure ML service mock with default behavior
-        when(mlServicePort.predict(any(Transaction.class)))
+        when(mlServicePort.predict(any(AssessmentContext.class)))
                 .thenReturn(mockLowRiskPrediction());
     }
 
@@ -222,7 +229,7 @@ class FraudDetectionControllerIntegrationTest {
         @Test
         @DisplayName("Should assess high-risk transaction and return appropriate decision")
         void shouldAssessHighRiskTransaction() {
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockHighRiskPrediction());
 
             AssessTransactionRiskCommand command = buildHighRiskCommand(TransactionId.generate());
@@ -245,7 +252,7 @@ class FraudDetectionControllerIntegrationTest {
         @Test
         @DisplayName("Should assess critical-risk transaction and block it")
         void shouldAssessCriticalRiskTransaction() {
-            when(mlServicePort.predict(any(Transaction.class)))
+            when(mlServicePort.predict(any(AssessmentContext.class)))
                     .thenReturn(mockCriticalRiskPrediction());
 
             AssessTransactionRiskCommand command = buildCriticalRiskCommand(TransactionId.generate());
@@ -484,6 +491,189 @@ class FraudDetectionControllerIntegrationTest {
                     .jsonPath("$.page.number").isEqualTo(0);
         }
 
+        @Test
+        @DisplayName("Should page through assessments by cursor")
+        void shouldScrollAssessmentsByCursor() {
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH);
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH);
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH);
+            createAssessmentWithRiskLevel(TransactionRiskLevel.LOW);
+
+            AtomicReference<String> nextCursor = new AtomicReference<>();
+
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/scroll")
+                            .queryParam("transactionRiskLevels", "HIGH")
+                            .queryParam("size", 2)
+                            .queryParam("includeTotal", true)
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(2)
+                    .jsonPath("$.content[0].transactionRiskLevel").isEqualTo("HIGH")
+                    .jsonPath("$.content[1].transactionRiskLevel").isEqualTo("HIGH")
+                    .jsonPath("$.estimatedTotalElements").exists()
+                    .jsonPath("$.nextCursor").value(cursor -> nextCursor.set((String) cursor));
+
+            assertThat(nextCursor.get()).isNotBlank();
+
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/scroll")
+                            .queryParam("transactionRiskLevels", "HIGH")
+                            .queryParam("size", 2)
+                            .queryParam("cursor", nextCursor.get())
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(1)
+                    .jsonPath("$.content[0].transactionRiskLevel").isEqualTo("HIGH")
+                    .jsonPath("$.nextCursor").doesNotExist()
+                    .jsonPath("$.estimatedTotalElements").doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a malformed cursor")
+        void shouldReturn400ForMalformedCursor() {
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/scroll")
+                            .queryParam("cursor", "not-a-cursor")
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo("VALIDATION_ERROR");
+        }
+
+        @Test
+        @DisplayName("Should page through an account's assessments within a time range")
+        void shouldFindAccountAssessmentsWithinTimeRange() {
+            Instant yesterday = Instant.now().minus(1, ChronoUnit.DAYS);
+            Instant twoDaysAgo = Instant.now().minus(2, ChronoUnit.DAYS);
+
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH, twoDaysAgo);
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH, yesterday);
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH, Instant.now());
+            createAssessmentWithRiskLevel(TransactionRiskLevel.LOW, Instant.now());
+
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/accounts/{accountId}/assessments")
+                            .queryParam("fromDate", yesterday.minus(1, ChronoUnit.HOURS))
+                            .queryParam("size", 1)
+                            .build("ACC-003"))
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(1)
+                    .jsonPath("$.content[0].accountId").isEqualTo("ACC-003")
+                    .jsonPath("$.content[0].transactionRiskLevel").isEqualTo("HIGH")
+                    .jsonPath("$.nextCursor").isNotEmpty();
+
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/accounts/{accountId}/assessments")
+                            .queryParam("fromDate", twoDaysAgo.minus(1, ChronoUnit.HOURS))
+                            .queryParam("toDate", yesterday.plus(1, ChronoUnit.HOURS))
+                            .build("ACC-003"))
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(2)
+                    .jsonPath("$.nextCursor").doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should return 400 when an account's time range is reversed")
+        void shouldReturn400ForReversedAccountTimeRange() {
+            Instant now = Instant.now();
+
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/accounts/{accountId}/assessments")
+                            .queryParam("fromDate", now)
+                            .queryParam("toDate", now.minus(1, ChronoUnit.DAYS))
+                            .build("ACC-003"))
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should search assessments by channel, merchant category and amount")
+        void shouldSearchAssessmentsByMultipleCriteria() {
+            createAssessmentWithRiskLevel(TransactionRiskLevel.HIGH);
+            createAssessmentWithRiskLevel(TransactionRiskLevel.LOW);
+
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/search")
+                            .queryParam("channels", "ONLINE")
+                            .queryParam("merchantCategories", "GAMBLING")
+                            .queryParam("minAmount", "1000")
+                            .queryParam("currency", "USD")
+                            .queryParam("includeTotal", true)
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(1)
+                    .jsonPath("$.content[0].accountId").isEqualTo("ACC-003")
+                    .jsonPath("$.content[0].transactionRiskLevel").isEqualTo("HIGH")
+                    .jsonPath("$.estimatedTotalElements").isNotEmpty()
+                    .jsonPath("$.nextCursor").doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a search range is reversed")
+        void shouldReturn400ForReversedSearchRange() {
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/search")
+                            .queryParam("minRiskScore", 80)
+                            .queryParam("maxRiskScore", 20)
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should return 400 when an amount bound has no currency")
+        void shouldReturn400ForAmountSearchWithoutCurrency() {
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/search")
+                            .queryParam("minAmount", "1000")
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unknown search channel")
+        void shouldReturn400ForUnknownSearchChannel() {
+            restTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/fraud/assessments/search")
+                            .queryParam("channels", "CARRIER_PIGEON")
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, toBearerToken(analystToken))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
         @Test
         @DisplayName("Should filter assessments by fromDate date")
         void shouldFilterAssessmentsByFromDate() {
@@ -855,7 +1045,7 @@ class FraudDetectionControllerIntegrationTest {
 
     private void createAssessmentWithRiskLevel(TransactionRiskLevel riskLevel, Instant assessmentTime) {
         MLPrediction prediction = findMLPrediction(riskLevel);
-        when(mlServicePort.predict(any(Transaction.class))).thenReturn(prediction);
+        when(mlServicePort.predict(any(AssessmentContext.class))).thenReturn(prediction);
 
         AssessTransactionRiskCommand command = buildAssessTransactionRiskCommand(riskLevel, TransactionId.generate(), assessmentTime);
 
@@ -0,0 +1,30 @@
+package com.twenty9ine.frauddetection.infrastructure.config;
+
+import com.twenty9ine.frauddetection.domain.valueobject.RuleCatalogue;
+import com.twenty9ine.frauddetection.infrastructure.exception.RulesEngineException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DroolsInfrastructureConfigTest {
+
+    private final DroolsInfrastructureConfig config = new DroolsInfrastructureConfig();
+
+    @Test
+    void shouldBuildTheRuleContainersAgainstTheDefaultCatalogue() {
+        assertThat(config.kieContainer(RuleCatalogue.defaults())).isNotNull();
+        assertThat(config.temporalKieContainer(RuleCatalogue.defaults())).isNotNull();
+    }
+
+    @Test
+    void shouldRejectARuleWithoutACatalogueEntry() {
+        RuleCatalogue withoutFraudRing = RuleCatalogue.of(RuleCatalogue.defaults().definitions().stream()
+                .filter(definition -> !definition.ruleId().equals("FRAUD_RING"))
+                .toList());
+
+        assertThatThrownBy(() -> config.kieContainer(withoutFraudRing))
+                .isInstanceOf(RulesEngineException.class)
+                .hasMessageContaining("Fraud Ring Member");
+    }
+}